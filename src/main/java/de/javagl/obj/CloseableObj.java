@@ -0,0 +1,48 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+/**
+ * An {@link Obj} that holds resources which are released when it is
+ * {@link #close() closed}. An instance may be created with 
+ * {@link Objs#createOffHeap()}.
+ */
+public interface CloseableObj extends Obj, AutoCloseable
+{
+    /**
+     * Release the resources that are held by this Obj. After this method
+     * has been called, neither this Obj nor any {@link FloatTuple}, 
+     * {@link ObjFace} or {@link ObjGroup} that was obtained from it may
+     * be used any more. Any attempt to read or modify the data of this 
+     * Obj or of these elements afterwards causes an 
+     * <code>IllegalStateException</code>. Calling this method more than 
+     * once has no effect.
+     */
+    @Override
+    void close();
+}
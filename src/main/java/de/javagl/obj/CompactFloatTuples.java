@@ -0,0 +1,424 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.obj;
+
+/**
+ * Implementations of immutable {@link FloatTuple}s with 1 to 4 dimensions, 
+ * which store their values in fields.<br>
+ * <br>
+ * A {@link DefaultFloatTuple} stores its values in an array, so each 
+ * tuple consists of two objects. The tuples that are created with the 
+ * methods in this class consist of a single object, which considerably
+ * reduces the memory requirements and the allocation rate when many 
+ * tuples are created.<br>
+ * <br>
+ * The <code>equals</code> and <code>hashCode</code> methods of these 
+ * tuples are compatible to those of the {@link DefaultFloatTuple}: 
+ * Tuples are equal when they have the same number of dimensions and
+ * equal values, and the hash code is computed like that of an array
+ * containing the values.
+ */
+final class CompactFloatTuples
+{
+    /**
+     * Base class for the tuples, implementing <code>equals</code>,
+     * <code>hashCode</code> and <code>toString</code> based on the 
+     * {@link FloatTuple} methods
+     */
+    abstract static class AbstractTuple implements FloatTuple
+    {
+        /**
+         * Creates the exception that is thrown when the given component 
+         * of this tuple is accessed, but does not exist
+         * 
+         * @param index The index of the component
+         * @return The exception
+         */
+        final IndexOutOfBoundsException outOfBounds(int index)
+        {
+            return new IndexOutOfBoundsException(
+                "Component " + index + " of a tuple with " + 
+                getDimensions() + " dimensions");
+        }
+
+        @Override
+        public float getX()
+        {
+            return get(0);
+        }
+
+        @Override
+        public float getY()
+        {
+            return get(1);
+        }
+
+        @Override
+        public float getZ()
+        {
+            return get(2);
+        }
+
+        @Override
+        public float getW()
+        {
+            return get(3);
+        }
+
+        @Override
+        public final String toString()
+        {
+            StringBuilder sb = new StringBuilder();
+            sb.append("(");
+            for (int i=0; i<getDimensions(); i++)
+            {
+                sb.append(get(i));
+                if (i < getDimensions()-1)
+                {
+                    sb.append(",");
+                }
+            }
+            sb.append(")");
+            return sb.toString();
+        }
+
+        @Override
+        public final int hashCode()
+        {
+            // Equal to the hash code of a DefaultFloatTuple
+            int result = 1;
+            for (int i = 0; i < getDimensions(); i++)
+            {
+                result = 31 * result + Float.floatToIntBits(get(i));
+            }
+            return result;
+        }
+
+        @Override
+        public final boolean equals(Object object)
+        {
+            if (this == object)
+            {
+                return true;
+            }
+            if (!(object instanceof FloatTuple))
+            {
+                return false;
+            }
+            FloatTuple other = (FloatTuple)object;
+            if (other.getDimensions() != getDimensions())
+            {
+                return false;
+            }
+            for (int i=0; i<getDimensions(); i++)
+            {
+                if (Float.floatToIntBits(get(i)) != 
+                    Float.floatToIntBits(other.get(i)))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A tuple with 1 dimension
+     */
+    static final class Tuple1 extends AbstractTuple
+    {
+        /**
+         * The x-coordinate
+         */
+        private final float x;
+
+        /**
+         * Creates a new tuple
+         * 
+         * @param x The x-coordinate
+         */
+        Tuple1(float x)
+        {
+            this.x = x;
+        }
+
+        @Override
+        public float getX()
+        {
+            return x;
+        }
+
+        @Override
+        public float get(int index)
+        {
+            if (index == 0)
+            {
+                return x;
+            }
+            throw outOfBounds(index);
+        }
+
+        @Override
+        public int getDimensions()
+        {
+            return 1;
+        }
+    }
+
+    /**
+     * A tuple with 2 dimensions
+     */
+    static final class Tuple2 extends AbstractTuple
+    {
+        /**
+         * The x-coordinate
+         */
+        private final float x;
+
+        /**
+         * The y-coordinate
+         */
+        private final float y;
+
+        /**
+         * Creates a new tuple
+         * 
+         * @param x The x-coordinate
+         * @param y The y-coordinate
+         */
+        Tuple2(float x, float y)
+        {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public float getX()
+        {
+            return x;
+        }
+
+        @Override
+        public float getY()
+        {
+            return y;
+        }
+
+        @Override
+        public float get(int index)
+        {
+            switch (index)
+            {
+                case 0:
+                    return x;
+                case 1:
+                    return y;
+                default:
+                    throw outOfBounds(index);
+            }
+        }
+
+        @Override
+        public int getDimensions()
+        {
+            return 2;
+        }
+    }
+
+    /**
+     * A tuple with 3 dimensions
+     */
+    static final class Tuple3 extends AbstractTuple
+    {
+        /**
+         * The x-coordinate
+         */
+        private final float x;
+
+        /**
+         * The y-coordinate
+         */
+        private final float y;
+
+        /**
+         * The z-coordinate
+         */
+        private final float z;
+
+        /**
+         * Creates a new tuple
+         * 
+         * @param x The x-coordinate
+         * @param y The y-coordinate
+         * @param z The z-coordinate
+         */
+        Tuple3(float x, float y, float z)
+        {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        @Override
+        public float getX()
+        {
+            return x;
+        }
+
+        @Override
+        public float getY()
+        {
+            return y;
+        }
+
+        @Override
+        public float getZ()
+        {
+            return z;
+        }
+
+        @Override
+        public float get(int index)
+        {
+            switch (index)
+            {
+                case 0:
+                    return x;
+                case 1:
+                    return y;
+                case 2:
+                    return z;
+                default:
+                    throw outOfBounds(index);
+            }
+        }
+
+        @Override
+        public int getDimensions()
+        {
+            return 3;
+        }
+    }
+
+    /**
+     * A tuple with 4 dimensions
+     */
+    static final class Tuple4 extends AbstractTuple
+    {
+        /**
+         * The x-coordinate
+         */
+        private final float x;
+
+        /**
+         * The y-coordinate
+         */
+        private final float y;
+
+        /**
+         * The z-coordinate
+         */
+        private final float z;
+
+        /**
+         * The w-coordinate
+         */
+        private final float w;
+
+        /**
+         * Creates a new tuple
+         * 
+         * @param x The x-coordinate
+         * @param y The y-coordinate
+         * @param z The z-coordinate
+         * @param w The w-coordinate
+         */
+        Tuple4(float x, float y, float z, float w)
+        {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.w = w;
+        }
+
+        @Override
+        public float getX()
+        {
+            return x;
+        }
+
+        @Override
+        public float getY()
+        {
+            return y;
+        }
+
+        @Override
+        public float getZ()
+        {
+            return z;
+        }
+
+        @Override
+        public float getW()
+        {
+            return w;
+        }
+
+        @Override
+        public float get(int index)
+        {
+            switch (index)
+            {
+                case 0:
+                    return x;
+                case 1:
+                    return y;
+                case 2:
+                    return z;
+                case 3:
+                    return w;
+                default:
+                    throw outOfBounds(index);
+            }
+        }
+
+        @Override
+        public int getDimensions()
+        {
+            return 4;
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private CompactFloatTuples()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -0,0 +1,680 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.obj;
+
+/**
+ * Implementations of {@link ObjFace} for triangles and quads, which store
+ * their indices in fields.<br>
+ * <br>
+ * A {@link DefaultObjFace} stores its indices in up to three arrays, so 
+ * each face consists of up to four objects. The faces that are created 
+ * with the methods in this class consist of a single object. Faces that
+ * do not contain texture coordinate or normal indices do not reserve
+ * any space for them.
+ */
+final class CompactObjFaces
+{
+    /**
+     * Creates a new face from the specified range of the given arrays. 
+     * The texture coordinate and normal indices may be <code>null</code>.
+     * The values will be copied into the face.
+     * 
+     * @param v The vertex indices
+     * @param vt The texture coordinate indices
+     * @param vn The normal indices
+     * @param offset The offset of the indices of the face in the arrays
+     * @param count The number of vertices of the face, 3 or 4
+     * @return The face
+     * @throws IllegalArgumentException If the count is not 3 or 4
+     */
+    static ObjFace create(int[] v, int[] vt, int[] vn, int offset, int count)
+    {
+        int o = offset;
+        if (count == 3)
+        {
+            if (vt == null && vn == null)
+            {
+                return new Triangle(v[o], v[o + 1], v[o + 2]);
+            }
+            if (vn == null)
+            {
+                return new TriangleWithTexCoords(
+                    v[o], v[o + 1], v[o + 2], 
+                    vt[o], vt[o + 1], vt[o + 2]);
+            }
+            if (vt == null)
+            {
+                return new TriangleWithNormals(
+                    v[o], v[o + 1], v[o + 2], 
+                    vn[o], vn[o + 1], vn[o + 2]);
+            }
+            return new TriangleWithAll(
+                v[o], v[o + 1], v[o + 2], 
+                vt[o], vt[o + 1], vt[o + 2],
+                vn[o], vn[o + 1], vn[o + 2]);
+        }
+        if (count == 4)
+        {
+            if (vt == null && vn == null)
+            {
+                return new Quad(v[o], v[o + 1], v[o + 2], v[o + 3]);
+            }
+            if (vn == null)
+            {
+                return new QuadWithTexCoords(
+                    v[o], v[o + 1], v[o + 2], v[o + 3], 
+                    vt[o], vt[o + 1], vt[o + 2], vt[o + 3]);
+            }
+            if (vt == null)
+            {
+                return new QuadWithNormals(
+                    v[o], v[o + 1], v[o + 2], v[o + 3], 
+                    vn[o], vn[o + 1], vn[o + 2], vn[o + 3]);
+            }
+            return new QuadWithAll(
+                v[o], v[o + 1], v[o + 2], v[o + 3], 
+                vt[o], vt[o + 1], vt[o + 2], vt[o + 3],
+                vn[o], vn[o + 1], vn[o + 2], vn[o + 3]);
+        }
+        throw new IllegalArgumentException(
+            "Only faces with 3 or 4 vertices can be compact, but found " 
+            + count);
+    }
+
+    /**
+     * Base class for the compact faces. It implements the methods for
+     * faces that do not contain texture coordinate or normal indices.
+     */
+    abstract static class AbstractFace implements ObjFace
+    {
+        /**
+         * Returns the specified value, or throws an exception
+         * 
+         * @param n The number of the value
+         * @param i0 The value 0
+         * @param i1 The value 1
+         * @param i2 The value 2
+         * @return The value
+         * @throws IndexOutOfBoundsException If the number is not 0, 1 or 2
+         */
+        static int select(int n, int i0, int i1, int i2)
+        {
+            switch (n)
+            {
+                case 0:
+                    return i0;
+                case 1:
+                    return i1;
+                case 2:
+                    return i2;
+                default:
+                    throw new IndexOutOfBoundsException(
+                        "Index " + n + " of a face with 3 vertices");
+            }
+        }
+
+        /**
+         * Returns the specified value, or throws an exception
+         * 
+         * @param n The number of the value
+         * @param i0 The value 0
+         * @param i1 The value 1
+         * @param i2 The value 2
+         * @param i3 The value 3
+         * @return The value
+         * @throws IndexOutOfBoundsException If the number is not 
+         * between 0 and 3
+         */
+        static int select(int n, int i0, int i1, int i2, int i3)
+        {
+            switch (n)
+            {
+                case 0:
+                    return i0;
+                case 1:
+                    return i1;
+                case 2:
+                    return i2;
+                case 3:
+                    return i3;
+                default:
+                    throw new IndexOutOfBoundsException(
+                        "Index " + n + " of a face with 4 vertices");
+            }
+        }
+
+        @Override
+        public boolean containsTexCoordIndices()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean containsNormalIndices()
+        {
+            return false;
+        }
+
+        @Override
+        public int getTexCoordIndex(int number)
+        {
+            throw new IllegalStateException(
+                "The face does not contain texture coordinate indices");
+        }
+
+        @Override
+        public int getNormalIndex(int number)
+        {
+            throw new IllegalStateException(
+                "The face does not contain normal indices");
+        }
+
+        @Override
+        public final String toString()
+        {
+            StringBuilder sb = new StringBuilder("ObjFace[");
+            for (int i = 0; i < getNumVertices(); i++)
+            {
+                sb.append(getVertexIndex(i));
+                if (containsTexCoordIndices() || containsNormalIndices())
+                {
+                    sb.append("/");
+                }
+                if (containsTexCoordIndices())
+                {
+                    sb.append(getTexCoordIndex(i));
+                }
+                if (containsNormalIndices())
+                {
+                    sb.append("/").append(getNormalIndex(i));
+                }
+                if (i < getNumVertices() - 1)
+                {
+                    sb.append(" ");
+                }
+            }
+            sb.append("]");
+            return sb.toString();
+        }
+    }
+
+    /**
+     * A triangle
+     */
+    static class Triangle extends AbstractFace
+    {
+        /**
+         * The vertex index 0
+         */
+        private final int v0;
+
+        /**
+         * The vertex index 1
+         */
+        private final int v1;
+
+        /**
+         * The vertex index 2
+         */
+        private final int v2;
+
+        /**
+         * Creates a new instance
+         * 
+         * @param v0 The vertex index 0
+         * @param v1 The vertex index 1
+         * @param v2 The vertex index 2
+         */
+        Triangle(
+            int v0, int v1, int v2)
+        {
+            this.v0 = v0;
+            this.v1 = v1;
+            this.v2 = v2;
+        }
+
+        @Override
+        public final int getNumVertices()
+        {
+            return 3;
+        }
+
+        @Override
+        public final int getVertexIndex(int number)
+        {
+            return select(number, v0, v1, v2);
+        }
+    }
+
+    /**
+     * A triangle with texture coordinate indices
+     */
+    static class TriangleWithTexCoords extends Triangle
+    {
+        /**
+         * The texture coordinate index 0
+         */
+        private final int t0;
+
+        /**
+         * The texture coordinate index 1
+         */
+        private final int t1;
+
+        /**
+         * The texture coordinate index 2
+         */
+        private final int t2;
+
+        /**
+         * Creates a new instance
+         * 
+         * @param v0 The vertex index 0
+         * @param v1 The vertex index 1
+         * @param v2 The vertex index 2
+         * @param t0 The texture coordinate index 0
+         * @param t1 The texture coordinate index 1
+         * @param t2 The texture coordinate index 2
+         */
+        TriangleWithTexCoords(
+            int v0, int v1, int v2, int t0, int t1, int t2)
+        {
+            super(v0, v1, v2);
+            this.t0 = t0;
+            this.t1 = t1;
+            this.t2 = t2;
+        }
+
+        @Override
+        public final boolean containsTexCoordIndices()
+        {
+            return true;
+        }
+
+        @Override
+        public final int getTexCoordIndex(int number)
+        {
+            return select(number, t0, t1, t2);
+        }
+    }
+
+    /**
+     * A triangle with normal indices
+     */
+    static final class TriangleWithNormals extends Triangle
+    {
+        /**
+         * The normal index 0
+         */
+        private final int n0;
+
+        /**
+         * The normal index 1
+         */
+        private final int n1;
+
+        /**
+         * The normal index 2
+         */
+        private final int n2;
+
+        /**
+         * Creates a new instance
+         * 
+         * @param v0 The vertex index 0
+         * @param v1 The vertex index 1
+         * @param v2 The vertex index 2
+         * @param n0 The normal index 0
+         * @param n1 The normal index 1
+         * @param n2 The normal index 2
+         */
+        TriangleWithNormals(
+            int v0, int v1, int v2, int n0, int n1, int n2)
+        {
+            super(v0, v1, v2);
+            this.n0 = n0;
+            this.n1 = n1;
+            this.n2 = n2;
+        }
+
+        @Override
+        public final boolean containsNormalIndices()
+        {
+            return true;
+        }
+
+        @Override
+        public final int getNormalIndex(int number)
+        {
+            return select(number, n0, n1, n2);
+        }
+    }
+
+    /**
+     * A triangle with texture coordinate and normal indices
+     */
+    static final class TriangleWithAll extends TriangleWithTexCoords
+    {
+        /**
+         * The normal index 0
+         */
+        private final int n0;
+
+        /**
+         * The normal index 1
+         */
+        private final int n1;
+
+        /**
+         * The normal index 2
+         */
+        private final int n2;
+
+        /**
+         * Creates a new instance
+         * 
+         * @param v0 The vertex index 0
+         * @param v1 The vertex index 1
+         * @param v2 The vertex index 2
+         * @param t0 The texture coordinate index 0
+         * @param t1 The texture coordinate index 1
+         * @param t2 The texture coordinate index 2
+         * @param n0 The normal index 0
+         * @param n1 The normal index 1
+         * @param n2 The normal index 2
+         */
+        TriangleWithAll(
+            int v0, int v1, int v2, int t0, int t1, int t2, int n0, int n1,
+            int n2)
+        {
+            super(v0, v1, v2, t0, t1, t2);
+            this.n0 = n0;
+            this.n1 = n1;
+            this.n2 = n2;
+        }
+
+        @Override
+        public final boolean containsNormalIndices()
+        {
+            return true;
+        }
+
+        @Override
+        public final int getNormalIndex(int number)
+        {
+            return select(number, n0, n1, n2);
+        }
+    }
+
+    /**
+     * A quad
+     */
+    static class Quad extends AbstractFace
+    {
+        /**
+         * The vertex index 0
+         */
+        private final int v0;
+
+        /**
+         * The vertex index 1
+         */
+        private final int v1;
+
+        /**
+         * The vertex index 2
+         */
+        private final int v2;
+
+        /**
+         * The vertex index 3
+         */
+        private final int v3;
+
+        /**
+         * Creates a new instance
+         * 
+         * @param v0 The vertex index 0
+         * @param v1 The vertex index 1
+         * @param v2 The vertex index 2
+         * @param v3 The vertex index 3
+         */
+        Quad(
+            int v0, int v1, int v2, int v3)
+        {
+            this.v0 = v0;
+            this.v1 = v1;
+            this.v2 = v2;
+            this.v3 = v3;
+        }
+
+        @Override
+        public final int getNumVertices()
+        {
+            return 4;
+        }
+
+        @Override
+        public final int getVertexIndex(int number)
+        {
+            return select(number, v0, v1, v2, v3);
+        }
+    }
+
+    /**
+     * A quad with texture coordinate indices
+     */
+    static class QuadWithTexCoords extends Quad
+    {
+        /**
+         * The texture coordinate index 0
+         */
+        private final int t0;
+
+        /**
+         * The texture coordinate index 1
+         */
+        private final int t1;
+
+        /**
+         * The texture coordinate index 2
+         */
+        private final int t2;
+
+        /**
+         * The texture coordinate index 3
+         */
+        private final int t3;
+
+        /**
+         * Creates a new instance
+         * 
+         * @param v0 The vertex index 0
+         * @param v1 The vertex index 1
+         * @param v2 The vertex index 2
+         * @param v3 The vertex index 3
+         * @param t0 The texture coordinate index 0
+         * @param t1 The texture coordinate index 1
+         * @param t2 The texture coordinate index 2
+         * @param t3 The texture coordinate index 3
+         */
+        QuadWithTexCoords(
+            int v0, int v1, int v2, int v3, int t0, int t1, int t2, int t3)
+        {
+            super(v0, v1, v2, v3);
+            this.t0 = t0;
+            this.t1 = t1;
+            this.t2 = t2;
+            this.t3 = t3;
+        }
+
+        @Override
+        public final boolean containsTexCoordIndices()
+        {
+            return true;
+        }
+
+        @Override
+        public final int getTexCoordIndex(int number)
+        {
+            return select(number, t0, t1, t2, t3);
+        }
+    }
+
+    /**
+     * A quad with normal indices
+     */
+    static final class QuadWithNormals extends Quad
+    {
+        /**
+         * The normal index 0
+         */
+        private final int n0;
+
+        /**
+         * The normal index 1
+         */
+        private final int n1;
+
+        /**
+         * The normal index 2
+         */
+        private final int n2;
+
+        /**
+         * The normal index 3
+         */
+        private final int n3;
+
+        /**
+         * Creates a new instance
+         * 
+         * @param v0 The vertex index 0
+         * @param v1 The vertex index 1
+         * @param v2 The vertex index 2
+         * @param v3 The vertex index 3
+         * @param n0 The normal index 0
+         * @param n1 The normal index 1
+         * @param n2 The normal index 2
+         * @param n3 The normal index 3
+         */
+        QuadWithNormals(
+            int v0, int v1, int v2, int v3, int n0, int n1, int n2, int n3)
+        {
+            super(v0, v1, v2, v3);
+            this.n0 = n0;
+            this.n1 = n1;
+            this.n2 = n2;
+            this.n3 = n3;
+        }
+
+        @Override
+        public final boolean containsNormalIndices()
+        {
+            return true;
+        }
+
+        @Override
+        public final int getNormalIndex(int number)
+        {
+            return select(number, n0, n1, n2, n3);
+        }
+    }
+
+    /**
+     * A quad with texture coordinate and normal indices
+     */
+    static final class QuadWithAll extends QuadWithTexCoords
+    {
+        /**
+         * The normal index 0
+         */
+        private final int n0;
+
+        /**
+         * The normal index 1
+         */
+        private final int n1;
+
+        /**
+         * The normal index 2
+         */
+        private final int n2;
+
+        /**
+         * The normal index 3
+         */
+        private final int n3;
+
+        /**
+         * Creates a new instance
+         * 
+         * @param v0 The vertex index 0
+         * @param v1 The vertex index 1
+         * @param v2 The vertex index 2
+         * @param v3 The vertex index 3
+         * @param t0 The texture coordinate index 0
+         * @param t1 The texture coordinate index 1
+         * @param t2 The texture coordinate index 2
+         * @param t3 The texture coordinate index 3
+         * @param n0 The normal index 0
+         * @param n1 The normal index 1
+         * @param n2 The normal index 2
+         * @param n3 The normal index 3
+         */
+        QuadWithAll(
+            int v0, int v1, int v2, int v3, int t0, int t1, int t2, int t3,
+            int n0, int n1, int n2, int n3)
+        {
+            super(v0, v1, v2, v3, t0, t1, t2, t3);
+            this.n0 = n0;
+            this.n1 = n1;
+            this.n2 = n2;
+            this.n3 = n3;
+        }
+
+        @Override
+        public final boolean containsNormalIndices()
+        {
+            return true;
+        }
+
+        @Override
+        public final int getNormalIndex(int number)
+        {
+            return select(number, n0, n1, n2, n3);
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private CompactObjFaces()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
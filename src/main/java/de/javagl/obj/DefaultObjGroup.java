@@ -1,93 +1,175 @@
-/*
- * www.javagl.de - Obj
- *
- * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
- * 
- * Permission is hereby granted, free of charge, to any person
- * obtaining a copy of this software and associated documentation
- * files (the "Software"), to deal in the Software without
- * restriction, including without limitation the rights to use,
- * copy, modify, merge, publish, distribute, sublicense, and/or sell
- * copies of the Software, and to permit persons to whom the
- * Software is furnished to do so, subject to the following
- * conditions:
- * 
- * The above copyright notice and this permission notice shall be
- * included in all copies or substantial portions of the Software.
- * 
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
- * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
- * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
- * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
- * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
- * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
- * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
- * OTHER DEALINGS IN THE SOFTWARE.
- */
-
-package de.javagl.obj;
-
-import java.util.ArrayList;
-import java.util.List;
-
-/**
- * Default implementation of an ObjGroup
- */
-final class DefaultObjGroup implements ObjGroup
-{
-    /**
-     * The name of this group.
-     */
-    private String name;
-    
-    /**
-     * The faces in this group
-     */
-    private List<ObjFace> faces;
-
-    /**
-     * Creates a new ObjGroup with the given name
-     * 
-     * @param name The name of this ObjGroup
-     */
-    DefaultObjGroup(String name)
-    {
-        this.name = name;
-        faces = new ArrayList<>();
-    }
-
-    @Override
-    public String getName()
-    {
-        return name;
-    }
-
-    /**
-     * Add the given face to this group
-     * 
-     * @param face The face to add
-     */
-    void addFace(ObjFace face)
-    {
-        faces.add(face);
-    }
-
-    @Override
-    public int getNumFaces()
-    {
-        return faces.size();
-    }
-
-    @Override
-    public ObjFace getFace(int index)
-    {
-        return faces.get(index);
-    }
-
-    @Override
-    public String toString()
-    {
-        return "ObjGroup[name=" + name + ",#faces=" + faces.size() + "]";
-    }
-
-}
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Default implementation of an ObjGroup.<br>
+ * <br>
+ * The faces of this group are not stored individually. Instead, this 
+ * group stores ranges of indices of faces in the list of faces of the 
+ * {@link DefaultObj} that it belongs to. Since faces are usually added 
+ * to a group in contiguous blocks, the memory that is required for 
+ * this group is proportional to the number of times that the group 
+ * was activated, and not to the number of faces.
+ */
+final class DefaultObjGroup implements ObjGroup
+{
+    /**
+     * The initial capacity for the range arrays
+     */
+    private static final int INITIAL_CAPACITY = 4;
+    
+    /**
+     * The name of this group.
+     */
+    private final String name;
+    
+    /**
+     * The faces of the Obj that this group belongs to
+     */
+    private final List<? extends ObjFace> objFaces;
+
+    /**
+     * The (ascending) indices of the faces in the Obj at which the 
+     * ranges of this group start
+     */
+    private int[] rangeStartFaces;
+
+    /**
+     * The indices of the faces in this group at which the ranges start.
+     * This is the number of faces of this group that are contained in
+     * the preceding ranges.
+     */
+    private int[] rangeOffsets;
+
+    /**
+     * The number of ranges
+     */
+    private int numRanges;
+    
+    /**
+     * The number of faces in this group
+     */
+    private int numFaces;
+
+    /**
+     * Creates a new ObjGroup with the given name
+     * 
+     * @param name The name of this ObjGroup
+     * @param objFaces The faces of the Obj that this group belongs to
+     */
+    DefaultObjGroup(String name, List<? extends ObjFace> objFaces)
+    {
+        this.name = name;
+        this.objFaces = objFaces;
+        this.rangeStartFaces = new int[INITIAL_CAPACITY];
+        this.rangeOffsets = new int[INITIAL_CAPACITY];
+    }
+
+    @Override
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Add the specified face to this group. The given index must be 
+     * larger than the indices of all faces that have been added until 
+     * now. If it immediately follows the index of the last face, then 
+     * the last range will be extended. Otherwise, a new range will 
+     * be started.
+     * 
+     * @param faceIndex The index of the face in the Obj
+     */
+    void addFace(int faceIndex)
+    {
+        if (numRanges > 0)
+        {
+            int last = numRanges - 1;
+            int end = rangeStartFaces[last] + numFaces - rangeOffsets[last];
+            if (end == faceIndex)
+            {
+                numFaces++;
+                return;
+            }
+        }
+        if (numRanges == rangeStartFaces.length)
+        {
+            int newCapacity = numRanges * 2;
+            rangeStartFaces = Arrays.copyOf(rangeStartFaces, newCapacity);
+            rangeOffsets = Arrays.copyOf(rangeOffsets, newCapacity);
+        }
+        rangeStartFaces[numRanges] = faceIndex;
+        rangeOffsets[numRanges] = numFaces;
+        numRanges++;
+        numFaces++;
+    }
+    
+    /**
+     * Returns the number of contiguous ranges of faces in this group
+     * 
+     * @return The number of ranges
+     */
+    int getNumRanges()
+    {
+        return numRanges;
+    }
+
+    @Override
+    public int getNumFaces()
+    {
+        return numFaces;
+    }
+
+    @Override
+    public ObjFace getFace(int index)
+    {
+        if (index < 0 || index >= numFaces)
+        {
+            throw new IndexOutOfBoundsException(
+                "Index " + index + ", size " + numFaces);
+        }
+        int r = Arrays.binarySearch(rangeOffsets, 0, numRanges, index);
+        if (r < 0)
+        {
+            // The index is inside of the range before the insertion point
+            r = -r - 2;
+        }
+        return objFaces.get(rangeStartFaces[r] + index - rangeOffsets[r]);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ObjGroup[name=" + name + ",#faces=" + numFaces + "]";
+    }
+
+}
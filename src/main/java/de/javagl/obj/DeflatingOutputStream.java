@@ -0,0 +1,412 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.obj;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * An output stream that writes GZIP data, compressing blocks of the 
+ * data in parallel.<br>
+ * <br>
+ * The data is collected in blocks of a fixed size. Each block is 
+ * compressed by a task in a <code>ForkJoinPool</code>, using the last 
+ * 32 KiB of the preceding block as the dictionary, so that the 
+ * compression ratio is close to that of sequential compression. All 
+ * blocks except for the last one are terminated with a sync flush, so 
+ * that they end at a byte boundary. The compressed blocks are written 
+ * in order, and form a single deflate stream inside a standard GZIP 
+ * member that can be read by any GZIP implementation. The CRC of the 
+ * uncompressed data is computed on the writing thread.<br>
+ * <br>
+ * When this stream is used from within a task that is executed in
+ * a <code>ForkJoinPool</code>, then the compression tasks will be 
+ * executed in the same pool. Otherwise, they will be executed in the 
+ * common pool. Only a limited number of blocks is compressed at the 
+ * same time, so that the memory requirements are bounded.<br>
+ * <br>
+ * Closing this stream finishes the GZIP data, but does <b>not</b> 
+ * close the underlying stream.
+ */
+final class DeflatingOutputStream extends OutputStream
+{
+    /**
+     * The size of a block of uncompressed data
+     */
+    private static final int BLOCK_SIZE = 1 << 17;
+
+    /**
+     * The size of the dictionary
+     */
+    private static final int DICTIONARY_SIZE = 1 << 15;
+
+    /**
+     * The number of blocks that may be compressed at the same time
+     * for each thread of the pool
+     */
+    private static final int BLOCKS_PER_THREAD = 2;
+
+    /**
+     * The GZIP header: Magic number, deflate compression method, no
+     * flags, no modification time, no extra flags, unknown OS
+     */
+    private static final byte[] HEADER = 
+    { 
+        0x1F, (byte)0x8B, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte)0xFF 
+    };
+
+    /**
+     * The underlying stream
+     */
+    private final OutputStream outputStream;
+
+    /**
+     * The compression level
+     */
+    private final int level;
+
+    /**
+     * The pool that executes the compression tasks
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The maximum number of blocks that are compressed at the same time
+     */
+    private final int maxPending;
+
+    /**
+     * The compression tasks that have not been written yet, in order
+     */
+    private final Deque<ForkJoinTask<byte[]>> pending;
+
+    /**
+     * The deflaters that may be reused by the compression tasks
+     */
+    private final ConcurrentLinkedQueue<Deflater> deflaters;
+
+    /**
+     * The CRC of the uncompressed data
+     */
+    private final CRC32 crc;
+
+    /**
+     * The block that is currently filled
+     */
+    private byte[] block;
+
+    /**
+     * The number of bytes in the current block
+     */
+    private int length;
+
+    /**
+     * The preceding block, which provides the dictionary for the 
+     * current block, or <code>null</code> for the first block
+     */
+    private byte[] previousBlock;
+
+    /**
+     * The number of uncompressed bytes that have been written
+     */
+    private long size;
+
+    /**
+     * Whether this stream has been finished
+     */
+    private boolean finished;
+
+    /**
+     * Creates a new stream that writes GZIP data to the given stream
+     * 
+     * @param outputStream The underlying stream
+     * @param level The compression level, as defined in 
+     * <code>java.util.zip.Deflater</code>
+     * @throws IOException If the header can not be written
+     */
+    DeflatingOutputStream(OutputStream outputStream, int level) 
+        throws IOException
+    {
+        this.outputStream = outputStream;
+        this.level = level;
+        this.pool = ForkJoinTask.inForkJoinPool() ? 
+            ForkJoinTask.getPool() : ForkJoinPool.commonPool();
+        this.maxPending = 
+            Math.max(2, pool.getParallelism() * BLOCKS_PER_THREAD);
+        this.pending = new ArrayDeque<ForkJoinTask<byte[]>>();
+        this.deflaters = new ConcurrentLinkedQueue<Deflater>();
+        this.crc = new CRC32();
+        this.block = new byte[BLOCK_SIZE];
+        outputStream.write(HEADER);
+    }
+
+    @Override
+    public void write(int b) throws IOException
+    {
+        ensureOpen();
+        if (length == BLOCK_SIZE)
+        {
+            submit(false);
+        }
+        block[length++] = (byte)b;
+        crc.update(b);
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException
+    {
+        ensureOpen();
+        if (off < 0 || len < 0 || off + len > b.length)
+        {
+            throw new IndexOutOfBoundsException(
+                "Offset " + off + ", length " + len + 
+                ", array length " + b.length);
+        }
+        crc.update(b, off, len);
+        size += len;
+        int o = off;
+        int remaining = len;
+        while (remaining > 0)
+        {
+            if (length == BLOCK_SIZE)
+            {
+                submit(false);
+            }
+            int n = Math.min(remaining, BLOCK_SIZE - length);
+            System.arraycopy(b, o, block, length, n);
+            length += n;
+            o += n;
+            remaining -= n;
+        }
+    }
+
+    /**
+     * Write all blocks whose compression has been completed, in order.
+     * This does not flush the deflate stream, because this would 
+     * degrade the compression.
+     */
+    @Override
+    public void flush() throws IOException
+    {
+        ensureOpen();
+        while (!pending.isEmpty() && pending.peekFirst().isDone())
+        {
+            writeFirstPending();
+        }
+        outputStream.flush();
+    }
+
+    /**
+     * Finish writing the GZIP data to the underlying stream, without
+     * closing it. This compresses the remaining data, waits until all
+     * blocks have been written, and writes the GZIP trailer.
+     * 
+     * @throws IOException If an IO error occurs
+     */
+    void finish() throws IOException
+    {
+        if (finished)
+        {
+            return;
+        }
+        try
+        {
+            submit(true);
+            while (!pending.isEmpty())
+            {
+                writeFirstPending();
+            }
+            writeIntLE((int)crc.getValue());
+            writeIntLE((int)size);
+            outputStream.flush();
+        }
+        finally
+        {
+            finished = true;
+            pending.clear();
+            Deflater deflater = deflaters.poll();
+            while (deflater != null)
+            {
+                deflater.end();
+                deflater = deflaters.poll();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        finish();
+    }
+
+    /**
+     * Make sure that this stream has not been finished
+     * 
+     * @throws IOException If the stream has been finished
+     */
+    private void ensureOpen() throws IOException
+    {
+        if (finished)
+        {
+            throw new IOException("Stream is closed");
+        }
+    }
+
+    /**
+     * Submit a task for compressing the current block, and start a 
+     * new block. If the maximum number of pending tasks is reached, 
+     * then this waits for the first pending task and writes its result.
+     * 
+     * @param last Whether this is the last block
+     * @throws IOException If an IO error occurs
+     */
+    private void submit(boolean last) throws IOException
+    {
+        while (pending.size() >= maxPending)
+        {
+            writeFirstPending();
+        }
+        byte[] data = block;
+        int dataLength = length;
+        byte[] dictionary = previousBlock;
+        pending.addLast(pool.submit(new RecursiveTask<byte[]>()
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected byte[] compute()
+            {
+                return compress(data, dataLength, dictionary, last);
+            }
+        }));
+        previousBlock = data;
+        block = new byte[BLOCK_SIZE];
+        length = 0;
+    }
+
+    /**
+     * Wait for the first pending task, and write its result
+     * 
+     * @throws IOException If an IO error occurs, or the compression 
+     * failed
+     */
+    private void writeFirstPending() throws IOException
+    {
+        ForkJoinTask<byte[]> task = pending.removeFirst();
+        byte[] compressed;
+        try
+        {
+            compressed = task.join();
+        }
+        catch (RuntimeException e)
+        {
+            throw new IOException("Could not compress data", e);
+        }
+        outputStream.write(compressed);
+    }
+
+    /**
+     * Compress the given block
+     * 
+     * @param data The data
+     * @param dataLength The number of bytes in the data
+     * @param dictionary The preceding block, or <code>null</code>
+     * @param last Whether this is the last block
+     * @return The compressed data
+     */
+    private byte[] compress(
+        byte[] data, int dataLength, byte[] dictionary, boolean last)
+    {
+        Deflater deflater = deflaters.poll();
+        if (deflater == null)
+        {
+            deflater = new Deflater(level, true);
+        }
+        try
+        {
+            if (dictionary != null)
+            {
+                deflater.setDictionary(dictionary, 
+                    dictionary.length - DICTIONARY_SIZE, DICTIONARY_SIZE);
+            }
+            deflater.setInput(data, 0, dataLength);
+            ByteArrayOutputStream result = 
+                new ByteArrayOutputStream(dataLength / 2 + 64);
+            byte[] buffer = new byte[1 << 14];
+            if (last)
+            {
+                deflater.finish();
+                while (!deflater.finished())
+                {
+                    int n = deflater.deflate(buffer);
+                    result.write(buffer, 0, n);
+                }
+            }
+            else
+            {
+                int n;
+                do
+                {
+                    n = deflater.deflate(
+                        buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    result.write(buffer, 0, n);
+                }
+                while (n == buffer.length || !deflater.needsInput());
+            }
+            return result.toByteArray();
+        }
+        finally
+        {
+            deflater.reset();
+            deflaters.add(deflater);
+        }
+    }
+
+    /**
+     * Write the given value as four bytes in little-endian order
+     * 
+     * @param value The value
+     * @throws IOException If an IO error occurs
+     */
+    private void writeIntLE(int value) throws IOException
+    {
+        outputStream.write(value & 0xFF);
+        outputStream.write((value >>> 8) & 0xFF);
+        outputStream.write((value >>> 16) & 0xFF);
+        outputStream.write((value >>> 24) & 0xFF);
+    }
+}
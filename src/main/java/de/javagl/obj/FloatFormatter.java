@@ -0,0 +1,653 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.obj;
+
+import java.math.BigInteger;
+
+/**
+ * Methods for formatting float values into byte arrays, without creating
+ * intermediate strings.<br>
+ * <br>
+ * The digits are computed with the Schubfach algorithm by Raffaello 
+ * Giulietti ("The Schubfach way to render doubles", 2020), which yields 
+ * the shortest decimal representation that rounds to the given value.
+ * The layout is the same as that of <code>Float.toString</code>: Values
+ * with a magnitude between 10<sup>-3</sup> (inclusive) and 10<sup>7</sup>
+ * (exclusive) are written in plain notation, with at least one digit 
+ * after the decimal point. Other values are written in computerized 
+ * scientific notation, like <code>"1.0E-5"</code>. The result is 
+ * therefore equal to the result of <code>Float.toString</code> in 
+ * Java 19 and later. Earlier Java versions may occasionally produce 
+ * more digits than necessary. In all cases, parsing the result yields
+ * the original value.
+ */
+final class FloatFormatter
+{
+    /**
+     * The maximum number of bytes that are written for a single value
+     */
+    static final int MAX_LENGTH = 15;
+
+    /**
+     * The precision of a float, in bits
+     */
+    private static final int P = 24;
+
+    /**
+     * The width of the exponent of a float, in bits
+     */
+    private static final int W = 8;
+
+    /**
+     * The minimum binary exponent of the significand
+     */
+    private static final int Q_MIN = -149;
+
+    /**
+     * Subnormal significands below this value are scaled by 10, to
+     * make sure that the result has at least two digits
+     */
+    private static final int C_TINY = 8;
+
+    /**
+     * The minimum decimal exponent for the table of powers of ten
+     */
+    private static final int K_MIN = -45;
+
+    /**
+     * The maximum decimal exponent for the table of powers of ten
+     */
+    private static final int K_MAX = 31;
+
+    /**
+     * The smallest normal significand
+     */
+    private static final int C_MIN = 1 << P - 1;
+
+    /**
+     * The mask for the biased exponent
+     */
+    private static final int BQ_MASK = (1 << W) - 1;
+
+    /**
+     * The mask for the explicitly stored significand bits
+     */
+    private static final int T_MASK = (1 << P - 1) - 1;
+
+    /**
+     * The mask for the lower 32 bits of a long
+     */
+    private static final long MASK_32 = (1L << 32) - 1;
+
+    /**
+     * The 63-bit approximations of the powers of ten, for the 
+     * exponents between {@link #K_MIN} and {@link #K_MAX}
+     */
+    private static final long[] G = createPowersOfTen();
+
+    /**
+     * The powers of ten that can be represented exactly as double values
+     */
+    private static final double[] POWERS_OF_TEN = 
+    {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * The powers of ten that can be represented as int values
+     */
+    private static final int[] POWERS_OF_TEN_INT = 
+    {
+        1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000,
+        1000000000
+    };
+
+    /**
+     * The bytes for <code>"NaN"</code>
+     */
+    private static final byte[] NAN = { 'N', 'a', 'N' };
+
+    /**
+     * The bytes for <code>"Infinity"</code>
+     */
+    private static final byte[] INFINITY = 
+        { 'I', 'n', 'f', 'i', 'n', 'i', 't', 'y' };
+
+    /**
+     * Write the representation of the given value into the given array, 
+     * starting at the given index. The array must provide space for at 
+     * least {@link #MAX_LENGTH} bytes, starting at the given index.
+     * 
+     * @param v The value
+     * @param bytes The target array
+     * @param index The index where to start writing
+     * @return The index after the last byte that was written
+     */
+    static int format(float v, byte[] bytes, int index)
+    {
+        int bits = Float.floatToRawIntBits(v);
+        int t = bits & T_MASK;
+        int bq = (bits >>> P - 1) & BQ_MASK;
+        int i = index;
+        if (bq == BQ_MASK)
+        {
+            if (t != 0)
+            {
+                return copy(NAN, bytes, i);
+            }
+            if (bits < 0)
+            {
+                bytes[i++] = '-';
+            }
+            return copy(INFINITY, bytes, i);
+        }
+        if (bits < 0)
+        {
+            bytes[i++] = '-';
+        }
+        if (bq != 0)
+        {
+            // Normal value
+            int mq = -Q_MIN + 1 - bq;
+            int c = C_MIN | t;
+            if (0 < mq && mq < P)
+            {
+                // Fast path for integer values
+                int f = c >> mq;
+                if (f << mq == c)
+                {
+                    return layout(f, 0, false, bytes, i);
+                }
+            }
+            return toDecimal(-mq, c, 0, bytes, i);
+        }
+        if (t != 0)
+        {
+            // Subnormal value
+            if (t < C_TINY)
+            {
+                return toDecimal(Q_MIN, 10 * t, -1, bytes, i);
+            }
+            return toDecimal(Q_MIN, t, 0, bytes, i);
+        }
+        bytes[i++] = '0';
+        bytes[i++] = '.';
+        bytes[i++] = '0';
+        return i;
+    }
+    
+    /**
+     * Compute the shortest decimal <code>f * 10^e</code> that rounds to
+     * the value <code>c * 2^q</code>, and write it into the given array
+     * 
+     * @param q The binary exponent
+     * @param c The significand
+     * @param dk The correction for the decimal exponent
+     * @param bytes The target array
+     * @param index The index where to start writing
+     * @return The index after the last byte that was written
+     */
+    private static int toDecimal(int q, int c, int dk, byte[] bytes, int index)
+    {
+        int out = c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != C_MIN || q == Q_MIN)
+        {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        }
+        else
+        {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 33;
+        long g = G[k - K_MIN] + 1;
+
+        int vb = rop(g, cb << h);
+        int vbl = rop(g, cbl << h);
+        int vbr = rop(g, cbr << h);
+
+        int s = vb >> 2;
+        if (s >= 100)
+        {
+            // Try the candidates with one digit less
+            int sp10 = 10 * (int) (s * 1_717_986_919L >>> 34);
+            int tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin)
+            {
+                return layout(upin ? sp10 : tp10, k, false, bytes, index);
+            }
+        }
+        int t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win)
+        {
+            return layout(uin ? s : t, k + dk, false, bytes, index);
+        }
+        int cmp = vb - (s + t << 1);
+        boolean even = (s & 0x1) == 0;
+        return layout(cmp < 0 || cmp == 0 && even ? s : t, 
+            k + dk, false, bytes, index);
+    }
+
+    /**
+     * Computes the rounded-to-odd product that is required by the 
+     * algorithm
+     * 
+     * @param g The approximation of the power of ten
+     * @param cp The scaled significand
+     * @return The product
+     */
+    private static int rop(long g, long cp)
+    {
+        long x1 = FloatParser.unsignedMultiplyHigh(g, cp);
+        long vbp = x1 >>> 31;
+        return (int) (vbp | (x1 & MASK_32) + MASK_32 >>> 32);
+    }
+
+    /**
+     * Write the representation of the given value, rounded to the given 
+     * number of digits after the decimal point, into the given array, 
+     * starting at the given index. The array must provide space for at 
+     * least {@link #MAX_LENGTH} bytes, starting at the given index.<br>
+     * <br>
+     * Trailing zeros are omitted, and values that are rounded to zero 
+     * are written as <code>"0"</code>, regardless of their sign. If the 
+     * rounded value can not be represented with 10 digits, then the 
+     * value is written with 9 significant digits, which is sufficient 
+     * for preserving the value. Non-finite values are written as in
+     * {@link #format(float, byte[], int)}.
+     * 
+     * @param v The value
+     * @param decimals The number of decimals, between 0 and 9
+     * @param bytes The target array
+     * @param index The index where to start writing
+     * @return The index after the last byte that was written
+     */
+    static int formatDecimals(float v, int decimals, byte[] bytes, int index)
+    {
+        if (Float.isNaN(v) || Float.isInfinite(v))
+        {
+            return format(v, bytes, index);
+        }
+        double scaled = Math.abs((double)v) * POWERS_OF_TEN[decimals];
+        if (scaled >= Integer.MAX_VALUE)
+        {
+            return formatSignificant(v, 9, bytes, index);
+        }
+        int f = (int)Math.round(scaled);
+        return writeCompact(v < 0, f, -decimals, bytes, index);
+    }
+
+    /**
+     * Write the representation of the given value, rounded to the given 
+     * number of significant digits, into the given array, starting at 
+     * the given index. The array must provide space for at least 
+     * {@link #MAX_LENGTH} bytes, starting at the given index.<br>
+     * <br>
+     * Trailing zeros are omitted, and zero is written as 
+     * <code>"0"</code>, regardless of its sign. Non-finite values are 
+     * written as in {@link #format(float, byte[], int)}.
+     * 
+     * @param v The value
+     * @param digits The number of significant digits, between 1 and 9
+     * @param bytes The target array
+     * @param index The index where to start writing
+     * @return The index after the last byte that was written
+     */
+    static int formatSignificant(float v, int digits, byte[] bytes, int index)
+    {
+        if (Float.isNaN(v) || Float.isInfinite(v))
+        {
+            return format(v, bytes, index);
+        }
+        double a = Math.abs((double)v);
+        if (a == 0.0)
+        {
+            return writeCompact(false, 0, 0, bytes, index);
+        }
+        int min = POWERS_OF_TEN_INT[digits - 1];
+        int max = POWERS_OF_TEN_INT[digits - 1] * 10;
+        
+        // The exponent of the least significant digit. The estimate
+        // from the logarithm may be off by one.
+        int e = (int)Math.floor(Math.log10(a)) - digits + 1;
+        long f = Math.round(scale(a, -e));
+        if (f < min)
+        {
+            e--;
+            f = Math.round(scale(a, -e));
+        }
+        if (f >= max)
+        {
+            e++;
+            f = Math.round(scale(a, -e));
+        }
+        return writeCompact(v < 0, (int)f, e, bytes, index);
+    }
+
+    /**
+     * Returns <code>a * 10^k</code>
+     * 
+     * @param a The value
+     * @param k The exponent
+     * @return The result
+     */
+    private static double scale(double a, int k)
+    {
+        double result = a;
+        int remaining = k;
+        while (remaining > 22)
+        {
+            result *= POWERS_OF_TEN[22];
+            remaining -= 22;
+        }
+        while (remaining < -22)
+        {
+            result /= POWERS_OF_TEN[22];
+            remaining += 22;
+        }
+        if (remaining >= 0)
+        {
+            return result * POWERS_OF_TEN[remaining];
+        }
+        return result / POWERS_OF_TEN[-remaining];
+    }
+
+    /**
+     * Write the decimal <code>f * 10^e</code> with the given sign into 
+     * the given array, omitting trailing zeros
+     * 
+     * @param negative Whether the value is negative
+     * @param f The decimal significand, which is not negative
+     * @param e The decimal exponent
+     * @param bytes The target array
+     * @param index The index where to start writing
+     * @return The index after the last byte that was written
+     */
+    private static int writeCompact(
+        boolean negative, int f, int e, byte[] bytes, int index)
+    {
+        int i = index;
+        if (f == 0)
+        {
+            bytes[i++] = '0';
+            return i;
+        }
+        if (negative)
+        {
+            bytes[i++] = '-';
+        }
+        return layout(f, e, true, bytes, i);
+    }
+
+    /**
+     * Write the decimal <code>f * 10^e</code> into the given array, 
+     * using the layout of <code>Float.toString</code>. If the layout
+     * is compact, then integral values are written without a fraction,
+     * and values in scientific notation that only have a single digit
+     * are written without a decimal point.
+     * 
+     * @param f The decimal significand, which is positive
+     * @param e The decimal exponent
+     * @param compact Whether the compact layout is used
+     * @param bytes The target array
+     * @param index The index where to start writing
+     * @return The index after the last byte that was written
+     */
+    private static int layout(
+        int f, int e, boolean compact, byte[] bytes, int index)
+    {
+        int significand = f;
+        int exponent = e;
+        while (significand % 10 == 0)
+        {
+            significand /= 10;
+            exponent++;
+        }
+        int numDigits = numDigits(significand);
+        
+        // The exponent of the first digit
+        int d = exponent + numDigits - 1;
+        int i = index;
+        if (d >= 0 && d < 7)
+        {
+            int numIntegerDigits = d + 1;
+            if (numDigits <= numIntegerDigits)
+            {
+                i = writeDigits(significand, numDigits, bytes, i);
+                for (int j = numDigits; j < numIntegerDigits; j++)
+                {
+                    bytes[i++] = '0';
+                }
+                if (compact)
+                {
+                    return i;
+                }
+                bytes[i++] = '.';
+                bytes[i++] = '0';
+                return i;
+            }
+            int fraction = numDigits - numIntegerDigits;
+            int p = pow10(fraction);
+            i = writeDigits(significand / p, numIntegerDigits, bytes, i);
+            bytes[i++] = '.';
+            return writeDigits(significand % p, fraction, bytes, i);
+        }
+        if (d < 0 && d >= -3)
+        {
+            bytes[i++] = '0';
+            bytes[i++] = '.';
+            for (int j = -1; j > d; j--)
+            {
+                bytes[i++] = '0';
+            }
+            return writeDigits(significand, numDigits, bytes, i);
+        }
+        int p = pow10(numDigits - 1);
+        bytes[i++] = (byte)('0' + significand / p);
+        if (numDigits > 1)
+        {
+            bytes[i++] = '.';
+            i = writeDigits(significand % p, numDigits - 1, bytes, i);
+        }
+        else if (!compact)
+        {
+            bytes[i++] = '.';
+            bytes[i++] = '0';
+        }
+        bytes[i++] = 'E';
+        if (d < 0)
+        {
+            bytes[i++] = '-';
+            d = -d;
+        }
+        if (d >= 10)
+        {
+            bytes[i++] = (byte)('0' + d / 10);
+        }
+        bytes[i++] = (byte)('0' + d % 10);
+        return i;
+    }
+
+    /**
+     * Write the given number of decimal digits of the given value into 
+     * the given array, including leading zeros
+     * 
+     * @param value The non-negative value
+     * @param numDigits The number of digits
+     * @param bytes The target array
+     * @param index The index where to start writing
+     * @return The index after the last byte that was written
+     */
+    private static int writeDigits(
+        int value, int numDigits, byte[] bytes, int index)
+    {
+        int v = value;
+        for (int j = index + numDigits - 1; j >= index; j--)
+        {
+            bytes[j] = (byte)('0' + v % 10);
+            v /= 10;
+        }
+        return index + numDigits;
+    }
+
+    /**
+     * Returns the number of decimal digits of the given positive value
+     * 
+     * @param value The value
+     * @return The number of digits
+     */
+    private static int numDigits(int value)
+    {
+        int n = 1;
+        int p = 10;
+        while (n < 10 && value >= p)
+        {
+            n++;
+            p *= 10;
+        }
+        return n;
+    }
+    
+    /**
+     * Returns 10 to the power of the given non-negative exponent, which
+     * must be at most 9
+     * 
+     * @param e The exponent
+     * @return The power
+     */
+    private static int pow10(int e)
+    {
+        int p = 1;
+        for (int j = 0; j < e; j++)
+        {
+            p *= 10;
+        }
+        return p;
+    }
+
+    /**
+     * Copy the given bytes into the given array
+     * 
+     * @param source The source bytes
+     * @param bytes The target array
+     * @param index The index where to start writing
+     * @return The index after the last byte that was written
+     */
+    private static int copy(byte[] source, byte[] bytes, int index)
+    {
+        System.arraycopy(source, 0, bytes, index, source.length);
+        return index + source.length;
+    }
+
+    /**
+     * Returns <code>floor(log10(2^e))</code>
+     * 
+     * @param e The exponent
+     * @return The result
+     */
+    private static int flog10pow2(int e)
+    {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    /**
+     * Returns <code>floor(log10(3/4 * 2^e))</code>
+     * 
+     * @param e The exponent
+     * @return The result
+     */
+    private static int flog10threeQuartersPow2(int e)
+    {
+        return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    /**
+     * Returns <code>floor(log2(10^e))</code>
+     * 
+     * @param e The exponent
+     * @return The result
+     */
+    private static int flog2pow10(int e)
+    {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    /**
+     * Create the table of the 63-bit approximations of the powers of 
+     * ten. For each <code>k</code>, this is the most significant 63 bits
+     * of <code>floor(10^-k * 2^(125 - floor(log2(10^-k)))) + 1</code>.
+     * 
+     * @return The table
+     */
+    private static long[] createPowersOfTen()
+    {
+        long[] result = new long[K_MAX - K_MIN + 1];
+        for (int k = K_MIN; k <= K_MAX; k++)
+        {
+            int shift = 125 - flog2pow10(-k);
+            BigInteger g;
+            if (k <= 0)
+            {
+                BigInteger power = BigInteger.TEN.pow(-k);
+                if (shift >= 0)
+                {
+                    g = power.shiftLeft(shift);
+                }
+                else
+                {
+                    g = power.shiftRight(-shift);
+                }
+            }
+            else
+            {
+                BigInteger power = BigInteger.TEN.pow(k);
+                g = BigInteger.ONE.shiftLeft(shift).divide(power);
+            }
+            g = g.add(BigInteger.ONE);
+            result[k - K_MIN] = g.shiftRight(63).longValue();
+        }
+        return result;
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private FloatFormatter()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -0,0 +1,629 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Methods for parsing float values from ranges of character sequences
+ * or byte buffers, without creating intermediate strings.<br>
+ * <br>
+ * The results are the same as the results of <code>Float.parseFloat</code>.
+ * Decimal representations that consist of an optional sign, digits with 
+ * an optional decimal point, and an optional exponent are parsed 
+ * directly: Values that can be computed with a single exact floating 
+ * point operation are computed like this. Other values are computed 
+ * with the algorithm by Eisel and Lemire (Daniel Lemire, "Number Parsing 
+ * at a Gigabyte per Second", Software: Practice and Experience 51 (8), 
+ * 2021), using a table of 128-bit approximations of powers of five. In 
+ * the rare cases where this algorithm can not decide the correct 
+ * rounding, and for all other representations (like <code>"NaN"</code>, 
+ * <code>"Infinity"</code> or hexadecimal representations), the value 
+ * is computed with <code>Float.parseFloat</code>.
+ */
+final class FloatParser
+{
+    /**
+     * The smallest decimal exponent for which a non-zero value may
+     * result
+     */
+    private static final int SMALLEST_POWER_OF_TEN = -65;
+
+    /**
+     * The largest decimal exponent for which a finite value may result
+     */
+    private static final int LARGEST_POWER_OF_TEN = 38;
+
+    /**
+     * The number of explicitly stored mantissa bits of a float
+     */
+    private static final int MANTISSA_EXPLICIT_BITS = 23;
+
+    /**
+     * The exponent bias of a float
+     */
+    private static final int MINIMUM_EXPONENT = -127;
+
+    /**
+     * The biased exponent of infinity
+     */
+    private static final int INFINITE_POWER = 0xFF;
+
+    /**
+     * The smallest decimal exponent for which a value may be exactly 
+     * between two floats
+     */
+    private static final int MIN_EXPONENT_ROUND_TO_EVEN = -17;
+
+    /**
+     * The largest decimal exponent for which a value may be exactly 
+     * between two floats
+     */
+    private static final int MAX_EXPONENT_ROUND_TO_EVEN = 10;
+
+    /**
+     * The maximum number of significant digits that are stored
+     */
+    private static final int MAX_DIGITS = 19;
+
+    /**
+     * The largest significand that can be represented exactly as a float
+     */
+    private static final long MAX_EXACT_SIGNIFICAND = 1L << 24;
+
+    /**
+     * The powers of ten that can be represented exactly as a float
+     */
+    private static final float[] POWERS_OF_TEN =
+    {
+        1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    /**
+     * The 128-bit approximations of the powers of five, from 
+     * {@link #SMALLEST_POWER_OF_TEN} to {@link #LARGEST_POWER_OF_TEN},
+     * each stored as two longs (high and low part)
+     */
+    private static final long[] POWERS_OF_FIVE = createPowersOfFive();
+
+    /**
+     * The value indicating that the fast path could not compute a result
+     */
+    private static final int INVALID = -1;
+
+    /**
+     * Parse a float value from the specified range of the given sequence.
+     * 
+     * @param s The sequence
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @return The float value
+     * @throws NumberFormatException If the range does not contain a 
+     * valid float value
+     */
+    static float parseFloat(CharSequence s, int start, int end)
+    {
+        int i = start;
+        if (i >= end)
+        {
+            return fallback(s, start, end);
+        }
+        boolean negative = false;
+        char c = s.charAt(i);
+        if (c == '-' || c == '+')
+        {
+            negative = (c == '-');
+            i++;
+        }
+        long significand = 0;
+        int numDigits = 0;
+        int exponent = 0;
+        boolean foundDigits = false;
+        boolean truncated = false;
+        while (i < end && isDigit(c = s.charAt(i)))
+        {
+            foundDigits = true;
+            if (numDigits < MAX_DIGITS)
+            {
+                if (significand != 0 || c != '0')
+                {
+                    significand = significand * 10 + (c - '0');
+                    numDigits++;
+                }
+            }
+            else
+            {
+                exponent++;
+                truncated |= (c != '0');
+            }
+            i++;
+        }
+        if (i < end && s.charAt(i) == '.')
+        {
+            i++;
+            while (i < end && isDigit(c = s.charAt(i)))
+            {
+                foundDigits = true;
+                if (numDigits < MAX_DIGITS)
+                {
+                    if (significand != 0 || c != '0')
+                    {
+                        significand = significand * 10 + (c - '0');
+                        numDigits++;
+                    }
+                    exponent--;
+                }
+                else
+                {
+                    truncated |= (c != '0');
+                }
+                i++;
+            }
+        }
+        if (!foundDigits)
+        {
+            return fallback(s, start, end);
+        }
+        if (i < end && ((c = s.charAt(i)) == 'e' || c == 'E'))
+        {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && ((c = s.charAt(i)) == '-' || c == '+'))
+            {
+                negativeExponent = (c == '-');
+                i++;
+            }
+            int exponentStart = i;
+            int explicitExponent = 0;
+            while (i < end && isDigit(c = s.charAt(i)))
+            {
+                if (explicitExponent < 100000)
+                {
+                    explicitExponent = explicitExponent * 10 + (c - '0');
+                }
+                i++;
+            }
+            if (i == exponentStart)
+            {
+                return fallback(s, start, end);
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (i != end)
+        {
+            return fallback(s, start, end);
+        }
+        int bits = computeBits(significand, exponent, truncated);
+        if (bits == INVALID)
+        {
+            return fallback(s, start, end);
+        }
+        return createFloat(negative, bits);
+    }
+
+    /**
+     * Parse a float value from the specified range of the given buffer,
+     * interpreting the bytes as US-ASCII characters.
+     * 
+     * @param buffer The buffer
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @return The float value
+     * @throws NumberFormatException If the range does not contain a 
+     * valid float value
+     */
+    static float parseFloat(ByteBuffer buffer, int start, int end)
+    {
+        int i = start;
+        if (i >= end)
+        {
+            return fallback(buffer, start, end);
+        }
+        boolean negative = false;
+        byte b = buffer.get(i);
+        if (b == '-' || b == '+')
+        {
+            negative = (b == '-');
+            i++;
+        }
+        long significand = 0;
+        int numDigits = 0;
+        int exponent = 0;
+        boolean foundDigits = false;
+        boolean truncated = false;
+        while (i < end && isDigit(b = buffer.get(i)))
+        {
+            foundDigits = true;
+            if (numDigits < MAX_DIGITS)
+            {
+                if (significand != 0 || b != '0')
+                {
+                    significand = significand * 10 + (b - '0');
+                    numDigits++;
+                }
+            }
+            else
+            {
+                exponent++;
+                truncated |= (b != '0');
+            }
+            i++;
+        }
+        if (i < end && buffer.get(i) == '.')
+        {
+            i++;
+            while (i < end && isDigit(b = buffer.get(i)))
+            {
+                foundDigits = true;
+                if (numDigits < MAX_DIGITS)
+                {
+                    if (significand != 0 || b != '0')
+                    {
+                        significand = significand * 10 + (b - '0');
+                        numDigits++;
+                    }
+                    exponent--;
+                }
+                else
+                {
+                    truncated |= (b != '0');
+                }
+                i++;
+            }
+        }
+        if (!foundDigits)
+        {
+            return fallback(buffer, start, end);
+        }
+        if (i < end && ((b = buffer.get(i)) == 'e' || b == 'E'))
+        {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && ((b = buffer.get(i)) == '-' || b == '+'))
+            {
+                negativeExponent = (b == '-');
+                i++;
+            }
+            int exponentStart = i;
+            int explicitExponent = 0;
+            while (i < end && isDigit(b = buffer.get(i)))
+            {
+                if (explicitExponent < 100000)
+                {
+                    explicitExponent = explicitExponent * 10 + (b - '0');
+                }
+                i++;
+            }
+            if (i == exponentStart)
+            {
+                return fallback(buffer, start, end);
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (i != end)
+        {
+            return fallback(buffer, start, end);
+        }
+        int bits = computeBits(significand, exponent, truncated);
+        if (bits == INVALID)
+        {
+            return fallback(buffer, start, end);
+        }
+        return createFloat(negative, bits);
+    }
+
+    /**
+     * Create a float from the given sign and the bits of its magnitude
+     * 
+     * @param negative Whether the value is negative
+     * @param bits The bits
+     * @return The float
+     */
+    private static float createFloat(boolean negative, int bits)
+    {
+        if (negative)
+        {
+            return Float.intBitsToFloat(bits | 0x80000000);
+        }
+        return Float.intBitsToFloat(bits);
+    }
+
+    /**
+     * Compute the bits of the float that is closest to the value 
+     * <code>significand * 10^exponent</code>, or {@link #INVALID}
+     * if the value can not be computed on the fast path.
+     * 
+     * @param significand The significand, as an unsigned value
+     * @param exponent The decimal exponent
+     * @param truncated Whether non-zero digits have been omitted from
+     * the significand
+     * @return The bits of the float
+     */
+    private static int computeBits(
+        long significand, int exponent, boolean truncated)
+    {
+        if (!truncated)
+        {
+            if (significand >= 0 && significand <= MAX_EXACT_SIGNIFICAND &&
+                exponent >= -(POWERS_OF_TEN.length - 1) && 
+                exponent <= POWERS_OF_TEN.length - 1)
+            {
+                // Both the significand and the power of ten are exact,
+                // so the result of a single operation is correctly rounded
+                float value = (float)significand;
+                if (exponent < 0)
+                {
+                    value /= POWERS_OF_TEN[-exponent];
+                }
+                else
+                {
+                    value *= POWERS_OF_TEN[exponent];
+                }
+                return Float.floatToRawIntBits(value);
+            }
+            return computeBitsEiselLemire(significand, exponent);
+        }
+        // The actual value is between the values for the truncated 
+        // significand and the next larger significand. If both of them 
+        // lead to the same float, then this is the result.
+        int bits = computeBitsEiselLemire(significand, exponent);
+        if (bits == INVALID || 
+            bits != computeBitsEiselLemire(significand + 1, exponent))
+        {
+            return INVALID;
+        }
+        return bits;
+    }
+
+    /**
+     * Compute the bits of the float that is closest to the value 
+     * <code>w * 10^q</code>, using the Eisel-Lemire algorithm, or 
+     * {@link #INVALID} if the algorithm can not determine the 
+     * correctly rounded result.
+     * 
+     * @param w The significand, as an unsigned value
+     * @param q The decimal exponent
+     * @return The bits of the float
+     */
+    private static int computeBitsEiselLemire(long w, int q)
+    {
+        if (w == 0 || q < SMALLEST_POWER_OF_TEN)
+        {
+            return 0;
+        }
+        if (q > LARGEST_POWER_OF_TEN)
+        {
+            return INFINITE_POWER << MANTISSA_EXPLICIT_BITS;
+        }
+        int lz = Long.numberOfLeadingZeros(w);
+        long normalized = w << lz;
+
+        // Compute the product of the significand and the power of five,
+        // using the second half of the power only if the bits that are
+        // relevant for the result may be affected by it
+        int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+        long powerHigh = POWERS_OF_FIVE[index];
+        long low = normalized * powerHigh;
+        long high = unsignedMultiplyHigh(normalized, powerHigh);
+        long precisionMask = -1L >>> (MANTISSA_EXPLICIT_BITS + 3);
+        if ((high & precisionMask) == precisionMask)
+        {
+            long powerLow = POWERS_OF_FIVE[index + 1];
+            long secondHigh = unsignedMultiplyHigh(normalized, powerLow);
+            long sum = low + secondHigh;
+            if (Long.compareUnsigned(secondHigh, sum) > 0)
+            {
+                high++;
+            }
+            low = sum;
+        }
+        if (low == -1L && (q < -27 || q > 55))
+        {
+            return INVALID;
+        }
+
+        int upperBit = (int)(high >>> 63);
+        int shift = upperBit + 64 - MANTISSA_EXPLICIT_BITS - 3;
+        long mantissa = high >>> shift;
+        int power2 = power(q) + upperBit - lz - MINIMUM_EXPONENT;
+        if (power2 <= 0)
+        {
+            // Subnormal values
+            if (-power2 + 1 >= 64)
+            {
+                return 0;
+            }
+            mantissa >>>= -power2 + 1;
+            mantissa += (mantissa & 1);
+            mantissa >>>= 1;
+            power2 = (mantissa < (1L << MANTISSA_EXPLICIT_BITS)) ? 0 : 1;
+            return (power2 << MANTISSA_EXPLICIT_BITS) | (int)mantissa;
+        }
+
+        // Values that are exactly between two floats are rounded to even
+        if (Long.compareUnsigned(low, 1) <= 0 &&
+            q >= MIN_EXPONENT_ROUND_TO_EVEN && 
+            q <= MAX_EXPONENT_ROUND_TO_EVEN &&
+            (mantissa & 3) == 1)
+        {
+            if ((mantissa << shift) == high)
+            {
+                mantissa &= ~1L;
+            }
+        }
+        mantissa += (mantissa & 1);
+        mantissa >>>= 1;
+        if (mantissa >= (2L << MANTISSA_EXPLICIT_BITS))
+        {
+            mantissa = (1L << MANTISSA_EXPLICIT_BITS);
+            power2++;
+        }
+        mantissa &= ~(1L << MANTISSA_EXPLICIT_BITS);
+        if (power2 >= INFINITE_POWER)
+        {
+            return INFINITE_POWER << MANTISSA_EXPLICIT_BITS;
+        }
+        return (power2 << MANTISSA_EXPLICIT_BITS) | (int)mantissa;
+    }
+
+    /**
+     * Returns <code>floor(log2(10^q)) + 63</code>
+     * 
+     * @param q The decimal exponent
+     * @return The binary exponent
+     */
+    private static int power(int q)
+    {
+        return (((152170 + 65536) * q) >> 16) + 63;
+    }
+
+    /**
+     * Returns the upper 64 bits of the unsigned 128-bit product of 
+     * the given unsigned values
+     * 
+     * @param a The first value
+     * @param b The second value
+     * @return The upper 64 bits of the product
+     */
+    static long unsignedMultiplyHigh(long a, long b)
+    {
+        long aLow = a & 0xFFFFFFFFL;
+        long aHigh = a >>> 32;
+        long bLow = b & 0xFFFFFFFFL;
+        long bHigh = b >>> 32;
+        long lowLow = aLow * bLow;
+        long highLow = aHigh * bLow;
+        long lowHigh = aLow * bHigh;
+        long highHigh = aHigh * bHigh;
+        long cross = (lowLow >>> 32) + (highLow & 0xFFFFFFFFL) + lowHigh;
+        return highHigh + (highLow >>> 32) + (cross >>> 32);
+    }
+
+    /**
+     * Create the table of the 128-bit approximations of the powers 
+     * of five. For positive exponents, these are the truncated 
+     * powers of five, normalized so that the most significant bit is 
+     * set. For negative exponents, these are approximations of the 
+     * reciprocals, rounded up.
+     * 
+     * @return The table
+     */
+    private static long[] createPowersOfFive()
+    {
+        int n = LARGEST_POWER_OF_TEN - SMALLEST_POWER_OF_TEN + 1;
+        long[] result = new long[2 * n];
+        BigInteger five = BigInteger.valueOf(5);
+        for (int i = 0; i < n; i++)
+        {
+            int q = SMALLEST_POWER_OF_TEN + i;
+            BigInteger c;
+            if (q >= 0)
+            {
+                c = five.pow(q);
+            }
+            else
+            {
+                BigInteger power = five.pow(-q);
+                int z = power.bitLength();
+                int b = (q >= -27) ? z + 127 : 2 * z + 128;
+                c = BigInteger.ONE.shiftLeft(b).divide(power)
+                    .add(BigInteger.ONE);
+            }
+            int bitLength = c.bitLength();
+            if (bitLength < 128)
+            {
+                c = c.shiftLeft(128 - bitLength);
+            }
+            else
+            {
+                c = c.shiftRight(bitLength - 128);
+            }
+            result[2 * i] = c.shiftRight(64).longValue();
+            result[2 * i + 1] = c.longValue();
+        }
+        return result;
+    }
+
+    /**
+     * Parse the specified range of the given sequence with 
+     * <code>Float.parseFloat</code>
+     * 
+     * @param s The sequence
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @return The float value
+     * @throws NumberFormatException If the range does not contain a 
+     * valid float value
+     */
+    private static float fallback(CharSequence s, int start, int end)
+    {
+        return Float.parseFloat(s.subSequence(start, end).toString());
+    }
+
+    /**
+     * Parse the specified range of the given buffer with 
+     * <code>Float.parseFloat</code>
+     * 
+     * @param buffer The buffer
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @return The float value
+     * @throws NumberFormatException If the range does not contain a 
+     * valid float value
+     */
+    private static float fallback(ByteBuffer buffer, int start, int end)
+    {
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++)
+        {
+            bytes[i] = buffer.get(start + i);
+        }
+        return Float.parseFloat(new String(bytes, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Returns whether the given character is a decimal digit
+     * 
+     * @param c The character
+     * @return Whether the character is a digit
+     */
+    private static boolean isDigit(int c)
+    {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private FloatParser()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
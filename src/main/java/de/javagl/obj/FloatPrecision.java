@@ -0,0 +1,203 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.obj;
+
+/**
+ * Describes the precision that is used for writing float values with
+ * the {@link ObjWriter}. Instances of this class may be created with 
+ * the static factory methods, and passed to the {@link ObjWriterOptions}.
+ * <br>
+ * <br>
+ * The {@link #shortest()} precision writes the shortest representation
+ * that yields the original value when it is parsed again. The other 
+ * precisions round the values, and therefore do not preserve them 
+ * exactly. For these, trailing zeros are omitted, and values that are 
+ * rounded to zero are written as <code>"0"</code>, regardless of their 
+ * sign.
+ */
+public final class FloatPrecision
+{
+    /**
+     * The precision that writes the shortest representation
+     */
+    private static final FloatPrecision SHORTEST = new FloatPrecision(-1, -1);
+
+    /**
+     * The maximum number of decimals
+     */
+    private static final int MAX_DECIMALS = 9;
+
+    /**
+     * The maximum number of significant digits
+     */
+    private static final int MAX_SIGNIFICANT_DIGITS = 9;
+
+    /**
+     * The number of decimals, or -1 if the values are not rounded to
+     * a number of decimals
+     */
+    private final int decimals;
+
+    /**
+     * The number of significant digits, or -1 if the values are not 
+     * rounded to a number of significant digits
+     */
+    private final int significantDigits;
+
+    /**
+     * Private constructor
+     * 
+     * @param decimals The number of decimals, or -1
+     * @param significantDigits The number of significant digits, or -1
+     */
+    private FloatPrecision(int decimals, int significantDigits)
+    {
+        this.decimals = decimals;
+        this.significantDigits = significantDigits;
+    }
+
+    /**
+     * Returns the precision that writes the shortest representation that
+     * yields the original value when it is parsed again. This is the 
+     * default precision.
+     * 
+     * @return The precision
+     */
+    public static FloatPrecision shortest()
+    {
+        return SHORTEST;
+    }
+
+    /**
+     * Returns a precision that writes the values rounded to the given 
+     * number of digits after the decimal point. For example, with 3 
+     * decimals, the value <code>1.23456f</code> is written as 
+     * <code>"1.235"</code>, and the value <code>2.5f</code> is written 
+     * as <code>"2.5"</code>.
+     * 
+     * @param decimals The number of decimals
+     * @return The precision
+     * @throws IllegalArgumentException If the number of decimals is 
+     * negative or greater than 9
+     */
+    public static FloatPrecision decimals(int decimals)
+    {
+        if (decimals < 0 || decimals > MAX_DECIMALS)
+        {
+            throw new IllegalArgumentException(
+                "The number of decimals must be between 0 and " 
+                + MAX_DECIMALS + ", but is " + decimals);
+        }
+        return new FloatPrecision(decimals, -1);
+    }
+
+    /**
+     * Returns a precision that writes the values rounded to the given 
+     * number of significant digits. For example, with 3 significant 
+     * digits, the value <code>1234.56f</code> is written as 
+     * <code>"1230"</code>, and the value <code>0.0123456f</code> is 
+     * written as <code>"0.0123"</code>.
+     * 
+     * @param significantDigits The number of significant digits
+     * @return The precision
+     * @throws IllegalArgumentException If the number of digits is not
+     * positive or greater than 9
+     */
+    public static FloatPrecision significantDigits(int significantDigits)
+    {
+        if (significantDigits < 1 || 
+            significantDigits > MAX_SIGNIFICANT_DIGITS)
+        {
+            throw new IllegalArgumentException(
+                "The number of significant digits must be between 1 and " 
+                + MAX_SIGNIFICANT_DIGITS + ", but is " + significantDigits);
+        }
+        return new FloatPrecision(-1, significantDigits);
+    }
+
+    /**
+     * Write the representation of the given value with this precision 
+     * into the given array, starting at the given index. The array must 
+     * provide space for at least {@link FloatFormatter#MAX_LENGTH} bytes,
+     * starting at the given index.
+     * 
+     * @param v The value
+     * @param bytes The target array
+     * @param index The index where to start writing
+     * @return The index after the last byte that was written
+     */
+    int format(float v, byte[] bytes, int index)
+    {
+        if (significantDigits > 0)
+        {
+            return FloatFormatter.formatSignificant(
+                v, significantDigits, bytes, index);
+        }
+        if (decimals >= 0)
+        {
+            return FloatFormatter.formatDecimals(v, decimals, bytes, index);
+        }
+        return FloatFormatter.format(v, bytes, index);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * decimals + significantDigits;
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (!(object instanceof FloatPrecision))
+        {
+            return false;
+        }
+        FloatPrecision other = (FloatPrecision)object;
+        return decimals == other.decimals && 
+            significantDigits == other.significantDigits;
+    }
+
+    @Override
+    public String toString()
+    {
+        if (significantDigits > 0)
+        {
+            return "FloatPrecision[significantDigits=" 
+                + significantDigits + "]";
+        }
+        if (decimals >= 0)
+        {
+            return "FloatPrecision[decimals=" + decimals + "]";
+        }
+        return "FloatPrecision[shortest]";
+    }
+}
@@ -1,124 +1,199 @@
-/*
- * www.javagl.de - Obj
- *
- * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
- * 
- * Permission is hereby granted, free of charge, to any person
- * obtaining a copy of this software and associated documentation
- * files (the "Software"), to deal in the Software without
- * restriction, including without limitation the rights to use,
- * copy, modify, merge, publish, distribute, sublicense, and/or sell
- * copies of the Software, and to permit persons to whom the
- * Software is furnished to do so, subject to the following
- * conditions:
- * 
- * The above copyright notice and this permission notice shall be
- * included in all copies or substantial portions of the Software.
- * 
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
- * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
- * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
- * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
- * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
- * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
- * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
- * OTHER DEALINGS IN THE SOFTWARE.
- */
-package de.javagl.obj;
-
-/**
- * Methods to create {@link FloatTuple} instances
- */
-public class FloatTuples
-{
-    /**
-     * Create a copy of the given {@link FloatTuple}
-     * 
-     * @param other The other tuple
-     * @return The {@link FloatTuple}
-     */
-    public static FloatTuple copy(FloatTuple other)
-    {
-        return new DefaultFloatTuple(other);
-    }
-    
-    /**
-     * Create a new {@link FloatTuple} with the given coordinate
-     * 
-     * @param x The x-coordinate
-     * @return The {@link FloatTuple}
-     */
-    public static FloatTuple create(float x)
-    {
-        return new DefaultFloatTuple(x);
-    }
-    
-    /**
-     * Create a new {@link FloatTuple} with the given coordinates
-     * 
-     * @param x The x-coordinate
-     * @param y The y-coordinate
-     * @return The {@link FloatTuple}
-     */
-    public static FloatTuple create(float x, float y)
-    {
-        return new DefaultFloatTuple(x, y);
-    }
-    
-    /**
-     * Create a new {@link FloatTuple} with the given coordinates
-     * 
-     * @param x The x-coordinate
-     * @param y The y-coordinate
-     * @param z The z-coordinate
-     * @return The {@link FloatTuple}
-     */
-    public static FloatTuple create(float x, float y, float z)
-    {
-        return new DefaultFloatTuple(x, y, z);
-    }
-    
-    /**
-     * Create a new {@link FloatTuple} with the given coordinates
-     * 
-     * @param x The x-coordinate
-     * @param y The y-coordinate
-     * @param z The z-coordinate
-     * @param w The w-coordinate
-     * @return The {@link FloatTuple}
-     */
-    public static FloatTuple create(float x, float y, float z, float w)
-    {
-        return new DefaultFloatTuple(x, y, z, w);
-    }
-    
-    
-    /**
-     * Returns the string for the given tuple that is used for representing
-     * the given tuple in an OBJ file
-     * 
-     * @param tuple The tuple
-     * @return The string for the given tuple
-     */
-    public static String createString(FloatTuple tuple)
-    {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < tuple.getDimensions(); i++)
-        {
-            if (i > 0)
-            {
-                sb.append(" ");
-            }
-            sb.append(tuple.get(i));
-        }
-        return sb.toString();
-    }
-    
-    /**
-     * Private constructor to prevent instantiation
-     */
-    private FloatTuples()
-    {
-        // Private constructor to prevent instantiation
-    }
-}
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.obj;
+
+/**
+ * Methods to create {@link FloatTuple} instances
+ */
+public class FloatTuples
+{
+    /**
+     * Create a copy of the given {@link FloatTuple}
+     * 
+     * @param other The other tuple
+     * @return The {@link FloatTuple}
+     */
+    public static FloatTuple copy(FloatTuple other)
+    {
+        int d = other.getDimensions();
+        switch (d)
+        {
+            case 1:
+                return create(other.getX());
+            case 2:
+                return create(other.getX(), other.getY());
+            case 3:
+                return create(other.getX(), other.getY(), other.getZ());
+            case 4:
+                return create(other.getX(), other.getY(), other.getZ(), 
+                    other.getW());
+            default:
+                return new DefaultFloatTuple(other);
+        }
+    }
+    
+    /**
+     * Create a new {@link FloatTuple} with the given coordinate
+     * 
+     * @param x The x-coordinate
+     * @return The {@link FloatTuple}
+     */
+    public static FloatTuple create(float x)
+    {
+        return new CompactFloatTuples.Tuple1(x);
+    }
+    
+    /**
+     * Create a new {@link FloatTuple} with the given coordinates
+     * 
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return The {@link FloatTuple}
+     */
+    public static FloatTuple create(float x, float y)
+    {
+        return new CompactFloatTuples.Tuple2(x, y);
+    }
+    
+    /**
+     * Create a new {@link FloatTuple} with the given coordinates
+     * 
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @param z The z-coordinate
+     * @return The {@link FloatTuple}
+     */
+    public static FloatTuple create(float x, float y, float z)
+    {
+        return new CompactFloatTuples.Tuple3(x, y, z);
+    }
+    
+    /**
+     * Create a new {@link FloatTuple} with the given coordinates
+     * 
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @param z The z-coordinate
+     * @param w The w-coordinate
+     * @return The {@link FloatTuple}
+     */
+    public static FloatTuple create(float x, float y, float z, float w)
+    {
+        return new CompactFloatTuples.Tuple4(x, y, z, w);
+    }
+    
+    /**
+     * Create a new {@link FloatTuple} with the given number of 
+     * dimensions, consisting of the first coordinates of the given ones
+     * 
+     * @param dimensions The number of dimensions, between 1 and 4
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @param z The z-coordinate
+     * @param w The w-coordinate
+     * @return The {@link FloatTuple}
+     * @throws IllegalArgumentException If the number of dimensions is
+     * not between 1 and 4
+     */
+    static FloatTuple create(
+        int dimensions, float x, float y, float z, float w)
+    {
+        switch (dimensions)
+        {
+            case 1:
+                return new CompactFloatTuples.Tuple1(x);
+            case 2:
+                return new CompactFloatTuples.Tuple2(x, y);
+            case 3:
+                return new CompactFloatTuples.Tuple3(x, y, z);
+            case 4:
+                return new CompactFloatTuples.Tuple4(x, y, z, w);
+            default:
+                throw new IllegalArgumentException(
+                    "The dimensions must be between 1 and 4, but are "
+                    + dimensions);
+        }
+    }
+    
+    
+    /**
+     * Check whether the given array contains the values of the given 
+     * number of tuples with the given number of dimensions, starting
+     * at the given offset
+     * 
+     * @param values The array
+     * @param offset The offset
+     * @param count The number of tuples
+     * @param dimensions The number of dimensions
+     * @throws NullPointerException If the array is <code>null</code>
+     * @throws IndexOutOfBoundsException If the offset or the count are 
+     * negative, or the array does not contain the required number of
+     * values
+     */
+    static void checkRange(
+        float[] values, int offset, int count, int dimensions)
+    {
+        if (offset < 0 || count < 0 || 
+            (long)offset + (long)count * dimensions > values.length)
+        {
+            throw new IndexOutOfBoundsException(
+                "Can not read " + count + " tuples with " + dimensions + 
+                " dimensions from offset " + offset + 
+                " of an array with length " + values.length);
+        }
+    }
+    
+    
+    /**
+     * Returns the string for the given tuple that is used for representing
+     * the given tuple in an OBJ file
+     * 
+     * @param tuple The tuple
+     * @return The string for the given tuple
+     */
+    public static String createString(FloatTuple tuple)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < tuple.getDimensions(); i++)
+        {
+            if (i > 0)
+            {
+                sb.append(" ");
+            }
+            sb.append(tuple.get(i));
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private FloatTuples()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.util.Collection;
+
+/**
+ * Implementation of a {@link WritableObj} that passes all calls to a 
+ * delegate. Subclasses may override single methods in order to observe
+ * or modify the elements that are passed to the delegate.
+ */
+class ForwardingWritableObj implements WritableObj
+{
+    /**
+     * The delegate
+     */
+    private final WritableObj delegate;
+
+    /**
+     * Creates a new instance
+     * 
+     * @param delegate The delegate
+     */
+    ForwardingWritableObj(WritableObj delegate)
+    {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void addVertex(FloatTuple vertex)
+    {
+        delegate.addVertex(vertex);
+    }
+
+    @Override
+    public void addVertex(float x, float y, float z)
+    {
+        delegate.addVertex(x, y, z);
+    }
+
+    @Override
+    public void addVertex(
+        int dimensions, float x, float y, float z, float w)
+    {
+        delegate.addVertex(dimensions, x, y, z, w);
+    }
+
+    @Override
+    public void addTexCoord(FloatTuple texCoord)
+    {
+        delegate.addTexCoord(texCoord);
+    }
+
+    @Override
+    public void addTexCoord(float x)
+    {
+        delegate.addTexCoord(x);
+    }
+
+    @Override
+    public void addTexCoord(float x, float y)
+    {
+        delegate.addTexCoord(x, y);
+    }
+
+    @Override
+    public void addTexCoord(float x, float y, float z)
+    {
+        delegate.addTexCoord(x, y, z);
+    }
+
+    @Override
+    public void addTexCoord(
+        int dimensions, float x, float y, float z, float w)
+    {
+        delegate.addTexCoord(dimensions, x, y, z, w);
+    }
+
+    @Override
+    public void addNormal(FloatTuple normal)
+    {
+        delegate.addNormal(normal);
+    }
+
+    @Override
+    public void addNormal(float x, float y, float z)
+    {
+        delegate.addNormal(x, y, z);
+    }
+
+    @Override
+    public void addNormal(
+        int dimensions, float x, float y, float z, float w)
+    {
+        delegate.addNormal(dimensions, x, y, z, w);
+    }
+
+    @Override
+    public void setActiveGroupNames(
+        Collection<? extends String> groupNames)
+    {
+        delegate.setActiveGroupNames(groupNames);
+    }
+
+    @Override
+    public void setActiveMaterialGroupName(String materialGroupName)
+    {
+        delegate.setActiveMaterialGroupName(materialGroupName);
+    }
+
+    @Override
+    public void addFace(ObjFace face)
+    {
+        delegate.addFace(face);
+    }
+
+    @Override
+    public void addFace(int... v)
+    {
+        delegate.addFace(v);
+    }
+
+    @Override
+    public void addFaceWithTexCoords(int... v)
+    {
+        delegate.addFaceWithTexCoords(v);
+    }
+
+    @Override
+    public void addFaceWithNormals(int... v)
+    {
+        delegate.addFaceWithNormals(v);
+    }
+
+    @Override
+    public void addFaceWithAll(int... v)
+    {
+        delegate.addFaceWithAll(v);
+    }
+
+    @Override
+    public void addFace(int[] v, int[] vt, int[] vn)
+    {
+        delegate.addFace(v, vt, vn);
+    }
+
+    @Override
+    public void ensureCapacity(int numVertices, int numFaces)
+    {
+        delegate.ensureCapacity(numVertices, numFaces);
+    }
+
+    @Override
+    public void addVertices(float[] xyz, int offset, int count)
+    {
+        delegate.addVertices(xyz, offset, count);
+    }
+
+    @Override
+    public void addTexCoords(float[] xy, int offset, int count)
+    {
+        delegate.addTexCoords(xy, offset, count);
+    }
+
+    @Override
+    public void addNormals(float[] xyz, int offset, int count)
+    {
+        delegate.addNormals(xyz, offset, count);
+    }
+
+    @Override
+    public void addFaces(int[] indices, int[] faceSizes)
+    {
+        delegate.addFaces(indices, faceSizes);
+    }
+
+    @Override
+    public void addFaces(int[] v, int[] vt, int[] vn, int[] faceSizes)
+    {
+        delegate.addFaces(v, vt, vn, faceSizes);
+    }
+
+    @Override
+    public void setMtlFileNames(Collection<? extends String> mtlFileNames)
+    {
+        delegate.setMtlFileNames(mtlFileNames);
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.PushbackInputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * An input stream that decompresses GZIP data on a separate thread.<br>
+ * <br>
+ * The decompressing thread fills buffers with the uncompressed data, 
+ * and passes them to the reading thread through a bounded queue. The 
+ * buffers are passed back through a second queue and reused, so that 
+ * decompressing and parsing the data may overlap, with a fixed amount
+ * of memory.<br>
+ * <br>
+ * Closing this stream stops the decompressing thread, but does 
+ * <b>not</b> close the underlying stream.
+ */
+final class InflatingInputStream extends InputStream
+{
+    /**
+     * The first byte of the GZIP magic number
+     */
+    private static final int GZIP_MAGIC_0 = 0x1F;
+
+    /**
+     * The second byte of the GZIP magic number
+     */
+    private static final int GZIP_MAGIC_1 = 0x8B;
+
+    /**
+     * The size of a single buffer
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The number of buffers
+     */
+    private static final int NUM_BUFFERS = 4;
+
+    /**
+     * A block of uncompressed data
+     */
+    private static final class Block
+    {
+        /**
+         * The data
+         */
+        final byte[] data = new byte[BUFFER_SIZE];
+
+        /**
+         * The number of valid bytes in the data, or -1 if this block
+         * marks the end of the stream
+         */
+        int length;
+    }
+
+    /**
+     * Returns an input stream that provides the uncompressed data from
+     * the given stream. If the given stream starts with the GZIP magic 
+     * number, then the returned stream will be an 
+     * {@link InflatingInputStream}. Otherwise, it will provide the
+     * data of the given stream unmodified.
+     * 
+     * @param inputStream The input stream
+     * @return The input stream providing the uncompressed data
+     * @throws IOException If an IO error occurs
+     */
+    static InputStream open(InputStream inputStream) throws IOException
+    {
+        PushbackInputStream pushback = new PushbackInputStream(inputStream, 2);
+        byte[] magic = new byte[2];
+        int n = 0;
+        while (n < magic.length)
+        {
+            int read = pushback.read(magic, n, magic.length - n);
+            if (read < 0)
+            {
+                break;
+            }
+            n += read;
+        }
+        pushback.unread(magic, 0, n);
+        if (n == 2 && isGzip(magic[0], magic[1]))
+        {
+            return new InflatingInputStream(pushback);
+        }
+        return pushback;
+    }
+
+    /**
+     * Returns whether the given bytes are the GZIP magic number
+     * 
+     * @param b0 The first byte
+     * @param b1 The second byte
+     * @return Whether the bytes are the GZIP magic number
+     */
+    static boolean isGzip(byte b0, byte b1)
+    {
+        return (b0 & 0xFF) == GZIP_MAGIC_0 && (b1 & 0xFF) == GZIP_MAGIC_1;
+    }
+
+    /**
+     * The queue of blocks that have been filled with uncompressed data
+     */
+    private final BlockingQueue<Block> filled;
+
+    /**
+     * The queue of blocks that may be filled with uncompressed data
+     */
+    private final BlockingQueue<Block> free;
+
+    /**
+     * The thread that decompresses the data
+     */
+    private final Thread thread;
+
+    /**
+     * The exception that was caused while decompressing the data
+     */
+    private volatile IOException failure;
+
+    /**
+     * The block that is currently read
+     */
+    private Block current;
+
+    /**
+     * The position inside the current block
+     */
+    private int position;
+
+    /**
+     * Whether the end of the stream has been reached
+     */
+    private boolean endReached;
+
+    /**
+     * Whether this stream has been closed
+     */
+    private boolean closed;
+
+    /**
+     * Creates a new stream that decompresses the data from the given 
+     * GZIP stream
+     * 
+     * @param inputStream The GZIP input stream
+     */
+    private InflatingInputStream(InputStream inputStream)
+    {
+        this.filled = new ArrayBlockingQueue<Block>(NUM_BUFFERS);
+        this.free = new ArrayBlockingQueue<Block>(NUM_BUFFERS);
+        for (int i = 0; i < NUM_BUFFERS; i++)
+        {
+            free.add(new Block());
+        }
+        this.thread = new Thread(() -> inflate(inputStream), 
+            "Obj-inflater");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Decompress the data from the given stream into the free blocks,
+     * and put them into the queue of filled blocks, until the end of
+     * the stream is reached, an error occurs, or the thread is 
+     * interrupted.
+     * 
+     * @param inputStream The GZIP input stream
+     */
+    private void inflate(InputStream inputStream)
+    {
+        // The underlying stream is closed by the caller
+        InputStream source = new FilterInputStream(inputStream)
+        {
+            @Override
+            public void close()
+            {
+                // Do not close the underlying stream
+            }
+        };
+        try (GZIPInputStream gzip = new GZIPInputStream(source, BUFFER_SIZE))
+        {
+            while (true)
+            {
+                Block block = free.take();
+                int length = 0;
+                while (length < BUFFER_SIZE)
+                {
+                    int read = gzip.read(
+                        block.data, length, BUFFER_SIZE - length);
+                    if (read < 0)
+                    {
+                        break;
+                    }
+                    length += read;
+                }
+                if (length == 0)
+                {
+                    block.length = -1;
+                    filled.put(block);
+                    return;
+                }
+                block.length = length;
+                filled.put(block);
+            }
+        }
+        catch (IOException e)
+        {
+            failure = e;
+        }
+        catch (InterruptedException e)
+        {
+            // The stream was closed
+            return;
+        }
+        Block end = new Block();
+        end.length = -1;
+        try
+        {
+            filled.put(end);
+        }
+        catch (InterruptedException e)
+        {
+            // The stream was closed
+        }
+    }
+
+    /**
+     * Make sure that the {@link #current} block contains data that 
+     * was not read yet, if the end of the stream was not reached.
+     * 
+     * @return Whether data is available
+     * @throws IOException If this stream was closed, decompressing
+     * the data caused an error, or the thread was interrupted
+     */
+    private boolean fill() throws IOException
+    {
+        if (closed)
+        {
+            throw new IOException("Stream closed");
+        }
+        if (endReached)
+        {
+            return false;
+        }
+        if (current != null && position < current.length)
+        {
+            return true;
+        }
+        if (current != null)
+        {
+            free.offer(current);
+            current = null;
+        }
+        Block block;
+        try
+        {
+            block = filled.take();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(
+                "Interrupted while waiting for data");
+        }
+        if (block.length < 0)
+        {
+            endReached = true;
+            IOException e = failure;
+            if (e != null)
+            {
+                throw new IOException(
+                    "Could not decompress data: " + e.getMessage(), e);
+            }
+            return false;
+        }
+        current = block;
+        position = 0;
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException
+    {
+        if (!fill())
+        {
+            return -1;
+        }
+        return current.data[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException
+    {
+        if (off < 0 || len < 0 || len > b.length - off)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0)
+        {
+            return 0;
+        }
+        if (!fill())
+        {
+            return -1;
+        }
+        int n = Math.min(len, current.length - position);
+        System.arraycopy(current.data, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException
+    {
+        if (closed || current == null)
+        {
+            return 0;
+        }
+        return current.length - position;
+    }
+
+    @Override
+    public void close()
+    {
+        if (!closed)
+        {
+            closed = true;
+            thread.interrupt();
+        }
+    }
+}
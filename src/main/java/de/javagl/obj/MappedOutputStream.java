@@ -0,0 +1,167 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.obj;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * An output stream that writes into a file channel with a known size,
+ * by copying the data directly into memory-mapped regions of the 
+ * file.<br>
+ * <br>
+ * The file is mapped in regions of at most 1 GiB, so that files that 
+ * are larger than 2 GiB can be written. Attempting to write more bytes
+ * than the given size causes an <code>IOException</code>.<br>
+ * <br>
+ * Closing this stream checks that the expected number of bytes has 
+ * been written, but does <b>not</b> close the channel.
+ */
+final class MappedOutputStream extends OutputStream
+{
+    /**
+     * The maximum size of a mapped region
+     */
+    private static final long MAX_REGION_SIZE = 1L << 30;
+
+    /**
+     * The channel
+     */
+    private final FileChannel channel;
+
+    /**
+     * The total number of bytes that are written
+     */
+    private final long size;
+
+    /**
+     * The start position of the current region in the file
+     */
+    private long regionStart;
+
+    /**
+     * The current region, or <code>null</code> if no region has been
+     * mapped yet
+     */
+    private MappedByteBuffer region;
+
+    /**
+     * Creates a new stream that writes the given number of bytes to 
+     * the given channel, starting at position 0
+     * 
+     * @param channel The channel, which must be opened for reading and
+     * writing
+     * @param size The number of bytes that will be written
+     */
+    MappedOutputStream(FileChannel channel, long size)
+    {
+        this.channel = channel;
+        this.size = size;
+    }
+
+    @Override
+    public void write(int b) throws IOException
+    {
+        ensureRegion(1);
+        region.put((byte)b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException
+    {
+        int o = off;
+        int remaining = len;
+        while (remaining > 0)
+        {
+            ensureRegion(remaining);
+            int n = Math.min(remaining, region.remaining());
+            region.put(b, o, n);
+            o += n;
+            remaining -= n;
+        }
+    }
+
+    /**
+     * Make sure that the current region has space for at least one byte,
+     * mapping the next region if necessary
+     * 
+     * @param n The number of bytes that are about to be written
+     * @throws IOException If the given number of bytes exceeds the size
+     * of the file, or the region can not be mapped
+     */
+    private void ensureRegion(int n) throws IOException
+    {
+        long written = getNumBytesWritten();
+        if (written + n > size)
+        {
+            throw new IOException("Attempted to write more than the "
+                + "expected number of " + size + " bytes");
+        }
+        if (region != null && region.hasRemaining())
+        {
+            return;
+        }
+        regionStart = written;
+        long regionSize = Math.min(MAX_REGION_SIZE, size - regionStart);
+        region = channel.map(MapMode.READ_WRITE, regionStart, regionSize);
+    }
+
+    /**
+     * Returns the number of bytes that have been written
+     * 
+     * @return The number of bytes
+     */
+    private long getNumBytesWritten()
+    {
+        if (region == null)
+        {
+            return 0;
+        }
+        return regionStart + region.position();
+    }
+
+    /**
+     * Checks that the expected number of bytes has been written. This 
+     * does <b>not</b> close the channel.
+     * 
+     * @throws IOException If not the expected number of bytes has been
+     * written
+     */
+    @Override
+    public void close() throws IOException
+    {
+        long written = getNumBytesWritten();
+        if (written != size)
+        {
+            throw new IOException("Wrote " + written + " bytes, but "
+                + "expected " + size + " bytes");
+        }
+    }
+}
@@ -0,0 +1,1092 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A class for parsing OBJ data directly from the bytes of a
+ * <code>ByteBuffer</code>, without creating strings for the lines
+ * or tokens of the input.<br>
+ * <br>
+ * The input may be passed to this parser in several parts, by calling
+ * {@link #parse(ByteBuffer)} repeatedly. Lines that span multiple parts
+ * are assembled internally. After the last part has been passed to the
+ * parser, {@link #finish()} has to be called.<br>
+ * <br>
+ * The parsed elements are passed to a {@link Handler}. By default, 
+ * this is a handler that resolves the face indices and passes the 
+ * elements to a {@link WritableObj}.
+ */
+final class ObjByteParser
+{
+    /**
+     * The initial size for the line and index buffers
+     */
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    /**
+     * The maximum number of components of a float tuple
+     */
+    private static final int MAX_TUPLE_SIZE = 4;
+
+    /**
+     * The {@link Handler} that receives the parsed elements
+     */
+    private final Handler handler;
+
+    /**
+     * The buffer for the parts of a line that have been encountered at
+     * the end of one input buffer, and that will be completed with the
+     * next input buffer
+     */
+    private byte[] partialLine = new byte[INITIAL_BUFFER_SIZE];
+
+    /**
+     * The number of bytes in the {@link #partialLine}
+     */
+    private int partialLineLength = 0;
+
+    /**
+     * The buffer for lines that have been broken with a <code>'\'</code>
+     * at the end, and that will be completed with the next line
+     */
+    private byte[] continuedLine = new byte[INITIAL_BUFFER_SIZE];
+
+    /**
+     * The number of bytes in the {@link #continuedLine}
+     */
+    private int continuedLineLength = 0;
+
+    /**
+     * Whether the {@link #continuedLine} is currently being assembled
+     */
+    private boolean continuing = false;
+
+    /**
+     * Whether the last line was terminated with a <code>'\r'</code>. 
+     * In this case, a <code>'\n'</code> that immediately follows it, 
+     * possibly in the next input buffer, belongs to the same line end.
+     */
+    private boolean afterCarriageReturn = false;
+
+    /**
+     * The buffer for the components of a float tuple
+     */
+    private final float[] tupleBuffer = new float[MAX_TUPLE_SIZE];
+
+    /**
+     * Buffer for vertex indices
+     */
+    private int[] vertexIndexBuffer = new int[INITIAL_BUFFER_SIZE];
+
+    /**
+     * Buffer for texture coordinate indices
+     */
+    private int[] texCoordIndexBuffer = new int[INITIAL_BUFFER_SIZE];
+
+    /**
+     * Buffer for normal indices
+     */
+    private int[] normalIndexBuffer = new int[INITIAL_BUFFER_SIZE];
+
+    /**
+     * The position in the buffer that is currently being parsed
+     */
+    private int idx;
+
+    /**
+     * Whether texture coordinates and their indices are read
+     */
+    private boolean readTexCoords = true;
+
+    /**
+     * Whether normals and their indices are read
+     */
+    private boolean readNormals = true;
+
+    /**
+     * Whether group names are read
+     */
+    private boolean readGroups = true;
+
+    /**
+     * Whether material group names are read
+     */
+    private boolean readMaterialGroups = true;
+
+    /**
+     * The charset for decoding group names, material group names and
+     * MTL file names
+     */
+    private Charset charset = StandardCharsets.US_ASCII;
+
+    /**
+     * Creates a new parser that passes the parsed elements to the
+     * given {@link WritableObj}
+     *
+     * @param output The {@link WritableObj}
+     */
+    ObjByteParser(WritableObj output)
+    {
+        this(new WritableObjHandler(output));
+    }
+
+    /**
+     * Creates a new parser that passes the parsed elements to the
+     * given {@link Handler}
+     *
+     * @param handler The {@link Handler}
+     */
+    ObjByteParser(Handler handler)
+    {
+        this.handler = handler;
+    }
+
+    /**
+     * Configure this parser to read only the elements that are enabled
+     * in the given options. If the given options are <code>null</code>,
+     * then all elements will be read.
+     * 
+     * @param options The {@link ObjReaderOptions}. May be 
+     * <code>null</code>.
+     */
+    void configure(ObjReaderOptions options)
+    {
+        if (options == null)
+        {
+            setProjection(true, true, true, true);
+        }
+        else
+        {
+            setProjection(options.isReadTexCoords(), 
+                options.isReadNormals(), options.isReadGroups(), 
+                options.isReadMaterialGroups());
+        }
+    }
+
+    /**
+     * Set the charset that is used for decoding group names, material 
+     * group names and MTL file names. The default is US-ASCII.
+     * 
+     * @param charset The charset
+     */
+    void setCharset(Charset charset)
+    {
+        this.charset = charset;
+    }
+
+    /**
+     * Set which elements are read by this parser. Lines that contain
+     * elements that are not read are skipped without being parsed, and
+     * the texture coordinate and normal indices of faces are omitted 
+     * when the respective elements are not read.
+     * 
+     * @param texCoords Whether texture coordinates are read
+     * @param normals Whether normals are read
+     * @param groups Whether group names are read
+     * @param materialGroups Whether material group names are read
+     */
+    void setProjection(boolean texCoords, boolean normals, 
+        boolean groups, boolean materialGroups)
+    {
+        this.readTexCoords = texCoords;
+        this.readNormals = normals;
+        this.readGroups = groups;
+        this.readMaterialGroups = materialGroups;
+    }
+
+    /**
+     * Parse all bytes between the position and the limit of the given
+     * buffer. The position of the buffer will be set to its limit. If
+     * the buffer does not end with a complete line, then the last part
+     * will be stored internally, and be completed with the next call to
+     * this method, or processed in {@link #finish()}.<br>
+     * <br>
+     * Lines may be terminated with <code>"\n"</code>, 
+     * <code>"\r\n"</code>, or a single <code>'\r'</code>, consistent
+     * with the <code>BufferedReader</code> that is used by the 
+     * {@link ObjReader}.
+     *
+     * @param buffer The buffer
+     * @throws IOException If the data can not be parsed
+     */
+    void parse(ByteBuffer buffer) throws IOException
+    {
+        int position = buffer.position();
+        int limit = buffer.limit();
+        while (position < limit)
+        {
+            if (afterCarriageReturn)
+            {
+                afterCarriageReturn = false;
+                if (buffer.get(position) == '\n')
+                {
+                    position++;
+                    continue;
+                }
+            }
+            int lineEnd = indexOfLineEnd(buffer, position, limit);
+            if (lineEnd == -1)
+            {
+                appendPartialLine(buffer, position, limit);
+                break;
+            }
+            if (partialLineLength == 0)
+            {
+                processPhysicalLine(buffer, position, lineEnd);
+            }
+            else
+            {
+                appendPartialLine(buffer, position, lineEnd);
+                processPhysicalLine(
+                    ByteBuffer.wrap(partialLine), 0, partialLineLength);
+                partialLineLength = 0;
+            }
+            afterCarriageReturn = buffer.get(lineEnd) == '\r';
+            position = lineEnd + 1;
+        }
+        buffer.position(limit);
+    }
+
+    /**
+     * Finish parsing, processing any remaining line that was not
+     * terminated with a newline
+     *
+     * @throws IOException If the data can not be parsed
+     */
+    void finish() throws IOException
+    {
+        if (partialLineLength > 0)
+        {
+            processPhysicalLine(
+                ByteBuffer.wrap(partialLine), 0, partialLineLength);
+            partialLineLength = 0;
+        }
+        // A line that was broken with a '\' at the end of the input
+        // is ignored, consistent with the ObjReader
+        continuing = false;
+        continuedLineLength = 0;
+        afterCarriageReturn = false;
+    }
+
+    /**
+     * Append the specified range of the given buffer to the
+     * {@link #partialLine}
+     *
+     * @param buffer The buffer
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     */
+    private void appendPartialLine(ByteBuffer buffer, int start, int end)
+    {
+        int length = end - start;
+        partialLine = ensureCapacity(partialLine, partialLineLength + length);
+        for (int i = 0; i < length; i++)
+        {
+            partialLine[partialLineLength + i] = buffer.get(start + i);
+        }
+        partialLineLength += length;
+    }
+
+    /**
+     * Process one physical line of the input. If it ends with a
+     * <code>'\'</code>, then it will be stored, and combined with the
+     * next line. Otherwise, the line (or the combined line) will be
+     * processed.
+     *
+     * @param buffer The buffer
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @throws IOException If the line can not be parsed
+     */
+    private void processPhysicalLine(ByteBuffer buffer, int start, int end)
+        throws IOException
+    {
+        int trimmedEnd = end;
+        while (trimmedEnd > start && isSpace(buffer.get(trimmedEnd - 1)))
+        {
+            trimmedEnd--;
+        }
+        boolean broken =
+            trimmedEnd > start && buffer.get(trimmedEnd - 1) == '\\';
+        if (broken)
+        {
+            appendContinuedLine(buffer, start, trimmedEnd - 1);
+            continuedLine[continuedLineLength++] = ' ';
+            continuing = true;
+            return;
+        }
+        if (continuing)
+        {
+            appendContinuedLine(buffer, start, trimmedEnd);
+            processLine(ByteBuffer.wrap(continuedLine),
+                0, continuedLineLength);
+            continuedLineLength = 0;
+            continuing = false;
+            return;
+        }
+        processLine(buffer, start, trimmedEnd);
+    }
+
+    /**
+     * Append the specified range of the given buffer to the
+     * {@link #continuedLine}, reserving space for one additional byte
+     *
+     * @param buffer The buffer
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     */
+    private void appendContinuedLine(ByteBuffer buffer, int start, int end)
+    {
+        int length = end - start;
+        continuedLine = ensureCapacity(
+            continuedLine, continuedLineLength + length + 1);
+        for (int i = 0; i < length; i++)
+        {
+            continuedLine[continuedLineLength + i] = buffer.get(start + i);
+        }
+        continuedLineLength += length;
+    }
+
+    /**
+     * Process a single logical line of the input
+     *
+     * @param buffer The buffer
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @throws IOException If the line can not be parsed
+     */
+    private void processLine(ByteBuffer buffer, int start, int end)
+        throws IOException
+    {
+        idx = start;
+        skipSpaces(buffer, end);
+        int keywordStart = idx;
+        while (idx < end && !isSpace(buffer.get(idx)))
+        {
+            idx++;
+        }
+        int keywordLength = idx - keywordStart;
+        if (keywordLength == 0)
+        {
+            return;
+        }
+        byte b0 = toLowerCase(buffer.get(keywordStart));
+        if (keywordLength == 1)
+        {
+            if (b0 == 'v')
+            {
+                int n = readFloats(buffer, end);
+                handler.addVertex(n, tupleBuffer[0], tupleBuffer[1],
+                    tupleBuffer[2], tupleBuffer[3]);
+            }
+            else if (b0 == 'f')
+            {
+                processFace(buffer, end);
+            }
+            else if (b0 == 'g' && readGroups)
+            {
+                List<String> groupNames = readStrings(buffer, end);
+                handler.setActiveGroupNames(groupNames);
+            }
+        }
+        else if (keywordLength == 2 && b0 == 'v')
+        {
+            byte b1 = toLowerCase(buffer.get(keywordStart + 1));
+            if (b1 == 't' && readTexCoords)
+            {
+                int n = readFloats(buffer, end);
+                handler.addTexCoord(n, tupleBuffer[0], tupleBuffer[1],
+                    tupleBuffer[2], tupleBuffer[3]);
+            }
+            else if (b1 == 'n' && readNormals)
+            {
+                int n = readFloats(buffer, end);
+                handler.addNormal(n, tupleBuffer[0], tupleBuffer[1],
+                    tupleBuffer[2], tupleBuffer[3]);
+            }
+        }
+        else if (keywordLength == 6)
+        {
+            if (matches(buffer, keywordStart, "usemtl"))
+            {
+                if (!readMaterialGroups)
+                {
+                    return;
+                }
+                String materialGroupName = readRemaining(buffer, end);
+                handler.setActiveMaterialGroupName(materialGroupName);
+            }
+            else if (matches(buffer, keywordStart, "mtllib"))
+            {
+                // Only ONE file name is assumed here, consistent with
+                // the ObjReader
+                String mtlFileName = readRemaining(buffer, end);
+                handler.setMtlFileNames(Collections.singleton(mtlFileName));
+            }
+        }
+    }
+
+    /**
+     * Process the remaining part of an <code>'f'</code>-line, starting
+     * at the current {@link #idx}, and pass the resulting indices to 
+     * the handler
+     *
+     * @param buffer The buffer
+     * @param end The end of the line
+     * @throws IOException If the line can not be parsed
+     */
+    private void processFace(ByteBuffer buffer, int end)
+        throws IOException
+    {
+        boolean foundTexCoordIndices = false;
+        boolean foundNormalIndices = false;
+        int count = 0;
+        while (true)
+        {
+            skipSpaces(buffer, end);
+            if (idx >= end)
+            {
+                break;
+            }
+            if (count >= vertexIndexBuffer.length)
+            {
+                int newSize = vertexIndexBuffer.length * 2;
+                vertexIndexBuffer = Arrays.copyOf(vertexIndexBuffer, newSize);
+                texCoordIndexBuffer =
+                    Arrays.copyOf(texCoordIndexBuffer, newSize);
+                normalIndexBuffer = Arrays.copyOf(normalIndexBuffer, newSize);
+            }
+            texCoordIndexBuffer[count] = 0;
+            normalIndexBuffer[count] = 0;
+
+            int vertexIndex = parseNonzeroInt(buffer, end);
+            if (vertexIndex == 0)
+            {
+                throw new IOException(
+                    "Could not read vertex index in \""
+                    + createString(buffer, end) + "\"");
+            }
+            vertexIndexBuffer[count] = vertexIndex;
+            count++;
+
+            skipSpaces(buffer, end);
+            if (idx >= end || buffer.get(idx) != '/')
+            {
+                continue;
+            }
+            idx++;
+            skipSpaces(buffer, end);
+            if (idx >= end)
+            {
+                throw new IOException(
+                    "Unexpected end of input after '/' in \""
+                    + createString(buffer, end) + "\"");
+            }
+
+            // A texture coordinate index of 0 is not an error: The
+            // indices may be given as "1//2"
+            int texCoordIndex = parseNonzeroInt(buffer, end);
+            if (texCoordIndex != 0)
+            {
+                texCoordIndexBuffer[count - 1] = texCoordIndex;
+                foundTexCoordIndices = true;
+            }
+
+            skipSpaces(buffer, end);
+            if (idx >= end || buffer.get(idx) != '/')
+            {
+                continue;
+            }
+            idx++;
+            skipSpaces(buffer, end);
+            if (idx >= end)
+            {
+                throw new IOException(
+                    "Unexpected end of input after '/' in \""
+                    + createString(buffer, end) + "\"");
+            }
+            int normalIndex = parseNonzeroInt(buffer, end);
+            if (normalIndex == 0)
+            {
+                throw new IOException(
+                    "Could not read normal index from \""
+                    + createString(buffer, end) + "\"");
+            }
+            normalIndexBuffer[count - 1] = normalIndex;
+            foundNormalIndices = true;
+        }
+
+        handler.addFace(vertexIndexBuffer,
+            foundTexCoordIndices && readTexCoords ? texCoordIndexBuffer : null,
+            foundNormalIndices && readNormals ? normalIndexBuffer : null, 
+            count);
+    }
+
+    /**
+     * Read up to 4 float values from the current line, starting at the
+     * current {@link #idx}, and store them in the {@link #tupleBuffer}.
+     * The remaining elements of the {@link #tupleBuffer} are set to 0.0.
+     *
+     * @param buffer The buffer
+     * @param end The end of the line
+     * @return The number of values that have been read
+     * @throws IOException If no value could be read, or one of the
+     * tokens is not a valid float value
+     */
+    private int readFloats(ByteBuffer buffer, int end) throws IOException
+    {
+        int n = 0;
+        while (n < MAX_TUPLE_SIZE)
+        {
+            skipSpaces(buffer, end);
+            if (idx >= end)
+            {
+                break;
+            }
+            int tokenStart = idx;
+            while (idx < end && !isSpace(buffer.get(idx)))
+            {
+                idx++;
+            }
+            tupleBuffer[n] = parseFloat(buffer, tokenStart, idx);
+            n++;
+        }
+        if (n == 0)
+        {
+            throw new IOException(
+                "Expected at least one value in \""
+                + createString(buffer, end) + "\"");
+        }
+        for (int i = n; i < MAX_TUPLE_SIZE; i++)
+        {
+            tupleBuffer[i] = 0.0f;
+        }
+        return n;
+    }
+
+    /**
+     * Parse a float value from the specified range of the given buffer,
+     * using the {@link FloatParser}
+     *
+     * @param buffer The buffer
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @return The float value
+     * @throws IOException If the range does not contain a valid float value
+     */
+    private static float parseFloat(ByteBuffer buffer, int start, int end)
+        throws IOException
+    {
+        try
+        {
+            return FloatParser.parseFloat(buffer, start, end);
+        }
+        catch (NumberFormatException e)
+        {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Returns the next int in the input, or 0 if no int could be
+     * read
+     *
+     * @param buffer The buffer
+     * @param end The end of the line
+     * @return The next int in the input
+     */
+    private int parseNonzeroInt(ByteBuffer buffer, int end)
+    {
+        int parsedInt = 0;
+        boolean negate = false;
+        if (buffer.get(idx) == '-')
+        {
+            negate = true;
+            idx++;
+            skipSpaces(buffer, end);
+            if (idx >= end)
+            {
+                return 0;
+            }
+        }
+        byte b;
+        while (idx < end && isDigit(b = buffer.get(idx)))
+        {
+            parsedInt = parsedInt * 10 + (b - '0');
+            idx++;
+        }
+        return negate ? -parsedInt : parsedInt;
+    }
+
+    /**
+     * Read all tokens from the current line, starting at the current
+     * {@link #idx}, that are separated by whitespaces
+     *
+     * @param buffer The buffer
+     * @param end The end of the line
+     * @return The list of tokens
+     */
+    private List<String> readStrings(ByteBuffer buffer, int end)
+    {
+        List<String> tokens = new ArrayList<>();
+        while (true)
+        {
+            skipSpaces(buffer, end);
+            if (idx >= end)
+            {
+                break;
+            }
+            int tokenStart = idx;
+            while (idx < end && !isSpace(buffer.get(idx)))
+            {
+                idx++;
+            }
+            tokens.add(createString(buffer, tokenStart, idx));
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the remaining part of the current line, starting at the
+     * current {@link #idx}, as a string, with leading whitespaces
+     * being removed. Trailing whitespaces have already been removed
+     * from the line.
+     *
+     * @param buffer The buffer
+     * @param end The end of the line
+     * @return The string
+     */
+    private String readRemaining(ByteBuffer buffer, int end)
+    {
+        skipSpaces(buffer, end);
+        return createString(buffer, idx, end);
+    }
+
+    /**
+     * Skip all whitespace characters, starting at the current {@link #idx}
+     *
+     * @param buffer The buffer
+     * @param end The end of the line
+     */
+    private void skipSpaces(ByteBuffer buffer, int end)
+    {
+        while (idx < end && isSpace(buffer.get(idx)))
+        {
+            idx++;
+        }
+    }
+
+    /**
+     * Returns whether the bytes in the given buffer, starting at the
+     * given index, case-insensitively match the given (lower case,
+     * ASCII) keyword
+     *
+     * @param buffer The buffer
+     * @param start The start index
+     * @param keyword The keyword
+     * @return Whether the keyword matches
+     */
+    private static boolean matches(
+        ByteBuffer buffer, int start, String keyword)
+    {
+        for (int i = 0; i < keyword.length(); i++)
+        {
+            if (toLowerCase(buffer.get(start + i)) != keyword.charAt(i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the index of the first <code>'\n'</code> or 
+     * <code>'\r'</code> in the specified range of the given buffer, 
+     * or -1 if there is none
+     *
+     * @param buffer The buffer
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @return The index
+     */
+    private static int indexOfLineEnd(ByteBuffer buffer, int start, int end)
+    {
+        for (int i = start; i < end; i++)
+        {
+            if (isLineEnd(buffer.get(i)))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a string containing the current line, for error messages
+     *
+     * @param buffer The buffer
+     * @param end The end of the line
+     * @return The string
+     */
+    private String createString(ByteBuffer buffer, int end)
+    {
+        int start = end;
+        while (start > 0 && !isLineEnd(buffer.get(start - 1)))
+        {
+            start--;
+        }
+        return createString(buffer, start, end);
+    }
+
+    /**
+     * Create a string from the specified range of the given buffer,
+     * decoding the bytes with the charset of this parser
+     *
+     * @param buffer The buffer
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @return The string
+     */
+    private String createString(ByteBuffer buffer, int start, int end)
+    {
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++)
+        {
+            bytes[i] = buffer.get(start + i);
+        }
+        return new String(bytes, charset);
+    }
+
+    /**
+     * Returns an array that contains the given array, and has at least
+     * the given size
+     *
+     * @param array The array
+     * @param size The size
+     * @return The array
+     */
+    private static byte[] ensureCapacity(byte[] array, int size)
+    {
+        if (size <= array.length)
+        {
+            return array;
+        }
+        return Arrays.copyOf(array, Math.max(size, array.length * 2));
+    }
+
+    /**
+     * Returns whether the given byte is a whitespace character
+     *
+     * @param b The byte
+     * @return Whether the byte is a whitespace
+     */
+    static boolean isSpace(byte b)
+    {
+        return b == ' ' || (b >= '\t' && b <= '\r');
+    }
+
+    /**
+     * Returns whether the given byte is a <code>'\n'</code> or a 
+     * <code>'\r'</code>
+     *
+     * @param b The byte
+     * @return Whether the byte is a line end
+     */
+    static boolean isLineEnd(byte b)
+    {
+        return b == '\n' || b == '\r';
+    }
+
+    /**
+     * Returns whether the given byte is a decimal digit
+     *
+     * @param b The byte
+     * @return Whether the byte is a digit
+     */
+    private static boolean isDigit(byte b)
+    {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * Convert the given ASCII byte to lower case
+     *
+     * @param b The byte
+     * @return The lower case byte
+     */
+    private static byte toLowerCase(byte b)
+    {
+        if (b >= 'A' && b <= 'Z')
+        {
+            return (byte)(b + ('a' - 'A'));
+        }
+        return b;
+    }
+
+    /**
+     * Interface for classes that receive the elements that are found
+     * by an {@link ObjByteParser}.<br>
+     * <br>
+     * The face indices are passed to the handler exactly as they appear
+     * in the input: They are one-based, and may be negative to indicate
+     * relative indices. A texture coordinate index of 0 indicates that 
+     * no texture coordinate index was given for the respective vertex. 
+     * The given arrays may be reused by the parser after the method
+     * returns.
+     */
+    interface Handler
+    {
+        /**
+         * Add the given vertex, with the given number of dimensions
+         *
+         * @param dimensions The number of dimensions, between 1 and 4
+         * @param x The x-coordinate
+         * @param y The y-coordinate
+         * @param z The z-coordinate
+         * @param w The w-coordinate
+         */
+        void addVertex(int dimensions, float x, float y, float z, float w);
+
+        /**
+         * Add the given texture coordinate, with the given number of dimensions
+         *
+         * @param dimensions The number of dimensions, between 1 and 4
+         * @param x The x-coordinate
+         * @param y The y-coordinate
+         * @param z The z-coordinate
+         * @param w The w-coordinate
+         */
+        void addTexCoord(int dimensions, float x, float y, float z, float w);
+
+        /**
+         * Add the given normal, with the given number of dimensions
+         *
+         * @param dimensions The number of dimensions, between 1 and 4
+         * @param x The x-coordinate
+         * @param y The y-coordinate
+         * @param z The z-coordinate
+         * @param w The w-coordinate
+         */
+        void addNormal(int dimensions, float x, float y, float z, float w);
+
+        /**
+         * Add a face with the given indices
+         *
+         * @param v The vertex indices
+         * @param vt The texture coordinate indices. May be 
+         * <code>null</code>.
+         * @param vn The normal indices. May be <code>null</code>.
+         * @param count The number of vertices of the face
+         * @throws IOException If the face is invalid
+         */
+        void addFace(int[] v, int[] vt, int[] vn, int count)
+            throws IOException;
+
+        /**
+         * Set the active group names
+         *
+         * @param groupNames The group names
+         */
+        void setActiveGroupNames(List<String> groupNames);
+
+        /**
+         * Set the active material group name
+         *
+         * @param materialGroupName The material group name
+         */
+        void setActiveMaterialGroupName(String materialGroupName);
+
+        /**
+         * Set the MTL file names
+         *
+         * @param mtlFileNames The MTL file names
+         */
+        void setMtlFileNames(Collection<String> mtlFileNames);
+    }
+
+    /**
+     * Implementation of a {@link Handler} that converts the face indices
+     * into absolute, zero-based indices, and passes all elements to a
+     * {@link WritableObj}
+     */
+    static final class WritableObjHandler implements Handler
+    {
+        /**
+         * The {@link WritableObj} that receives the elements
+         */
+        private final WritableObj output;
+
+        /**
+         * Counter for the vertices
+         */
+        private int vertexCounter = 0;
+
+        /**
+         * Counter for the texture coordinates
+         */
+        private int texCoordCounter = 0;
+
+        /**
+         * Counter for the normals
+         */
+        private int normalCounter = 0;
+
+        /**
+         * Buffer for the absolute vertex indices of a face
+         */
+        private int[] vertexIndices = new int[4];
+
+        /**
+         * Buffer for the absolute texture coordinate indices of a face
+         */
+        private int[] texCoordIndices = new int[4];
+
+        /**
+         * Buffer for the absolute normal indices of a face
+         */
+        private int[] normalIndices = new int[4];
+
+        /**
+         * Creates a new handler for the given {@link WritableObj}
+         *
+         * @param output The {@link WritableObj}
+         */
+        WritableObjHandler(WritableObj output)
+        {
+            this.output = output;
+        }
+
+        @Override
+        public void addVertex(
+            int dimensions, float x, float y, float z, float w)
+        {
+            output.addVertex(dimensions, x, y, z, w);
+            vertexCounter++;
+        }
+
+        @Override
+        public void addTexCoord(
+            int dimensions, float x, float y, float z, float w)
+        {
+            output.addTexCoord(dimensions, x, y, z, w);
+            texCoordCounter++;
+        }
+
+        @Override
+        public void addNormal(
+            int dimensions, float x, float y, float z, float w)
+        {
+            output.addNormal(dimensions, x, y, z, w);
+            normalCounter++;
+        }
+
+        @Override
+        public void addFace(int[] v, int[] vt, int[] vn, int count)
+        {
+            if (count > vertexIndices.length)
+            {
+                vertexIndices = new int[count];
+                texCoordIndices = new int[count];
+                normalIndices = new int[count];
+            }
+            toAbsolute(v, count, vertexCounter, vertexIndices);
+            int[] fvt = null;
+            if (vt != null)
+            {
+                toAbsolute(vt, count, texCoordCounter, texCoordIndices);
+                fvt = texCoordIndices;
+            }
+            int[] fvn = null;
+            if (vn != null)
+            {
+                toAbsolute(vn, count, normalCounter, normalIndices);
+                fvn = normalIndices;
+            }
+            output.addFace(ObjFaces.create(
+                vertexIndices, fvt, fvn, 0, count));
+        }
+
+        @Override
+        public void setActiveGroupNames(List<String> groupNames)
+        {
+            output.setActiveGroupNames(groupNames);
+        }
+
+        @Override
+        public void setActiveMaterialGroupName(String materialGroupName)
+        {
+            output.setActiveMaterialGroupName(materialGroupName);
+        }
+
+        @Override
+        public void setMtlFileNames(Collection<String> mtlFileNames)
+        {
+            output.setMtlFileNames(mtlFileNames);
+        }
+
+        /**
+         * Write the first <code>count</code> elements of the given array 
+         * into the given result array, converted to be absolute 
+         * (non-negative) and zero-based. This means that negative values 
+         * are made positive by adding the given number of elements, and 
+         * positive values are decreased by one.
+         *
+         * @param indices The indices, as they have been read from the input
+         * @param count The number of indices
+         * @param numElements The number of elements that have been read
+         * until now
+         * @param result The array that will store the absolute indices
+         */
+        private static void toAbsolute(
+            int[] indices, int count, int numElements, int[] result)
+        {
+            for (int i = 0; i < count; i++)
+            {
+                int index = indices[i];
+                if (index < 0)
+                {
+                    result[i] = numElements + index;
+                }
+                else
+                {
+                    result[i] = index - 1;
+                }
+            }
+        }
+    }
+}
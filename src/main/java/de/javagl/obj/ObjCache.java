@@ -0,0 +1,386 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A cache for OBJ files, which stores the parsed data as 
+ * {@link ObjSnapshots snapshots} in a cache directory.<br>
+ * <br>
+ * When an OBJ file is {@link #read(Path) read} through this cache, and
+ * the cache directory contains a snapshot of this file that is still 
+ * valid, then the snapshot is mapped into memory, and a 
+ * {@link ReadableObj} that reads its data from the mapped snapshot is
+ * returned. Otherwise, the file is read with the {@link ObjReader}, and 
+ * a snapshot is written for subsequent calls.<br>
+ * <br>
+ * By default, a snapshot is considered to be valid when the size and the
+ * last modification time of the OBJ file did not change. Alternatively,
+ * the cache may be configured to compare a hash of the contents of the
+ * file. This is more expensive, but detects all changes, and keeps 
+ * snapshots valid when only the modification time of the file changed.
+ * <br>
+ * <br>
+ * Snapshot files are written to a temporary file first, and then moved
+ * to their final location, so that multiple processes may safely use 
+ * the same cache directory.
+ */
+public class ObjCache
+{
+    /**
+     * The logger used in this class
+     */
+    private static final Logger logger = 
+        Logger.getLogger(ObjCache.class.getName());
+
+    /**
+     * The magic header of a cache entry: "OBJC"
+     */
+    private static final int ENTRY_MAGIC = 0x4F424A43;
+
+    /**
+     * The file extension for cache entries
+     */
+    private static final String ENTRY_EXTENSION = ".objsnapshot";
+
+    /**
+     * The cache directory
+     */
+    private final Path directory;
+
+    /**
+     * Whether the validity of snapshots is checked based on a hash of 
+     * the contents of the OBJ files
+     */
+    private final boolean useContentHash;
+
+    /**
+     * Creates a new cache that stores the snapshots in the given 
+     * directory, and checks the validity of snapshots based on the 
+     * size and modification time of the OBJ files. The directory will
+     * be created when the first snapshot is written.
+     * 
+     * @param directory The cache directory
+     */
+    public ObjCache(Path directory)
+    {
+        this(directory, false);
+    }
+
+    /**
+     * Creates a new cache that stores the snapshots in the given 
+     * directory. The directory will be created when the first snapshot 
+     * is written.
+     * 
+     * @param directory The cache directory
+     * @param useContentHash Whether the validity of snapshots should be
+     * checked based on a hash of the contents of the OBJ files, instead
+     * of their modification time
+     */
+    public ObjCache(Path directory, boolean useContentHash)
+    {
+        this.directory = Objects.requireNonNull(
+            directory, "The directory is null");
+        this.useContentHash = useContentHash;
+    }
+
+    /**
+     * Read the OBJ file from the given path, using a snapshot from this 
+     * cache if a valid one exists.<br>
+     * <br>
+     * If a valid snapshot exists, the returned {@link ReadableObj} will 
+     * read its data from the mapped snapshot file. Otherwise, the OBJ 
+     * file will be read with {@link ObjReader#read(FileChannel, 
+     * WritableObj)}, or with {@link ObjReader#read(java.io.InputStream, 
+     * WritableObj)} if it contains GZIP-compressed data, and a 
+     * snapshot of the result will be written. If the snapshot can not 
+     * be written, then a warning will be logged, and the result will 
+     * be returned nevertheless.
+     * 
+     * @param path The path of the OBJ file
+     * @return The {@link ReadableObj}
+     * @throws IOException If the OBJ file can not be read
+     */
+    public ReadableObj read(Path path) throws IOException
+    {
+        Path sourcePath = path.toAbsolutePath().normalize();
+        byte[] header = createHeader(sourcePath);
+        Path entryPath = getEntryPath(sourcePath);
+        if (Files.isRegularFile(entryPath))
+        {
+            ReadableObj cached = readEntry(entryPath, header);
+            if (cached != null)
+            {
+                return cached;
+            }
+        }
+        Obj obj;
+        try (FileChannel channel = 
+            FileChannel.open(sourcePath, StandardOpenOption.READ))
+        {
+            if (isGzip(channel))
+            {
+                obj = ObjReader.read(
+                    Channels.newInputStream(channel), Objs.createPacked());
+            }
+            else
+            {
+                obj = ObjReader.read(channel, Objs.createPacked());
+            }
+        }
+        try
+        {
+            writeEntry(entryPath, header, obj);
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.WARNING, 
+                "Could not write snapshot for " + sourcePath, e);
+        }
+        return obj;
+    }
+
+    /**
+     * Returns whether the given channel starts with the GZIP magic 
+     * number. The position of the channel is not modified.
+     * 
+     * @param channel The channel
+     * @return Whether the channel contains GZIP data
+     * @throws IOException If an IO error occurs
+     */
+    private static boolean isGzip(FileChannel channel) throws IOException
+    {
+        ByteBuffer magic = ByteBuffer.allocate(2);
+        long position = channel.position();
+        while (magic.hasRemaining())
+        {
+            if (channel.read(magic, position + magic.position()) < 0)
+            {
+                return false;
+            }
+        }
+        return InflatingInputStream.isGzip(magic.get(0), magic.get(1));
+    }
+
+    /**
+     * Remove the snapshot for the OBJ file at the given path from this 
+     * cache, if it exists
+     * 
+     * @param path The path of the OBJ file
+     * @throws IOException If an IO error occurs
+     */
+    public void invalidate(Path path) throws IOException
+    {
+        Path sourcePath = path.toAbsolutePath().normalize();
+        Files.deleteIfExists(getEntryPath(sourcePath));
+    }
+
+    /**
+     * Returns the path of the cache entry for the given source path
+     * 
+     * @param sourcePath The absolute, normalized source path
+     * @return The path of the cache entry
+     */
+    private Path getEntryPath(Path sourcePath)
+    {
+        byte[] hash = createDigest().digest(
+            sourcePath.toString().getBytes(StandardCharsets.UTF_8));
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 16; i++)
+        {
+            sb.append(String.format("%02x", hash[i] & 0xFF));
+        }
+        return directory.resolve(sb.toString() + ENTRY_EXTENSION);
+    }
+
+    /**
+     * Create the header for a cache entry for the given source path. 
+     * This header contains the source path, its size, and its last 
+     * modification time or its content hash. A cache entry is valid 
+     * if and only if it starts with this header.
+     * 
+     * @param sourcePath The absolute, normalized source path
+     * @return The header
+     * @throws IOException If an IO error occurs
+     */
+    private byte[] createHeader(Path sourcePath) throws IOException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(baos);
+        out.writeInt(ENTRY_MAGIC);
+        ObjSnapshots.writeString(out, sourcePath.toString());
+        out.writeLong(Files.size(sourcePath));
+        if (useContentHash)
+        {
+            byte[] hash = computeContentHash(sourcePath);
+            out.writeInt(hash.length);
+            out.write(hash);
+        }
+        else
+        {
+            out.writeLong(Files.getLastModifiedTime(sourcePath).toMillis());
+        }
+        out.flush();
+        return baos.toByteArray();
+    }
+
+    /**
+     * Compute the hash of the contents of the file at the given path
+     * 
+     * @param path The path
+     * @return The hash
+     * @throws IOException If an IO error occurs
+     */
+    private static byte[] computeContentHash(Path path) throws IOException
+    {
+        MessageDigest digest = createDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        try (FileChannel channel = 
+            FileChannel.open(path, StandardOpenOption.READ))
+        {
+            while (channel.read(buffer) != -1)
+            {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Creates a new SHA-256 message digest
+     * 
+     * @return The message digest
+     */
+    private static MessageDigest createDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Read the cache entry from the given path. If the entry does not 
+     * start with the given header, or can not be read, then 
+     * <code>null</code> is returned.
+     * 
+     * @param entryPath The path of the cache entry
+     * @param header The expected header
+     * @return The {@link ReadableObj}, or <code>null</code>
+     */
+    private static ReadableObj readEntry(Path entryPath, byte[] header)
+    {
+        try
+        {
+            ByteBuffer buffer = ObjSnapshots.map(entryPath);
+            if (buffer.remaining() < header.length)
+            {
+                return null;
+            }
+            for (int i = 0; i < header.length; i++)
+            {
+                if (buffer.get(i) != header[i])
+                {
+                    return null;
+                }
+            }
+            buffer.position(header.length);
+            return ObjSnapshots.read(buffer);
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.FINE, 
+                "Could not read snapshot " + entryPath, e);
+            return null;
+        }
+    }
+
+    /**
+     * Write a cache entry with the given header and a snapshot of the 
+     * given {@link ReadableObj} to the given path
+     * 
+     * @param entryPath The path of the cache entry
+     * @param header The header
+     * @param obj The {@link ReadableObj}
+     * @throws IOException If an IO error occurs
+     */
+    private void writeEntry(Path entryPath, byte[] header, ReadableObj obj)
+        throws IOException
+    {
+        Files.createDirectories(directory);
+        Path tempPath = Files.createTempFile(directory, "entry", ".tmp");
+        try
+        {
+            try (OutputStream outputStream = Files.newOutputStream(tempPath))
+            {
+                outputStream.write(header);
+                ObjSnapshots.write(obj, outputStream);
+            }
+            try
+            {
+                Files.move(tempPath, entryPath, 
+                    StandardCopyOption.REPLACE_EXISTING, 
+                    StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException e)
+            {
+                Files.move(tempPath, entryPath, 
+                    StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+}
@@ -0,0 +1,485 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementation of an {@link ObjByteParser.Handler} that records the 
+ * elements of one chunk of OBJ data, so that the chunks of a larger
+ * input may be parsed in parallel, and the results may later be passed
+ * to a {@link WritableObj} in their original order.<br>
+ * <br>
+ * The coordinates of the vertices, texture coordinates and normals are 
+ * stored in primitive arrays.
+ * The face indices are stored as they appear in the input. Relative 
+ * (negative) indices can only be resolved when the number of elements
+ * in all preceding chunks is known: These numbers are passed to 
+ * {@link #resolve(int, int, int)}, which creates the faces. After this, 
+ * all elements may be passed to a {@link WritableObj} with 
+ * {@link #emit(WritableObj)}.
+ */
+final class ObjChunk implements ObjByteParser.Handler
+{
+    /**
+     * The record type for a vertex
+     */
+    private static final byte VERTEX = 0;
+
+    /**
+     * The record type for a texture coordinate
+     */
+    private static final byte TEX_COORD = 1;
+
+    /**
+     * The record type for a normal
+     */
+    private static final byte NORMAL = 2;
+
+    /**
+     * The record type for a face
+     */
+    private static final byte FACE = 3;
+
+    /**
+     * The record type for a change of the active group names
+     */
+    private static final byte GROUP_NAMES = 4;
+
+    /**
+     * The record type for a change of the active material group name
+     */
+    private static final byte MATERIAL_GROUP_NAME = 5;
+
+    /**
+     * The record type for the MTL file names
+     */
+    private static final byte MTL_FILE_NAMES = 6;
+
+    /**
+     * The flag indicating that a face has texture coordinate indices
+     */
+    private static final int FLAG_TEX_COORDS = 1;
+
+    /**
+     * The flag indicating that a face has normal indices
+     */
+    private static final int FLAG_NORMALS = 2;
+
+    /**
+     * The number of header elements that are stored for each face in
+     * the {@link #faceData}: The number of vertices, the flags, and
+     * the number of vertices, texture coordinates and normals that 
+     * have been read in this chunk when the face was encountered
+     */
+    private static final int FACE_HEADER_SIZE = 5;
+
+    /**
+     * The types of the records, in the order in which they appeared 
+     * in the input
+     */
+    private byte[] records = new byte[256];
+
+    /**
+     * The number of {@link #records}
+     */
+    private int numRecords = 0;
+
+    /**
+     * The vertices of this chunk
+     */
+    private final TupleArray vertices = new TupleArray();
+
+    /**
+     * The texture coordinates of this chunk
+     */
+    private final TupleArray texCoords = new TupleArray();
+
+    /**
+     * The normals of this chunk
+     */
+    private final TupleArray normals = new TupleArray();
+
+    /**
+     * The header and the raw indices of all faces of this chunk
+     */
+    private int[] faceData = new int[256];
+
+    /**
+     * The number of elements in the {@link #faceData}
+     */
+    private int faceDataSize = 0;
+
+    /**
+     * The number of faces in this chunk
+     */
+    private int numFaces = 0;
+
+    /**
+     * The group names, material group names and MTL file names of 
+     * this chunk, in the order in which they appeared in the input
+     */
+    private final List<Object> names = new ArrayList<Object>();
+
+    /**
+     * The faces that have been created in {@link #resolve(int, int, int)}
+     */
+    private ObjFace[] faces;
+
+    /**
+     * Returns the number of vertices in this chunk
+     * 
+     * @return The number of vertices
+     */
+    int getNumVertices()
+    {
+        return vertices.size();
+    }
+
+    /**
+     * Returns the number of texture coordinates in this chunk
+     * 
+     * @return The number of texture coordinates
+     */
+    int getNumTexCoords()
+    {
+        return texCoords.size();
+    }
+
+    /**
+     * Returns the number of normals in this chunk
+     * 
+     * @return The number of normals
+     */
+    int getNumNormals()
+    {
+        return normals.size();
+    }
+
+    @Override
+    public void addVertex(int dimensions, float x, float y, float z, float w)
+    {
+        addRecord(VERTEX);
+        vertices.add(dimensions, x, y, z, w);
+    }
+
+    @Override
+    public void addTexCoord(int dimensions, float x, float y, float z, float w)
+    {
+        addRecord(TEX_COORD);
+        texCoords.add(dimensions, x, y, z, w);
+    }
+
+    @Override
+    public void addNormal(int dimensions, float x, float y, float z, float w)
+    {
+        addRecord(NORMAL);
+        normals.add(dimensions, x, y, z, w);
+    }
+
+    @Override
+    public void addFace(int[] v, int[] vt, int[] vn, int count)
+    {
+        addRecord(FACE);
+        int flags = 0;
+        int size = FACE_HEADER_SIZE + count;
+        if (vt != null)
+        {
+            flags |= FLAG_TEX_COORDS;
+            size += count;
+        }
+        if (vn != null)
+        {
+            flags |= FLAG_NORMALS;
+            size += count;
+        }
+        if (faceDataSize + size > faceData.length)
+        {
+            faceData = Arrays.copyOf(faceData, 
+                Math.max(faceDataSize + size, faceData.length * 2));
+        }
+        int[] d = faceData;
+        int i = faceDataSize;
+        d[i++] = count;
+        d[i++] = flags;
+        d[i++] = vertices.size();
+        d[i++] = texCoords.size();
+        d[i++] = normals.size();
+        System.arraycopy(v, 0, d, i, count);
+        i += count;
+        if (vt != null)
+        {
+            System.arraycopy(vt, 0, d, i, count);
+            i += count;
+        }
+        if (vn != null)
+        {
+            System.arraycopy(vn, 0, d, i, count);
+            i += count;
+        }
+        faceDataSize = i;
+        numFaces++;
+    }
+
+    @Override
+    public void setActiveGroupNames(List<String> groupNames)
+    {
+        addRecord(GROUP_NAMES);
+        names.add(groupNames);
+    }
+
+    @Override
+    public void setActiveMaterialGroupName(String materialGroupName)
+    {
+        addRecord(MATERIAL_GROUP_NAME);
+        names.add(materialGroupName);
+    }
+
+    @Override
+    public void setMtlFileNames(Collection<String> mtlFileNames)
+    {
+        addRecord(MTL_FILE_NAMES);
+        names.add(mtlFileNames);
+    }
+
+    /**
+     * Add the given record type to the {@link #records}
+     * 
+     * @param record The record type
+     */
+    private void addRecord(byte record)
+    {
+        if (numRecords == records.length)
+        {
+            records = Arrays.copyOf(records, records.length * 2);
+        }
+        records[numRecords++] = record;
+    }
+
+    /**
+     * Create the faces of this chunk, converting all indices into 
+     * absolute, zero-based indices. The given numbers are the numbers
+     * of elements that appeared in the input before this chunk.
+     * 
+     * @param vertexBase The number of preceding vertices
+     * @param texCoordBase The number of preceding texture coordinates
+     * @param normalBase The number of preceding normals
+     */
+    void resolve(int vertexBase, int texCoordBase, int normalBase)
+    {
+        faces = new ObjFace[numFaces];
+        int[] d = faceData;
+        int i = 0;
+        for (int f = 0; f < numFaces; f++)
+        {
+            int count = d[i++];
+            int flags = d[i++];
+            int numVertices = vertexBase + d[i++];
+            int numTexCoords = texCoordBase + d[i++];
+            int numNormals = normalBase + d[i++];
+            int[] v = createIndices(d, i, count, numVertices);
+            i += count;
+            int[] vt = null;
+            if ((flags & FLAG_TEX_COORDS) != 0)
+            {
+                vt = createIndices(d, i, count, numTexCoords);
+                i += count;
+            }
+            int[] vn = null;
+            if ((flags & FLAG_NORMALS) != 0)
+            {
+                vn = createIndices(d, i, count, numNormals);
+                i += count;
+            }
+            faces[f] = ObjFaces.create(v, vt, vn);
+        }
+        faceData = null;
+    }
+
+    /**
+     * Create an array containing the specified elements of the given 
+     * array, converted to be absolute (non-negative) and zero-based. 
+     * This means that negative values are made positive by adding the 
+     * given number of elements, and positive values are decreased by one.
+     * 
+     * @param indices The indices, as they have been read from the input
+     * @param offset The offset of the first index
+     * @param count The number of indices
+     * @param numElements The number of elements that have been read
+     * until the face was encountered
+     * @return The absolute indices
+     */
+    private static int[] createIndices(
+        int[] indices, int offset, int count, int numElements)
+    {
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            int index = indices[offset + i];
+            if (index < 0)
+            {
+                result[i] = numElements + index;
+            }
+            else
+            {
+                result[i] = index - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Pass all elements of this chunk to the given {@link WritableObj},
+     * in the order in which they appeared in the input. This may only
+     * be called after {@link #resolve(int, int, int)} was called.
+     * 
+     * @param output The {@link WritableObj}
+     */
+    @SuppressWarnings("unchecked")
+    void emit(WritableObj output)
+    {
+        int vertexIndex = 0;
+        int texCoordIndex = 0;
+        int normalIndex = 0;
+        int faceIndex = 0;
+        int nameIndex = 0;
+        for (int r = 0; r < numRecords; r++)
+        {
+            switch (records[r])
+            {
+                case VERTEX:
+                {
+                    TupleArray t = vertices;
+                    int i = vertexIndex++;
+                    int o = i * 4;
+                    output.addVertex(t.dimensions[i], t.values[o],
+                        t.values[o + 1], t.values[o + 2], t.values[o + 3]);
+                    break;
+                }
+
+                case TEX_COORD:
+                {
+                    TupleArray t = texCoords;
+                    int i = texCoordIndex++;
+                    int o = i * 4;
+                    output.addTexCoord(t.dimensions[i], t.values[o],
+                        t.values[o + 1], t.values[o + 2], t.values[o + 3]);
+                    break;
+                }
+
+                case NORMAL:
+                {
+                    TupleArray t = normals;
+                    int i = normalIndex++;
+                    int o = i * 4;
+                    output.addNormal(t.dimensions[i], t.values[o],
+                        t.values[o + 1], t.values[o + 2], t.values[o + 3]);
+                    break;
+                }
+
+                case FACE:
+                    output.addFace(faces[faceIndex++]);
+                    break;
+
+                case GROUP_NAMES:
+                    output.setActiveGroupNames(
+                        (List<String>)names.get(nameIndex++));
+                    break;
+
+                case MATERIAL_GROUP_NAME:
+                    output.setActiveMaterialGroupName(
+                        (String)names.get(nameIndex++));
+                    break;
+
+                default:
+                    output.setMtlFileNames(
+                        (Collection<String>)names.get(nameIndex++));
+                    break;
+            }
+        }
+    }
+
+    /**
+     * A simple growable array of tuples with up to four dimensions
+     */
+    private static final class TupleArray
+    {
+        /**
+         * The number of dimensions of each tuple
+         */
+        private byte[] dimensions = new byte[64];
+
+        /**
+         * The values of the tuples, with four elements for each tuple
+         */
+        private float[] values = new float[256];
+
+        /**
+         * The number of tuples
+         */
+        private int size = 0;
+
+        /**
+         * Add the given tuple
+         * 
+         * @param d The number of dimensions
+         * @param x The x-coordinate
+         * @param y The y-coordinate
+         * @param z The z-coordinate
+         * @param w The w-coordinate
+         */
+        void add(int d, float x, float y, float z, float w)
+        {
+            if (size == dimensions.length)
+            {
+                dimensions = Arrays.copyOf(dimensions, size * 2);
+                values = Arrays.copyOf(values, size * 2 * 4);
+            }
+            dimensions[size] = (byte)d;
+            int o = size * 4;
+            values[o] = x;
+            values[o + 1] = y;
+            values[o + 2] = z;
+            values[o + 3] = w;
+            size++;
+        }
+
+        /**
+         * Returns the number of tuples
+         * 
+         * @return The number of tuples
+         */
+        int size()
+        {
+            return size;
+        }
+    }
+}
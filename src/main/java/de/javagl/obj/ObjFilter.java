@@ -0,0 +1,875 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A class for reading only the faces of OBJ data that belong to certain
+ * groups or material groups, as determined by the filters that have been
+ * set in the {@link ObjReaderOptions}.<br>
+ * <br>
+ * In the first pass, the faces are passed from an {@link ObjByteParser}
+ * to a {@link SelectingHandler}, which drops the faces that are not 
+ * accepted before any face object is created. The accepted faces are 
+ * stored in a {@link Selection}, which also keeps track of the elements
+ * that are referred to by these faces. In the second pass, the 
+ * referred elements are passed to the output. If the input can be read 
+ * twice, they are obtained from the input. Otherwise, the coordinates 
+ * of all elements are stored during the first pass. Finally, the faces 
+ * are passed to the output, with their indices adjusted to refer to 
+ * the elements that have been passed to the output.
+ */
+final class ObjFilter
+{
+    /**
+     * The group names that are active for faces that appear before
+     * the first group statement
+     */
+    private static final List<String> DEFAULT_GROUP_NAMES =
+        Collections.singletonList("default");
+
+    /**
+     * Interface for a source of OBJ data that may be passed to an
+     * {@link ObjByteParser}
+     */
+    interface Source
+    {
+        /**
+         * Pass all data of this source to the given parser. This will 
+         * not call {@link ObjByteParser#finish()}.
+         * 
+         * @param parser The parser
+         * @throws IOException If an IO error occurs
+         */
+        void parse(ObjByteParser parser) throws IOException;
+    }
+
+    /**
+     * Creates a new filter for the given options. Returns 
+     * <code>null</code> if the given options are <code>null</code>, 
+     * or do not contain any filter.
+     * 
+     * @param options The options
+     * @return The filter
+     */
+    static ObjFilter create(ObjReaderOptions options)
+    {
+        if (options == null)
+        {
+            return null;
+        }
+        if (options.getGroupFilter() == null && 
+            options.getMaterialGroupFilter() == null)
+        {
+            return null;
+        }
+        return new ObjFilter(options);
+    }
+
+    /**
+     * The filter for group names, or <code>null</code>
+     */
+    private final Predicate<? super String> groupFilter;
+
+    /**
+     * The filter for material group names, or <code>null</code>
+     */
+    private final Predicate<? super String> materialGroupFilter;
+
+    /**
+     * Whether texture coordinates are read
+     */
+    private final boolean readTexCoords;
+
+    /**
+     * Whether normals are read
+     */
+    private final boolean readNormals;
+
+    /**
+     * Whether group names are passed to the output
+     */
+    private final boolean readGroups;
+
+    /**
+     * Whether material group names are passed to the output
+     */
+    private final boolean readMaterialGroups;
+
+    /**
+     * Creates a new filter
+     * 
+     * @param options The options
+     */
+    private ObjFilter(ObjReaderOptions options)
+    {
+        this.groupFilter = options.getGroupFilter();
+        this.materialGroupFilter = options.getMaterialGroupFilter();
+        this.readTexCoords = options.isReadTexCoords();
+        this.readNormals = options.isReadNormals();
+        this.readGroups = options.isReadGroups();
+        this.readMaterialGroups = options.isReadMaterialGroups();
+    }
+
+    /**
+     * Returns whether faces with the given group names and material 
+     * group name are accepted by this filter
+     * 
+     * @param groupNames The group names
+     * @param materialGroupName The material group name, or 
+     * <code>null</code> if there is no active material group
+     * @return Whether the faces are accepted
+     */
+    boolean accepts(
+        Collection<? extends String> groupNames, String materialGroupName)
+    {
+        if (materialGroupFilter != null)
+        {
+            if (materialGroupName == null || 
+                !materialGroupFilter.test(materialGroupName))
+            {
+                return false;
+            }
+        }
+        if (groupFilter != null)
+        {
+            for (String groupName : groupNames)
+            {
+                if (groupFilter.test(groupName))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Read the OBJ data from the given sources, and pass the selected
+     * elements to the given output.
+     * 
+     * @param first The source for the first pass
+     * @param second The source for the second pass. If this is 
+     * <code>null</code>, then the coordinates of all elements will be
+     * stored during the first pass.
+     * @param output The output
+     * @throws IOException If the data can not be read, or a face 
+     * refers to an element that does not exist
+     */
+    void read(Source first, Source second, WritableObj output) 
+        throws IOException
+    {
+        Selection selection = new Selection(second == null);
+        ObjByteParser parser = new ObjByteParser(new SelectingHandler(
+            new ObjByteParser.WritableObjHandler(selection), output));
+        
+        // The group names and material group names are always read, 
+        // because they are required for filtering the faces
+        parser.setProjection(readTexCoords, readNormals, true, true);
+        first.parse(parser);
+        parser.finish();
+        selection.validate();
+        if (second == null)
+        {
+            selection.emitCoordinates(output);
+        }
+        else
+        {
+            ObjByteParser coordinateParser = 
+                new ObjByteParser(new CoordinateHandler(selection, output));
+            coordinateParser.setProjection(
+                readTexCoords, readNormals, false, false);
+            second.parse(coordinateParser);
+            coordinateParser.finish();
+        }
+        selection.emitFaces(output);
+    }
+
+    /**
+     * Implementation of an {@link ObjByteParser.Handler} that passes all
+     * elements to a delegate, except for the faces that are not accepted
+     * by this filter
+     */
+    private final class SelectingHandler implements ObjByteParser.Handler
+    {
+        /**
+         * The delegate
+         */
+        private final ObjByteParser.Handler delegate;
+
+        /**
+         * The output that receives the MTL file names
+         */
+        private final WritableObj output;
+
+        /**
+         * The currently active group names
+         */
+        private List<String> activeGroupNames = DEFAULT_GROUP_NAMES;
+
+        /**
+         * The currently active material group name
+         */
+        private String activeMaterialGroupName = null;
+
+        /**
+         * Whether faces are currently accepted
+         */
+        private boolean accepting;
+
+        /**
+         * Creates a new instance
+         * 
+         * @param delegate The delegate
+         * @param output The output that receives the MTL file names
+         */
+        SelectingHandler(ObjByteParser.Handler delegate, WritableObj output)
+        {
+            this.delegate = delegate;
+            this.output = output;
+            this.accepting = 
+                accepts(activeGroupNames, activeMaterialGroupName);
+        }
+
+        @Override
+        public void addVertex(
+            int dimensions, float x, float y, float z, float w)
+        {
+            delegate.addVertex(dimensions, x, y, z, w);
+        }
+
+        @Override
+        public void addTexCoord(
+            int dimensions, float x, float y, float z, float w)
+        {
+            delegate.addTexCoord(dimensions, x, y, z, w);
+        }
+
+        @Override
+        public void addNormal(
+            int dimensions, float x, float y, float z, float w)
+        {
+            delegate.addNormal(dimensions, x, y, z, w);
+        }
+
+        @Override
+        public void addFace(int[] v, int[] vt, int[] vn, int count)
+            throws IOException
+        {
+            if (accepting)
+            {
+                delegate.addFace(v, vt, vn, count);
+            }
+        }
+
+        @Override
+        public void setActiveGroupNames(List<String> groupNames)
+        {
+            if (groupNames.isEmpty())
+            {
+                activeGroupNames = DEFAULT_GROUP_NAMES;
+            }
+            else
+            {
+                activeGroupNames = new ArrayList<String>(groupNames);
+            }
+            accepting = accepts(activeGroupNames, activeMaterialGroupName);
+            if (readGroups)
+            {
+                delegate.setActiveGroupNames(activeGroupNames);
+            }
+        }
+
+        @Override
+        public void setActiveMaterialGroupName(String materialGroupName)
+        {
+            activeMaterialGroupName = materialGroupName;
+            accepting = accepts(activeGroupNames, activeMaterialGroupName);
+            if (readMaterialGroups)
+            {
+                delegate.setActiveMaterialGroupName(materialGroupName);
+            }
+        }
+
+        @Override
+        public void setMtlFileNames(Collection<String> mtlFileNames)
+        {
+            output.setMtlFileNames(mtlFileNames);
+        }
+    }
+
+    /**
+     * A {@link WritableObj} that stores the faces that have been 
+     * selected, together with the group and material group activations,
+     * and keeps track of the elements that they refer to. If desired,
+     * it also stores the coordinates of all elements.
+     */
+    private static final class Selection extends AbstractWritableObj
+    {
+        /**
+         * The vertices, or <code>null</code> if the coordinates are not
+         * stored
+         */
+        private final PackedTupleArray vertices;
+
+        /**
+         * The texture coordinates, or <code>null</code> if the 
+         * coordinates are not stored
+         */
+        private final PackedTupleArray texCoords;
+
+        /**
+         * The normals, or <code>null</code> if the coordinates are not 
+         * stored
+         */
+        private final PackedTupleArray normals;
+
+        /**
+         * The number of vertices that have been read
+         */
+        private int numVertices;
+
+        /**
+         * The number of texture coordinates that have been read
+         */
+        private int numTexCoords;
+
+        /**
+         * The number of normals that have been read
+         */
+        private int numNormals;
+
+        /**
+         * The selected faces
+         */
+        private final List<ObjFace> faces;
+
+        /**
+         * The vertices that are referred to by the selected faces
+         */
+        private final BitSet usedVertices;
+
+        /**
+         * The texture coordinates that are referred to by the selected 
+         * faces
+         */
+        private final BitSet usedTexCoords;
+
+        /**
+         * The normals that are referred to by the selected faces
+         */
+        private final BitSet usedNormals;
+
+        /**
+         * The group names that have been activated, mapping the index
+         * of the first face for which they are active to the names
+         */
+        private final Map<Integer, List<String>> groupActivations;
+
+        /**
+         * The material group names that have been activated, mapping 
+         * the index of the first face for which they are active to the 
+         * name
+         */
+        private final Map<Integer, String> materialGroupActivations;
+
+        /**
+         * The group names that will be active for the next face
+         */
+        private List<String> nextGroupNames = null;
+
+        /**
+         * The group names that are active for the last face
+         */
+        private List<String> activeGroupNames = DEFAULT_GROUP_NAMES;
+
+        /**
+         * The material group name that will be active for the next face
+         */
+        private String nextMaterialGroupName = null;
+
+        /**
+         * The material group name that is active for the last face
+         */
+        private String activeMaterialGroupName = null;
+
+        /**
+         * The {@link Remapping} for the vertices
+         */
+        private Remapping vertexRemapping;
+
+        /**
+         * The {@link Remapping} for the texture coordinates
+         */
+        private Remapping texCoordRemapping;
+
+        /**
+         * The {@link Remapping} for the normals
+         */
+        private Remapping normalRemapping;
+
+        /**
+         * A message describing the first negative index that was found
+         * in a selected face, or <code>null</code>
+         */
+        private String invalidIndexMessage = null;
+
+        /**
+         * Creates a new selection
+         * 
+         * @param storeCoordinates Whether the coordinates of all elements
+         * should be stored
+         */
+        Selection(boolean storeCoordinates)
+        {
+            if (storeCoordinates)
+            {
+                this.vertices = new PackedTupleArray(PrimitiveArrays.HEAP);
+                this.texCoords = new PackedTupleArray(PrimitiveArrays.HEAP);
+                this.normals = new PackedTupleArray(PrimitiveArrays.HEAP);
+            }
+            else
+            {
+                this.vertices = null;
+                this.texCoords = null;
+                this.normals = null;
+            }
+            this.faces = new ArrayList<ObjFace>();
+            this.usedVertices = new BitSet();
+            this.usedTexCoords = new BitSet();
+            this.usedNormals = new BitSet();
+            this.groupActivations = new HashMap<Integer, List<String>>();
+            this.materialGroupActivations = new HashMap<Integer, String>();
+        }
+
+        @Override
+        public void addVertex(
+            int dimensions, float x, float y, float z, float w)
+        {
+            if (vertices != null)
+            {
+                vertices.add(dimensions, x, y, z, w);
+            }
+            numVertices++;
+        }
+
+        @Override
+        public void addTexCoord(
+            int dimensions, float x, float y, float z, float w)
+        {
+            if (texCoords != null)
+            {
+                texCoords.add(dimensions, x, y, z, w);
+            }
+            numTexCoords++;
+        }
+
+        @Override
+        public void addNormal(
+            int dimensions, float x, float y, float z, float w)
+        {
+            if (normals != null)
+            {
+                normals.add(dimensions, x, y, z, w);
+            }
+            numNormals++;
+        }
+
+        @Override
+        public void setActiveGroupNames(
+            Collection<? extends String> groupNames)
+        {
+            nextGroupNames = new ArrayList<String>(groupNames);
+        }
+
+        @Override
+        public void setActiveMaterialGroupName(String materialGroupName)
+        {
+            nextMaterialGroupName = materialGroupName;
+        }
+
+        @Override
+        public void addFace(ObjFace face)
+        {
+            Integer index = faces.size();
+            if (nextGroupNames != null)
+            {
+                if (!nextGroupNames.equals(activeGroupNames))
+                {
+                    groupActivations.put(index, nextGroupNames);
+                    activeGroupNames = nextGroupNames;
+                }
+                nextGroupNames = null;
+            }
+            if (nextMaterialGroupName != null)
+            {
+                if (!nextMaterialGroupName.equals(activeMaterialGroupName))
+                {
+                    materialGroupActivations.put(
+                        index, nextMaterialGroupName);
+                    activeMaterialGroupName = nextMaterialGroupName;
+                }
+                nextMaterialGroupName = null;
+            }
+            faces.add(face);
+            for (int i = 0; i < face.getNumVertices(); i++)
+            {
+                mark(usedVertices, face.getVertexIndex(i), "Vertex");
+                if (face.containsTexCoordIndices())
+                {
+                    mark(usedTexCoords, face.getTexCoordIndex(i), 
+                        "Texture coordinate");
+                }
+                if (face.containsNormalIndices())
+                {
+                    mark(usedNormals, face.getNormalIndex(i), "Normal");
+                }
+            }
+        }
+
+        /**
+         * Set the given index in the given set. If the index is negative,
+         * then the {@link #invalidIndexMessage} is set instead.
+         * 
+         * @param indices The set of indices
+         * @param index The index
+         * @param name The name of the elements
+         */
+        private void mark(BitSet indices, int index, String name)
+        {
+            if (index >= 0)
+            {
+                indices.set(index);
+            }
+            else if (invalidIndexMessage == null)
+            {
+                invalidIndexMessage = name + " index " + index + 
+                    " is out of range";
+            }
+        }
+
+        /**
+         * Make sure that the selected faces only refer to elements that
+         * exist, and create the {@link Remapping} instances
+         * 
+         * @throws IOException If a face refers to an element that does
+         * not exist
+         */
+        void validate() throws IOException
+        {
+            if (invalidIndexMessage != null)
+            {
+                throw new IOException(invalidIndexMessage);
+            }
+            validate(usedVertices, numVertices, "Vertex");
+            validate(usedTexCoords, numTexCoords, "Texture coordinate");
+            validate(usedNormals, numNormals, "Normal");
+            vertexRemapping = new Remapping(usedVertices);
+            texCoordRemapping = new Remapping(usedTexCoords);
+            normalRemapping = new Remapping(usedNormals);
+        }
+
+        /**
+         * Make sure that the given set of indices only contains indices 
+         * that are non-negative and smaller than the given number of 
+         * elements
+         * 
+         * @param indices The indices
+         * @param numElements The number of elements
+         * @param name The name of the elements
+         * @throws IOException If an index is not valid
+         */
+        private static void validate(
+            BitSet indices, int numElements, String name) 
+            throws IOException
+        {
+            if (indices.length() > numElements)
+            {
+                throw new IOException(name + " index " + 
+                    (indices.length() - 1) + " is out of range, there " +
+                    "are only " + numElements + " elements");
+            }
+        }
+
+        /**
+         * Pass the coordinates of the elements that are referred to by
+         * the selected faces to the given output
+         * 
+         * @param output The output
+         */
+        void emitCoordinates(WritableObj output)
+        {
+            for (int i = usedVertices.nextSetBit(0); i >= 0; 
+                i = usedVertices.nextSetBit(i + 1))
+            {
+                output.addVertex(vertices.getDimensions(i), 
+                    get(vertices, i, 0), get(vertices, i, 1),
+                    get(vertices, i, 2), get(vertices, i, 3));
+            }
+            for (int i = usedTexCoords.nextSetBit(0); i >= 0; 
+                i = usedTexCoords.nextSetBit(i + 1))
+            {
+                output.addTexCoord(texCoords.getDimensions(i), 
+                    get(texCoords, i, 0), get(texCoords, i, 1),
+                    get(texCoords, i, 2), get(texCoords, i, 3));
+            }
+            for (int i = usedNormals.nextSetBit(0); i >= 0; 
+                i = usedNormals.nextSetBit(i + 1))
+            {
+                output.addNormal(normals.getDimensions(i), 
+                    get(normals, i, 0), get(normals, i, 1),
+                    get(normals, i, 2), get(normals, i, 3));
+            }
+        }
+
+        /**
+         * Returns the specified component of the specified tuple, or 0.0
+         * if the tuple does not have this component
+         * 
+         * @param array The array
+         * @param index The index of the tuple
+         * @param component The component
+         * @return The value
+         */
+        private static float get(
+            PackedTupleArray array, int index, int component)
+        {
+            if (component < array.getDimensions(index))
+            {
+                return array.get(index, component);
+            }
+            return 0.0f;
+        }
+
+        /**
+         * Pass the selected faces to the given output, together with the 
+         * group and material group activations, and with their indices
+         * adjusted to refer to the elements that have been passed to the 
+         * output
+         * 
+         * @param output The output
+         */
+        void emitFaces(WritableObj output)
+        {
+            for (int f = 0; f < faces.size(); f++)
+            {
+                List<String> groupNames = groupActivations.get(f);
+                if (groupNames != null)
+                {
+                    output.setActiveGroupNames(groupNames);
+                }
+                String materialGroupName = materialGroupActivations.get(f);
+                if (materialGroupName != null)
+                {
+                    output.setActiveMaterialGroupName(materialGroupName);
+                }
+                ObjFace face = faces.get(f);
+                int n = face.getNumVertices();
+                int[] v = new int[n];
+                int[] vt = face.containsTexCoordIndices() ? new int[n] : null;
+                int[] vn = face.containsNormalIndices() ? new int[n] : null;
+                for (int i = 0; i < n; i++)
+                {
+                    v[i] = vertexRemapping.get(face.getVertexIndex(i));
+                    if (vt != null)
+                    {
+                        vt[i] = texCoordRemapping.get(
+                            face.getTexCoordIndex(i));
+                    }
+                    if (vn != null)
+                    {
+                        vn[i] = normalRemapping.get(face.getNormalIndex(i));
+                    }
+                }
+                output.addFace(ObjFaces.create(v, vt, vn));
+            }
+        }
+    }
+
+    /**
+     * Implementation of an {@link ObjByteParser.Handler} that passes 
+     * the elements that are referred to by the faces of a 
+     * {@link Selection} to an output, and ignores everything else
+     */
+    private static final class CoordinateHandler 
+        implements ObjByteParser.Handler
+    {
+        /**
+         * The {@link Selection}
+         */
+        private final Selection selection;
+
+        /**
+         * The output
+         */
+        private final WritableObj output;
+
+        /**
+         * The number of vertices that have been read
+         */
+        private int vertexCounter = 0;
+
+        /**
+         * The number of texture coordinates that have been read
+         */
+        private int texCoordCounter = 0;
+
+        /**
+         * The number of normals that have been read
+         */
+        private int normalCounter = 0;
+
+        /**
+         * Creates a new instance
+         * 
+         * @param selection The {@link Selection}
+         * @param output The output
+         */
+        CoordinateHandler(Selection selection, WritableObj output)
+        {
+            this.selection = selection;
+            this.output = output;
+        }
+
+        @Override
+        public void addVertex(
+            int dimensions, float x, float y, float z, float w)
+        {
+            if (selection.usedVertices.get(vertexCounter++))
+            {
+                output.addVertex(dimensions, x, y, z, w);
+            }
+        }
+
+        @Override
+        public void addTexCoord(
+            int dimensions, float x, float y, float z, float w)
+        {
+            if (selection.usedTexCoords.get(texCoordCounter++))
+            {
+                output.addTexCoord(dimensions, x, y, z, w);
+            }
+        }
+
+        @Override
+        public void addNormal(
+            int dimensions, float x, float y, float z, float w)
+        {
+            if (selection.usedNormals.get(normalCounter++))
+            {
+                output.addNormal(dimensions, x, y, z, w);
+            }
+        }
+
+        @Override
+        public void addFace(int[] v, int[] vt, int[] vn, int count)
+        {
+            // Faces are passed to the output by the selection
+        }
+
+        @Override
+        public void setActiveGroupNames(List<String> groupNames)
+        {
+            // Groups are passed to the output by the selection
+        }
+
+        @Override
+        public void setActiveMaterialGroupName(String materialGroupName)
+        {
+            // Material groups are passed to the output by the selection
+        }
+
+        @Override
+        public void setMtlFileNames(Collection<String> mtlFileNames)
+        {
+            // MTL file names are passed to the output by the selection
+        }
+    }
+
+    /**
+     * A mapping from the indices of the elements in the input to the 
+     * indices of the elements in the output, which is derived from the 
+     * set of indices of the elements that are passed to the output.
+     * The index of an element in the output is the number of elements 
+     * that are passed to the output before it. These numbers are 
+     * precomputed for each block of 64 elements.
+     */
+    private static final class Remapping
+    {
+        /**
+         * The bits of the set of indices
+         */
+        private final long[] words;
+
+        /**
+         * The number of set bits before each word
+         */
+        private final int[] counts;
+
+        /**
+         * Creates a new remapping for the given set of indices
+         * 
+         * @param indices The indices
+         */
+        Remapping(BitSet indices)
+        {
+            this.words = indices.toLongArray();
+            this.counts = new int[words.length];
+            int count = 0;
+            for (int i = 0; i < words.length; i++)
+            {
+                counts[i] = count;
+                count += Long.bitCount(words[i]);
+            }
+        }
+
+        /**
+         * Returns the output index for the given input index, which 
+         * must be contained in the set of indices
+         * 
+         * @param index The input index
+         * @return The output index
+         */
+        int get(int index)
+        {
+            int w = index >>> 6;
+            long mask = (1L << (index & 63)) - 1;
+            return counts[w] + Long.bitCount(words[w] & mask);
+        }
+    }
+}
@@ -0,0 +1,483 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.obj;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A buffer for writing the textual representation of OBJ data. The 
+ * numbers are formatted directly into a byte array, without creating 
+ * intermediate strings, and the contents are passed to an 
+ * <code>OutputStream</code>, a <code>Writer</code> or a 
+ * <code>WritableByteChannel</code> in large blocks.<br>
+ * <br>
+ * Strings that only consist of ASCII characters are copied into the 
+ * buffer. Other strings are encoded with the charset of the buffer when 
+ * writing to a stream, and passed directly to the writer otherwise.<br>
+ * <br>
+ * A buffer that is created without a stream, writer or channel collects all 
+ * output in memory, growing as necessary. Its contents may later be 
+ * written into another buffer with {@link #writeTo(ObjOutputBuffer)}.
+ */
+final class ObjOutputBuffer
+{
+    /**
+     * The default capacity of the buffer
+     */
+    static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * The capacity of a buffer that writes to a channel
+     */
+    private static final int CHANNEL_CAPACITY = 1 << 20;
+
+    /**
+     * The maximum number of bytes that are written for an int value
+     */
+    private static final int MAX_INT_LENGTH = 11;
+
+    /**
+     * The stream to write to. This is <code>null</code> if the output
+     * is not written to a stream.
+     */
+    private final OutputStream outputStream;
+
+    /**
+     * The writer to write to. This is <code>null</code> if the output
+     * is not written to a writer.
+     */
+    private final Writer writer;
+
+    /**
+     * The channel to write to. This is <code>null</code> if the output
+     * is not written to a channel.
+     */
+    private final WritableByteChannel channel;
+
+    /**
+     * The charset for encoding non-ASCII strings for the stream
+     */
+    private final Charset charset;
+
+    /**
+     * The buffer
+     */
+    private byte[] bytes;
+
+    /**
+     * The buffer for converting the bytes into characters for the writer
+     */
+    private char[] chars;
+
+    /**
+     * The current position in the buffer
+     */
+    private int position;
+
+    /**
+     * Creates a new buffer that writes to the given stream
+     * 
+     * @param outputStream The stream
+     * @param charset The charset for encoding non-ASCII strings
+     */
+    ObjOutputBuffer(OutputStream outputStream, Charset charset)
+    {
+        this.outputStream = outputStream;
+        this.writer = null;
+        this.channel = null;
+        this.charset = charset;
+        this.bytes = new byte[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Creates a new buffer that collects the output in memory
+     * 
+     * @param charset The charset for encoding non-ASCII strings
+     * @param initialCapacity The initial capacity
+     */
+    ObjOutputBuffer(Charset charset, int initialCapacity)
+    {
+        this.outputStream = null;
+        this.writer = null;
+        this.channel = null;
+        this.charset = charset;
+        this.bytes = new byte[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     * Creates a new buffer that writes to the given writer
+     * 
+     * @param writer The writer
+     */
+    ObjOutputBuffer(Writer writer)
+    {
+        this.outputStream = null;
+        this.writer = writer;
+        this.channel = null;
+        this.charset = null;
+        this.bytes = new byte[DEFAULT_CAPACITY];
+        this.chars = new char[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Creates a new buffer that writes to the given channel
+     * 
+     * @param channel The channel
+     * @param charset The charset for encoding non-ASCII strings
+     */
+    ObjOutputBuffer(WritableByteChannel channel, Charset charset)
+    {
+        this.outputStream = null;
+        this.writer = null;
+        this.channel = channel;
+        this.charset = charset;
+        this.bytes = new byte[CHANNEL_CAPACITY];
+    }
+
+    /**
+     * Make sure that the buffer has space for the given number of bytes,
+     * writing the current contents of the buffer if necessary
+     * 
+     * @param n The number of bytes
+     * @throws IOException If an IO error occurs
+     */
+    private void require(int n) throws IOException
+    {
+        if (position + n > bytes.length)
+        {
+            if (isInMemory())
+            {
+                int newCapacity = Math.max(position + n, bytes.length * 2);
+                bytes = Arrays.copyOf(bytes, newCapacity);
+            }
+            else
+            {
+                writeBuffer();
+            }
+        }
+    }
+    
+    /**
+     * Returns whether this buffer collects the output in memory
+     * 
+     * @return Whether the output is collected in memory
+     */
+    private boolean isInMemory()
+    {
+        return outputStream == null && writer == null && channel == null;
+    }
+
+    /**
+     * Write the given ASCII character
+     * 
+     * @param c The character
+     * @throws IOException If an IO error occurs
+     */
+    void write(char c) throws IOException
+    {
+        require(1);
+        bytes[position++] = (byte)c;
+    }
+
+    /**
+     * Write the given string
+     * 
+     * @param s The string
+     * @throws IOException If an IO error occurs
+     */
+    void write(String s) throws IOException
+    {
+        int n = s.length();
+        if (!isAscii(s))
+        {
+            if (writer != null)
+            {
+                writeBuffer();
+                writer.write(s);
+            }
+            else
+            {
+                byte[] encoded = s.getBytes(charset);
+                write(encoded, 0, encoded.length);
+            }
+            return;
+        }
+        if (n > bytes.length && !isInMemory())
+        {
+            if (writer != null)
+            {
+                writeBuffer();
+                writer.write(s);
+            }
+            else
+            {
+                byte[] encoded = s.getBytes(charset);
+                write(encoded, 0, encoded.length);
+            }
+            return;
+        }
+        require(n);
+        for (int i = 0; i < n; i++)
+        {
+            bytes[position++] = (byte)s.charAt(i);
+        }
+    }
+
+    /**
+     * Write the specified range of the given bytes. When writing to a 
+     * writer, the bytes must be ASCII characters.
+     * 
+     * @param b The bytes
+     * @param offset The offset of the range
+     * @param length The length of the range
+     * @throws IOException If an IO error occurs
+     */
+    void write(byte[] b, int offset, int length) throws IOException
+    {
+        if (isInMemory() || length <= bytes.length - position)
+        {
+            require(length);
+            System.arraycopy(b, offset, bytes, position, length);
+            position += length;
+            return;
+        }
+        writeBuffer();
+        if (outputStream != null)
+        {
+            outputStream.write(b, offset, length);
+            return;
+        }
+        if (channel != null)
+        {
+            writeFully(ByteBuffer.wrap(b, offset, length));
+            return;
+        }
+        int o = offset;
+        int remaining = length;
+        while (remaining > 0)
+        {
+            int n = Math.min(remaining, bytes.length);
+            System.arraycopy(b, o, bytes, 0, n);
+            position = n;
+            writeBuffer();
+            o += n;
+            remaining -= n;
+        }
+    }
+
+    /**
+     * Write the contents of this buffer into the given buffer. This is 
+     * intended for buffers that collect the output in memory.
+     * 
+     * @param target The target buffer
+     * @throws IOException If an IO error occurs
+     */
+    void writeTo(ObjOutputBuffer target) throws IOException
+    {
+        target.write(bytes, 0, position);
+    }
+
+    /**
+     * Write the contents of the given buffers into this buffer, in 
+     * order. This is intended for buffers that collect the output in 
+     * memory. If this buffer writes to a 
+     * <code>GatheringByteChannel</code>, then the contents are written
+     * to the channel with a single gathering write, without copying 
+     * them into this buffer.
+     * 
+     * @param sources The source buffers
+     * @throws IOException If an IO error occurs
+     */
+    void writeAll(List<ObjOutputBuffer> sources) throws IOException
+    {
+        if (!(channel instanceof GatheringByteChannel))
+        {
+            for (ObjOutputBuffer source : sources)
+            {
+                source.writeTo(this);
+            }
+            return;
+        }
+        writeBuffer();
+        GatheringByteChannel gatheringChannel = 
+            (GatheringByteChannel)channel;
+        ByteBuffer[] byteBuffers = new ByteBuffer[sources.size()];
+        long remaining = 0;
+        for (int i = 0; i < byteBuffers.length; i++)
+        {
+            ObjOutputBuffer source = sources.get(i);
+            byteBuffers[i] = ByteBuffer.wrap(source.bytes, 0, source.position);
+            remaining += source.position;
+        }
+        while (remaining > 0)
+        {
+            remaining -= gatheringChannel.write(byteBuffers);
+        }
+    }
+
+    /**
+     * Write the decimal representation of the given value
+     * 
+     * @param value The value
+     * @throws IOException If an IO error occurs
+     */
+    void writeInt(int value) throws IOException
+    {
+        require(MAX_INT_LENGTH);
+        if (value < 0)
+        {
+            if (value == Integer.MIN_VALUE)
+            {
+                write(String.valueOf(value));
+                return;
+            }
+            bytes[position++] = '-';
+            value = -value;
+        }
+        int numDigits = 1;
+        for (int v = value / 10; v != 0; v /= 10)
+        {
+            numDigits++;
+        }
+        int end = position + numDigits;
+        int v = value;
+        for (int i = end - 1; i >= position; i--)
+        {
+            bytes[i] = (byte)('0' + v % 10);
+            v /= 10;
+        }
+        position = end;
+    }
+
+    /**
+     * Write the representation of the given value with the given 
+     * {@link FloatPrecision}
+     * 
+     * @param value The value
+     * @param precision The precision
+     * @throws IOException If an IO error occurs
+     */
+    void writeFloat(float value, FloatPrecision precision) throws IOException
+    {
+        require(FloatFormatter.MAX_LENGTH);
+        position = precision.format(value, bytes, position);
+    }
+
+    /**
+     * Write the current contents of the buffer, and flush the stream 
+     * or writer. Channels are not flushed.
+     * 
+     * @throws IOException If an IO error occurs
+     */
+    void flush() throws IOException
+    {
+        if (isInMemory())
+        {
+            return;
+        }
+        writeBuffer();
+        if (writer != null)
+        {
+            writer.flush();
+        }
+        else if (outputStream != null)
+        {
+            outputStream.flush();
+        }
+    }
+
+    /**
+     * Write the current contents of the buffer to the stream, writer
+     * or channel
+     * 
+     * @throws IOException If an IO error occurs
+     */
+    private void writeBuffer() throws IOException
+    {
+        if (position == 0)
+        {
+            return;
+        }
+        if (writer != null)
+        {
+            for (int i = 0; i < position; i++)
+            {
+                chars[i] = (char)bytes[i];
+            }
+            writer.write(chars, 0, position);
+        }
+        else if (channel != null)
+        {
+            writeFully(ByteBuffer.wrap(bytes, 0, position));
+        }
+        else
+        {
+            outputStream.write(bytes, 0, position);
+        }
+        position = 0;
+    }
+
+    /**
+     * Write all remaining bytes of the given buffer to the channel
+     * 
+     * @param byteBuffer The buffer
+     * @throws IOException If an IO error occurs
+     */
+    private void writeFully(ByteBuffer byteBuffer) throws IOException
+    {
+        while (byteBuffer.hasRemaining())
+        {
+            channel.write(byteBuffer);
+        }
+    }
+
+    /**
+     * Returns whether the given string only consists of ASCII characters
+     * 
+     * @param s The string
+     * @return Whether the string is ASCII
+     */
+    private static boolean isAscii(String s)
+    {
+        for (int i = 0; i < s.length(); i++)
+        {
+            if (s.charAt(i) >= 0x80)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
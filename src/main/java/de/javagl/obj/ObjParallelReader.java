@@ -0,0 +1,441 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A class for reading OBJ data from a <code>ByteBuffer</code> in 
+ * parallel.<br>
+ * <br>
+ * The input is divided into line-aligned chunks. Each chunk is parsed
+ * into an {@link ObjChunk} by a task in a <code>ForkJoinPool</code>. 
+ * When all chunks have been parsed, the numbers of vertices, texture 
+ * coordinates and normals of the chunks are accumulated, and used for 
+ * converting the relative face indices of each chunk into absolute 
+ * indices, again in parallel. Finally, the elements of all chunks are 
+ * passed to the output in their original order, so that the result
+ * is the same as if the input was read sequentially.<br>
+ * <br>
+ * When this reader is used from within a task that is executed in
+ * a <code>ForkJoinPool</code>, then the parsing tasks will be executed
+ * in the same pool. Otherwise, they will be executed in the common pool.
+ * <br>
+ * If an {@link ObjReadMonitor} is given, then it is informed about the
+ * completion of the "parse", "resolve" and "emit" phases, and its 
+ * cancellation token is checked before each chunk is parsed and before
+ * each chunk is passed to the output.
+ */
+final class ObjParallelReader
+{
+    /**
+     * The default minimum size of a chunk
+     */
+    static final int DEFAULT_MIN_CHUNK_SIZE = 1 << 20;
+
+    /**
+     * The number of chunks that should be created for each thread of
+     * the pool, to balance the load
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * The {@link WritableObj} that receives the elements
+     */
+    private final WritableObj output;
+
+    /**
+     * The minimum size of a chunk
+     */
+    private final int minChunkSize;
+
+    /**
+     * The {@link ObjReadMonitor}, or <code>null</code>
+     */
+    private final ObjReadMonitor monitor;
+
+    /**
+     * The {@link ObjReaderOptions}, or <code>null</code>
+     */
+    private final ObjReaderOptions options;
+
+    /**
+     * The number of vertices that have been passed to the output
+     */
+    private int vertexCounter = 0;
+
+    /**
+     * The number of texture coordinates that have been passed to the 
+     * output
+     */
+    private int texCoordCounter = 0;
+
+    /**
+     * The number of normals that have been passed to the output
+     */
+    private int normalCounter = 0;
+
+    /**
+     * Creates a new reader that passes the elements to the given 
+     * {@link WritableObj}
+     * 
+     * @param output The {@link WritableObj}
+     * @param minChunkSize The minimum size of a chunk
+     */
+    ObjParallelReader(WritableObj output, int minChunkSize)
+    {
+        this(output, minChunkSize, null, null);
+    }
+
+    /**
+     * Creates a new reader that passes the elements to the given 
+     * {@link WritableObj}
+     * 
+     * @param output The {@link WritableObj}
+     * @param minChunkSize The minimum size of a chunk
+     * @param monitor The {@link ObjReadMonitor}. May be <code>null</code>.
+     * @param options The {@link ObjReaderOptions} that determine which 
+     * elements are read. May be <code>null</code>.
+     */
+    ObjParallelReader(WritableObj output, int minChunkSize, 
+        ObjReadMonitor monitor, ObjReaderOptions options)
+    {
+        this.output = monitor == null ? output : monitor.wrap(output);
+        this.minChunkSize = Math.max(1, minChunkSize);
+        this.monitor = monitor;
+        this.options = options;
+    }
+
+    /**
+     * Read the specified range of the given buffer. If this is not the 
+     * last range of the input, then the end of the range must be a 
+     * position that was returned by {@link #findLastBoundary}. 
+     * 
+     * @param buffer The buffer
+     * @param start The start of the range, inclusive
+     * @param end The end of the range, exclusive
+     * @throws IOException If the data can not be parsed
+     * @throws java.io.InterruptedIOException If reading was cancelled
+     */
+    void read(ByteBuffer buffer, int start, int end) throws IOException
+    {
+        List<Integer> boundaries = 
+            computeBoundaries(buffer, start, end, minChunkSize);
+        int numChunks = boundaries.size() - 1;
+        List<ObjChunk> chunks = new ArrayList<ObjChunk>(numChunks);
+        List<RecursiveAction> parseTasks = 
+            new ArrayList<RecursiveAction>(numChunks);
+        AtomicLong lines = new AtomicLong();
+        for (int i = 0; i < numChunks; i++)
+        {
+            ObjChunk chunk = new ObjChunk();
+            chunks.add(chunk);
+            ByteBuffer part = buffer.duplicate();
+            part.limit(boundaries.get(i + 1));
+            part.position(boundaries.get(i));
+            parseTasks.add(new RecursiveAction()
+            {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute()
+                {
+                    if (monitor != null)
+                    {
+                        if (monitor.isCancelled())
+                        {
+                            return;
+                        }
+                        lines.addAndGet(ObjReadMonitor.countLines(
+                            part, part.position(), part.limit()));
+                    }
+                    try
+                    {
+                        ObjByteParser parser = new ObjByteParser(chunk);
+                        parser.configure(options);
+                        parser.parse(part);
+                        parser.finish();
+                    }
+                    catch (IOException e)
+                    {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        }
+        invokeAll(parseTasks);
+        if (monitor != null)
+        {
+            monitor.consumed(end - start, lines.get());
+            monitor.phaseCompleted("parse");
+        }
+
+        List<RecursiveAction> resolveTasks = 
+            new ArrayList<RecursiveAction>(numChunks);
+        for (ObjChunk chunk : chunks)
+        {
+            int vertexBase = vertexCounter;
+            int texCoordBase = texCoordCounter;
+            int normalBase = normalCounter;
+            resolveTasks.add(new RecursiveAction()
+            {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute()
+                {
+                    chunk.resolve(vertexBase, texCoordBase, normalBase);
+                }
+            });
+            vertexCounter += chunk.getNumVertices();
+            texCoordCounter += chunk.getNumTexCoords();
+            normalCounter += chunk.getNumNormals();
+        }
+        invokeAll(resolveTasks);
+        if (monitor != null)
+        {
+            monitor.phaseCompleted("resolve");
+        }
+
+        for (ObjChunk chunk : chunks)
+        {
+            chunk.emit(output);
+            if (monitor != null)
+            {
+                monitor.checkpoint();
+            }
+        }
+        if (monitor != null)
+        {
+            monitor.phaseCompleted("emit");
+        }
+    }
+
+    /**
+     * Execute all the given tasks, and wait for their completion. 
+     * If this is called from within a <code>ForkJoinPool</code>, then 
+     * the tasks will be executed in this pool. Otherwise, they will
+     * be executed in the common pool.
+     * 
+     * @param tasks The tasks
+     * @throws IOException If one of the tasks caused an IOException
+     */
+    static void invokeAll(List<RecursiveAction> tasks) 
+        throws IOException
+    {
+        try
+        {
+            if (ForkJoinTask.inForkJoinPool())
+            {
+                ForkJoinTask.invokeAll(tasks);
+            }
+            else
+            {
+                ForkJoinPool.commonPool().invoke(new RecursiveAction()
+                {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected void compute()
+                    {
+                        ForkJoinTask.invokeAll(tasks);
+                    }
+                });
+            }
+        }
+        catch (UncheckedIOException e)
+        {
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Returns the parallelism of the pool that the tasks will be 
+     * executed in
+     * 
+     * @return The parallelism
+     */
+    static int getParallelism()
+    {
+        ForkJoinPool pool = ForkJoinTask.getPool();
+        if (pool != null)
+        {
+            return pool.getParallelism();
+        }
+        return ForkJoinPool.getCommonPoolParallelism();
+    }
+
+    /**
+     * Compute the boundaries of the chunks for the specified range of 
+     * the given buffer. The result will contain the start of the range,
+     * the start of each chunk except for the first, and the end of the 
+     * range.
+     * 
+     * @param buffer The buffer
+     * @param start The start of the range, inclusive
+     * @param end The end of the range, exclusive
+     * @param minChunkSize The minimum size of a chunk
+     * @return The boundaries
+     */
+    static List<Integer> computeBoundaries(
+        ByteBuffer buffer, int start, int end, int minChunkSize)
+    {
+        long length = (long)end - start;
+        long maxChunks = (long)getParallelism() * CHUNKS_PER_THREAD;
+        long numChunks = Math.max(1, Math.min(maxChunks, 
+            length / minChunkSize));
+        long chunkSize = Math.max(1, length / numChunks);
+        List<Integer> boundaries = new ArrayList<Integer>();
+        boundaries.add(start);
+        int position = start;
+        while (position < end)
+        {
+            long target = position + chunkSize;
+            if (target >= end)
+            {
+                break;
+            }
+            position = findNextBoundary(buffer, (int)target, end);
+            if (position < end)
+            {
+                boundaries.add(position);
+            }
+        }
+        boundaries.add(end);
+        return boundaries;
+    }
+
+    /**
+     * Returns the first position in the given buffer that is not 
+     * smaller than the given position, and at which a chunk may 
+     * start. This is the position after a line end that terminates
+     * a line which is not continued with a <code>'\'</code>. A line 
+     * end is a <code>'\n'</code>, or a <code>'\r'</code> that is not
+     * followed by a <code>'\n'</code>. If there is no such position, 
+     * then the given end is returned.
+     * 
+     * @param buffer The buffer
+     * @param position The position
+     * @param end The end of the range, exclusive
+     * @return The boundary
+     */
+    private static int findNextBoundary(
+        ByteBuffer buffer, int position, int end)
+    {
+        for (int i = Math.max(position - 1, 0); i < end; i++)
+        {
+            if (isLineEnd(buffer, i, end) && !isContinued(buffer, i))
+            {
+                return i + 1;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Returns the last position in the specified range of the given 
+     * buffer at which a chunk may start, as described in 
+     * {@link #findNextBoundary}. If there is no such position, then
+     * the given start is returned. A <code>'\r'</code> at the end of 
+     * the range is not considered to be a line end, because it may be 
+     * followed by a <code>'\n'</code> after the range.
+     * 
+     * @param buffer The buffer
+     * @param start The start of the range, inclusive
+     * @param end The end of the range, exclusive
+     * @return The boundary
+     */
+    static int findLastBoundary(ByteBuffer buffer, int start, int end)
+    {
+        for (int i = end - 1; i >= start; i--)
+        {
+            if (isLineEnd(buffer, i, end) && !isContinued(buffer, i))
+            {
+                return i + 1;
+            }
+        }
+        return start;
+    }
+
+    /**
+     * Returns whether the given position of the given buffer is the 
+     * last byte of a line end. This is the case for a 
+     * <code>'\n'</code>, and for a <code>'\r'</code> that is followed
+     * by a byte other than <code>'\n'</code> before the given end. 
+     * 
+     * @param buffer The buffer
+     * @param i The position
+     * @param end The end of the range, exclusive
+     * @return Whether the position is the last byte of a line end
+     */
+    private static boolean isLineEnd(ByteBuffer buffer, int i, int end)
+    {
+        byte b = buffer.get(i);
+        if (b == '\n')
+        {
+            return true;
+        }
+        return b == '\r' && i + 1 < end && buffer.get(i + 1) != '\n';
+    }
+
+    /**
+     * Returns whether the line that is terminated by the line end at the
+     * given position ends with a <code>'\'</code>, ignoring trailing
+     * whitespace, meaning that it is continued in the next line
+     * 
+     * @param buffer The buffer
+     * @param lineEnd The position of the last byte of the line end
+     * @return Whether the line is continued
+     */
+    private static boolean isContinued(ByteBuffer buffer, int lineEnd)
+    {
+        int i = lineEnd - 1;
+        if (buffer.get(lineEnd) == '\n' && i >= 0 && buffer.get(i) == '\r')
+        {
+            i--;
+        }
+        while (i >= 0)
+        {
+            byte b = buffer.get(i);
+            if (ObjByteParser.isLineEnd(b) || !ObjByteParser.isSpace(b))
+            {
+                return b == '\\';
+            }
+            i--;
+        }
+        return false;
+    }
+}
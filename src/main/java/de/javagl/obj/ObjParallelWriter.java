@@ -0,0 +1,210 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.obj;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A class for writing OBJ data, formatting the data in parallel.<br>
+ * <br>
+ * The vertices, texture coordinates, normals and faces are divided into
+ * chunks, each covering a range of elements. The chunks are formatted 
+ * into separate in-memory {@link ObjOutputBuffer} instances by tasks in 
+ * a <code>ForkJoinPool</code>, and then written to the output in their
+ * original order. In order to limit the memory requirements, only a 
+ * limited number of chunks is formatted at the same time.<br>
+ * <br>
+ * The only state that is carried over between the faces is whether a 
+ * group was already activated, because the first activation of the
+ * <code>"default"</code> group is not written. This is determined 
+ * before the faces are formatted, so that the result is the same as 
+ * if the data was written sequentially.
+ */
+final class ObjParallelWriter
+{
+    /**
+     * The default number of elements in one chunk
+     */
+    static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+    /**
+     * The number of chunks that should be formatted at the same time
+     * for each thread of the pool
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Interface for the formatting of one chunk
+     */
+    private static interface Formatter
+    {
+        /**
+         * Format the chunk into the given buffer
+         * 
+         * @param buffer The buffer
+         * @throws IOException If an IO error occurs
+         */
+        void format(ObjOutputBuffer buffer) throws IOException;
+    }
+
+    /**
+     * The number of elements in one chunk
+     */
+    private final int chunkSize;
+
+    /**
+     * The {@link ObjWriterOptions}
+     */
+    private final ObjWriterOptions options;
+
+    /**
+     * Creates a new writer
+     * 
+     * @param chunkSize The number of elements in one chunk
+     * @param options The {@link ObjWriterOptions}
+     */
+    ObjParallelWriter(int chunkSize, ObjWriterOptions options)
+    {
+        this.chunkSize = Math.max(1, chunkSize);
+        this.options = options;
+    }
+
+    /**
+     * Write the given {@link ReadableObj} to the given buffer. The
+     * buffer will not be flushed.
+     * 
+     * @param input The {@link ReadableObj}
+     * @param output The buffer
+     * @throws IOException If an IO error occurs
+     */
+    void write(ReadableObj input, ObjOutputBuffer output) 
+        throws IOException
+    {
+        ObjWriter.writeMtlFileNames(input, output);
+
+        FloatPrecision vertexPrecision = options.getVertexPrecision();
+        FloatPrecision texCoordPrecision = options.getTexCoordPrecision();
+        FloatPrecision normalPrecision = options.getNormalPrecision();
+        List<Formatter> formatters = new ArrayList<Formatter>();
+        int numVertices = input.getNumVertices();
+        for (int start = 0; start < numVertices; start += chunkSize)
+        {
+            int s = start;
+            int e = (int)Math.min(numVertices, (long)start + chunkSize);
+            formatters.add(b -> ObjWriter.writeVertices(
+                input, b, s, e, vertexPrecision));
+        }
+        int numTexCoords = input.getNumTexCoords();
+        for (int start = 0; start < numTexCoords; start += chunkSize)
+        {
+            int s = start;
+            int e = (int)Math.min(numTexCoords, (long)start + chunkSize);
+            formatters.add(b -> ObjWriter.writeTexCoords(
+                input, b, s, e, texCoordPrecision));
+        }
+        int numNormals = input.getNumNormals();
+        for (int start = 0; start < numNormals; start += chunkSize)
+        {
+            int s = start;
+            int e = (int)Math.min(numNormals, (long)start + chunkSize);
+            formatters.add(b -> ObjWriter.writeNormals(
+                input, b, s, e, normalPrecision));
+        }
+        int numFaces = input.getNumFaces();
+        int firstActivation = findFirstGroupActivation(input);
+        for (int start = 0; start < numFaces; start += chunkSize)
+        {
+            int s = start;
+            int e = (int)Math.min(numFaces, (long)start + chunkSize);
+            boolean skip = start <= firstActivation;
+            formatters.add(b -> ObjWriter.writeFaces(input, b, s, e, skip));
+        }
+        
+        int batchSize = 
+            ObjParallelReader.getParallelism() * CHUNKS_PER_THREAD;
+        Charset charset = Charset.defaultCharset();
+        for (int i = 0; i < formatters.size(); i += batchSize)
+        {
+            int n = Math.min(batchSize, formatters.size() - i);
+            List<ObjOutputBuffer> buffers = new ArrayList<ObjOutputBuffer>(n);
+            List<RecursiveAction> tasks = new ArrayList<RecursiveAction>(n);
+            for (int j = 0; j < n; j++)
+            {
+                ObjOutputBuffer buffer = new ObjOutputBuffer(
+                    charset, ObjOutputBuffer.DEFAULT_CAPACITY);
+                buffers.add(buffer);
+                Formatter formatter = formatters.get(i + j);
+                tasks.add(new RecursiveAction()
+                {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected void compute()
+                    {
+                        try
+                        {
+                            formatter.format(buffer);
+                        }
+                        catch (IOException e)
+                        {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
+            }
+            ObjParallelReader.invokeAll(tasks);
+            output.writeAll(buffers);
+        }
+    }
+
+    /**
+     * Returns the index of the first face of the given {@link ReadableObj}
+     * at which groups are activated, or the number of faces if no groups
+     * are activated at all
+     * 
+     * @param input The {@link ReadableObj}
+     * @return The index
+     */
+    private static int findFirstGroupActivation(ReadableObj input)
+    {
+        int numFaces = input.getNumFaces();
+        for (int i = 0; i < numFaces; i++)
+        {
+            ObjFace face = input.getFace(i);
+            if (input.getActivatedGroupNames(face) != null)
+            {
+                return i;
+            }
+        }
+        return numFaces;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+/**
+ * Interface for classes that want to be informed about the progress of 
+ * reading OBJ or MTL data. A listener may be set in the 
+ * {@link ObjReaderOptions}.
+ */
+public interface ObjReadListener
+{
+    /**
+     * Will be called whenever a chunk of the input has been read, and 
+     * once more when reading has been completed.<br>
+     * <br>
+     * The given {@link ObjReadProgress} object is updated while reading,
+     * so its values should be obtained in this method, and the object 
+     * itself should not be stored.
+     * 
+     * @param progress The {@link ObjReadProgress}
+     */
+    void progress(ObjReadProgress progress);
+    
+    /**
+     * Will be called when a phase of reading has been completed. 
+     * Sequential reading consists of a single <code>"parse"</code>
+     * phase. Parallel reading consists of the phases <code>"parse"</code>,
+     * <code>"resolve"</code> (converting relative indices into absolute 
+     * ones) and <code>"emit"</code> (passing the elements to the output). 
+     * The default implementation does nothing.
+     * 
+     * @param phase The name of the phase
+     * @param elapsedNanos The time that the phase took, in nanoseconds
+     */
+    default void phaseCompleted(String phase, long elapsedNanos)
+    {
+        // Empty default implementation
+    }
+}
@@ -0,0 +1,552 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.io.FilterInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A class that keeps track of the progress of reading, informs the 
+ * {@link ObjReadListener}, and checks the cancellation token that have 
+ * been given in {@link ObjReaderOptions}.<br>
+ * <br>
+ * The numbers of bytes and lines are counted from the raw input, by 
+ * wrapping the input stream or reader, or by passing the parts of an 
+ * input buffer to {@link #consumed(ByteBuffer)}. The numbers of elements
+ * are counted by {@link #wrap(WritableObj) wrapping} the output.
+ */
+final class ObjReadMonitor
+{
+    /**
+     * The listener, or <code>null</code>
+     */
+    private final ObjReadListener listener;
+
+    /**
+     * The cancellation token, or <code>null</code>
+     */
+    private final BooleanSupplier cancellationToken;
+
+    /**
+     * The progress interval, in bytes
+     */
+    private final int progressInterval;
+
+    /**
+     * The progress
+     */
+    private final ObjReadProgress progress;
+
+    /**
+     * The number of bytes at which the next checkpoint is reached
+     */
+    private long nextCheckpoint;
+
+    /**
+     * The time when reading started
+     */
+    private final long startNanos;
+
+    /**
+     * The time when the last phase ended
+     */
+    private long phaseStartNanos;
+
+    /**
+     * Creates a new monitor for the given options. Returns 
+     * <code>null</code> if the given options are <code>null</code>, or 
+     * neither contain a listener nor a cancellation token, so that 
+     * reading may proceed without any monitoring.
+     * 
+     * @param options The options
+     * @return The monitor
+     */
+    static ObjReadMonitor create(ObjReaderOptions options)
+    {
+        if (options == null)
+        {
+            return null;
+        }
+        if (options.getListener() == null && 
+            options.getCancellationToken() == null)
+        {
+            return null;
+        }
+        return new ObjReadMonitor(options);
+    }
+
+    /**
+     * Creates a new monitor
+     * 
+     * @param options The options
+     */
+    private ObjReadMonitor(ObjReaderOptions options)
+    {
+        this.listener = options.getListener();
+        this.cancellationToken = options.getCancellationToken();
+        this.progressInterval = options.getProgressInterval();
+        this.progress = new ObjReadProgress();
+        this.nextCheckpoint = progressInterval;
+        this.startNanos = System.nanoTime();
+        this.phaseStartNanos = startNanos;
+    }
+
+    /**
+     * Returns the progress
+     * 
+     * @return The progress
+     */
+    ObjReadProgress getProgress()
+    {
+        return progress;
+    }
+
+    /**
+     * Returns the progress interval, in bytes
+     * 
+     * @return The progress interval
+     */
+    int getProgressInterval()
+    {
+        return progressInterval;
+    }
+
+    /**
+     * Returns whether reading was cancelled. This may be called from
+     * any thread.
+     * 
+     * @return Whether reading was cancelled
+     */
+    boolean isCancelled()
+    {
+        return cancellationToken != null && cancellationToken.getAsBoolean();
+    }
+
+    /**
+     * Add the given number of bytes and lines to the progress. If this
+     * causes the next checkpoint to be reached, then the 
+     * {@link #checkpoint()} method is called.
+     * 
+     * @param bytes The number of bytes
+     * @param lines The number of lines
+     * @throws InterruptedIOException If reading was cancelled
+     */
+    void consumed(long bytes, long lines) throws InterruptedIOException
+    {
+        progress.bytes += bytes;
+        progress.lines += lines;
+        if (progress.bytes >= nextCheckpoint)
+        {
+            nextCheckpoint = progress.bytes + progressInterval;
+            checkpoint();
+        }
+    }
+
+    /**
+     * Add the bytes and lines between the position and the limit of 
+     * the given buffer to the progress, as described in 
+     * {@link #consumed(long, long)}
+     * 
+     * @param buffer The buffer
+     * @throws InterruptedIOException If reading was cancelled
+     */
+    void consumed(ByteBuffer buffer) throws InterruptedIOException
+    {
+        consumed(buffer.remaining(), 
+            countLines(buffer, buffer.position(), buffer.limit()));
+    }
+
+    /**
+     * Returns the number of newline characters in the specified range
+     * of the given buffer
+     * 
+     * @param buffer The buffer
+     * @param start The start of the range, inclusive
+     * @param end The end of the range, exclusive
+     * @return The number of newline characters
+     */
+    static long countLines(ByteBuffer buffer, int start, int end)
+    {
+        long lines = 0;
+        for (int i = start; i < end; i++)
+        {
+            if (buffer.get(i) == '\n')
+            {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Check whether reading was cancelled, and inform the listener 
+     * about the progress
+     * 
+     * @throws InterruptedIOException If reading was cancelled
+     */
+    void checkpoint() throws InterruptedIOException
+    {
+        if (isCancelled())
+        {
+            throw new InterruptedIOException("Reading was cancelled");
+        }
+        if (listener != null)
+        {
+            progress.elapsedNanos = System.nanoTime() - startNanos;
+            listener.progress(progress);
+        }
+    }
+
+    /**
+     * Inform the listener that the phase with the given name has been 
+     * completed, and check whether reading was cancelled
+     * 
+     * @param phase The name of the phase
+     * @throws InterruptedIOException If reading was cancelled
+     */
+    void phaseCompleted(String phase) throws InterruptedIOException
+    {
+        long now = System.nanoTime();
+        if (listener != null)
+        {
+            listener.phaseCompleted(phase, now - phaseStartNanos);
+        }
+        phaseStartNanos = now;
+        if (isCancelled())
+        {
+            throw new InterruptedIOException("Reading was cancelled");
+        }
+    }
+
+    /**
+     * Inform the listener about the final progress, after reading 
+     * has been completed
+     */
+    void finish()
+    {
+        if (listener != null)
+        {
+            progress.elapsedNanos = System.nanoTime() - startNanos;
+            listener.progress(progress);
+        }
+    }
+
+    /**
+     * Returns an input stream that counts the bytes and lines that 
+     * are read from the given stream
+     * 
+     * @param inputStream The input stream
+     * @return The wrapped input stream
+     */
+    InputStream wrap(InputStream inputStream)
+    {
+        return new FilterInputStream(inputStream)
+        {
+            @Override
+            public int read() throws IOException
+            {
+                int b = super.read();
+                if (b != -1)
+                {
+                    consumed(1, b == '\n' ? 1 : 0);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException
+            {
+                int n = super.read(b, off, len);
+                if (n > 0)
+                {
+                    long lines = 0;
+                    for (int i = 0; i < n; i++)
+                    {
+                        if (b[off + i] == '\n')
+                        {
+                            lines++;
+                        }
+                    }
+                    consumed(n, lines);
+                }
+                return n;
+            }
+        };
+    }
+
+    /**
+     * Returns a reader that counts the characters and lines that are 
+     * read from the given reader
+     * 
+     * @param reader The reader
+     * @return The wrapped reader
+     */
+    Reader wrap(Reader reader)
+    {
+        return new FilterReader(reader)
+        {
+            @Override
+            public int read() throws IOException
+            {
+                int c = super.read();
+                if (c != -1)
+                {
+                    consumed(1, c == '\n' ? 1 : 0);
+                }
+                return c;
+            }
+
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException
+            {
+                int n = super.read(cbuf, off, len);
+                if (n > 0)
+                {
+                    long lines = 0;
+                    for (int i = 0; i < n; i++)
+                    {
+                        if (cbuf[off + i] == '\n')
+                        {
+                            lines++;
+                        }
+                    }
+                    consumed(n, lines);
+                }
+                return n;
+            }
+        };
+    }
+
+    /**
+     * Returns a {@link WritableObj} that counts the elements that are 
+     * passed to it, and passes them to the given output
+     * 
+     * @param output The output
+     * @return The wrapped output
+     */
+    WritableObj wrap(WritableObj output)
+    {
+        return new CountingWritableObj(output);
+    }
+
+    /**
+     * Implementation of a {@link WritableObj} that counts the elements 
+     * that are passed to it, and passes them to a delegate
+     */
+    private final class CountingWritableObj extends ForwardingWritableObj
+    {
+        /**
+         * Creates a new instance
+         * 
+         * @param delegate The delegate
+         */
+        CountingWritableObj(WritableObj delegate)
+        {
+            super(delegate);
+        }
+
+        @Override
+        public void addVertex(FloatTuple vertex)
+        {
+            progress.numVertices++;
+            super.addVertex(vertex);
+        }
+
+        @Override
+        public void addVertex(float x, float y, float z)
+        {
+            progress.numVertices++;
+            super.addVertex(x, y, z);
+        }
+
+        @Override
+        public void addVertex(
+            int dimensions, float x, float y, float z, float w)
+        {
+            progress.numVertices++;
+            super.addVertex(dimensions, x, y, z, w);
+        }
+
+        @Override
+        public void addTexCoord(FloatTuple texCoord)
+        {
+            progress.numTexCoords++;
+            super.addTexCoord(texCoord);
+        }
+
+        @Override
+        public void addTexCoord(float x)
+        {
+            progress.numTexCoords++;
+            super.addTexCoord(x);
+        }
+
+        @Override
+        public void addTexCoord(float x, float y)
+        {
+            progress.numTexCoords++;
+            super.addTexCoord(x, y);
+        }
+
+        @Override
+        public void addTexCoord(float x, float y, float z)
+        {
+            progress.numTexCoords++;
+            super.addTexCoord(x, y, z);
+        }
+
+        @Override
+        public void addTexCoord(
+            int dimensions, float x, float y, float z, float w)
+        {
+            progress.numTexCoords++;
+            super.addTexCoord(dimensions, x, y, z, w);
+        }
+
+        @Override
+        public void addNormal(FloatTuple normal)
+        {
+            progress.numNormals++;
+            super.addNormal(normal);
+        }
+
+        @Override
+        public void addNormal(float x, float y, float z)
+        {
+            progress.numNormals++;
+            super.addNormal(x, y, z);
+        }
+
+        @Override
+        public void addNormal(
+            int dimensions, float x, float y, float z, float w)
+        {
+            progress.numNormals++;
+            super.addNormal(dimensions, x, y, z, w);
+        }
+
+        @Override
+        public void setActiveGroupNames(
+            Collection<? extends String> groupNames)
+        {
+            progress.numGroupStatements++;
+            super.setActiveGroupNames(groupNames);
+        }
+
+        @Override
+        public void setActiveMaterialGroupName(String materialGroupName)
+        {
+            progress.numMaterialGroupStatements++;
+            super.setActiveMaterialGroupName(materialGroupName);
+        }
+
+        @Override
+        public void addFace(ObjFace face)
+        {
+            progress.numFaces++;
+            super.addFace(face);
+        }
+
+        @Override
+        public void addFace(int... v)
+        {
+            progress.numFaces++;
+            super.addFace(v);
+        }
+
+        @Override
+        public void addFaceWithTexCoords(int... v)
+        {
+            progress.numFaces++;
+            super.addFaceWithTexCoords(v);
+        }
+
+        @Override
+        public void addFaceWithNormals(int... v)
+        {
+            progress.numFaces++;
+            super.addFaceWithNormals(v);
+        }
+
+        @Override
+        public void addFaceWithAll(int... v)
+        {
+            progress.numFaces++;
+            super.addFaceWithAll(v);
+        }
+
+        @Override
+        public void addFace(int[] v, int[] vt, int[] vn)
+        {
+            progress.numFaces++;
+            super.addFace(v, vt, vn);
+        }
+
+        @Override
+        public void addVertices(float[] xyz, int offset, int count)
+        {
+            super.addVertices(xyz, offset, count);
+            progress.numVertices += count;
+        }
+
+        @Override
+        public void addTexCoords(float[] xy, int offset, int count)
+        {
+            super.addTexCoords(xy, offset, count);
+            progress.numTexCoords += count;
+        }
+
+        @Override
+        public void addNormals(float[] xyz, int offset, int count)
+        {
+            super.addNormals(xyz, offset, count);
+            progress.numNormals += count;
+        }
+
+        @Override
+        public void addFaces(int[] indices, int[] faceSizes)
+        {
+            super.addFaces(indices, faceSizes);
+            progress.numFaces += faceSizes.length;
+        }
+
+        @Override
+        public void addFaces(int[] v, int[] vt, int[] vn, int[] faceSizes)
+        {
+            super.addFaces(v, vt, vn, faceSizes);
+            progress.numFaces += faceSizes.length;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+/**
+ * Information about the progress of reading OBJ or MTL data, which is
+ * passed to an {@link ObjReadListener}.<br>
+ * <br>
+ * The numbers of elements refer to the elements that have been passed 
+ * to the output until now. When reading in parallel, the elements are 
+ * passed to the output in the last phase, so these numbers may remain
+ * zero until the input has been parsed completely.
+ */
+public final class ObjReadProgress
+{
+    /**
+     * The number of bytes that have been consumed
+     */
+    long bytes;
+
+    /**
+     * The number of lines that have been consumed
+     */
+    long lines;
+
+    /**
+     * The number of vertices
+     */
+    long numVertices;
+
+    /**
+     * The number of texture coordinates
+     */
+    long numTexCoords;
+
+    /**
+     * The number of normals
+     */
+    long numNormals;
+
+    /**
+     * The number of faces
+     */
+    long numFaces;
+
+    /**
+     * The number of group statements
+     */
+    long numGroupStatements;
+
+    /**
+     * The number of material group statements
+     */
+    long numMaterialGroupStatements;
+
+    /**
+     * The number of materials
+     */
+    long numMaterials;
+
+    /**
+     * The elapsed time, in nanoseconds
+     */
+    long elapsedNanos;
+
+    /**
+     * Default constructor
+     */
+    ObjReadProgress()
+    {
+        // Default constructor
+    }
+
+    /**
+     * Returns the number of bytes that have been consumed. When reading
+     * from a <code>Reader</code>, this is the number of characters.
+     * 
+     * @return The number of bytes
+     */
+    public long getBytes()
+    {
+        return bytes;
+    }
+
+    /**
+     * Returns the number of lines that have been consumed
+     * 
+     * @return The number of lines
+     */
+    public long getLines()
+    {
+        return lines;
+    }
+
+    /**
+     * Returns the number of vertices (<code>v</code> records) that have 
+     * been read
+     * 
+     * @return The number of vertices
+     */
+    public long getNumVertices()
+    {
+        return numVertices;
+    }
+
+    /**
+     * Returns the number of texture coordinates (<code>vt</code> records) 
+     * that have been read
+     * 
+     * @return The number of texture coordinates
+     */
+    public long getNumTexCoords()
+    {
+        return numTexCoords;
+    }
+
+    /**
+     * Returns the number of normals (<code>vn</code> records) that have 
+     * been read
+     * 
+     * @return The number of normals
+     */
+    public long getNumNormals()
+    {
+        return numNormals;
+    }
+
+    /**
+     * Returns the number of faces (<code>f</code> records) that have 
+     * been read
+     * 
+     * @return The number of faces
+     */
+    public long getNumFaces()
+    {
+        return numFaces;
+    }
+
+    /**
+     * Returns the number of group statements (<code>g</code> records) 
+     * that have been read
+     * 
+     * @return The number of group statements
+     */
+    public long getNumGroupStatements()
+    {
+        return numGroupStatements;
+    }
+
+    /**
+     * Returns the number of material group statements 
+     * (<code>usemtl</code> records) that have been read
+     * 
+     * @return The number of material group statements
+     */
+    public long getNumMaterialGroupStatements()
+    {
+        return numMaterialGroupStatements;
+    }
+
+    /**
+     * Returns the number of materials that have been read from MTL data.
+     * This is only updated when reading has been completed.
+     * 
+     * @return The number of materials
+     */
+    public long getNumMaterials()
+    {
+        return numMaterials;
+    }
+
+    /**
+     * Returns the time that has elapsed since reading started, in 
+     * nanoseconds
+     * 
+     * @return The elapsed time
+     */
+    public long getElapsedNanos()
+    {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ObjReadProgress[" +
+            "bytes=" + bytes + "," +
+            "lines=" + lines + "," +
+            "#vertices=" + numVertices + "," +
+            "#texCoords=" + numTexCoords + "," +
+            "#normals=" + numNormals + "," +
+            "#faces=" + numFaces + "," +
+            "#groupStatements=" + numGroupStatements + "," +
+            "#materialGroupStatements=" + numMaterialGroupStatements + "," +
+            "#materials=" + numMaterials + "," +
+            "elapsedNanos=" + elapsedNanos + "]";
+    }
+}
@@ -1,294 +1,983 @@
-/*
- * www.javagl.de - Obj
- *
- * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
- *
- * Permission is hereby granted, free of charge, to any person
- * obtaining a copy of this software and associated documentation
- * files (the "Software"), to deal in the Software without
- * restriction, including without limitation the rights to use,
- * copy, modify, merge, publish, distribute, sublicense, and/or sell
- * copies of the Software, and to permit persons to whom the
- * Software is furnished to do so, subject to the following
- * conditions:
- *
- * The above copyright notice and this permission notice shall be
- * included in all copies or substantial portions of the Software.
- *
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
- * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
- * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
- * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
- * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
- * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
- * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
- * OTHER DEALINGS IN THE SOFTWARE.
- */
-
-package de.javagl.obj;
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-import java.util.StringTokenizer;
-
-/**
- * A class that may read OBJ data from a stream and
- * store the read data in an {@link WritableObj}.
- */
-public class ObjReader
-{
-    /**
-     * Read the OBJ data from the given stream and return it as an {@link Obj}.
-     * The caller is responsible for closing the given stream.
-     *
-     * @param inputStream The stream to read from
-     * @return The {@link Obj}
-     * @throws IOException If an IO error occurs
-     */
-    public static Obj read(InputStream inputStream) throws IOException
-    {
-        return read(inputStream, Objs.create());
-    }
-
-    /**
-     * Read the OBJ data from the given stream and store the read
-     * elements in the given {@link WritableObj}.
-     * The caller is responsible for closing the given stream.
-     *
-     * @param <T> The output type
-     * @param inputStream The stream to read from
-     * @param output The {@link WritableObj} to store the read data
-     * @return The output
-     * @throws IOException If an IO error occurs
-     */
-    public static <T extends WritableObj> T read(
-        InputStream inputStream, T output)
-        throws IOException
-    {
-        BufferedReader reader = new BufferedReader(
-            new InputStreamReader(inputStream, StandardCharsets.US_ASCII));
-        return readImpl(reader, output);
-    }
-
-    /**
-     * Read the OBJ data from the given reader and return it as an {@link Obj}.
-     * The caller is responsible for closing the given reader.
-     *
-     * @param reader The reader to read from
-     * @return The {@link Obj}
-     * @throws IOException If an IO error occurs
-     */
-    public static Obj read(Reader reader) throws IOException
-    {
-        return read(reader, Objs.create());
-    }
-
-    /**
-     * Read the OBJ data from the given reader and store the read
-     * elements in the given {@link WritableObj}.
-     * The caller is responsible for closing the given reader.
-     *
-     * @param <T> The output type
-     * @param reader The reader to read from
-     * @param output The {@link WritableObj} to store the read data
-     * @return The output
-     * @throws IOException If an IO error occurs
-     */
-    public static <T extends WritableObj> T read(
-        Reader reader, T output)
-        throws IOException
-    {
-        if (reader instanceof BufferedReader)
-        {
-            return readImpl((BufferedReader)reader, output);
-        }
-        return readImpl(new BufferedReader(reader), output);
-
-    }
-
-    /**
-     * Read the OBJ data from the given reader and store the read
-     * elements in the given {@link WritableObj}.
-     * The caller is responsible for closing the given reader.
-     *
-     * @param <T> The output type
-     * @param reader The reader to read from
-     * @param output The {@link WritableObj} to store the read data
-     * @return The output
-     * @throws IOException If an IO error occurs
-     */
-    private static <T extends WritableObj> T readImpl(
-        BufferedReader reader, T output)
-        throws IOException
-    {
-        ObjFaceParser objFaceParser = new ObjFaceParser();
-
-        int vertexCounter = 0;
-        int texCoordCounter = 0;
-        int normalCounter = 0;
-        while(true)
-        {
-            String line = reader.readLine();
-            if(line == null)
-            {
-                break;
-            }
-
-            line = line.trim();
-
-            //System.out.println("read line: "+line);
-
-            // Combine lines that have been broken
-            boolean finished = false;
-            while(line.endsWith("\\"))
-            {
-                line = line.substring(0, line.length() - 2);
-                String nextLine = reader.readLine();
-                if (nextLine == null)
-                {
-                    finished = true;
-                    break;
-                }
-                line += " " + nextLine;
-            }
-            if (finished)
-            {
-                break;
-            }
-
-            StringTokenizer st = new StringTokenizer(line);
-            if(!st.hasMoreTokens())
-            {
-                continue;
-            }
-
-            String identifier = st.nextToken().toLowerCase();
-
-            // v: Vertex coordinates
-            switch (identifier) {
-                case "v":
-                    output.addVertex(Utils.readFloatTuple(st));
-                    vertexCounter++;
-                    break;
-
-                // vt: Texture coordinates for a vertex
-                case "vt":
-                    output.addTexCoord(Utils.readFloatTuple(st));
-                    texCoordCounter++;
-                    break;
-
-                // vn: Vertex normal
-                case "vn":
-                    output.addNormal(Utils.readFloatTuple(st));
-                    normalCounter++;
-                    break;
-
-                // mtllib: Name of the MTL file
-                case "mtllib": {
-                    String s = line.substring(6).trim();
-                    //output.setMtlFileNames(readStrings(s));
-                    // According to the OBJ specification, the "mtllib" keyword
-                    // may be followed by multiple file names, separated with
-                    // whitespaces:
-                    // "When you assign a material library using the Model
-                    //  program, only one map library per .obj file is allowed.
-                    //  You can assign multiple libraries using a text editor."
-                    // However, to avoid problems with file names that contain
-                    // whitespaces, only ONE file name is assumed here:
-                    output.setMtlFileNames(Collections.singleton(s));
-                    break;
-                }
-
-                // usemtl: Material groups
-                case "usemtl":
-                    String materialGroupName = line.substring(6).trim();
-                    output.setActiveMaterialGroupName(materialGroupName);
-                    break;
-
-                // g: Geometry groups
-                case "g": {
-                    String s = line.substring(1).trim();
-                    String[] groupNames = readStrings(s);
-                    output.setActiveGroupNames(Arrays.asList(groupNames));
-                    break;
-                }
-
-                // f: A face definition
-                case "f":
-                    objFaceParser.parse(line);
-                    int[] v = objFaceParser.getVertexIndices();
-                    int[] vt = objFaceParser.getTexCoordIndices();
-                    int[] vn = objFaceParser.getNormalIndices();
-                    makeIndicesAbsolute(v, vertexCounter);
-                    makeIndicesAbsolute(vt, texCoordCounter);
-                    makeIndicesAbsolute(vn, normalCounter);
-                    output.addFace(ObjFaces.create(v, vt, vn));
-                    break;
-            }
-        }
-        return output;
-    }
-
-    /**
-     * Convert the indices in the given array to be absolute (non-negative)
-     * and zero-based. This means that negative values are made positive
-     * by adding the given count, and positive values are decreased by one.
-     *
-     * @param array The array. If this is <code>null</code>, nothing will
-     * be done
-     * @param count The count
-     */
-    private static void makeIndicesAbsolute(int[] array, int count)
-    {
-        if (array == null)
-        {
-            return;
-        }
-        for (int i=0; i<array.length; i++)
-        {
-            if (array[i] < 0)
-            {
-                array[i] = count + array[i];
-            }
-            else
-            {
-                array[i]--;
-            }
-        }
-    }
-
-
-    /**
-     * Read all tokens from the given input string that are separated
-     * by whitespaces
-     *
-     * @param input The input string
-     * @return The list of tokens
-     */
-    private static String[] readStrings(String input)
-    {
-        StringTokenizer st = new StringTokenizer(input);
-        List<String> tokens = new ArrayList<>();
-        while (st.hasMoreTokens())
-        {
-            tokens.add(st.nextToken());
-        }
-        return tokens.toArray(new String[tokens.size()]);
-    }
-
-    /**
-     * Private constructor to prevent instantiation
-     */
-    private ObjReader()
-    {
-        // Private constructor to prevent instantiation
-    }
-
-}
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringTokenizer;
+
+/**
+ * A class that may read OBJ data from a stream and
+ * store the read data in an {@link WritableObj}.
+ */
+public class ObjReader
+{
+    /**
+     * The maximum size of a single segment when a file is mapped
+     * into memory 
+     */
+    private static final long MAX_SEGMENT_SIZE = 1L << 30;
+    
+    /**
+     * The size of the buffer that is used for passing data from a 
+     * stream or reader to an {@link ObjByteParser}
+     */
+    private static final int STREAM_BUFFER_SIZE = 1 << 16;
+    
+    /**
+     * Read the OBJ data from the given stream and return it as an {@link Obj}.
+     * The caller is responsible for closing the given stream.<br>
+     * <br>
+     * If the stream contains GZIP-compressed data, which is detected 
+     * from the magic number at its beginning, then the data will be 
+     * decompressed on a separate thread, while it is parsed.
+     *
+     * @param inputStream The stream to read from
+     * @return The {@link Obj}
+     * @throws IOException If an IO error occurs
+     */
+    public static Obj read(InputStream inputStream) throws IOException
+    {
+        return read(inputStream, Objs.create());
+    }
+
+    /**
+     * Read the OBJ data from the given stream and store the read
+     * elements in the given {@link WritableObj}.
+     * The caller is responsible for closing the given stream.
+     *
+     * @param <T> The output type
+     * @param inputStream The stream to read from
+     * @param output The {@link WritableObj} to store the read data
+     * @return The output
+     * @throws IOException If an IO error occurs
+     */
+    public static <T extends WritableObj> T read(
+        InputStream inputStream, T output)
+        throws IOException
+    {
+        return read(inputStream, output, null);
+    }
+
+    /**
+     * Read the OBJ data from the given stream and store the read
+     * elements in the given {@link WritableObj}, using the given 
+     * options.
+     * The caller is responsible for closing the given stream.<br>
+     * <br>
+     * GZIP-compressed data will be detected and decompressed, as 
+     * described in {@link #read(InputStream)}. In this case, the number
+     * of bytes that is reported to the listener of the options will be
+     * the number of uncompressed bytes.
+     *
+     * @param <T> The output type
+     * @param inputStream The stream to read from
+     * @param output The {@link WritableObj} to store the read data
+     * @param options The {@link ObjReaderOptions}. May be 
+     * <code>null</code>.
+     * @return The output
+     * @throws IOException If an IO error occurs
+     * @throws java.io.InterruptedIOException If reading was cancelled
+     * via the cancellation token of the options
+     */
+    public static <T extends WritableObj> T read(
+        InputStream inputStream, T output, ObjReaderOptions options)
+        throws IOException
+    {
+        InputStream input = InflatingInputStream.open(inputStream);
+        try
+        {
+            ObjReadMonitor monitor = ObjReadMonitor.create(options);
+            ObjFilter filter = ObjFilter.create(options);
+            if (monitor == null && filter == null)
+            {
+                BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(input, StandardCharsets.US_ASCII));
+                return readImpl(reader, output, options);
+            }
+            InputStream source = monitor == null ? input : monitor.wrap(input);
+            WritableObj target = monitor == null ? output : monitor.wrap(output);
+            if (filter != null)
+            {
+                filter.read(parser -> parse(parser, source), null, target);
+            }
+            else
+            {
+                BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(source, StandardCharsets.US_ASCII));
+                readImpl(reader, target, options);
+            }
+            if (monitor != null)
+            {
+                monitor.phaseCompleted("parse");
+                monitor.finish();
+            }
+            return output;
+        }
+        finally
+        {
+            if (input instanceof InflatingInputStream)
+            {
+                input.close();
+            }
+        }
+    }
+
+    /**
+     * Read the OBJ data from the given reader and return it as an {@link Obj}.
+     * The caller is responsible for closing the given reader.
+     *
+     * @param reader The reader to read from
+     * @return The {@link Obj}
+     * @throws IOException If an IO error occurs
+     */
+    public static Obj read(Reader reader) throws IOException
+    {
+        return read(reader, Objs.create());
+    }
+
+    /**
+     * Read the OBJ data from the given reader and store the read
+     * elements in the given {@link WritableObj}.
+     * The caller is responsible for closing the given reader.
+     *
+     * @param <T> The output type
+     * @param reader The reader to read from
+     * @param output The {@link WritableObj} to store the read data
+     * @return The output
+     * @throws IOException If an IO error occurs
+     */
+    public static <T extends WritableObj> T read(
+        Reader reader, T output)
+        throws IOException
+    {
+        if (reader instanceof BufferedReader)
+        {
+            return readImpl((BufferedReader)reader, output, null);
+        }
+        return readImpl(new BufferedReader(reader), output, null);
+
+    }
+
+    /**
+     * Read the OBJ data from the given reader and store the read
+     * elements in the given {@link WritableObj}, using the given 
+     * options. The number of bytes that is reported to the listener
+     * of the options will be the number of characters.
+     * The caller is responsible for closing the given reader.
+     *
+     * @param <T> The output type
+     * @param reader The reader to read from
+     * @param output The {@link WritableObj} to store the read data
+     * @param options The {@link ObjReaderOptions}. May be 
+     * <code>null</code>.
+     * @return The output
+     * @throws IOException If an IO error occurs
+     * @throws java.io.InterruptedIOException If reading was cancelled
+     * via the cancellation token of the options
+     */
+    public static <T extends WritableObj> T read(
+        Reader reader, T output, ObjReaderOptions options)
+        throws IOException
+    {
+        ObjReadMonitor monitor = ObjReadMonitor.create(options);
+        ObjFilter filter = ObjFilter.create(options);
+        if (monitor == null && filter == null)
+        {
+            if (reader instanceof BufferedReader)
+            {
+                return readImpl((BufferedReader)reader, output, options);
+            }
+            return readImpl(new BufferedReader(reader), output, options);
+        }
+        Reader source = monitor == null ? reader : monitor.wrap(reader);
+        WritableObj target = monitor == null ? output : monitor.wrap(output);
+        if (filter != null)
+        {
+            filter.read(parser -> parse(parser, source), null, target);
+        }
+        else
+        {
+            readImpl(new BufferedReader(source), target, options);
+        }
+        if (monitor != null)
+        {
+            monitor.phaseCompleted("parse");
+            monitor.finish();
+        }
+        return output;
+    }
+
+    /**
+     * Read the OBJ data from the given buffer and return it as an 
+     * {@link Obj}.<br>
+     * <br>
+     * The bytes between the position and the limit of the given buffer
+     * will be read. The position of the given buffer will not be modified.
+     * 
+     * @param byteBuffer The buffer to read from
+     * @return The {@link Obj}
+     * @throws IOException If the data can not be parsed
+     */
+    public static Obj read(ByteBuffer byteBuffer) throws IOException
+    {
+        return read(byteBuffer, Objs.create());
+    }
+    
+    /**
+     * Read the OBJ data from the given buffer and store the read
+     * elements in the given {@link WritableObj}.<br>
+     * <br>
+     * The bytes between the position and the limit of the given buffer
+     * will be read. The position of the given buffer will not be modified.
+     * The buffer may be a heap buffer, a direct buffer, or a 
+     * <code>MappedByteBuffer</code>. The data will be parsed directly from 
+     * the bytes of the buffer, without creating intermediate strings for 
+     * the lines or tokens.
+     * 
+     * @param <T> The output type
+     * @param byteBuffer The buffer to read from
+     * @param output The {@link WritableObj} to store the read data
+     * @return The output
+     * @throws IOException If the data can not be parsed
+     */
+    public static <T extends WritableObj> T read(
+        ByteBuffer byteBuffer, T output) throws IOException
+    {
+        return read(byteBuffer, output, null);
+    }
+    
+    /**
+     * Read the OBJ data from the given buffer and store the read
+     * elements in the given {@link WritableObj}, using the given 
+     * options.<br>
+     * <br>
+     * See {@link #read(ByteBuffer, WritableObj)} for details.
+     * 
+     * @param <T> The output type
+     * @param byteBuffer The buffer to read from
+     * @param output The {@link WritableObj} to store the read data
+     * @param options The {@link ObjReaderOptions}. May be 
+     * <code>null</code>.
+     * @return The output
+     * @throws IOException If the data can not be parsed
+     * @throws java.io.InterruptedIOException If reading was cancelled
+     * via the cancellation token of the options
+     */
+    public static <T extends WritableObj> T read(
+        ByteBuffer byteBuffer, T output, ObjReaderOptions options) 
+        throws IOException
+    {
+        ObjReadMonitor monitor = ObjReadMonitor.create(options);
+        ObjFilter filter = ObjFilter.create(options);
+        WritableObj target = monitor == null ? output : monitor.wrap(output);
+        if (filter != null)
+        {
+            filter.read(
+                parser -> parse(parser, byteBuffer.duplicate(), monitor), 
+                parser -> parse(parser, byteBuffer.duplicate(), null), 
+                target);
+        }
+        else
+        {
+            ObjByteParser parser = new ObjByteParser(target);
+            parser.configure(options);
+            parse(parser, byteBuffer.duplicate(), monitor);
+            parser.finish();
+        }
+        if (monitor != null)
+        {
+            monitor.phaseCompleted("parse");
+            monitor.finish();
+        }
+        return output;
+    }
+    
+    /**
+     * Read the OBJ data from the given file channel and return it as an 
+     * {@link Obj}. 
+     * The caller is responsible for closing the given channel.<br>
+     * <br>
+     * See {@link #read(FileChannel, WritableObj)} for details.
+     * 
+     * @param fileChannel The channel to read from
+     * @return The {@link Obj}
+     * @throws IOException If an IO error occurs
+     */
+    public static Obj read(FileChannel fileChannel) throws IOException
+    {
+        return read(fileChannel, Objs.create());
+    }
+    
+    /**
+     * Read the OBJ data from the given file channel and store the read
+     * elements in the given {@link WritableObj}.
+     * The caller is responsible for closing the given channel.<br>
+     * <br>
+     * The data between the current position of the channel and the end 
+     * of the file will be read. The position of the channel will not be 
+     * modified. The file will be mapped into memory, in multiple segments 
+     * if necessary, so that files that are larger than 2 GB may be read. 
+     * The data will be parsed directly from the bytes of the mapped 
+     * segments, as described in {@link #read(ByteBuffer, WritableObj)}.
+     * 
+     * @param <T> The output type
+     * @param fileChannel The channel to read from
+     * @param output The {@link WritableObj} to store the read data
+     * @return The output
+     * @throws IOException If an IO error occurs
+     */
+    public static <T extends WritableObj> T read(
+        FileChannel fileChannel, T output) throws IOException
+    {
+        return read(fileChannel, output, null);
+    }
+    
+    /**
+     * Read the OBJ data from the given file channel and store the read
+     * elements in the given {@link WritableObj}, using the given 
+     * options.
+     * The caller is responsible for closing the given channel.<br>
+     * <br>
+     * See {@link #read(FileChannel, WritableObj)} for details.
+     * 
+     * @param <T> The output type
+     * @param fileChannel The channel to read from
+     * @param output The {@link WritableObj} to store the read data
+     * @param options The {@link ObjReaderOptions}. May be 
+     * <code>null</code>.
+     * @return The output
+     * @throws IOException If an IO error occurs
+     * @throws java.io.InterruptedIOException If reading was cancelled
+     * via the cancellation token of the options
+     */
+    public static <T extends WritableObj> T read(
+        FileChannel fileChannel, T output, ObjReaderOptions options) 
+        throws IOException
+    {
+        ObjReadMonitor monitor = ObjReadMonitor.create(options);
+        ObjFilter filter = ObjFilter.create(options);
+        WritableObj target = monitor == null ? output : monitor.wrap(output);
+        long start = fileChannel.position();
+        if (filter != null)
+        {
+            filter.read(
+                parser -> parse(parser, fileChannel, start, monitor), 
+                parser -> parse(parser, fileChannel, start, null), 
+                target);
+        }
+        else
+        {
+            ObjByteParser parser = new ObjByteParser(target);
+            parser.configure(options);
+            parse(parser, fileChannel, start, monitor);
+            parser.finish();
+        }
+        if (monitor != null)
+        {
+            monitor.phaseCompleted("parse");
+            monitor.finish();
+        }
+        return output;
+    }
+    
+    /**
+     * Pass the data of the given file channel, starting at the given
+     * position, to the given parser, as described in
+     * {@link #parse(ObjByteParser, ByteBuffer, ObjReadMonitor)}
+     * 
+     * @param parser The parser
+     * @param fileChannel The file channel
+     * @param start The start position
+     * @param monitor The monitor. May be <code>null</code>.
+     * @throws IOException If the data can not be parsed, or reading
+     * was cancelled
+     */
+    private static void parse(ObjByteParser parser, FileChannel fileChannel,
+        long start, ObjReadMonitor monitor) throws IOException
+    {
+        long position = start;
+        long size = fileChannel.size();
+        while (position < size)
+        {
+            long segmentSize = Math.min(size - position, MAX_SEGMENT_SIZE);
+            ByteBuffer segment = fileChannel.map(
+                FileChannel.MapMode.READ_ONLY, position, segmentSize);
+            parse(parser, segment, monitor);
+            position += segmentSize;
+        }
+    }
+
+    /**
+     * Pass all data from the given stream to the given parser
+     * 
+     * @param parser The parser
+     * @param inputStream The input stream
+     * @throws IOException If an IO error occurs, or the data can not be 
+     * parsed
+     */
+    private static void parse(ObjByteParser parser, InputStream inputStream) 
+        throws IOException
+    {
+        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+        while (true)
+        {
+            int read = inputStream.read(buffer);
+            if (read < 0)
+            {
+                break;
+            }
+            parser.parse(ByteBuffer.wrap(buffer, 0, read));
+        }
+    }
+
+    /**
+     * Pass all data from the given reader to the given parser. The 
+     * characters are encoded as UTF-8, and the parser is configured to 
+     * decode names with UTF-8, so that names that contain characters 
+     * that are not ASCII characters are passed to the output unchanged.
+     * 
+     * @param parser The parser
+     * @param reader The reader
+     * @throws IOException If an IO error occurs, or the data can not be 
+     * parsed
+     */
+    private static void parse(ObjByteParser parser, Reader reader) 
+        throws IOException
+    {
+        parser.setCharset(StandardCharsets.UTF_8);
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        encoder.onMalformedInput(CodingErrorAction.REPLACE);
+        encoder.onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer chars = CharBuffer.allocate(STREAM_BUFFER_SIZE);
+        ByteBuffer buffer = ByteBuffer.allocate(
+            (int)Math.ceil(STREAM_BUFFER_SIZE * encoder.maxBytesPerChar()));
+        while (true)
+        {
+            int read = reader.read(chars);
+            boolean endOfInput = read < 0;
+            chars.flip();
+            buffer.clear();
+            
+            // A high surrogate at the end of the chars remains in the
+            // char buffer until the next chars have been read
+            encoder.encode(chars, buffer, endOfInput);
+            if (endOfInput)
+            {
+                encoder.flush(buffer);
+            }
+            buffer.flip();
+            parser.parse(buffer);
+            chars.compact();
+            if (endOfInput)
+            {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Pass the data between the position and the limit of the given 
+     * buffer to the given parser. If the given monitor is not 
+     * <code>null</code>, then the data will be passed to the parser
+     * in parts, and the monitor will be informed about each part.
+     * 
+     * @param parser The parser
+     * @param buffer The buffer
+     * @param monitor The monitor. May be <code>null</code>.
+     * @throws IOException If the data can not be parsed, or reading
+     * was cancelled
+     */
+    private static void parse(ObjByteParser parser, ByteBuffer buffer, 
+        ObjReadMonitor monitor) throws IOException
+    {
+        if (monitor == null)
+        {
+            parser.parse(buffer);
+            return;
+        }
+        int position = buffer.position();
+        int limit = buffer.limit();
+        while (position < limit)
+        {
+            int end = (int)Math.min(
+                (long)position + monitor.getProgressInterval(), limit);
+            ByteBuffer part = buffer.duplicate();
+            part.limit(end);
+            part.position(position);
+            parser.parse(part);
+            monitor.consumed(end - position, 
+                ObjReadMonitor.countLines(buffer, position, end));
+            position = end;
+        }
+    }
+    
+    /**
+     * Read the OBJ data from the given stream, and return it as 
+     * {@link ObjRenderData}.
+     * The caller is responsible for closing the given stream.<br>
+     * <br>
+     * The result will contain the same data as the buffers that could 
+     * be obtained with {@link ObjData} from an {@link Obj} that was read
+     * from the given stream and {@link ObjUtils#convertToRenderable(
+     * ReadableObj) converted to be renderable}. But no intermediate 
+     * {@link Obj} will be created: The faces will be triangulated, and 
+     * the unique combinations of vertex, texture coordinate and normal 
+     * indices will be determined while the data is read. The faces may
+     * only refer to vertices, texture coordinates and normals that 
+     * appear before the face in the input.
+     * 
+     * @param inputStream The stream to read from
+     * @return The {@link ObjRenderData}
+     * @throws IOException If an IO error occurs
+     * @throws IllegalArgumentException If a face refers to an element 
+     * that does not appear before the face in the input
+     */
+    public static ObjRenderData readRenderData(InputStream inputStream) 
+        throws IOException
+    {
+        ObjRenderDataBuilder builder = new ObjRenderDataBuilder();
+        read(inputStream, builder);
+        return builder.build();
+    }
+    
+    /**
+     * Read the OBJ data from the given buffer, and return it as 
+     * {@link ObjRenderData}.<br>
+     * <br>
+     * The data will be read as described in 
+     * {@link #read(ByteBuffer, WritableObj)}, and converted as described
+     * in {@link #readRenderData(InputStream)}.
+     * 
+     * @param byteBuffer The buffer to read from
+     * @return The {@link ObjRenderData}
+     * @throws IOException If the data can not be parsed
+     * @throws IllegalArgumentException If a face refers to an element 
+     * that does not appear before the face in the input
+     */
+    public static ObjRenderData readRenderData(ByteBuffer byteBuffer) 
+        throws IOException
+    {
+        ObjRenderDataBuilder builder = new ObjRenderDataBuilder();
+        read(byteBuffer, builder);
+        return builder.build();
+    }
+    
+    /**
+     * Read the OBJ data from the given buffer in parallel, and return
+     * it as an {@link Obj}.<br>
+     * <br>
+     * See {@link #readParallel(ByteBuffer, WritableObj)} for details.
+     * 
+     * @param byteBuffer The buffer to read from
+     * @return The {@link Obj}
+     * @throws IOException If the data can not be parsed
+     */
+    public static Obj readParallel(ByteBuffer byteBuffer) throws IOException
+    {
+        return readParallel(byteBuffer, Objs.create());
+    }
+    
+    /**
+     * Read the OBJ data from the given buffer in parallel, and store 
+     * the read elements in the given {@link WritableObj}.<br>
+     * <br>
+     * The bytes between the position and the limit of the given buffer
+     * will be read, as described in {@link #read(ByteBuffer, WritableObj)}.
+     * The input will be divided into chunks that consist of complete 
+     * lines, and these chunks will be parsed in parallel, using the 
+     * <code>ForkJoinPool</code> that this method is called from, or the 
+     * common pool when this method is not called from within a 
+     * <code>ForkJoinPool</code>. Relative face indices are resolved 
+     * based on the number of elements in the preceding chunks. The 
+     * elements are then passed to the given output in the order in 
+     * which they appear in the input, from the calling thread. So the 
+     * result will be the same as if the data had been read with 
+     * {@link #read(ByteBuffer, WritableObj)}.
+     * 
+     * @param <T> The output type
+     * @param byteBuffer The buffer to read from
+     * @param output The {@link WritableObj} to store the read data
+     * @return The output
+     * @throws IOException If the data can not be parsed
+     */
+    public static <T extends WritableObj> T readParallel(
+        ByteBuffer byteBuffer, T output) throws IOException
+    {
+        return readParallel(byteBuffer, output, null);
+    }
+    
+    /**
+     * Read the OBJ data from the given buffer in parallel, and store 
+     * the read elements in the given {@link WritableObj}, using the 
+     * given options.<br>
+     * <br>
+     * See {@link #readParallel(ByteBuffer, WritableObj)} for details.
+     * The cancellation token of the options will be queried before
+     * each chunk is parsed, and before each chunk is passed to the 
+     * output.<br>
+     * <br>
+     * <b>Note:</b> When the options contain a 
+     * {@link ObjReaderOptions#setGroupFilter group filter} or a 
+     * {@link ObjReaderOptions#setMaterialGroupFilter material group 
+     * filter}, then the data is <b>not</b> read in parallel. It is read
+     * sequentially, exactly as with 
+     * {@link #read(ByteBuffer, WritableObj, ObjReaderOptions)}.
+     * 
+     * @param <T> The output type
+     * @param byteBuffer The buffer to read from
+     * @param output The {@link WritableObj} to store the read data
+     * @param options The {@link ObjReaderOptions}. May be 
+     * <code>null</code>.
+     * @return The output
+     * @throws IOException If the data can not be parsed
+     * @throws java.io.InterruptedIOException If reading was cancelled
+     * via the cancellation token of the options
+     */
+    public static <T extends WritableObj> T readParallel(
+        ByteBuffer byteBuffer, T output, ObjReaderOptions options) 
+        throws IOException
+    {
+        if (ObjFilter.create(options) != null)
+        {
+            return read(byteBuffer, output, options);
+        }
+        ObjReadMonitor monitor = ObjReadMonitor.create(options);
+        ObjParallelReader reader = new ObjParallelReader(output, 
+            ObjParallelReader.DEFAULT_MIN_CHUNK_SIZE, monitor, options);
+        reader.read(byteBuffer, byteBuffer.position(), byteBuffer.limit());
+        if (monitor != null)
+        {
+            monitor.finish();
+        }
+        return output;
+    }
+    
+    /**
+     * Read the OBJ data from the given file channel in parallel, and 
+     * return it as an {@link Obj}. 
+     * The caller is responsible for closing the given channel.<br>
+     * <br>
+     * See {@link #readParallel(FileChannel, WritableObj)} for details.
+     * 
+     * @param fileChannel The channel to read from
+     * @return The {@link Obj}
+     * @throws IOException If an IO error occurs
+     */
+    public static Obj readParallel(FileChannel fileChannel) throws IOException
+    {
+        return readParallel(fileChannel, Objs.create());
+    }
+    
+    /**
+     * Read the OBJ data from the given file channel in parallel, and 
+     * store the read elements in the given {@link WritableObj}.
+     * The caller is responsible for closing the given channel.<br>
+     * <br>
+     * The file will be mapped into memory as described in 
+     * {@link #read(FileChannel, WritableObj)}, and each segment will 
+     * be read in parallel, as described in 
+     * {@link #readParallel(ByteBuffer, WritableObj)}.
+     * 
+     * @param <T> The output type
+     * @param fileChannel The channel to read from
+     * @param output The {@link WritableObj} to store the read data
+     * @return The output
+     * @throws IOException If an IO error occurs
+     */
+    public static <T extends WritableObj> T readParallel(
+        FileChannel fileChannel, T output) throws IOException
+    {
+        return readParallel(fileChannel, output, null);
+    }
+    
+    /**
+     * Read the OBJ data from the given file channel in parallel, and 
+     * store the read elements in the given {@link WritableObj}, using 
+     * the given options.
+     * The caller is responsible for closing the given channel.<br>
+     * <br>
+     * See {@link #readParallel(FileChannel, WritableObj)} and
+     * {@link #readParallel(ByteBuffer, WritableObj, ObjReaderOptions)}
+     * for details.<br>
+     * <br>
+     * <b>Note:</b> When the options contain a 
+     * {@link ObjReaderOptions#setGroupFilter group filter} or a 
+     * {@link ObjReaderOptions#setMaterialGroupFilter material group 
+     * filter}, then the data is <b>not</b> read in parallel. It is read
+     * sequentially, exactly as with 
+     * {@link #read(FileChannel, WritableObj, ObjReaderOptions)}.
+     * 
+     * @param <T> The output type
+     * @param fileChannel The channel to read from
+     * @param output The {@link WritableObj} to store the read data
+     * @param options The {@link ObjReaderOptions}. May be 
+     * <code>null</code>.
+     * @return The output
+     * @throws IOException If an IO error occurs
+     * @throws java.io.InterruptedIOException If reading was cancelled
+     * via the cancellation token of the options
+     */
+    public static <T extends WritableObj> T readParallel(
+        FileChannel fileChannel, T output, ObjReaderOptions options) 
+        throws IOException
+    {
+        if (ObjFilter.create(options) != null)
+        {
+            return read(fileChannel, output, options);
+        }
+        ObjReadMonitor monitor = ObjReadMonitor.create(options);
+        ObjParallelReader reader = new ObjParallelReader(output, 
+            ObjParallelReader.DEFAULT_MIN_CHUNK_SIZE, monitor, options);
+        long position = fileChannel.position();
+        long size = fileChannel.size();
+        while (position < size)
+        {
+            long segmentSize = Math.min(size - position, MAX_SEGMENT_SIZE);
+            ByteBuffer segment = fileChannel.map(
+                FileChannel.MapMode.READ_ONLY, position, segmentSize);
+            int length = (int)segmentSize;
+            if (position + segmentSize < size)
+            {
+                // Segments that are not the last one have to end at 
+                // the end of a line
+                length = ObjParallelReader.findLastBoundary(
+                    segment, 0, length);
+                if (length == 0)
+                {
+                    throw new IOException(
+                        "No line end found in segment at " + position);
+                }
+            }
+            reader.read(segment, 0, length);
+            position += length;
+        }
+        if (monitor != null)
+        {
+            monitor.finish();
+        }
+        return output;
+    }
+    
+    /**
+     * Read the OBJ data from the given reader and store the read
+     * elements in the given {@link WritableObj}.
+     * The caller is responsible for closing the given reader.
+     *
+     * @param <T> The output type
+     * @param reader The reader to read from
+     * @param output The {@link WritableObj} to store the read data
+     * @param options The {@link ObjReaderOptions}. May be 
+     * <code>null</code>.
+     * @return The output
+     * @throws IOException If an IO error occurs
+     */
+    private static <T extends WritableObj> T readImpl(
+        BufferedReader reader, T output, ObjReaderOptions options)
+        throws IOException
+    {
+        boolean readTexCoords = options == null || options.isReadTexCoords();
+        boolean readNormals = options == null || options.isReadNormals();
+        boolean readGroups = options == null || options.isReadGroups();
+        boolean readMaterialGroups = 
+            options == null || options.isReadMaterialGroups();
+        
+        ObjFaceParser objFaceParser = new ObjFaceParser();
+        float[] values = new float[4];
+
+        int vertexCounter = 0;
+        int texCoordCounter = 0;
+        int normalCounter = 0;
+        while(true)
+        {
+            String line = reader.readLine();
+            if(line == null)
+            {
+                break;
+            }
+
+            line = line.trim();
+
+            //System.out.println("read line: "+line);
+
+            // Combine lines that have been broken
+            boolean finished = false;
+            while(line.endsWith("\\"))
+            {
+                line = line.substring(0, line.length() - 2);
+                String nextLine = reader.readLine();
+                if (nextLine == null)
+                {
+                    finished = true;
+                    break;
+                }
+                line += " " + nextLine;
+            }
+            if (finished)
+            {
+                break;
+            }
+
+            StringTokenizer st = new StringTokenizer(line);
+            if(!st.hasMoreTokens())
+            {
+                continue;
+            }
+
+            String identifier = st.nextToken().toLowerCase();
+
+            // v: Vertex coordinates
+            switch (identifier) {
+                case "v": {
+                    int n = Utils.readFloats(
+                        line, identifier.length(), values);
+                    output.addVertex(
+                        n, values[0], values[1], values[2], values[3]);
+                    vertexCounter++;
+                    break;
+                }
+
+                // vt: Texture coordinates for a vertex
+                case "vt": {
+                    if (!readTexCoords)
+                    {
+                        break;
+                    }
+                    int n = Utils.readFloats(
+                        line, identifier.length(), values);
+                    output.addTexCoord(
+                        n, values[0], values[1], values[2], values[3]);
+                    texCoordCounter++;
+                    break;
+                }
+
+                // vn: Vertex normal
+                case "vn": {
+                    if (!readNormals)
+                    {
+                        break;
+                    }
+                    int n = Utils.readFloats(
+                        line, identifier.length(), values);
+                    output.addNormal(
+                        n, values[0], values[1], values[2], values[3]);
+                    normalCounter++;
+                    break;
+                }
+
+                // mtllib: Name of the MTL file
+                case "mtllib": {
+                    String s = line.substring(6).trim();
+                    //output.setMtlFileNames(readStrings(s));
+                    // According to the OBJ specification, the "mtllib" keyword
+                    // may be followed by multiple file names, separated with
+                    // whitespaces:
+                    // "When you assign a material library using the Model
+                    //  program, only one map library per .obj file is allowed.
+                    //  You can assign multiple libraries using a text editor."
+                    // However, to avoid problems with file names that contain
+                    // whitespaces, only ONE file name is assumed here:
+                    output.setMtlFileNames(Collections.singleton(s));
+                    break;
+                }
+
+                // usemtl: Material groups
+                case "usemtl":
+                    if (!readMaterialGroups)
+                    {
+                        break;
+                    }
+                    String materialGroupName = line.substring(6).trim();
+                    output.setActiveMaterialGroupName(materialGroupName);
+                    break;
+
+                // g: Geometry groups
+                case "g": {
+                    if (!readGroups)
+                    {
+                        break;
+                    }
+                    String s = line.substring(1).trim();
+                    String[] groupNames = readStrings(s);
+                    output.setActiveGroupNames(Arrays.asList(groupNames));
+                    break;
+                }
+
+                // f: A face definition
+                case "f":
+                    objFaceParser.parse(line);
+                    objFaceParser.makeIndicesAbsolute(
+                        vertexCounter, texCoordCounter, normalCounter);
+                    output.addFace(objFaceParser.createFace(
+                        readTexCoords, readNormals));
+                    break;
+            }
+        }
+        return output;
+    }
+
+
+    /**
+     * Read all tokens from the given input string that are separated
+     * by whitespaces
+     *
+     * @param input The input string
+     * @return The list of tokens
+     */
+    private static String[] readStrings(String input)
+    {
+        StringTokenizer st = new StringTokenizer(input);
+        List<String> tokens = new ArrayList<>();
+        while (st.hasMoreTokens())
+        {
+            tokens.add(st.nextToken());
+        }
+        return tokens.toArray(new String[tokens.size()]);
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ObjReader()
+    {
+        // Private constructor to prevent instantiation
+    }
+
+}
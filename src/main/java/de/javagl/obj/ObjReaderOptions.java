@@ -0,0 +1,341 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Options for reading OBJ and MTL data with the {@link ObjReader} and
+ * the {@link MtlReader}.<br>
+ * <br>
+ * By default, no listener, no cancellation token and no filters are 
+ * set, all elements are read, and reading with these options is exactly 
+ * the same as reading without options.
+ */
+public final class ObjReaderOptions
+{
+    /**
+     * The default progress interval, in bytes
+     */
+    public static final int DEFAULT_PROGRESS_INTERVAL = 1 << 20;
+
+    /**
+     * The listener
+     */
+    private ObjReadListener listener;
+
+    /**
+     * The cancellation token
+     */
+    private BooleanSupplier cancellationToken;
+
+    /**
+     * The progress interval, in bytes
+     */
+    private int progressInterval = DEFAULT_PROGRESS_INTERVAL;
+
+    /**
+     * The filter for group names
+     */
+    private Predicate<? super String> groupFilter;
+
+    /**
+     * The filter for material group names
+     */
+    private Predicate<? super String> materialGroupFilter;
+
+    /**
+     * Whether texture coordinates are read
+     */
+    private boolean readTexCoords = true;
+
+    /**
+     * Whether normals are read
+     */
+    private boolean readNormals = true;
+
+    /**
+     * Whether groups are read
+     */
+    private boolean readGroups = true;
+
+    /**
+     * Whether material groups are read
+     */
+    private boolean readMaterialGroups = true;
+
+    /**
+     * Creates new default options
+     */
+    public ObjReaderOptions()
+    {
+        // Default constructor
+    }
+
+    /**
+     * Returns the listener that will be informed about the progress 
+     * of reading, or <code>null</code> if no listener was set
+     * 
+     * @return The listener
+     */
+    public ObjReadListener getListener()
+    {
+        return listener;
+    }
+
+    /**
+     * Set the listener that will be informed about the progress of 
+     * reading. The listener will be called on the thread that called 
+     * the reading method.
+     * 
+     * @param listener The listener. May be <code>null</code>.
+     */
+    public void setListener(ObjReadListener listener)
+    {
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the cancellation token, or <code>null</code> if no 
+     * cancellation token was set
+     * 
+     * @return The cancellation token
+     */
+    public BooleanSupplier getCancellationToken()
+    {
+        return cancellationToken;
+    }
+
+    /**
+     * Set the cancellation token. This token will be queried whenever
+     * a chunk of the input has been read. When it returns 
+     * <code>true</code>, then reading will be aborted with an 
+     * <code>InterruptedIOException</code>. The token may be queried
+     * from different threads when reading in parallel.
+     * 
+     * @param cancellationToken The cancellation token. May be 
+     * <code>null</code>.
+     */
+    public void setCancellationToken(BooleanSupplier cancellationToken)
+    {
+        this.cancellationToken = cancellationToken;
+    }
+
+    /**
+     * Returns the number of bytes after which the progress will be 
+     * reported and the cancellation token will be queried
+     * 
+     * @return The progress interval
+     */
+    public int getProgressInterval()
+    {
+        return progressInterval;
+    }
+
+    /**
+     * Set the number of bytes after which the progress will be reported
+     * and the cancellation token will be queried. The default value is
+     * {@link #DEFAULT_PROGRESS_INTERVAL}.
+     * 
+     * @param progressInterval The progress interval
+     * @throws IllegalArgumentException If the given value is not positive
+     */
+    public void setProgressInterval(int progressInterval)
+    {
+        if (progressInterval <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The progress interval must be positive, but is " 
+                + progressInterval);
+        }
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * Returns the filter for group names, or <code>null</code> if no 
+     * group filter was set
+     * 
+     * @return The group filter
+     */
+    public Predicate<? super String> getGroupFilter()
+    {
+        return groupFilter;
+    }
+
+    /**
+     * Set the filter for group names.<br>
+     * <br>
+     * When a group filter is set, then only the faces that belong to
+     * at least one group whose name is accepted by the filter will be
+     * read. Faces that appear before the first <code>g</code> statement
+     * belong to the group named <code>"default"</code>.<br>
+     * <br>
+     * When any filter is set, then only the vertices, texture coordinates
+     * and normals that are referred to by the faces that are read will 
+     * be passed to the output. They retain their relative order, and the
+     * indices of the faces are adjusted accordingly. When reading from
+     * a <code>ByteBuffer</code> or a <code>FileChannel</code>, the input
+     * will be read twice, so that the memory that is required only 
+     * depends on the size of the selection. When reading from a stream
+     * or a reader, the coordinates of all vertices, texture coordinates
+     * and normals will be stored temporarily. Reading in parallel with
+     * a filter is performed sequentially.
+     * 
+     * @param groupFilter The group filter. May be <code>null</code>.
+     */
+    public void setGroupFilter(Predicate<? super String> groupFilter)
+    {
+        this.groupFilter = groupFilter;
+    }
+
+    /**
+     * Returns the filter for material group names, or <code>null</code> 
+     * if no material group filter was set
+     * 
+     * @return The material group filter
+     */
+    public Predicate<? super String> getMaterialGroupFilter()
+    {
+        return materialGroupFilter;
+    }
+
+    /**
+     * Set the filter for material group names.<br>
+     * <br>
+     * When a material group filter is set, then only the faces that 
+     * belong to a material group whose name is accepted by the filter
+     * will be read. Faces that do not belong to any material group will 
+     * not be read. See {@link #setGroupFilter(Predicate)} for further
+     * details.
+     * 
+     * @param materialGroupFilter The material group filter. May be 
+     * <code>null</code>.
+     */
+    public void setMaterialGroupFilter(
+        Predicate<? super String> materialGroupFilter)
+    {
+        this.materialGroupFilter = materialGroupFilter;
+    }
+
+    /**
+     * Returns whether texture coordinates are read
+     * 
+     * @return Whether texture coordinates are read
+     */
+    public boolean isReadTexCoords()
+    {
+        return readTexCoords;
+    }
+
+    /**
+     * Set whether texture coordinates are read. When this is 
+     * <code>false</code>, then the <code>vt</code> lines are skipped 
+     * without being parsed, and the faces that are passed to the output
+     * do not contain texture coordinate indices. The default value is 
+     * <code>true</code>.
+     * 
+     * @param readTexCoords Whether texture coordinates are read
+     */
+    public void setReadTexCoords(boolean readTexCoords)
+    {
+        this.readTexCoords = readTexCoords;
+    }
+
+    /**
+     * Returns whether normals are read
+     * 
+     * @return Whether normals are read
+     */
+    public boolean isReadNormals()
+    {
+        return readNormals;
+    }
+
+    /**
+     * Set whether normals are read. When this is <code>false</code>, 
+     * then the <code>vn</code> lines are skipped without being parsed, 
+     * and the faces that are passed to the output do not contain normal 
+     * indices. The default value is <code>true</code>.
+     * 
+     * @param readNormals Whether normals are read
+     */
+    public void setReadNormals(boolean readNormals)
+    {
+        this.readNormals = readNormals;
+    }
+
+    /**
+     * Returns whether groups are read
+     * 
+     * @return Whether groups are read
+     */
+    public boolean isReadGroups()
+    {
+        return readGroups;
+    }
+
+    /**
+     * Set whether groups are read. When this is <code>false</code>, 
+     * then the <code>g</code> lines are not passed to the output, and
+     * all faces will be in the default group. The group names are still 
+     * used for the {@link #setGroupFilter(Predicate) group filter}. The 
+     * default value is <code>true</code>.
+     * 
+     * @param readGroups Whether groups are read
+     */
+    public void setReadGroups(boolean readGroups)
+    {
+        this.readGroups = readGroups;
+    }
+
+    /**
+     * Returns whether material groups are read
+     * 
+     * @return Whether material groups are read
+     */
+    public boolean isReadMaterialGroups()
+    {
+        return readMaterialGroups;
+    }
+
+    /**
+     * Set whether material groups are read. When this is 
+     * <code>false</code>, then the <code>usemtl</code> lines are not 
+     * passed to the output, and no faces will be in material groups. 
+     * The material group names are still used for the 
+     * {@link #setMaterialGroupFilter(Predicate) material group filter}. 
+     * The default value is <code>true</code>.
+     * 
+     * @param readMaterialGroups Whether material groups are read
+     */
+    public void setReadMaterialGroups(boolean readMaterialGroups)
+    {
+        this.readMaterialGroups = readMaterialGroups;
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The data of an OBJ in a form that is appropriate for rendering it 
+ * with OpenGL. Instances of this class may be created with 
+ * {@link ObjReader#readRenderData(java.io.InputStream)}.<br>
+ * <br>
+ * The data consists of direct buffers, following the same conventions
+ * as the buffers that are returned by {@link ObjData}: All faces are 
+ * triangulated, and each vertex has a single index that refers to its 
+ * position, texture coordinates and normal. This corresponds to the 
+ * data that would be obtained from an {@link Obj} after it was 
+ * converted with {@link ObjUtils#convertToRenderable(ReadableObj)}.<br>
+ * <br>
+ * The indices are sorted by material groups: The indices of the 
+ * triangles of each material group are stored in one contiguous range 
+ * of the index buffer. 
+ */
+public final class ObjRenderData
+{
+    /**
+     * The number of vertices
+     */
+    private final int numVertices;
+    
+    /**
+     * The vertex positions
+     */
+    private final FloatBuffer vertices;
+
+    /**
+     * The texture coordinates
+     */
+    private final FloatBuffer texCoords;
+
+    /**
+     * The normals
+     */
+    private final FloatBuffer normals;
+
+    /**
+     * The triangle indices
+     */
+    private final IntBuffer indices;
+
+    /**
+     * The material group ranges
+     */
+    private final List<MaterialGroupRange> materialGroupRanges;
+
+    /**
+     * Creates a new instance
+     * 
+     * @param numVertices The number of vertices
+     * @param vertices The vertex positions
+     * @param texCoords The texture coordinates
+     * @param normals The normals
+     * @param indices The triangle indices
+     * @param materialGroupRanges The material group ranges
+     */
+    ObjRenderData(int numVertices, FloatBuffer vertices, 
+        FloatBuffer texCoords, FloatBuffer normals, IntBuffer indices, 
+        List<MaterialGroupRange> materialGroupRanges)
+    {
+        this.numVertices = numVertices;
+        this.vertices = vertices;
+        this.texCoords = texCoords;
+        this.normals = normals;
+        this.indices = indices;
+        this.materialGroupRanges = 
+            Collections.unmodifiableList(materialGroupRanges);
+    }
+
+    /**
+     * Returns the number of vertices. This is the number of unique 
+     * combinations of vertex, texture coordinate and normal indices 
+     * that appeared in the faces of the OBJ.
+     * 
+     * @return The number of vertices
+     */
+    public int getNumVertices()
+    {
+        return numVertices;
+    }
+
+    /**
+     * Returns the vertex positions. Three consecutive entries in the 
+     * resulting buffer are the x,y,z coordinates of one vertex. The 
+     * position of the returned buffer will be 0, and its limit and 
+     * capacity will match the stored data.
+     * 
+     * @return The vertex positions
+     */
+    public FloatBuffer getVertices()
+    {
+        return vertices;
+    }
+
+    /**
+     * Returns the texture coordinates. Two consecutive entries in the 
+     * resulting buffer are the x,y coordinates of one vertex. If none of
+     * the faces contained texture coordinate indices, then the buffer
+     * will be empty. Otherwise, vertices of faces that did not contain
+     * texture coordinate indices will have texture coordinates (0,0). 
+     * The position of the returned buffer will be 0, and its limit and 
+     * capacity will match the stored data.
+     * 
+     * @return The texture coordinates
+     */
+    public FloatBuffer getTexCoords()
+    {
+        return texCoords;
+    }
+
+    /**
+     * Returns the normals. Three consecutive entries in the resulting 
+     * buffer are the x,y,z coordinates of one normal. If none of the 
+     * faces contained normal indices, then the buffer will be empty. 
+     * Otherwise, vertices of faces that did not contain normal indices 
+     * will have normals (0,0,0). The position of the returned buffer 
+     * will be 0, and its limit and capacity will match the stored data.
+     * 
+     * @return The normals
+     */
+    public FloatBuffer getNormals()
+    {
+        return normals;
+    }
+
+    /**
+     * Returns the indices of the triangles. Three consecutive entries in 
+     * the resulting buffer are the vertex indices of one triangle. The 
+     * position of the returned buffer will be 0, and its limit and 
+     * capacity will match the stored data.
+     * 
+     * @return The indices
+     */
+    public IntBuffer getIndices()
+    {
+        return indices;
+    }
+
+    /**
+     * Returns an unmodifiable list of the ranges of the {@link #getIndices() 
+     * indices} that belong to the material groups, in the order in 
+     * which the material groups appeared in the OBJ. 
+     * 
+     * @return The material group ranges
+     */
+    public List<MaterialGroupRange> getMaterialGroupRanges()
+    {
+        return materialGroupRanges;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ObjRenderData[" +
+            "#vertices=" + numVertices + "," +
+            "#indices=" + indices.capacity() + "," +
+            "materialGroupRanges=" + materialGroupRanges + "]";
+    }
+
+    /**
+     * A range of the {@link ObjRenderData#getIndices() indices} that 
+     * belong to one material group
+     */
+    public static final class MaterialGroupRange
+    {
+        /**
+         * The name of the material group
+         */
+        private final String name;
+
+        /**
+         * The offset of the first index
+         */
+        private final int offset;
+
+        /**
+         * The number of indices
+         */
+        private final int count;
+
+        /**
+         * Creates a new instance
+         * 
+         * @param name The name of the material group
+         * @param offset The offset of the first index
+         * @param count The number of indices
+         */
+        MaterialGroupRange(String name, int offset, int count)
+        {
+            this.name = name;
+            this.offset = offset;
+            this.count = count;
+        }
+
+        /**
+         * Returns the name of the material group. This will be 
+         * <code>null</code> for the range that contains the triangles 
+         * that did not belong to any material group.
+         * 
+         * @return The name
+         */
+        public String getName()
+        {
+            return name;
+        }
+
+        /**
+         * Returns the offset of the first index of this range
+         * 
+         * @return The offset
+         */
+        public int getOffset()
+        {
+            return offset;
+        }
+
+        /**
+         * Returns the number of indices in this range. This is three 
+         * times the number of triangles.
+         * 
+         * @return The number of indices
+         */
+        public int getCount()
+        {
+            return count;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "MaterialGroupRange[name=" + name + 
+                ",offset=" + offset + ",count=" + count + "]";
+        }
+    }
+}
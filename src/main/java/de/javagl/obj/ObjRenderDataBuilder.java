@@ -0,0 +1,591 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of a {@link WritableObj} that directly creates the
+ * {@link ObjRenderData} from the elements that are passed to it.<br>
+ * <br>
+ * The vertices, texture coordinates and normals are stored in primitive
+ * arrays. Each face is triangulated when it is added, and each unique
+ * combination of vertex, texture coordinate and normal indices is 
+ * mapped to one output vertex, using a hash map that is based on 
+ * primitive arrays. The triangle indices are collected for each 
+ * material group. No {@link FloatTuple}, {@link ObjFace} or 
+ * {@link ObjGroup} instances are stored.<br>
+ * <br>
+ * The faces may only refer to vertices, texture coordinates and normals
+ * that have been added before the face. Group names are ignored.
+ */
+final class ObjRenderDataBuilder extends AbstractWritableObj
+{
+    /**
+     * The initial capacity, in number of elements
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The vertex positions (3 per vertex)
+     */
+    private float[] vertices = new float[INITIAL_CAPACITY * 3];
+
+    /**
+     * The number of vertices
+     */
+    private int numVertices = 0;
+
+    /**
+     * The texture coordinates (2 per texture coordinate)
+     */
+    private float[] texCoords = new float[INITIAL_CAPACITY * 2];
+
+    /**
+     * The number of texture coordinates
+     */
+    private int numTexCoords = 0;
+
+    /**
+     * The normals (3 per normal)
+     */
+    private float[] normals = new float[INITIAL_CAPACITY * 3];
+
+    /**
+     * The number of normals
+     */
+    private int numNormals = 0;
+
+    /**
+     * The mapping from (vertex, texCoord, normal) index triples to 
+     * output vertex indices
+     */
+    private final IndexTripleMap indexTripleMap = new IndexTripleMap();
+
+    /**
+     * The output vertex positions
+     */
+    private float[] outputVertices = new float[INITIAL_CAPACITY * 3];
+
+    /**
+     * The output texture coordinates
+     */
+    private float[] outputTexCoords = new float[INITIAL_CAPACITY * 2];
+
+    /**
+     * The output normals
+     */
+    private float[] outputNormals = new float[INITIAL_CAPACITY * 3];
+
+    /**
+     * The number of output vertices
+     */
+    private int numOutputVertices = 0;
+
+    /**
+     * Whether any face contained texture coordinate indices
+     */
+    private boolean foundTexCoordIndices = false;
+
+    /**
+     * Whether any face contained normal indices
+     */
+    private boolean foundNormalIndices = false;
+
+    /**
+     * The output vertex indices of the current face
+     */
+    private int[] faceIndices = new int[INITIAL_CAPACITY];
+
+    /**
+     * The indices of the triangles of the faces that do not belong to
+     * a material group
+     */
+    private final IndexList defaultIndices = new IndexList();
+
+    /**
+     * The indices of the triangles of the material groups
+     */
+    private final Map<String, IndexList> materialGroupIndices = 
+        new LinkedHashMap<String, IndexList>();
+
+    /**
+     * The indices of the currently active material group
+     */
+    private IndexList activeIndices = defaultIndices;
+
+    @Override
+    public void addVertex(FloatTuple vertex)
+    {
+        addVertex(vertex.getX(), vertex.getY(), vertex.getZ());
+    }
+
+    @Override
+    public void addVertex(float x, float y, float z)
+    {
+        vertices = ensureCapacity(vertices, numVertices * 3 + 3);
+        int o = numVertices * 3;
+        vertices[o + 0] = x;
+        vertices[o + 1] = y;
+        vertices[o + 2] = z;
+        numVertices++;
+    }
+
+    @Override
+    public void addVertex(int dimensions, float x, float y, float z, float w)
+    {
+        addVertex(x, y, z);
+    }
+
+    @Override
+    public void addTexCoord(FloatTuple texCoord)
+    {
+        int d = texCoord.getDimensions();
+        addTexCoord(
+            d > 0 ? texCoord.get(0) : 0.0f, 
+            d > 1 ? texCoord.get(1) : 0.0f);
+    }
+
+    @Override
+    public void addTexCoord(float x)
+    {
+        addTexCoord(x, 0.0f);
+    }
+
+    @Override
+    public void addTexCoord(float x, float y)
+    {
+        texCoords = ensureCapacity(texCoords, numTexCoords * 2 + 2);
+        int o = numTexCoords * 2;
+        texCoords[o + 0] = x;
+        texCoords[o + 1] = y;
+        numTexCoords++;
+    }
+
+    @Override
+    public void addTexCoord(float x, float y, float z)
+    {
+        addTexCoord(x, y);
+    }
+
+    @Override
+    public void addTexCoord(
+        int dimensions, float x, float y, float z, float w)
+    {
+        addTexCoord(x, y);
+    }
+
+    @Override
+    public void addNormal(FloatTuple normal)
+    {
+        addNormal(normal.getX(), normal.getY(), normal.getZ());
+    }
+
+    @Override
+    public void addNormal(float x, float y, float z)
+    {
+        normals = ensureCapacity(normals, numNormals * 3 + 3);
+        int o = numNormals * 3;
+        normals[o + 0] = x;
+        normals[o + 1] = y;
+        normals[o + 2] = z;
+        numNormals++;
+    }
+
+    @Override
+    public void addNormal(int dimensions, float x, float y, float z, float w)
+    {
+        addNormal(x, y, z);
+    }
+
+    @Override
+    public void setActiveMaterialGroupName(String materialGroupName)
+    {
+        if (materialGroupName == null)
+        {
+            return;
+        }
+        IndexList indices = materialGroupIndices.get(materialGroupName);
+        if (indices == null)
+        {
+            indices = new IndexList();
+            materialGroupIndices.put(materialGroupName, indices);
+        }
+        activeIndices = indices;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @throws IllegalArgumentException If the face refers to a vertex, 
+     * texture coordinate or normal that has not been added yet
+     */
+    @Override
+    public void addFace(ObjFace face)
+    {
+        int n = face.getNumVertices();
+        boolean hasTexCoords = face.containsTexCoordIndices();
+        boolean hasNormals = face.containsNormalIndices();
+        foundTexCoordIndices |= hasTexCoords;
+        foundNormalIndices |= hasNormals;
+        if (n > faceIndices.length)
+        {
+            faceIndices = new int[n];
+        }
+        for (int i = 0; i < n; i++)
+        {
+            int v = face.getVertexIndex(i);
+            int vt = hasTexCoords ? face.getTexCoordIndex(i) : -1;
+            int vn = hasNormals ? face.getNormalIndex(i) : -1;
+            checkIndex(v, numVertices, "Vertex");
+            if (hasTexCoords)
+            {
+                checkIndex(vt, numTexCoords, "TexCoord");
+            }
+            if (hasNormals)
+            {
+                checkIndex(vn, numNormals, "Normal");
+            }
+            int index = indexTripleMap.get(v, vt, vn);
+            if (index == -1)
+            {
+                index = addOutputVertex(v, vt, vn);
+                indexTripleMap.put(v, vt, vn, index);
+            }
+            faceIndices[i] = index;
+        }
+        for (int i = 0; i < n - 2; i++)
+        {
+            activeIndices.add(faceIndices[0]);
+            activeIndices.add(faceIndices[i + 1]);
+            activeIndices.add(faceIndices[i + 2]);
+        }
+    }
+
+    /**
+     * Add an output vertex for the given indices, and return its index
+     * 
+     * @param v The vertex index
+     * @param vt The texture coordinate index, or -1
+     * @param vn The normal index, or -1
+     * @return The index of the output vertex
+     */
+    private int addOutputVertex(int v, int vt, int vn)
+    {
+        int index = numOutputVertices;
+        outputVertices = ensureCapacity(outputVertices, index * 3 + 3);
+        outputTexCoords = ensureCapacity(outputTexCoords, index * 2 + 2);
+        outputNormals = ensureCapacity(outputNormals, index * 3 + 3);
+        System.arraycopy(vertices, v * 3, outputVertices, index * 3, 3);
+        if (vt != -1)
+        {
+            System.arraycopy(texCoords, vt * 2, outputTexCoords, index * 2, 2);
+        }
+        if (vn != -1)
+        {
+            System.arraycopy(normals, vn * 3, outputNormals, index * 3, 3);
+        }
+        numOutputVertices++;
+        return index;
+    }
+
+    /**
+     * Create the {@link ObjRenderData} from the faces that have been
+     * added until now
+     * 
+     * @return The {@link ObjRenderData}
+     */
+    ObjRenderData build()
+    {
+        FloatBuffer vertexBuffer = 
+            createBuffer(outputVertices, numOutputVertices * 3);
+        FloatBuffer texCoordBuffer = createBuffer(outputTexCoords, 
+            foundTexCoordIndices ? numOutputVertices * 2 : 0);
+        FloatBuffer normalBuffer = createBuffer(outputNormals, 
+            foundNormalIndices ? numOutputVertices * 3 : 0);
+
+        int numIndices = defaultIndices.size;
+        for (IndexList indices : materialGroupIndices.values())
+        {
+            numIndices += indices.size;
+        }
+        IntBuffer indexBuffer = ObjData.createDirectIntBuffer(numIndices);
+        List<ObjRenderData.MaterialGroupRange> ranges = 
+            new ArrayList<ObjRenderData.MaterialGroupRange>();
+        if (defaultIndices.size > 0)
+        {
+            ranges.add(new ObjRenderData.MaterialGroupRange(
+                null, indexBuffer.position(), defaultIndices.size));
+            indexBuffer.put(defaultIndices.indices, 0, defaultIndices.size);
+        }
+        for (Map.Entry<String, IndexList> entry : 
+            materialGroupIndices.entrySet())
+        {
+            IndexList indices = entry.getValue();
+            ranges.add(new ObjRenderData.MaterialGroupRange(
+                entry.getKey(), indexBuffer.position(), indices.size));
+            indexBuffer.put(indices.indices, 0, indices.size);
+        }
+        indexBuffer.position(0);
+        return new ObjRenderData(numOutputVertices, vertexBuffer, 
+            texCoordBuffer, normalBuffer, indexBuffer, ranges);
+    }
+
+    /**
+     * Create a direct buffer containing the given number of elements 
+     * of the given array
+     * 
+     * @param array The array
+     * @param size The size
+     * @return The buffer
+     */
+    private static FloatBuffer createBuffer(float[] array, int size)
+    {
+        FloatBuffer buffer = ObjData.createDirectFloatBuffer(size);
+        buffer.put(array, 0, size);
+        buffer.position(0);
+        return buffer;
+    }
+
+    /**
+     * Make sure that the given index is valid
+     * 
+     * @param index The index
+     * @param max The maximum index, exclusive
+     * @param name The name of the index set
+     * @throws IllegalArgumentException If the given index is not valid
+     */
+    private static void checkIndex(int index, int max, String name)
+    {
+        if (index < 0 || index >= max)
+        {
+            throw new IllegalArgumentException(
+                name + " index is " + index +
+                ", but must be between 0 and " + max);
+        }
+    }
+
+    /**
+     * Returns an array that contains the given array, and has at least
+     * the given size
+     * 
+     * @param array The array
+     * @param size The size
+     * @return The array
+     */
+    private static float[] ensureCapacity(float[] array, int size)
+    {
+        if (size <= array.length)
+        {
+            return array;
+        }
+        return Arrays.copyOf(array, Math.max(size, array.length * 2));
+    }
+
+    /**
+     * A growable list of indices
+     */
+    private static final class IndexList
+    {
+        /**
+         * The indices
+         */
+        int[] indices = new int[INITIAL_CAPACITY * 3];
+
+        /**
+         * The number of indices
+         */
+        int size = 0;
+
+        /**
+         * Add the given index to this list
+         * 
+         * @param index The index
+         */
+        void add(int index)
+        {
+            if (size == indices.length)
+            {
+                indices = Arrays.copyOf(indices, size * 2);
+            }
+            indices[size] = index;
+            size++;
+        }
+    }
+
+    /**
+     * An open-addressing hash map from triples of non-negative int 
+     * values (where the second and third value may also be -1) to
+     * non-negative int values
+     */
+    private static final class IndexTripleMap
+    {
+        /**
+         * The keys, 3 per slot
+         */
+        private int[] keys = new int[INITIAL_CAPACITY * 3];
+
+        /**
+         * The values, 1 per slot. A value of -1 indicates an empty slot.
+         */
+        private int[] values = createEmptyValues(INITIAL_CAPACITY);
+
+        /**
+         * The number of entries
+         */
+        private int size = 0;
+
+        /**
+         * Returns the value for the given key, or -1 if there is no 
+         * value for the given key
+         * 
+         * @param a The first key value
+         * @param b The second key value
+         * @param c The third key value
+         * @return The value
+         */
+        int get(int a, int b, int c)
+        {
+            int mask = values.length - 1;
+            int slot = hash(a, b, c) & mask;
+            while (true)
+            {
+                int value = values[slot];
+                if (value == -1)
+                {
+                    return -1;
+                }
+                int k = slot * 3;
+                if (keys[k] == a && keys[k + 1] == b && keys[k + 2] == c)
+                {
+                    return value;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        /**
+         * Put the given value for the given key, which must not yet be
+         * contained in this map
+         * 
+         * @param a The first key value
+         * @param b The second key value
+         * @param c The third key value
+         * @param value The value
+         */
+        void put(int a, int b, int c, int value)
+        {
+            if ((size + 1) * 2 > values.length)
+            {
+                rehash(values.length * 2);
+            }
+            insert(a, b, c, value);
+            size++;
+        }
+
+        /**
+         * Insert the given entry into the first free slot
+         * 
+         * @param a The first key value
+         * @param b The second key value
+         * @param c The third key value
+         * @param value The value
+         */
+        private void insert(int a, int b, int c, int value)
+        {
+            int mask = values.length - 1;
+            int slot = hash(a, b, c) & mask;
+            while (values[slot] != -1)
+            {
+                slot = (slot + 1) & mask;
+            }
+            int k = slot * 3;
+            keys[k + 0] = a;
+            keys[k + 1] = b;
+            keys[k + 2] = c;
+            values[slot] = value;
+        }
+
+        /**
+         * Re-insert all entries into arrays with the given number of slots
+         * 
+         * @param numSlots The number of slots, a power of 2
+         */
+        private void rehash(int numSlots)
+        {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[numSlots * 3];
+            values = createEmptyValues(numSlots);
+            for (int i = 0; i < oldValues.length; i++)
+            {
+                if (oldValues[i] != -1)
+                {
+                    int k = i * 3;
+                    insert(oldKeys[k], oldKeys[k + 1], oldKeys[k + 2], 
+                        oldValues[i]);
+                }
+            }
+        }
+
+        /**
+         * Creates an array with the given size that is filled with -1
+         * 
+         * @param size The size
+         * @return The array
+         */
+        private static int[] createEmptyValues(int size)
+        {
+            int[] values = new int[size];
+            Arrays.fill(values, -1);
+            return values;
+        }
+
+        /**
+         * Computes the hash code of the given key
+         * 
+         * @param a The first key value
+         * @param b The second key value
+         * @param c The third key value
+         * @return The hash code
+         */
+        private static int hash(int a, int b, int c)
+        {
+            int h = a * 0x9E3779B1;
+            h = (h ^ b) * 0x85EBCA6B;
+            h = (h ^ c) * 0xC2B2AE35;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Interface for classes that provide access to OBJ and MTL files by 
+ * their name, and the executor that they should be read with. An 
+ * instance of this interface is used by the {@link ObjSceneLoader}.
+ */
+public interface ObjResourceResolver
+{
+    /**
+     * Open a stream for the resource with the given name. This is 
+     * either the name of the OBJ file that is loaded, or the name of
+     * an MTL file, as it appears in the <code>mtllib</code> statement
+     * of the OBJ file. The caller is responsible for closing the 
+     * returned stream.
+     * 
+     * @param name The name of the resource
+     * @return The input stream
+     * @throws IOException If the resource can not be opened
+     */
+    InputStream open(String name) throws IOException;
+    
+    /**
+     * Returns the executor that the resources should be read with.
+     * The default implementation returns the common 
+     * <code>ForkJoinPool</code>.
+     * 
+     * @return The executor
+     */
+    default Executor getExecutor()
+    {
+        return ForkJoinPool.commonPool();
+    }
+    
+    /**
+     * Creates a new resolver that resolves the names against the given
+     * directory, and reads the resources with the common 
+     * <code>ForkJoinPool</code>
+     * 
+     * @param directory The directory
+     * @return The resolver
+     */
+    static ObjResourceResolver forDirectory(Path directory)
+    {
+        return forDirectory(directory, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new resolver that resolves the names against the given
+     * directory, and reads the resources with the given executor
+     * 
+     * @param directory The directory
+     * @param executor The executor
+     * @return The resolver
+     */
+    static ObjResourceResolver forDirectory(
+        Path directory, Executor executor)
+    {
+        Objects.requireNonNull(directory, "The directory is null");
+        Objects.requireNonNull(executor, "The executor is null");
+        return new ObjResourceResolver()
+        {
+            @Override
+            public InputStream open(String name) throws IOException
+            {
+                return Files.newInputStream(directory.resolve(name));
+            }
+            
+            @Override
+            public Executor getExecutor()
+            {
+                return executor;
+            }
+        };
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.obj;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Methods for computing {@link ObjStatistics} from OBJ data.<br>
+ * <br>
+ * The data is parsed in the same way as it is done by the 
+ * {@link ObjReader}, but the elements are only counted, and not stored. 
+ * The memory that is required for scanning the input therefore does not 
+ * depend on the size of the input, but only on the number of different 
+ * group, material group and MTL file names. The resulting numbers may 
+ * be used to allocate an {@link Obj} with the right capacity, as in
+ * <pre><code>
+ * ObjStatistics statistics = ObjScanner.scanParallel(fileChannel);
+ * Obj obj = ObjReader.readParallel(fileChannel.position(0), 
+ *     Objs.createPacked(statistics));
+ * </code></pre>
+ */
+public class ObjScanner
+{
+    /**
+     * The size of the buffer that is used for reading from streams
+     */
+    private static final int STREAM_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The maximum size of a segment of a file that is mapped into memory
+     */
+    private static final long MAX_SEGMENT_SIZE = 1L << 30;
+
+    /**
+     * Compute the {@link ObjStatistics} for the OBJ data from the given 
+     * stream. The caller is responsible for closing the given stream.
+     * <br>
+     * <br>
+     * If the stream contains GZIP compressed data, then it will be 
+     * decompressed, as described in {@link ObjReader#read(InputStream)}.
+     * 
+     * @param inputStream The stream to read from
+     * @return The {@link ObjStatistics}
+     * @throws IOException If an IO error occurs
+     */
+    public static ObjStatistics scan(InputStream inputStream) 
+        throws IOException
+    {
+        InputStream input = InflatingInputStream.open(inputStream);
+        try
+        {
+            ObjStatistics.Builder builder = new ObjStatistics.Builder();
+            ObjByteParser parser = new ObjByteParser(builder);
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+            while (true)
+            {
+                int read = input.read(buffer);
+                if (read < 0)
+                {
+                    break;
+                }
+                parser.parse(ByteBuffer.wrap(buffer, 0, read));
+            }
+            parser.finish();
+            return builder.build();
+        }
+        finally
+        {
+            if (input instanceof InflatingInputStream)
+            {
+                input.close();
+            }
+        }
+    }
+
+    /**
+     * Compute the {@link ObjStatistics} for the OBJ data between the 
+     * position and the limit of the given buffer. The position and 
+     * limit of the given buffer will not be modified.
+     * 
+     * @param byteBuffer The buffer
+     * @return The {@link ObjStatistics}
+     * @throws IOException If the data can not be parsed
+     */
+    public static ObjStatistics scan(ByteBuffer byteBuffer) 
+        throws IOException
+    {
+        ObjStatistics.Builder builder = new ObjStatistics.Builder();
+        ObjByteParser parser = new ObjByteParser(builder);
+        parser.parse(byteBuffer.duplicate());
+        parser.finish();
+        return builder.build();
+    }
+
+    /**
+     * Compute the {@link ObjStatistics} for the OBJ data between the 
+     * position and the limit of the given buffer in parallel. The 
+     * position and limit of the given buffer will not be modified.<br>
+     * <br>
+     * The input is divided into line-aligned chunks that are scanned 
+     * in parallel, in the same way as it is done by 
+     * {@link ObjReader#readParallel(ByteBuffer, WritableObj)}.
+     * 
+     * @param byteBuffer The buffer
+     * @return The {@link ObjStatistics}
+     * @throws IOException If the data can not be parsed
+     */
+    public static ObjStatistics scanParallel(ByteBuffer byteBuffer) 
+        throws IOException
+    {
+        ObjStatistics.Builder builder = new ObjStatistics.Builder();
+        scanParallel(byteBuffer, byteBuffer.position(), byteBuffer.limit(),
+            builder);
+        return builder.build();
+    }
+
+    /**
+     * Compute the {@link ObjStatistics} for the OBJ data from the given 
+     * file channel in parallel, starting at the current position of 
+     * the channel. The caller is responsible for closing the given 
+     * channel. The position of the channel will not be modified.<br>
+     * <br>
+     * The file is mapped into memory in segments, which are scanned as
+     * described in {@link #scanParallel(ByteBuffer)}.
+     * 
+     * @param fileChannel The channel to read from
+     * @return The {@link ObjStatistics}
+     * @throws IOException If an IO error occurs
+     */
+    public static ObjStatistics scanParallel(FileChannel fileChannel) 
+        throws IOException
+    {
+        ObjStatistics.Builder builder = new ObjStatistics.Builder();
+        long position = fileChannel.position();
+        long size = fileChannel.size();
+        while (position < size)
+        {
+            long segmentSize = Math.min(size - position, MAX_SEGMENT_SIZE);
+            ByteBuffer segment = fileChannel.map(
+                FileChannel.MapMode.READ_ONLY, position, segmentSize);
+            int length = (int)segmentSize;
+            if (position + segmentSize < size)
+            {
+                // Segments that are not the last one have to end at 
+                // the end of a line
+                length = ObjParallelReader.findLastBoundary(
+                    segment, 0, length);
+                if (length == 0)
+                {
+                    throw new IOException(
+                        "No line end found in segment at " + position);
+                }
+            }
+            scanParallel(segment, 0, length, builder);
+            position += length;
+        }
+        return builder.build();
+    }
+
+    /**
+     * Scan the specified range of the given buffer in parallel, and 
+     * append the results to the given builder
+     * 
+     * @param buffer The buffer
+     * @param start The start of the range, inclusive
+     * @param end The end of the range, exclusive. If this is not the
+     * end of the input, then this must be a position that was returned
+     * by {@link ObjParallelReader#findLastBoundary}.
+     * @param builder The builder
+     * @throws IOException If the data can not be parsed
+     */
+    private static void scanParallel(ByteBuffer buffer, int start, int end,
+        ObjStatistics.Builder builder) throws IOException
+    {
+        List<Integer> boundaries = ObjParallelReader.computeBoundaries(
+            buffer, start, end, ObjParallelReader.DEFAULT_MIN_CHUNK_SIZE);
+        int numChunks = boundaries.size() - 1;
+        List<ObjStatistics.Builder> builders = 
+            new ArrayList<ObjStatistics.Builder>(numChunks);
+        List<RecursiveAction> tasks = 
+            new ArrayList<RecursiveAction>(numChunks);
+        for (int i = 0; i < numChunks; i++)
+        {
+            ObjStatistics.Builder chunkBuilder = new ObjStatistics.Builder();
+            builders.add(chunkBuilder);
+            ByteBuffer part = buffer.duplicate();
+            part.limit(boundaries.get(i + 1));
+            part.position(boundaries.get(i));
+            tasks.add(new RecursiveAction()
+            {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute()
+                {
+                    try
+                    {
+                        ObjByteParser parser = new ObjByteParser(chunkBuilder);
+                        parser.parse(part);
+                        parser.finish();
+                    }
+                    catch (IOException e)
+                    {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        }
+        ObjParallelReader.invokeAll(tasks);
+        for (ObjStatistics.Builder chunkBuilder : builders)
+        {
+            builder.append(chunkBuilder);
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ObjScanner()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link Obj} together with the {@link Mtl} objects that have been
+ * read from the MTL files that it refers to. Instances of this class 
+ * are created by the {@link ObjSceneLoader}.
+ */
+public final class ObjScene
+{
+    /**
+     * The {@link Obj}
+     */
+    private final Obj obj;
+    
+    /**
+     * The names of all MTL files
+     */
+    private final List<String> mtlFileNames;
+    
+    /**
+     * The {@link Mtl} objects
+     */
+    private final List<Mtl> mtls;
+
+    /**
+     * Creates a new scene
+     * 
+     * @param obj The {@link Obj}
+     * @param mtlFileNames The names of all MTL files
+     * @param mtls The {@link Mtl} objects
+     */
+    ObjScene(Obj obj, List<String> mtlFileNames, List<Mtl> mtls)
+    {
+        this.obj = obj;
+        this.mtlFileNames = Collections.unmodifiableList(
+            new ArrayList<String>(mtlFileNames));
+        this.mtls = Collections.unmodifiableList(new ArrayList<Mtl>(mtls));
+    }
+    
+    /**
+     * Returns the {@link Obj}
+     * 
+     * @return The {@link Obj}
+     */
+    public Obj getObj()
+    {
+        return obj;
+    }
+    
+    /**
+     * Returns an unmodifiable list containing the names of all MTL files 
+     * that have been referred to with <code>mtllib</code> statements
+     * in the OBJ file, in the order of their first appearance. Note 
+     * that the {@link Obj#getMtlFileNames()} only contain the names
+     * of the last <code>mtllib</code> statement.
+     * 
+     * @return The MTL file names
+     */
+    public List<String> getMtlFileNames()
+    {
+        return mtlFileNames;
+    }
+    
+    /**
+     * Returns an unmodifiable list containing the {@link Mtl} objects
+     * from all MTL files, in the order of the 
+     * {@link #getMtlFileNames() MTL file names}
+     * 
+     * @return The {@link Mtl} objects
+     */
+    public List<Mtl> getMtls()
+    {
+        return mtls;
+    }
+    
+    /**
+     * Returns the first {@link Mtl} with the given name, or 
+     * <code>null</code> if there is no such {@link Mtl}
+     * 
+     * @param name The name
+     * @return The {@link Mtl}
+     */
+    public Mtl getMtl(String name)
+    {
+        for (Mtl mtl : mtls)
+        {
+            if (mtl.getName().equals(name))
+            {
+                return mtl;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Methods for loading an {@link ObjScene} asynchronously.<br>
+ * <br>
+ * The OBJ file is read with the executor of an 
+ * {@link ObjResourceResolver}. As soon as a <code>mtllib</code> 
+ * statement has been read, reading the respective MTL file is started 
+ * with the same executor, so that the MTL files are read while the 
+ * geometry is still being read.
+ */
+public class ObjSceneLoader
+{
+    /**
+     * Load the OBJ file with the given name, and all MTL files that it
+     * refers to, using the given {@link ObjResourceResolver}.<br>
+     * <br>
+     * The returned future will be completed exceptionally when the OBJ
+     * file or one of the MTL files can not be read. In this case, the 
+     * cause of the <code>ExecutionException</code> that is thrown by
+     * <code>get</code> will be the original exception. When the 
+     * <code>IOException</code> was caused by an MTL file, its message 
+     * will contain the name of the file.
+     * 
+     * @param objName The name of the OBJ file
+     * @param resolver The {@link ObjResourceResolver}
+     * @return The future that is completed with the {@link ObjScene}
+     * @throws NullPointerException If any argument is <code>null</code>
+     */
+    public static CompletableFuture<ObjScene> loadAsync(
+        String objName, ObjResourceResolver resolver)
+    {
+        Objects.requireNonNull(objName, "The objName is null");
+        Objects.requireNonNull(resolver, "The resolver is null");
+        Executor executor = resolver.getExecutor();
+        return CompletableFuture.supplyAsync(() -> 
+        {
+            Obj obj = Objs.create();
+            MtlLoadingWritableObj output = 
+                new MtlLoadingWritableObj(obj, resolver);
+            try (InputStream inputStream = resolver.open(objName))
+            {
+                ObjReader.read(inputStream, output);
+            }
+            catch (IOException e)
+            {
+                throw new CompletionException(e);
+            }
+            return output;
+        }, executor).thenCompose(output -> output.createScene());
+    }
+    
+    /**
+     * Read the MTL file with the given name, using the given resolver
+     * 
+     * @param resolver The {@link ObjResourceResolver}
+     * @param mtlFileName The name of the MTL file
+     * @return The {@link Mtl} objects
+     * @throws CompletionException If an IO error occurs
+     */
+    private static List<Mtl> readMtl(
+        ObjResourceResolver resolver, String mtlFileName)
+    {
+        try (InputStream inputStream = resolver.open(mtlFileName))
+        {
+            return MtlReader.read(inputStream);
+        }
+        catch (IOException e)
+        {
+            throw new CompletionException(new IOException(
+                "Could not read MTL file " + mtlFileName + ": " + 
+                e.getMessage(), e));
+        }
+    }
+    
+    /**
+     * Implementation of a {@link WritableObj} that passes all elements
+     * to an {@link Obj}, and starts reading the MTL files when their 
+     * names are passed to {@link #setMtlFileNames(Collection)}
+     */
+    private static final class MtlLoadingWritableObj 
+        extends ForwardingWritableObj
+    {
+        /**
+         * The {@link Obj}
+         */
+        private final Obj obj;
+        
+        /**
+         * The {@link ObjResourceResolver}
+         */
+        private final ObjResourceResolver resolver;
+        
+        /**
+         * The futures for the MTL files, in the order in which their 
+         * names appeared
+         */
+        private final Map<String, CompletableFuture<List<Mtl>>> mtlFutures;
+        
+        /**
+         * Creates a new instance
+         * 
+         * @param obj The {@link Obj}
+         * @param resolver The {@link ObjResourceResolver}
+         */
+        MtlLoadingWritableObj(Obj obj, ObjResourceResolver resolver)
+        {
+            super(obj);
+            this.obj = obj;
+            this.resolver = resolver;
+            this.mtlFutures = 
+                new LinkedHashMap<String, CompletableFuture<List<Mtl>>>();
+        }
+        
+        @Override
+        public void setMtlFileNames(Collection<? extends String> mtlFileNames)
+        {
+            super.setMtlFileNames(mtlFileNames);
+            for (String mtlFileName : mtlFileNames)
+            {
+                if (!mtlFutures.containsKey(mtlFileName))
+                {
+                    mtlFutures.put(mtlFileName, 
+                        CompletableFuture.supplyAsync(
+                            () -> readMtl(resolver, mtlFileName), 
+                            resolver.getExecutor()));
+                }
+            }
+        }
+        
+        /**
+         * Returns a future that is completed with the {@link ObjScene}
+         * when all MTL files have been read
+         * 
+         * @return The future
+         */
+        CompletableFuture<ObjScene> createScene()
+        {
+            List<CompletableFuture<List<Mtl>>> futures = 
+                new ArrayList<CompletableFuture<List<Mtl>>>(
+                    mtlFutures.values());
+            CompletableFuture<Void> all = CompletableFuture.allOf(
+                futures.toArray(new CompletableFuture<?>[0]));
+            return all.thenApply(v -> 
+            {
+                List<Mtl> mtls = new ArrayList<Mtl>();
+                for (CompletableFuture<List<Mtl>> future : futures)
+                {
+                    mtls.addAll(future.join());
+                }
+                return new ObjScene(obj, 
+                    new ArrayList<String>(mtlFutures.keySet()), mtls);
+            });
+        }
+    }
+    
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ObjSceneLoader()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -0,0 +1,495 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Methods for writing a {@link ReadableObj} as a binary snapshot, and 
+ * for reading such a snapshot.<br>
+ * <br>
+ * A snapshot contains all information of a {@link ReadableObj}: The 
+ * vertices, texture coordinates and normals, the faces, the groups and
+ * material groups, the information about which groups are activated 
+ * with which face, and the names of the MTL files. The data is stored 
+ * in a form that allows accessing it directly, without parsing. A 
+ * snapshot may therefore be {@link #read(Path) read} by mapping it into 
+ * memory, and the resulting {@link ReadableObj} will read its data from 
+ * the mapped memory when it is accessed.<br>
+ * <br>
+ * The format of a snapshot is not specified, and may change between
+ * versions of this library. Snapshots should only be used as a cache 
+ * for data that may be recreated from the original OBJ file, for example
+ * with an {@link ObjCache}.
+ */
+public class ObjSnapshots
+{
+    /**
+     * The magic header of a snapshot: "OBJS"
+     */
+    static final int MAGIC = 0x4F424A53;
+
+    /**
+     * The version of the snapshot format
+     */
+    static final int VERSION = 1;
+
+    /**
+     * The flag in the header indicating that the snapshot contains
+     * texture coordinate indices
+     */
+    static final int FLAG_TEX_COORD_INDICES = 1;
+
+    /**
+     * The flag in the header indicating that the snapshot contains
+     * normal indices
+     */
+    static final int FLAG_NORMAL_INDICES = 2;
+
+    /**
+     * Write the given {@link ReadableObj} as a snapshot to the given 
+     * stream. The caller is responsible for closing the stream.
+     * 
+     * @param input The {@link ReadableObj}
+     * @param outputStream The stream to write to
+     * @throws IOException If an IO error occurs
+     */
+    public static void write(ReadableObj input, OutputStream outputStream)
+        throws IOException
+    {
+        DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(outputStream));
+
+        int numFaces = input.getNumFaces();
+        int numIndices = 0;
+        int flags = 0;
+        for (int i = 0; i < numFaces; i++)
+        {
+            ObjFace face = input.getFace(i);
+            numIndices += face.getNumVertices();
+            if (face.containsTexCoordIndices())
+            {
+                flags |= FLAG_TEX_COORD_INDICES;
+            }
+            if (face.containsNormalIndices())
+            {
+                flags |= FLAG_NORMAL_INDICES;
+            }
+        }
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(numFaces);
+        out.writeInt(numIndices);
+        out.writeInt(flags);
+
+        writeTuples(out, input.getNumVertices(), input::getVertex);
+        writeTuples(out, input.getNumTexCoords(), input::getTexCoord);
+        writeTuples(out, input.getNumNormals(), input::getNormal);
+
+        writeFaces(out, input, numIndices, flags);
+
+        Map<ObjFace, Integer> faceIndices = new HashMap<ObjFace, Integer>();
+        for (int i = 0; i < numFaces; i++)
+        {
+            faceIndices.put(input.getFace(i), i);
+        }
+        out.writeInt(input.getNumGroups());
+        for (int i = 0; i < input.getNumGroups(); i++)
+        {
+            writeGroup(out, input.getGroup(i), faceIndices);
+        }
+        out.writeInt(input.getNumMaterialGroups());
+        for (int i = 0; i < input.getNumMaterialGroups(); i++)
+        {
+            writeGroup(out, input.getMaterialGroup(i), faceIndices);
+        }
+
+        writeActivations(out, input);
+        
+        List<String> mtlFileNames = input.getMtlFileNames();
+        writeStrings(out, mtlFileNames);
+        out.flush();
+    }
+
+    /**
+     * Interface for a function that returns a tuple for an index
+     */
+    private interface TupleFunction
+    {
+        /**
+         * Returns the tuple for the given index
+         * 
+         * @param index The index
+         * @return The tuple
+         */
+        FloatTuple get(int index);
+    }
+
+    /**
+     * Write the given tuples. This writes the number of tuples and their
+     * number of dimensions (or -1 if they have different numbers of 
+     * dimensions). For different numbers of dimensions, the dimensions 
+     * and the offsets of all tuples are written. Finally, the number 
+     * of values and the values are written.
+     * 
+     * @param out The output
+     * @param n The number of tuples
+     * @param tuples The function providing the tuples
+     * @throws IOException If an IO error occurs
+     */
+    private static void writeTuples(
+        DataOutputStream out, int n, TupleFunction tuples) 
+        throws IOException
+    {
+        int uniformDimensions = 0;
+        int numValues = 0;
+        for (int i = 0; i < n; i++)
+        {
+            int d = tuples.get(i).getDimensions();
+            if (i == 0)
+            {
+                uniformDimensions = d;
+            }
+            else if (d != uniformDimensions)
+            {
+                uniformDimensions = -1;
+            }
+            numValues += d;
+        }
+        out.writeInt(n);
+        out.writeInt(uniformDimensions);
+        if (uniformDimensions == -1)
+        {
+            for (int i = 0; i < n; i++)
+            {
+                out.writeByte(tuples.get(i).getDimensions());
+            }
+            int offset = 0;
+            for (int i = 0; i < n; i++)
+            {
+                out.writeInt(offset);
+                offset += tuples.get(i).getDimensions();
+            }
+        }
+        out.writeInt(numValues);
+        for (int i = 0; i < n; i++)
+        {
+            FloatTuple tuple = tuples.get(i);
+            for (int j = 0; j < tuple.getDimensions(); j++)
+            {
+                out.writeFloat(tuple.get(j));
+            }
+        }
+    }
+
+    /**
+     * Write the faces of the given {@link ReadableObj}. This writes the 
+     * offsets of the indices of all faces, the flags of all faces, and
+     * the vertex, texture coordinate and normal indices. Texture 
+     * coordinate and normal indices are only written when they are
+     * indicated by the given flags, and are written as -1 for faces 
+     * that do not contain them.
+     * 
+     * @param out The output
+     * @param input The {@link ReadableObj}
+     * @param numIndices The total number of indices
+     * @param flags The flags
+     * @throws IOException If an IO error occurs
+     */
+    private static void writeFaces(DataOutputStream out, 
+        ReadableObj input, int numIndices, int flags) throws IOException
+    {
+        int numFaces = input.getNumFaces();
+        int offset = 0;
+        out.writeInt(offset);
+        for (int i = 0; i < numFaces; i++)
+        {
+            offset += input.getFace(i).getNumVertices();
+            out.writeInt(offset);
+        }
+        for (int i = 0; i < numFaces; i++)
+        {
+            ObjFace face = input.getFace(i);
+            int faceFlags = 0;
+            if (face.containsTexCoordIndices())
+            {
+                faceFlags |= FLAG_TEX_COORD_INDICES;
+            }
+            if (face.containsNormalIndices())
+            {
+                faceFlags |= FLAG_NORMAL_INDICES;
+            }
+            out.writeByte(faceFlags);
+        }
+        for (int i = 0; i < numFaces; i++)
+        {
+            ObjFace face = input.getFace(i);
+            for (int j = 0; j < face.getNumVertices(); j++)
+            {
+                out.writeInt(face.getVertexIndex(j));
+            }
+        }
+        if ((flags & FLAG_TEX_COORD_INDICES) != 0)
+        {
+            for (int i = 0; i < numFaces; i++)
+            {
+                ObjFace face = input.getFace(i);
+                boolean contained = face.containsTexCoordIndices();
+                for (int j = 0; j < face.getNumVertices(); j++)
+                {
+                    out.writeInt(contained ? face.getTexCoordIndex(j) : -1);
+                }
+            }
+        }
+        if ((flags & FLAG_NORMAL_INDICES) != 0)
+        {
+            for (int i = 0; i < numFaces; i++)
+            {
+                ObjFace face = input.getFace(i);
+                boolean contained = face.containsNormalIndices();
+                for (int j = 0; j < face.getNumVertices(); j++)
+                {
+                    out.writeInt(contained ? face.getNormalIndex(j) : -1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the given group. This writes the name of the group, the
+     * number of faces, and the indices of the faces.
+     * 
+     * @param out The output
+     * @param group The group
+     * @param faceIndices The mapping from faces to their indices
+     * @throws IOException If an IO error occurs, or the group contains
+     * a face that is not contained in the faces
+     */
+    private static void writeGroup(DataOutputStream out, ObjGroup group, 
+        Map<ObjFace, Integer> faceIndices) throws IOException
+    {
+        writeString(out, group.getName());
+        out.writeInt(group.getNumFaces());
+        for (int i = 0; i < group.getNumFaces(); i++)
+        {
+            Integer faceIndex = faceIndices.get(group.getFace(i));
+            if (faceIndex == null)
+            {
+                throw new IOException("Group " + group.getName() + 
+                    " contains a face that is not part of the OBJ");
+            }
+            out.writeInt(faceIndex);
+        }
+    }
+
+    /**
+     * Write the information about the groups and material groups that 
+     * are activated with the faces of the given {@link ReadableObj}.
+     * 
+     * @param out The output
+     * @param input The {@link ReadableObj}
+     * @throws IOException If an IO error occurs
+     */
+    private static void writeActivations(
+        DataOutputStream out, ReadableObj input) throws IOException
+    {
+        int numFaces = input.getNumFaces();
+        int numGroupActivations = 0;
+        int numMaterialGroupActivations = 0;
+        for (int i = 0; i < numFaces; i++)
+        {
+            ObjFace face = input.getFace(i);
+            if (input.getActivatedGroupNames(face) != null)
+            {
+                numGroupActivations++;
+            }
+            if (input.getActivatedMaterialGroupName(face) != null)
+            {
+                numMaterialGroupActivations++;
+            }
+        }
+        out.writeInt(numGroupActivations);
+        for (int i = 0; i < numFaces; i++)
+        {
+            Set<String> names = 
+                input.getActivatedGroupNames(input.getFace(i));
+            if (names != null)
+            {
+                out.writeInt(i);
+                writeStrings(out, names);
+            }
+        }
+        out.writeInt(numMaterialGroupActivations);
+        for (int i = 0; i < numFaces; i++)
+        {
+            String name = 
+                input.getActivatedMaterialGroupName(input.getFace(i));
+            if (name != null)
+            {
+                out.writeInt(i);
+                writeString(out, name);
+            }
+        }
+    }
+
+    /**
+     * Write the number of the given strings, followed by the strings,
+     * as described in {@link #writeString(DataOutputStream, String)}
+     * 
+     * @param out The output
+     * @param strings The strings
+     * @throws IOException If an IO error occurs
+     */
+    private static void writeStrings(
+        DataOutputStream out, Collection<String> strings) throws IOException
+    {
+        out.writeInt(strings.size());
+        for (String string : strings)
+        {
+            writeString(out, string);
+        }
+    }
+
+    /**
+     * Write the given string, as the length of its UTF-8 representation, 
+     * followed by the UTF-8 bytes
+     * 
+     * @param out The output
+     * @param string The string
+     * @throws IOException If an IO error occurs
+     */
+    static void writeString(DataOutputStream out, String string) 
+        throws IOException
+    {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Read a string that was written with 
+     * {@link #writeString(DataOutputStream, String)}, starting at the 
+     * current position of the given buffer
+     * 
+     * @param buffer The buffer
+     * @return The string
+     * @throws IOException If the data is not valid
+     */
+    static String readString(ByteBuffer buffer) throws IOException
+    {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining())
+        {
+            throw new IOException("Invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Create a {@link ReadableObj} from the snapshot that is contained 
+     * in the given buffer.<br>
+     * <br>
+     * The snapshot is read starting at the position of the given buffer.
+     * The position of the buffer will not be modified. The resulting 
+     * {@link ReadableObj} only reads the names of the groups and the
+     * information about group activations when it is created. All other
+     * data is read from the given buffer when it is accessed, so the 
+     * contents of the buffer may not be modified afterwards.
+     * 
+     * @param byteBuffer The buffer
+     * @return The {@link ReadableObj}
+     * @throws IOException If the buffer does not contain a valid snapshot
+     */
+    public static ReadableObj read(ByteBuffer byteBuffer) throws IOException
+    {
+        return new SnapshotObj(byteBuffer.slice());
+    }
+
+    /**
+     * Create a {@link ReadableObj} from the snapshot file at the given 
+     * path. The file will be mapped into memory, and the resulting 
+     * {@link ReadableObj} will be created as described in 
+     * {@link #read(ByteBuffer)}. 
+     * 
+     * @param path The path to the snapshot file
+     * @return The {@link ReadableObj}
+     * @throws IOException If an IO error occurs, or the file does not 
+     * contain a valid snapshot
+     */
+    public static ReadableObj read(Path path) throws IOException
+    {
+        return read(map(path));
+    }
+
+    /**
+     * Map the file at the given path into memory
+     * 
+     * @param path The path
+     * @return The mapped buffer
+     * @throws IOException If an IO error occurs, or the file is larger 
+     * than 2 GB
+     */
+    static ByteBuffer map(Path path) throws IOException
+    {
+        try (FileChannel channel = 
+            FileChannel.open(path, StandardOpenOption.READ))
+        {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+            {
+                throw new IOException(
+                    "Snapshot files larger than 2 GB are not supported");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ObjSnapshots()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -0,0 +1,702 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.obj;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Summary information about OBJ data, as it is computed by the 
+ * {@link ObjScanner}.<br>
+ * <br>
+ * This contains the numbers of elements that would be created when 
+ * the data was read into an {@link Obj}, the names of the groups, 
+ * material groups and MTL files, and the bounding box of the vertices.
+ * These numbers may be used for allocating data structures with the 
+ * right size in advance, for example, with 
+ * {@link Objs#createPacked(ObjStatistics)}.
+ */
+public final class ObjStatistics
+{
+    /**
+     * The number of vertices
+     */
+    private final int numVertices;
+
+    /**
+     * The number of texture coordinates
+     */
+    private final int numTexCoords;
+
+    /**
+     * The number of normals
+     */
+    private final int numNormals;
+
+    /**
+     * The number of faces
+     */
+    private final int numFaces;
+
+    /**
+     * The number of triangles that would result from triangulating 
+     * all faces
+     */
+    private final long numTriangles;
+
+    /**
+     * The sum of the numbers of vertices of all faces
+     */
+    private final long numFaceVertices;
+
+    /**
+     * The maximum number of vertices of a face
+     */
+    private final int maxFaceVertices;
+
+    /**
+     * The total number of values of all vertices
+     */
+    private final long numVertexValues;
+
+    /**
+     * The total number of values of all texture coordinates
+     */
+    private final long numTexCoordValues;
+
+    /**
+     * The total number of values of all normals
+     */
+    private final long numNormalValues;
+
+    /**
+     * The number of faces that contain texture coordinate indices
+     */
+    private final int numFacesWithTexCoords;
+
+    /**
+     * The number of faces that contain normal indices
+     */
+    private final int numFacesWithNormals;
+
+    /**
+     * The group names
+     */
+    private final List<String> groupNames;
+
+    /**
+     * The material group names
+     */
+    private final List<String> materialGroupNames;
+
+    /**
+     * The MTL file names
+     */
+    private final List<String> mtlFileNames;
+
+    /**
+     * The minimum of the vertices, or <code>null</code>
+     */
+    private final FloatTuple minimum;
+
+    /**
+     * The maximum of the vertices, or <code>null</code>
+     */
+    private final FloatTuple maximum;
+
+    /**
+     * Creates new statistics from the given builder
+     * 
+     * @param b The builder
+     */
+    private ObjStatistics(Builder b)
+    {
+        this.numVertices = b.numVertices;
+        this.numTexCoords = b.numTexCoords;
+        this.numNormals = b.numNormals;
+        this.numFaces = b.numFaces;
+        this.numTriangles = b.numTriangles;
+        this.numFaceVertices = b.numFaceVertices;
+        this.maxFaceVertices = b.maxFaceVertices;
+        this.numVertexValues = b.numVertexValues;
+        this.numTexCoordValues = b.numTexCoordValues;
+        this.numNormalValues = b.numNormalValues;
+        this.numFacesWithTexCoords = b.numFacesWithTexCoords;
+        this.numFacesWithNormals = b.numFacesWithNormals;
+        Set<String> allGroupNames = new LinkedHashSet<String>();
+        if (b.foundDefaultGroupFaces)
+        {
+            allGroupNames.add(Builder.DEFAULT_GROUP_NAME);
+        }
+        allGroupNames.addAll(b.groupNames);
+        this.groupNames = Collections.unmodifiableList(
+            new ArrayList<String>(allGroupNames));
+        this.materialGroupNames = Collections.unmodifiableList(
+            new ArrayList<String>(b.materialGroupNames));
+        this.mtlFileNames = Collections.unmodifiableList(
+            new ArrayList<String>(b.mtlFileNames));
+        if (b.numVertices > 0)
+        {
+            this.minimum = FloatTuples.create(b.min[0], b.min[1], b.min[2]);
+            this.maximum = FloatTuples.create(b.max[0], b.max[1], b.max[2]);
+        }
+        else
+        {
+            this.minimum = null;
+            this.maximum = null;
+        }
+    }
+
+    /**
+     * Returns the number of vertices
+     * 
+     * @return The number of vertices
+     */
+    public int getNumVertices()
+    {
+        return numVertices;
+    }
+
+    /**
+     * Returns the number of texture coordinates
+     * 
+     * @return The number of texture coordinates
+     */
+    public int getNumTexCoords()
+    {
+        return numTexCoords;
+    }
+
+    /**
+     * Returns the number of normals
+     * 
+     * @return The number of normals
+     */
+    public int getNumNormals()
+    {
+        return numNormals;
+    }
+
+    /**
+     * Returns the number of faces
+     * 
+     * @return The number of faces
+     */
+    public int getNumFaces()
+    {
+        return numFaces;
+    }
+
+    /**
+     * Returns the number of triangles that would result from 
+     * triangulating all faces, as it is done by 
+     * {@link ObjUtils#triangulate(ReadableObj)}
+     * 
+     * @return The number of triangles
+     */
+    public long getNumTriangles()
+    {
+        return numTriangles;
+    }
+
+    /**
+     * Returns the sum of the numbers of vertices of all faces. This is
+     * the number of vertex indices that are stored for the faces.
+     * 
+     * @return The number of face vertices
+     */
+    public long getNumFaceVertices()
+    {
+        return numFaceVertices;
+    }
+
+    /**
+     * Returns the maximum number of vertices of a face, or 0 if there 
+     * are no faces
+     * 
+     * @return The maximum number of face vertices
+     */
+    public int getMaxFaceVertices()
+    {
+        return maxFaceVertices;
+    }
+
+    /**
+     * Returns an unmodifiable list containing the names of all groups 
+     * that faces have been added to, in the order in which they appeared
+     * in the input. If there are faces that appear before the first 
+     * group definition, then this list will start with the name 
+     * <code>"default"</code>.
+     * 
+     * @return The group names
+     */
+    public List<String> getGroupNames()
+    {
+        return groupNames;
+    }
+
+    /**
+     * Returns an unmodifiable list containing the names of all material 
+     * groups that faces have been added to, in the order in which they 
+     * appeared in the input
+     * 
+     * @return The material group names
+     */
+    public List<String> getMaterialGroupNames()
+    {
+        return materialGroupNames;
+    }
+
+    /**
+     * Returns an unmodifiable list containing the names of all MTL files
+     * that are referred to in the input, in the order in which they 
+     * appeared in the input
+     * 
+     * @return The MTL file names
+     */
+    public List<String> getMtlFileNames()
+    {
+        return mtlFileNames;
+    }
+
+    /**
+     * Returns the minimum of the x-, y- and z-coordinates of all 
+     * vertices, as a 3-dimensional tuple. Coordinates that are not 
+     * given for a vertex are assumed to be 0.0. If there are no 
+     * vertices, then <code>null</code> is returned.
+     * 
+     * @return The minimum
+     */
+    public FloatTuple getMinimum()
+    {
+        return minimum;
+    }
+
+    /**
+     * Returns the maximum of the x-, y- and z-coordinates of all 
+     * vertices, as a 3-dimensional tuple. Coordinates that are not 
+     * given for a vertex are assumed to be 0.0. If there are no 
+     * vertices, then <code>null</code> is returned.
+     * 
+     * @return The maximum
+     */
+    public FloatTuple getMaximum()
+    {
+        return maximum;
+    }
+
+    /**
+     * Returns the total number of values of all vertices
+     * 
+     * @return The number of vertex values
+     */
+    long getNumVertexValues()
+    {
+        return numVertexValues;
+    }
+
+    /**
+     * Returns the total number of values of all texture coordinates
+     * 
+     * @return The number of texture coordinate values
+     */
+    long getNumTexCoordValues()
+    {
+        return numTexCoordValues;
+    }
+
+    /**
+     * Returns the total number of values of all normals
+     * 
+     * @return The number of normal values
+     */
+    long getNumNormalValues()
+    {
+        return numNormalValues;
+    }
+
+    /**
+     * Returns the number of faces that contain texture coordinate indices
+     * 
+     * @return The number of faces
+     */
+    int getNumFacesWithTexCoords()
+    {
+        return numFacesWithTexCoords;
+    }
+
+    /**
+     * Returns the number of faces that contain normal indices
+     * 
+     * @return The number of faces
+     */
+    int getNumFacesWithNormals()
+    {
+        return numFacesWithNormals;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ObjStatistics[" + 
+            "numVertices=" + numVertices + "," +
+            "numTexCoords=" + numTexCoords + "," +
+            "numNormals=" + numNormals + "," +
+            "numFaces=" + numFaces + "," +
+            "numTriangles=" + numTriangles + "," +
+            "maxFaceVertices=" + maxFaceVertices + "," +
+            "groupNames=" + groupNames + "," +
+            "materialGroupNames=" + materialGroupNames + "," +
+            "mtlFileNames=" + mtlFileNames + "," +
+            "minimum=" + minimum + "," +
+            "maximum=" + maximum + "]";
+    }
+
+    /**
+     * Implementation of an {@link ObjByteParser.Handler} that only counts
+     * the elements, and collects the names, without storing the elements.
+     * The builders for consecutive parts of the input may be combined 
+     * with {@link #append(Builder)}.
+     */
+    static final class Builder implements ObjByteParser.Handler
+    {
+        /**
+         * The name of the group that faces are added to before the 
+         * first group definition
+         */
+        private static final String DEFAULT_GROUP_NAME = "default";
+
+        /**
+         * The number of vertices
+         */
+        private int numVertices;
+
+        /**
+         * The number of texture coordinates
+         */
+        private int numTexCoords;
+
+        /**
+         * The number of normals
+         */
+        private int numNormals;
+
+        /**
+         * The number of faces
+         */
+        private int numFaces;
+
+        /**
+         * The number of triangles
+         */
+        private long numTriangles;
+
+        /**
+         * The sum of the numbers of vertices of all faces
+         */
+        private long numFaceVertices;
+
+        /**
+         * The maximum number of vertices of a face
+         */
+        private int maxFaceVertices;
+
+        /**
+         * The total number of values of all vertices
+         */
+        private long numVertexValues;
+
+        /**
+         * The total number of values of all texture coordinates
+         */
+        private long numTexCoordValues;
+
+        /**
+         * The total number of values of all normals
+         */
+        private long numNormalValues;
+
+        /**
+         * The number of faces that contain texture coordinate indices
+         */
+        private int numFacesWithTexCoords;
+
+        /**
+         * The number of faces that contain normal indices
+         */
+        private int numFacesWithNormals;
+
+        /**
+         * The group names, in the order of their first use
+         */
+        private final Set<String> groupNames = new LinkedHashSet<String>();
+
+        /**
+         * The material group names, in the order of their first use
+         */
+        private final Set<String> materialGroupNames = 
+            new LinkedHashSet<String>();
+
+        /**
+         * The MTL file names, in the order of their appearance
+         */
+        private final Set<String> mtlFileNames = new LinkedHashSet<String>();
+
+        /**
+         * The minimum of the vertices
+         */
+        private final float[] min = { 
+            Float.POSITIVE_INFINITY, 
+            Float.POSITIVE_INFINITY, 
+            Float.POSITIVE_INFINITY };
+
+        /**
+         * The maximum of the vertices
+         */
+        private final float[] max = {
+            Float.NEGATIVE_INFINITY, 
+            Float.NEGATIVE_INFINITY, 
+            Float.NEGATIVE_INFINITY };
+
+        /**
+         * Whether a group definition was found
+         */
+        private boolean foundGroupNames = false;
+
+        /**
+         * Whether faces have been found before the first group definition
+         */
+        private boolean foundDefaultGroupFaces = false;
+
+        /**
+         * The currently active group names, or <code>null</code> if 
+         * they have not been added to the {@link #groupNames} yet
+         */
+        private List<String> pendingGroupNames = null;
+
+        /**
+         * The currently active material group name, or <code>null</code> 
+         * if it has not been added to the {@link #materialGroupNames} yet
+         */
+        private String pendingMaterialGroupName = null;
+
+        /**
+         * Whether a material group definition was found
+         */
+        private boolean foundMaterialGroupName = false;
+
+        /**
+         * Whether faces have been found before the first material group
+         * definition
+         */
+        private boolean foundFacesBeforeMaterialGroupName = false;
+
+        @Override
+        public void addVertex(
+            int dimensions, float x, float y, float z, float w)
+        {
+            numVertices++;
+            numVertexValues += dimensions;
+            include(0, x);
+            include(1, dimensions > 1 ? y : 0.0f);
+            include(2, dimensions > 2 ? z : 0.0f);
+        }
+
+        /**
+         * Include the given value in the bounds for the given dimension
+         * 
+         * @param d The dimension
+         * @param value The value
+         */
+        private void include(int d, float value)
+        {
+            min[d] = Math.min(min[d], value);
+            max[d] = Math.max(max[d], value);
+        }
+
+        @Override
+        public void addTexCoord(
+            int dimensions, float x, float y, float z, float w)
+        {
+            numTexCoords++;
+            numTexCoordValues += dimensions;
+        }
+
+        @Override
+        public void addNormal(
+            int dimensions, float x, float y, float z, float w)
+        {
+            numNormals++;
+            numNormalValues += dimensions;
+        }
+
+        @Override
+        public void addFace(int[] v, int[] vt, int[] vn, int count)
+        {
+            numFaces++;
+            numTriangles += Math.max(0, count - 2);
+            numFaceVertices += count;
+            maxFaceVertices = Math.max(maxFaceVertices, count);
+            if (vt != null)
+            {
+                numFacesWithTexCoords++;
+            }
+            if (vn != null)
+            {
+                numFacesWithNormals++;
+            }
+            if (!foundGroupNames)
+            {
+                foundDefaultGroupFaces = true;
+            }
+            if (!foundMaterialGroupName)
+            {
+                foundFacesBeforeMaterialGroupName = true;
+            }
+            if (pendingGroupNames != null)
+            {
+                groupNames.addAll(pendingGroupNames);
+                pendingGroupNames = null;
+            }
+            if (pendingMaterialGroupName != null)
+            {
+                materialGroupNames.add(pendingMaterialGroupName);
+                pendingMaterialGroupName = null;
+            }
+        }
+
+        @Override
+        public void setActiveGroupNames(List<String> groupNames)
+        {
+            foundGroupNames = true;
+            pendingGroupNames = groupNames;
+        }
+
+        @Override
+        public void setActiveMaterialGroupName(String materialGroupName)
+        {
+            foundMaterialGroupName = true;
+            pendingMaterialGroupName = materialGroupName;
+        }
+
+        @Override
+        public void setMtlFileNames(Collection<String> mtlFileNames)
+        {
+            this.mtlFileNames.addAll(mtlFileNames);
+        }
+        
+        /**
+         * Append the information from the given builder, which must have
+         * received the elements of the part of the input that immediately
+         * follows the part that was passed to this builder. 
+         * 
+         * @param other The other builder
+         */
+        void append(Builder other)
+        {
+            if (other.foundDefaultGroupFaces)
+            {
+                if (foundGroupNames)
+                {
+                    // The faces at the start of the other part belong
+                    // to the groups that are active at the end of this
+                    // part
+                    if (pendingGroupNames != null)
+                    {
+                        groupNames.addAll(pendingGroupNames);
+                        pendingGroupNames = null;
+                    }
+                }
+                else
+                {
+                    foundDefaultGroupFaces = true;
+                }
+            }
+            if (other.foundFacesBeforeMaterialGroupName)
+            {
+                if (foundMaterialGroupName)
+                {
+                    if (pendingMaterialGroupName != null)
+                    {
+                        materialGroupNames.add(pendingMaterialGroupName);
+                        pendingMaterialGroupName = null;
+                    }
+                }
+                else
+                {
+                    foundFacesBeforeMaterialGroupName = true;
+                }
+            }
+            
+            numVertices += other.numVertices;
+            numTexCoords += other.numTexCoords;
+            numNormals += other.numNormals;
+            numFaces += other.numFaces;
+            numTriangles += other.numTriangles;
+            numFaceVertices += other.numFaceVertices;
+            maxFaceVertices = Math.max(maxFaceVertices, other.maxFaceVertices);
+            numVertexValues += other.numVertexValues;
+            numTexCoordValues += other.numTexCoordValues;
+            numNormalValues += other.numNormalValues;
+            numFacesWithTexCoords += other.numFacesWithTexCoords;
+            numFacesWithNormals += other.numFacesWithNormals;
+            groupNames.addAll(other.groupNames);
+            materialGroupNames.addAll(other.materialGroupNames);
+            mtlFileNames.addAll(other.mtlFileNames);
+            for (int d = 0; d < 3; d++)
+            {
+                min[d] = Math.min(min[d], other.min[d]);
+                max[d] = Math.max(max[d], other.max[d]);
+            }
+            foundGroupNames |= other.foundGroupNames;
+            if (other.foundGroupNames)
+            {
+                pendingGroupNames = other.pendingGroupNames;
+            }
+            foundMaterialGroupName |= other.foundMaterialGroupName;
+            if (other.foundMaterialGroupName)
+            {
+                pendingMaterialGroupName = other.pendingMaterialGroupName;
+            }
+        }
+
+        /**
+         * Create the {@link ObjStatistics} from the current state of 
+         * this builder
+         * 
+         * @return The {@link ObjStatistics}
+         */
+        ObjStatistics build()
+        {
+            return new ObjStatistics(this);
+        }
+    }
+}
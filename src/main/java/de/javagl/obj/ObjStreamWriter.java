@@ -0,0 +1,525 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.obj;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Implementation of a {@link WritableObj} that writes the elements that 
+ * it receives directly as OBJ data, instead of storing them.<br>
+ * <br>
+ * This allows writing OBJ data with a constant amount of memory, for 
+ * example, when the data is generated procedurally, or when it is 
+ * re-written while it is read:
+ * <pre><code>
+ * try (ObjStreamWriter writer = new ObjStreamWriter(outputStream))
+ * {
+ *     ObjReader.read(inputStream, writer);
+ * }
+ * </code></pre>
+ * The vertices, texture coordinates, normals and faces are written in 
+ * the order in which they are received. The indices of the faces are 
+ * zero-based, as for all {@link WritableObj} implementations. The 
+ * <code>g</code> and <code>usemtl</code> lines are written before the 
+ * first face that is added after the active groups or material group 
+ * have been changed, and the <code>mtllib</code> line is written when 
+ * the MTL file names are set. When the elements are received in the 
+ * same order as they are written by the {@link ObjWriter}, then the 
+ * output is the same as that of the {@link ObjWriter}.<br>
+ * <br>
+ * The data is collected in an internal buffer. It is written to the 
+ * underlying stream when the buffer is full, when {@link #flush()} is 
+ * called, or when this writer is closed. Closing this writer does 
+ * <b>not</b> close the underlying stream. Since the methods of the 
+ * {@link WritableObj} interface can not throw checked exceptions, 
+ * IO errors that occur while the data is written will cause an
+ * <code>UncheckedIOException</code>.<br>
+ * <br>
+ * This class is not thread-safe.
+ */
+public final class ObjStreamWriter implements WritableObj, Flushable, Closeable
+{
+    /**
+     * The buffer that the data is written to
+     */
+    private final ObjOutputBuffer buffer;
+    
+    /**
+     * The precision for vertices
+     */
+    private final FloatPrecision vertexPrecision;
+    
+    /**
+     * The precision for texture coordinates
+     */
+    private final FloatPrecision texCoordPrecision;
+    
+    /**
+     * The precision for normals
+     */
+    private final FloatPrecision normalPrecision;
+    
+    /**
+     * The names of the groups that have been written in the last
+     * <code>g</code> line, or <code>null</code> if no group has been
+     * activated yet
+     */
+    private Set<String> activeGroupNames;
+    
+    /**
+     * The names of the groups that will become active with the next face
+     */
+    private Set<String> nextActiveGroupNames;
+    
+    /**
+     * The name of the material group that has been written in the last
+     * <code>usemtl</code> line
+     */
+    private String activeMaterialGroupName;
+    
+    /**
+     * The name of the material group that will become active with the 
+     * next face
+     */
+    private String nextActiveMaterialGroupName;
+    
+    /**
+     * Creates a new writer that writes to the given stream, using the
+     * default charset for group and material names. The caller is 
+     * responsible for closing the stream.
+     * 
+     * @param outputStream The stream to write to
+     */
+    public ObjStreamWriter(OutputStream outputStream)
+    {
+        this(outputStream, new ObjWriterOptions());
+    }
+    
+    /**
+     * Creates a new writer that writes to the given stream, using the
+     * default charset for group and material names, and the given 
+     * options. The caller is responsible for closing the stream.
+     * 
+     * @param outputStream The stream to write to
+     * @param options The {@link ObjWriterOptions}
+     */
+    public ObjStreamWriter(OutputStream outputStream, 
+        ObjWriterOptions options)
+    {
+        this(new ObjOutputBuffer(outputStream, Charset.defaultCharset()),
+            options);
+    }
+    
+    /**
+     * Creates a new writer that writes to the given writer. The caller 
+     * is responsible for closing the writer.
+     * 
+     * @param writer The writer to write to
+     */
+    public ObjStreamWriter(Writer writer)
+    {
+        this(writer, new ObjWriterOptions());
+    }
+    
+    /**
+     * Creates a new writer that writes to the given writer, using the 
+     * given options. The caller is responsible for closing the writer.
+     * 
+     * @param writer The writer to write to
+     * @param options The {@link ObjWriterOptions}
+     */
+    public ObjStreamWriter(Writer writer, ObjWriterOptions options)
+    {
+        this(new ObjOutputBuffer(writer), options);
+    }
+    
+    /**
+     * Creates a new writer that writes to the given buffer
+     * 
+     * @param buffer The buffer
+     * @param options The {@link ObjWriterOptions}
+     */
+    private ObjStreamWriter(ObjOutputBuffer buffer, ObjWriterOptions options)
+    {
+        this.buffer = buffer;
+        this.vertexPrecision = options.getVertexPrecision();
+        this.texCoordPrecision = options.getTexCoordPrecision();
+        this.normalPrecision = options.getNormalPrecision();
+    }
+    
+    @Override
+    public void addVertex(FloatTuple vertex)
+    {
+        try
+        {
+            ObjWriter.writeTuple(buffer, "v ", vertex, vertexPrecision);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void addVertex(float x, float y, float z)
+    {
+        writeTuple("v ", vertexPrecision, 3, x, y, z);
+    }
+
+    @Override
+    public void addTexCoord(FloatTuple texCoord)
+    {
+        try
+        {
+            ObjWriter.writeTuple(
+                buffer, "vt ", texCoord, texCoordPrecision);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void addTexCoord(float x)
+    {
+        writeTuple("vt ", texCoordPrecision, 1, x, 0.0f, 0.0f);
+    }
+
+    @Override
+    public void addTexCoord(float x, float y)
+    {
+        writeTuple("vt ", texCoordPrecision, 2, x, y, 0.0f);
+    }
+
+    @Override
+    public void addTexCoord(float x, float y, float z)
+    {
+        writeTuple("vt ", texCoordPrecision, 3, x, y, z);
+    }
+
+    @Override
+    public void addNormal(FloatTuple normal)
+    {
+        try
+        {
+            ObjWriter.writeTuple(buffer, "vn ", normal, normalPrecision);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void addNormal(float x, float y, float z)
+    {
+        writeTuple("vn ", normalPrecision, 3, x, y, z);
+    }
+
+    @Override
+    public void setActiveGroupNames(Collection<? extends String> groupNames)
+    {
+        if (groupNames == null)
+        {
+            return;
+        }
+        if (groupNames.size() == 0)
+        {
+            groupNames = Arrays.asList("default");
+        }
+        else if (groupNames.contains(null))
+        {
+            throw new NullPointerException("The groupNames contains null");
+        }
+        nextActiveGroupNames = 
+            Collections.unmodifiableSet(new LinkedHashSet<String>(groupNames));
+    }
+
+    @Override
+    public void setActiveMaterialGroupName(String materialGroupName)
+    {
+        if (materialGroupName == null)
+        {
+            return;
+        }
+        nextActiveMaterialGroupName = materialGroupName;
+    }
+
+    @Override
+    public void addFace(ObjFace face)
+    {
+        if (face == null)
+        {
+            throw new NullPointerException("The face is null");
+        }
+        try
+        {
+            writeActivations();
+            ObjWriter.writeFace(buffer, face);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void addFace(int... v)
+    {
+        addFace(v, null, null);
+    }
+
+    @Override
+    public void addFaceWithTexCoords(int... v)
+    {
+        addFace(v, v, null);
+    }
+
+    @Override
+    public void addFaceWithNormals(int... v)
+    {
+        addFace(v, null, v);
+    }
+
+    @Override
+    public void addFaceWithAll(int... v)
+    {
+        addFace(v, v, v);
+    }
+
+    @Override
+    public void addFace(int[] v, int[] vt, int[] vn)
+    {
+        if (v == null)
+        {
+            throw new NullPointerException("The vertex indices are null");
+        }
+        writeFace(v, vt, vn, 0, v.length);
+    }
+    
+    @Override
+    public void addFaces(int[] v, int[] vt, int[] vn, int[] faceSizes)
+    {
+        ObjFaces.checkFaceSizes(v, vt, vn, faceSizes);
+        int offset = 0;
+        for (int faceSize : faceSizes)
+        {
+            writeFace(v, vt, vn, offset, faceSize);
+            offset += faceSize;
+        }
+    }
+
+    @Override
+    public void setMtlFileNames(Collection<? extends String> mtlFileNames)
+    {
+        if (mtlFileNames.isEmpty())
+        {
+            return;
+        }
+        try
+        {
+            buffer.write("mtllib");
+            for (String mtlFileName : mtlFileNames)
+            {
+                buffer.write(' ');
+                buffer.write(mtlFileName);
+            }
+            buffer.write('\n');
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Write all data that is contained in the internal buffer to the
+     * underlying stream, and flush the stream.
+     * 
+     * @throws IOException If an IO error occurs
+     */
+    @Override
+    public void flush() throws IOException
+    {
+        buffer.flush();
+    }
+    
+    /**
+     * Write all data that is contained in the internal buffer to the
+     * underlying stream, and flush the stream. This does <b>not</b>
+     * close the underlying stream.
+     * 
+     * @throws IOException If an IO error occurs
+     */
+    @Override
+    public void close() throws IOException
+    {
+        buffer.flush();
+    }
+    
+    /**
+     * Write a line consisting of the given prefix and the given number
+     * of values, separated by spaces
+     * 
+     * @param prefix The prefix, including the trailing space
+     * @param precision The precision for the values
+     * @param dimensions The number of values to write
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @param z The z-coordinate
+     * @throws UncheckedIOException If an IO error occurs
+     */
+    private void writeTuple(String prefix, FloatPrecision precision, 
+        int dimensions, float x, float y, float z)
+    {
+        try
+        {
+            buffer.write(prefix);
+            buffer.writeFloat(x, precision);
+            if (dimensions > 1)
+            {
+                buffer.write(' ');
+                buffer.writeFloat(y, precision);
+            }
+            if (dimensions > 2)
+            {
+                buffer.write(' ');
+                buffer.writeFloat(z, precision);
+            }
+            buffer.write('\n');
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Write the <code>f</code> line for the face with the indices from 
+     * the specified range of the given arrays, preceded by the 
+     * <code>g</code> and <code>usemtl</code> lines if the active groups
+     * or material group have been changed. The texCoord indices and the
+     * normal indices may be <code>null</code>.
+     * 
+     * @param v The vertex indices
+     * @param vt The texCoord indices
+     * @param vn The normal indices
+     * @param offset The offset of the first index of the face
+     * @param count The number of vertices of the face
+     * @throws UncheckedIOException If an IO error occurs
+     */
+    private void writeFace(
+        int[] v, int[] vt, int[] vn, int offset, int count)
+    {
+        try
+        {
+            writeActivations();
+            buffer.write('f');
+            for (int i = offset; i < offset + count; i++)
+            {
+                buffer.write(' ');
+                buffer.writeInt(v[i] + 1);
+                if (vt != null || vn != null)
+                {
+                    buffer.write('/');
+                }
+                if (vt != null)
+                {
+                    buffer.writeInt(vt[i] + 1);
+                }
+                if (vn != null)
+                {
+                    buffer.write('/');
+                    buffer.writeInt(vn[i] + 1);
+                }
+            }
+            buffer.write('\n');
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Write the <code>g</code> and <code>usemtl</code> lines for the 
+     * groups and material group that become active with the next face, 
+     * if they differ from the currently active ones. As in the 
+     * {@link ObjWriter}, no <code>g</code> line is written if the first 
+     * activation is only an activation of the <code>"default"</code> 
+     * group.
+     * 
+     * @throws IOException If an IO error occurs
+     */
+    private void writeActivations() throws IOException
+    {
+        if (nextActiveGroupNames != null)
+        {
+            if (!nextActiveGroupNames.equals(activeGroupNames))
+            {
+                boolean isDefaultGroup = 
+                    nextActiveGroupNames.size() == 1 &&
+                    nextActiveGroupNames.contains("default");
+                if (activeGroupNames != null || !isDefaultGroup)
+                {
+                    buffer.write("g ");
+                    for (String groupName : nextActiveGroupNames)
+                    {
+                        buffer.write(groupName);
+                        buffer.write(' ');
+                    }
+                    buffer.write('\n');
+                }
+                activeGroupNames = nextActiveGroupNames;
+            }
+            nextActiveGroupNames = null;
+        }
+        if (nextActiveMaterialGroupName != null)
+        {
+            if (!nextActiveMaterialGroupName.equals(activeMaterialGroupName))
+            {
+                buffer.write("usemtl ");
+                buffer.write(nextActiveMaterialGroupName);
+                buffer.write('\n');
+                activeMaterialGroupName = nextActiveMaterialGroupName;
+            }
+            nextActiveMaterialGroupName = null;
+        }
+    }
+}
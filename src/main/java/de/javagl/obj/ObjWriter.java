@@ -1,150 +1,607 @@
-/*
- * www.javagl.de - Obj
- *
- * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
- * 
- * Permission is hereby granted, free of charge, to any person
- * obtaining a copy of this software and associated documentation
- * files (the "Software"), to deal in the Software without
- * restriction, including without limitation the rights to use,
- * copy, modify, merge, publish, distribute, sublicense, and/or sell
- * copies of the Software, and to permit persons to whom the
- * Software is furnished to do so, subject to the following
- * conditions:
- * 
- * The above copyright notice and this permission notice shall be
- * included in all copies or substantial portions of the Software.
- * 
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
- * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
- * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
- * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
- * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
- * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
- * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
- * OTHER DEALINGS IN THE SOFTWARE.
- */
-
-package de.javagl.obj;
-import java.io.IOException;
-import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
-import java.util.Collections;
-import java.util.List;
-import java.util.Set;
-
-/**
- * A class that may write an {@link ReadableObj} to a stream.
- */
-public class ObjWriter
-{
-    /**
-     * Writes the given {@link ReadableObj} to the given stream. The caller
-     * is responsible for closing the stream.
-     * 
-     * @param input The {@link ReadableObj} to write.
-     * @param outputStream The stream to write to.
-     * @throws IOException If an IO error occurs.
-     */
-    public static void write(ReadableObj input, OutputStream outputStream) 
-        throws IOException
-    {
-        OutputStreamWriter outputStreamWriter = 
-            new OutputStreamWriter(outputStream);
-        write(input, outputStreamWriter);
-    }
-    
-    /**
-     * Writes the given {@link ReadableObj} to the given writer. The caller
-     * is responsible for closing the writer.
-     * 
-     * @param input The {@link ReadableObj} to write.
-     * @param writer The writer to write to.
-     * @throws IOException If an IO error occurs.
-     */
-    public static void write(ReadableObj input, Writer writer) 
-        throws IOException
-    {
-        // Write the mtl file name
-        List<String> mtlFileNames = input.getMtlFileNames();
-        if (!mtlFileNames.isEmpty())
-        {
-            writer.write("mtllib ");
-            for (int i=0; i<mtlFileNames.size(); i++)
-            {
-                if (i > 0)
-                {
-                    writer.write(" ");
-                }
-                writer.write(mtlFileNames.get(i));
-            }
-            writer.write("\n");
-        }
-        
-        // Write the vertex- texture coordinate and normal data
-        for(int i = 0; i < input.getNumVertices(); i++)
-        {
-            FloatTuple vertex = input.getVertex(i);
-            writer.write(
-                "v "+FloatTuples.createString(vertex) + "\n");
-        }
-        for(int i = 0; i < input.getNumTexCoords(); i++)
-        {
-            FloatTuple texCoord = input.getTexCoord(i);
-            writer.write(
-                "vt "+FloatTuples.createString(texCoord) + "\n");
-        }
-        for(int i = 0; i < input.getNumNormals(); i++)
-        {
-            FloatTuple normal = input.getNormal(i);
-            writer.write(
-                "vn "+FloatTuples.createString(normal) + "\n");
-        }
-
-        boolean skipWritingDefaultGroup = true; 
-        for(int i = 0; i < input.getNumFaces(); i++)
-        {
-            ObjFace face = input.getFace(i);
-            
-            Set<String> activatedGroupNames = 
-                input.getActivatedGroupNames(face);
-            if (activatedGroupNames != null)
-            {
-                boolean isDefaultGroup = 
-                    activatedGroupNames.equals(
-                        Collections.singleton("default"));
-                if (!skipWritingDefaultGroup || !isDefaultGroup)
-                {
-                    writer.write("g ");
-                    for (String activatedGroupName : activatedGroupNames)
-                    {
-                        writer.write(activatedGroupName);
-                        writer.write(" ");
-                    }
-                    writer.write("\n");
-                }
-                skipWritingDefaultGroup = false;
-            }
-                
-            String activatedMaterialGroupName =
-                input.getActivatedMaterialGroupName(face);
-            if (activatedMaterialGroupName != null)
-            {
-                writer.write(
-                    "usemtl " + activatedMaterialGroupName + "\n");
-            }
-            String faceString = ObjFaces.createString(face);
-            writer.write(faceString + "\n");
-        }
-        writer.flush();
-    }
-    
-    /**
-     * Private constructor to prevent instantiation
-     */
-    private ObjWriter()
-    {
-        // Private constructor to prevent instantiation
-    }
-}
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+/**
+ * A class that may write an {@link ReadableObj} to a stream.<br>
+ * <br>
+ * The numbers are formatted directly into an internal buffer, which is 
+ * written to the stream, writer or channel in large blocks. The float 
+ * values are written with the shortest representation that yields the 
+ * original value when it is parsed again.
+ */
+public class ObjWriter
+{
+    /**
+     * Writes the given {@link ReadableObj} to the given stream. The caller
+     * is responsible for closing the stream.
+     * 
+     * @param input The {@link ReadableObj} to write.
+     * @param outputStream The stream to write to.
+     * @throws IOException If an IO error occurs.
+     */
+    public static void write(ReadableObj input, OutputStream outputStream) 
+        throws IOException
+    {
+        write(input, outputStream, new ObjWriterOptions());
+    }
+    
+    /**
+     * Writes the given {@link ReadableObj} to the given stream, using the
+     * given options. The caller is responsible for closing the stream.
+     * 
+     * @param input The {@link ReadableObj} to write.
+     * @param outputStream The stream to write to.
+     * @param options The {@link ObjWriterOptions}
+     * @throws IOException If an IO error occurs.
+     */
+    public static void write(ReadableObj input, OutputStream outputStream,
+        ObjWriterOptions options) throws IOException
+    {
+        ObjOutputBuffer buffer = 
+            new ObjOutputBuffer(outputStream, Charset.defaultCharset());
+        write(input, buffer, options);
+    }
+    
+    /**
+     * Writes the given {@link ReadableObj} to the given writer. The caller
+     * is responsible for closing the writer.
+     * 
+     * @param input The {@link ReadableObj} to write.
+     * @param writer The writer to write to.
+     * @throws IOException If an IO error occurs.
+     */
+    public static void write(ReadableObj input, Writer writer) 
+        throws IOException
+    {
+        write(input, writer, new ObjWriterOptions());
+    }
+    
+    /**
+     * Writes the given {@link ReadableObj} to the given writer, using the
+     * given options. The caller is responsible for closing the writer.
+     * 
+     * @param input The {@link ReadableObj} to write.
+     * @param writer The writer to write to.
+     * @param options The {@link ObjWriterOptions}
+     * @throws IOException If an IO error occurs.
+     */
+    public static void write(ReadableObj input, Writer writer, 
+        ObjWriterOptions options) throws IOException
+    {
+        ObjOutputBuffer buffer = new ObjOutputBuffer(writer);
+        write(input, buffer, options);
+    }
+    
+    /**
+     * Writes the given {@link ReadableObj} to the given stream, formatting
+     * the data in parallel. The caller is responsible for closing the 
+     * stream.<br>
+     * <br>
+     * The vertices, texture coordinates, normals and faces are divided 
+     * into ranges. Each range is formatted into a separate buffer by a 
+     * task in a <code>ForkJoinPool</code>, and the buffers are written 
+     * to the stream in their original order. The result is the same as 
+     * the result of {@link #write(ReadableObj, OutputStream)}.<br>
+     * <br>
+     * When this method is called from within a task that is executed in
+     * a <code>ForkJoinPool</code>, then the formatting tasks will be 
+     * executed in the same pool. Otherwise, they will be executed in the 
+     * common pool. The given {@link ReadableObj} must support concurrent
+     * read access. This is the case for all implementations that are 
+     * created with the {@link Objs} class, as long as they are not 
+     * modified while they are written.
+     * 
+     * @param input The {@link ReadableObj} to write.
+     * @param outputStream The stream to write to.
+     * @throws IOException If an IO error occurs.
+     */
+    public static void writeParallel(
+        ReadableObj input, OutputStream outputStream) 
+        throws IOException
+    {
+        writeParallel(input, outputStream, new ObjWriterOptions());
+    }
+    
+    /**
+     * Writes the given {@link ReadableObj} to the given stream, formatting
+     * the data in parallel, as described in 
+     * {@link #writeParallel(ReadableObj, OutputStream)}, and using the 
+     * given options. The caller is responsible for closing the stream.
+     * 
+     * @param input The {@link ReadableObj} to write.
+     * @param outputStream The stream to write to.
+     * @param options The {@link ObjWriterOptions}
+     * @throws IOException If an IO error occurs.
+     */
+    public static void writeParallel(ReadableObj input, 
+        OutputStream outputStream, ObjWriterOptions options) 
+        throws IOException
+    {
+        ObjOutputBuffer buffer = 
+            new ObjOutputBuffer(outputStream, Charset.defaultCharset());
+        ObjParallelWriter writer = new ObjParallelWriter(
+            ObjParallelWriter.DEFAULT_CHUNK_SIZE, options);
+        writer.write(input, buffer);
+        buffer.flush();
+    }
+    
+    /**
+     * Writes the given {@link ReadableObj} to the given stream, as GZIP
+     * compressed data. The caller is responsible for closing the 
+     * stream.<br>
+     * <br>
+     * The data is formatted as in 
+     * {@link #writeParallel(ReadableObj, OutputStream)}, and compressed 
+     * in independent blocks that are deflated in parallel. The result is
+     * a single, standard GZIP stream that can be read by 
+     * <code>java.util.zip.GZIPInputStream</code>, by the {@link ObjReader},
+     * or by any other GZIP implementation.
+     * 
+     * @param input The {@link ReadableObj} to write.
+     * @param outputStream The stream to write to.
+     * @throws IOException If an IO error occurs.
+     */
+    public static void writeGzip(
+        ReadableObj input, OutputStream outputStream) 
+        throws IOException
+    {
+        writeGzip(input, outputStream, new ObjWriterOptions());
+    }
+    
+    /**
+     * Writes the given {@link ReadableObj} to the given stream, as GZIP
+     * compressed data, as described in 
+     * {@link #writeGzip(ReadableObj, OutputStream)}, and using the given
+     * options. The caller is responsible for closing the stream.
+     * 
+     * @param input The {@link ReadableObj} to write.
+     * @param outputStream The stream to write to.
+     * @param options The {@link ObjWriterOptions}
+     * @throws IOException If an IO error occurs.
+     */
+    public static void writeGzip(ReadableObj input, 
+        OutputStream outputStream, ObjWriterOptions options) 
+        throws IOException
+    {
+        DeflatingOutputStream deflatingOutputStream = 
+            new DeflatingOutputStream(
+                outputStream, Deflater.DEFAULT_COMPRESSION);
+        writeParallel(input, deflatingOutputStream, options);
+        deflatingOutputStream.finish();
+    }
+    
+    /**
+     * Writes the given {@link ReadableObj} to the given channel. The 
+     * caller is responsible for closing the channel.<br>
+     * <br>
+     * The data is formatted into a large buffer that is passed to the 
+     * channel directly, without an intermediate stream.
+     * 
+     * @param input The {@link ReadableObj} to write.
+     * @param channel The channel to write to.
+     * @throws IOException If an IO error occurs.
+     */
+    public static void write(ReadableObj input, WritableByteChannel channel) 
+        throws IOException
+    {
+        write(input, channel, new ObjWriterOptions());
+    }
+    
+    /**
+     * Writes the given {@link ReadableObj} to the given channel, as 
+     * described in {@link #write(ReadableObj, WritableByteChannel)}, and
+     * using the given options. The caller is responsible for closing the 
+     * channel.
+     * 
+     * @param input The {@link ReadableObj} to write.
+     * @param channel The channel to write to.
+     * @param options The {@link ObjWriterOptions}
+     * @throws IOException If an IO error occurs.
+     */
+    public static void write(ReadableObj input, WritableByteChannel channel,
+        ObjWriterOptions options) throws IOException
+    {
+        ObjOutputBuffer buffer = 
+            new ObjOutputBuffer(channel, Charset.defaultCharset());
+        write(input, buffer, options);
+    }
+    
+    /**
+     * Writes the given {@link ReadableObj} to the given channel, 
+     * formatting the data in parallel, as described in 
+     * {@link #writeParallel(ReadableObj, OutputStream)}. The caller is 
+     * responsible for closing the channel.<br>
+     * <br>
+     * If the channel is a <code>GatheringByteChannel</code>, like a 
+     * <code>FileChannel</code>, then the buffers that have been formatted
+     * in parallel are written to the channel with gathering writes.
+     * 
+     * @param input The {@link ReadableObj} to write.
+     * @param channel The channel to write to.
+     * @throws IOException If an IO error occurs.
+     */
+    public static void writeParallel(
+        ReadableObj input, WritableByteChannel channel) 
+        throws IOException
+    {
+        writeParallel(input, channel, new ObjWriterOptions());
+    }
+    
+    /**
+     * Writes the given {@link ReadableObj} to the given channel, 
+     * formatting the data in parallel, as described in 
+     * {@link #writeParallel(ReadableObj, WritableByteChannel)}, and using
+     * the given options. The caller is responsible for closing the 
+     * channel.
+     * 
+     * @param input The {@link ReadableObj} to write.
+     * @param channel The channel to write to.
+     * @param options The {@link ObjWriterOptions}
+     * @throws IOException If an IO error occurs.
+     */
+    public static void writeParallel(ReadableObj input, 
+        WritableByteChannel channel, ObjWriterOptions options) 
+        throws IOException
+    {
+        ObjOutputBuffer buffer = 
+            new ObjOutputBuffer(channel, Charset.defaultCharset());
+        ObjParallelWriter writer = new ObjParallelWriter(
+            ObjParallelWriter.DEFAULT_CHUNK_SIZE, options);
+        writer.write(input, buffer);
+        buffer.flush();
+    }
+    
+    /**
+     * Writes the given {@link ReadableObj} into the specified file, by 
+     * filling memory-mapped regions of the file. If the file already 
+     * exists, it will be overwritten.<br>
+     * <br>
+     * The data is formatted twice: Once for computing the size of the 
+     * file, and once for writing the data into the mapped regions. The
+     * given {@link ReadableObj} may therefore not be modified while it 
+     * is written.<br>
+     * <br>
+     * Note that the mapped regions are only released when they are 
+     * garbage collected. Depending on the operating system, the file 
+     * may not be deleted or modified by other processes until then.
+     * 
+     * @param input The {@link ReadableObj} to write.
+     * @param path The path of the file to write.
+     * @throws IOException If an IO error occurs.
+     */
+    public static void writeMapped(ReadableObj input, Path path) 
+        throws IOException
+    {
+        writeMapped(input, path, new ObjWriterOptions());
+    }
+    
+    /**
+     * Writes the given {@link ReadableObj} into the specified file, by 
+     * filling memory-mapped regions of the file, as described in 
+     * {@link #writeMapped(ReadableObj, Path)}, and using the given 
+     * options.
+     * 
+     * @param input The {@link ReadableObj} to write.
+     * @param path The path of the file to write.
+     * @param options The {@link ObjWriterOptions}
+     * @throws IOException If an IO error occurs.
+     */
+    public static void writeMapped(ReadableObj input, Path path,
+        ObjWriterOptions options) throws IOException
+    {
+        Charset charset = Charset.defaultCharset();
+        ByteCounter byteCounter = new ByteCounter();
+        write(input, new ObjOutputBuffer(byteCounter, charset), options);
+        try (FileChannel channel = FileChannel.open(path, 
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            MappedOutputStream mappedOutputStream = 
+                new MappedOutputStream(channel, byteCounter.count);
+            write(input, new ObjOutputBuffer(mappedOutputStream, charset), 
+                options);
+            mappedOutputStream.close();
+        }
+    }
+    
+    /**
+     * Writes the given {@link ReadableObj} to the given buffer, using the
+     * given options, and flushes the buffer
+     * 
+     * @param input The {@link ReadableObj} to write.
+     * @param buffer The buffer to write to.
+     * @param options The {@link ObjWriterOptions}
+     * @throws IOException If an IO error occurs.
+     */
+    private static void write(ReadableObj input, ObjOutputBuffer buffer,
+        ObjWriterOptions options) throws IOException
+    {
+        writeMtlFileNames(input, buffer);
+        writeVertices(input, buffer, 0, input.getNumVertices(), 
+            options.getVertexPrecision());
+        writeTexCoords(input, buffer, 0, input.getNumTexCoords(),
+            options.getTexCoordPrecision());
+        writeNormals(input, buffer, 0, input.getNumNormals(),
+            options.getNormalPrecision());
+        writeFaces(input, buffer, 0, input.getNumFaces(), true);
+        buffer.flush();
+    }
+    
+    /**
+     * Write the <code>mtllib</code> line of the given {@link ReadableObj},
+     * if it refers to any MTL files
+     * 
+     * @param input The {@link ReadableObj}
+     * @param buffer The buffer to write to
+     * @throws IOException If an IO error occurs.
+     */
+    static void writeMtlFileNames(ReadableObj input, ObjOutputBuffer buffer) 
+        throws IOException
+    {
+        List<String> mtlFileNames = input.getMtlFileNames();
+        if (!mtlFileNames.isEmpty())
+        {
+            buffer.write("mtllib ");
+            for (int i=0; i<mtlFileNames.size(); i++)
+            {
+                if (i > 0)
+                {
+                    buffer.write(' ');
+                }
+                buffer.write(mtlFileNames.get(i));
+            }
+            buffer.write('\n');
+        }
+    }
+    
+    /**
+     * Write the <code>v</code> lines for the specified range of vertices
+     * of the given {@link ReadableObj}
+     * 
+     * @param input The {@link ReadableObj}
+     * @param buffer The buffer to write to
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @param precision The precision for the values
+     * @throws IOException If an IO error occurs.
+     */
+    static void writeVertices(ReadableObj input, ObjOutputBuffer buffer, 
+        int start, int end, FloatPrecision precision) throws IOException
+    {
+        for(int i = start; i < end; i++)
+        {
+            writeTuple(buffer, "v ", input.getVertex(i), precision);
+        }
+    }
+    
+    /**
+     * Write the <code>vt</code> lines for the specified range of texture
+     * coordinates of the given {@link ReadableObj}
+     * 
+     * @param input The {@link ReadableObj}
+     * @param buffer The buffer to write to
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @param precision The precision for the values
+     * @throws IOException If an IO error occurs.
+     */
+    static void writeTexCoords(ReadableObj input, ObjOutputBuffer buffer, 
+        int start, int end, FloatPrecision precision) throws IOException
+    {
+        for(int i = start; i < end; i++)
+        {
+            writeTuple(buffer, "vt ", input.getTexCoord(i), precision);
+        }
+    }
+    
+    /**
+     * Write the <code>vn</code> lines for the specified range of normals
+     * of the given {@link ReadableObj}
+     * 
+     * @param input The {@link ReadableObj}
+     * @param buffer The buffer to write to
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @param precision The precision for the values
+     * @throws IOException If an IO error occurs.
+     */
+    static void writeNormals(ReadableObj input, ObjOutputBuffer buffer, 
+        int start, int end, FloatPrecision precision) throws IOException
+    {
+        for(int i = start; i < end; i++)
+        {
+            writeTuple(buffer, "vn ", input.getNormal(i), precision);
+        }
+    }
+    
+    /**
+     * Write the <code>f</code> lines for the specified range of faces 
+     * of the given {@link ReadableObj}, together with the <code>g</code>
+     * and <code>usemtl</code> lines for the groups and material groups
+     * that are activated at these faces.<br>
+     * <br>
+     * If the first group activation is only an activation of the 
+     * <code>"default"</code> group, then no <code>g</code> line is 
+     * written for it. The given flag indicates whether no group was 
+     * activated before the given range.
+     * 
+     * @param input The {@link ReadableObj}
+     * @param buffer The buffer to write to
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @param skipWritingDefaultGroup Whether no group was activated 
+     * before the given range
+     * @return Whether no group was activated before the end of the
+     * given range
+     * @throws IOException If an IO error occurs.
+     */
+    static boolean writeFaces(ReadableObj input, ObjOutputBuffer buffer, 
+        int start, int end, boolean skipWritingDefaultGroup) 
+        throws IOException
+    {
+        boolean skip = skipWritingDefaultGroup;
+        for(int i = start; i < end; i++)
+        {
+            ObjFace face = input.getFace(i);
+            
+            Set<String> activatedGroupNames = 
+                input.getActivatedGroupNames(face);
+            if (activatedGroupNames != null)
+            {
+                boolean isDefaultGroup = 
+                    activatedGroupNames.size() == 1 &&
+                    activatedGroupNames.contains("default");
+                if (!skip || !isDefaultGroup)
+                {
+                    buffer.write("g ");
+                    for (String activatedGroupName : activatedGroupNames)
+                    {
+                        buffer.write(activatedGroupName);
+                        buffer.write(' ');
+                    }
+                    buffer.write('\n');
+                }
+                skip = false;
+            }
+                
+            String activatedMaterialGroupName =
+                input.getActivatedMaterialGroupName(face);
+            if (activatedMaterialGroupName != null)
+            {
+                buffer.write("usemtl ");
+                buffer.write(activatedMaterialGroupName);
+                buffer.write('\n');
+            }
+            writeFace(buffer, face);
+        }
+        return skip;
+    }
+    
+    /**
+     * Write a line consisting of the given prefix and the values of the
+     * given tuple, separated by spaces
+     * 
+     * @param buffer The buffer
+     * @param prefix The prefix, including the trailing space
+     * @param tuple The tuple
+     * @param precision The precision for the values
+     * @throws IOException If an IO error occurs.
+     */
+    static void writeTuple(ObjOutputBuffer buffer, String prefix, 
+        FloatTuple tuple, FloatPrecision precision) throws IOException
+    {
+        buffer.write(prefix);
+        for (int i = 0; i < tuple.getDimensions(); i++)
+        {
+            if (i > 0)
+            {
+                buffer.write(' ');
+            }
+            buffer.writeFloat(tuple.get(i), precision);
+        }
+        buffer.write('\n');
+    }
+    
+    /**
+     * Write the 'f' line for the given face, in the same format as 
+     * {@link ObjFaces#createString(ObjFace)}
+     * 
+     * @param buffer The buffer
+     * @param face The face
+     * @throws IOException If an IO error occurs.
+     */
+    static void writeFace(ObjOutputBuffer buffer, ObjFace face) 
+        throws IOException
+    {
+        boolean hasTexCoords = face.containsTexCoordIndices();
+        boolean hasNormals = face.containsNormalIndices();
+        buffer.write('f');
+        for(int i = 0; i < face.getNumVertices(); i++)
+        {
+            buffer.write(' ');
+            buffer.writeInt(face.getVertexIndex(i) + 1);
+            if (hasTexCoords || hasNormals)
+            {
+                buffer.write('/');
+            }
+            if (hasTexCoords)
+            {
+                buffer.writeInt(face.getTexCoordIndex(i) + 1);
+            }
+            if (hasNormals)
+            {
+                buffer.write('/');
+                buffer.writeInt(face.getNormalIndex(i) + 1);
+            }
+        }
+        buffer.write('\n');
+    }
+    
+    /**
+     * An output stream that only counts the bytes that are written to it
+     */
+    private static final class ByteCounter extends OutputStream
+    {
+        /**
+         * The number of bytes that have been written
+         */
+        private long count;
+        
+        @Override
+        public void write(int b)
+        {
+            count++;
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len)
+        {
+            count += len;
+        }
+    }
+    
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ObjWriter()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
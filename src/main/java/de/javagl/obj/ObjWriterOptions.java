@@ -0,0 +1,139 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.obj;
+
+import java.util.Objects;
+
+/**
+ * Options for writing OBJ data with the {@link ObjWriter}.<br>
+ * <br>
+ * The options define the {@link FloatPrecision} that is used for the
+ * vertices, texture coordinates and normals. By default, all values are 
+ * written with the {@link FloatPrecision#shortest() shortest} 
+ * representation that preserves them, and writing with these options 
+ * is exactly the same as writing without options.<br>
+ * <br>
+ * Writing with a lower precision can considerably reduce the size of
+ * the output. For example, vertices that are given in meters may be 
+ * written with {@link FloatPrecision#decimals(int) 4 decimals} for a 
+ * precision of 0.1 millimeters, and normals may be written with 
+ * {@link FloatPrecision#significantDigits(int) 3 significant digits}.
+ */
+public final class ObjWriterOptions
+{
+    /**
+     * The precision for vertices
+     */
+    private FloatPrecision vertexPrecision = FloatPrecision.shortest();
+
+    /**
+     * The precision for texture coordinates
+     */
+    private FloatPrecision texCoordPrecision = FloatPrecision.shortest();
+
+    /**
+     * The precision for normals
+     */
+    private FloatPrecision normalPrecision = FloatPrecision.shortest();
+
+    /**
+     * Creates new default options
+     */
+    public ObjWriterOptions()
+    {
+        // Default constructor
+    }
+
+    /**
+     * Returns the precision that is used for writing vertices
+     * 
+     * @return The precision
+     */
+    public FloatPrecision getVertexPrecision()
+    {
+        return vertexPrecision;
+    }
+
+    /**
+     * Set the precision that is used for writing vertices
+     * 
+     * @param vertexPrecision The precision
+     * @throws NullPointerException If the given precision is 
+     * <code>null</code>
+     */
+    public void setVertexPrecision(FloatPrecision vertexPrecision)
+    {
+        this.vertexPrecision = Objects.requireNonNull(
+            vertexPrecision, "The vertexPrecision is null");
+    }
+
+    /**
+     * Returns the precision that is used for writing texture coordinates
+     * 
+     * @return The precision
+     */
+    public FloatPrecision getTexCoordPrecision()
+    {
+        return texCoordPrecision;
+    }
+
+    /**
+     * Set the precision that is used for writing texture coordinates
+     * 
+     * @param texCoordPrecision The precision
+     * @throws NullPointerException If the given precision is 
+     * <code>null</code>
+     */
+    public void setTexCoordPrecision(FloatPrecision texCoordPrecision)
+    {
+        this.texCoordPrecision = Objects.requireNonNull(
+            texCoordPrecision, "The texCoordPrecision is null");
+    }
+
+    /**
+     * Returns the precision that is used for writing normals
+     * 
+     * @return The precision
+     */
+    public FloatPrecision getNormalPrecision()
+    {
+        return normalPrecision;
+    }
+
+    /**
+     * Set the precision that is used for writing normals
+     * 
+     * @param normalPrecision The precision
+     * @throws NullPointerException If the given precision is 
+     * <code>null</code>
+     */
+    public void setNormalPrecision(FloatPrecision normalPrecision)
+    {
+        this.normalPrecision = Objects.requireNonNull(
+            normalPrecision, "The normalPrecision is null");
+    }
+}
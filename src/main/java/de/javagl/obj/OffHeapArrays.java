@@ -0,0 +1,522 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import de.javagl.obj.PrimitiveArrays.ByteArray;
+import de.javagl.obj.PrimitiveArrays.FloatArray;
+import de.javagl.obj.PrimitiveArrays.IntArray;
+
+/**
+ * Implementation of a {@link PrimitiveArrays.Factory} that creates 
+ * arrays which are stored outside of the Java heap.<br>
+ * <br>
+ * Each array consists of one or more direct byte buffers (segments) 
+ * with native byte order. As long as an array fits into a single 
+ * segment, it grows by copying, like a heap array. Beyond that, further 
+ * segments are appended, so that the existing data never has to be 
+ * copied.<br>
+ * <br>
+ * When {@link #release()} is called, the memory of all segments is 
+ * released immediately, if this is supported by the JVM. Otherwise, it 
+ * is released when the buffers are garbage collected. Afterwards, any 
+ * attempt to access the arrays or to create new arrays causes an 
+ * <code>IllegalStateException</code>.
+ */
+final class OffHeapArrays implements PrimitiveArrays.Factory
+{
+    /**
+     * The logger used in this class
+     */
+    private static final Logger logger = 
+        Logger.getLogger(OffHeapArrays.class.getName());
+
+    /**
+     * The default base-2 logarithm of the size of a segment, in bytes
+     */
+    static final int DEFAULT_SEGMENT_SHIFT = 22;
+
+    /**
+     * The message for the exception that is thrown when the arrays are
+     * accessed after they have been released
+     */
+    private static final String RELEASED_MESSAGE = 
+        "The Obj has been closed, and its data may no longer be accessed";
+
+    /**
+     * The object on which the {@link #FREE_METHOD} is invoked, or 
+     * <code>null</code> if it is invoked on the cleaner of the buffer
+     */
+    private static final Object FREE_RECEIVER;
+
+    /**
+     * The method that releases the memory of a direct buffer, or
+     * <code>null</code> if no such method is available
+     */
+    private static final Method FREE_METHOD;
+
+    /**
+     * The method that returns the cleaner of a direct buffer, or 
+     * <code>null</code> if the {@link #FREE_METHOD} receives the 
+     * buffer itself
+     */
+    private static final Method CLEANER_METHOD;
+
+    static
+    {
+        Object freeReceiver = null;
+        Method freeMethod = null;
+        Method cleanerMethod = null;
+        try
+        {
+            // Java 9 and above: Unsafe#invokeCleaner(ByteBuffer)
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            freeReceiver = field.get(null);
+            freeMethod = unsafeClass.getMethod(
+                "invokeCleaner", ByteBuffer.class);
+        }
+        catch (ReflectiveOperationException | RuntimeException e)
+        {
+            try
+            {
+                // Java 8: ((DirectBuffer)buffer).cleaner().clean()
+                freeReceiver = null;
+                cleanerMethod = Class.forName(
+                    "sun.nio.ch.DirectBuffer").getMethod("cleaner");
+                freeMethod = Class.forName(
+                    "sun.misc.Cleaner").getMethod("clean");
+            }
+            catch (ReflectiveOperationException | RuntimeException e2)
+            {
+                logger.log(Level.FINE, 
+                    "Direct buffers can not be released explicitly", e2);
+                freeMethod = null;
+                cleanerMethod = null;
+            }
+        }
+        FREE_RECEIVER = freeReceiver;
+        FREE_METHOD = freeMethod;
+        CLEANER_METHOD = cleanerMethod;
+    }
+
+    /**
+     * The base-2 logarithm of the size of a segment, in bytes
+     */
+    private final int segmentShift;
+
+    /**
+     * The arrays that have been created by this factory
+     */
+    private final List<DirectArray> arrays;
+
+    /**
+     * The number of bytes that are currently allocated
+     */
+    private long allocatedBytes;
+
+    /**
+     * Whether the arrays have been released
+     */
+    private boolean released;
+
+    /**
+     * Creates a new factory with the default segment size
+     */
+    OffHeapArrays()
+    {
+        this(DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /**
+     * Creates a new factory with the given segment size
+     * 
+     * @param segmentShift The base-2 logarithm of the size of a segment,
+     * in bytes
+     * @throws IllegalArgumentException If the segment shift is not 
+     * between 2 and 30
+     */
+    OffHeapArrays(int segmentShift)
+    {
+        if (segmentShift < 2 || segmentShift > 30)
+        {
+            throw new IllegalArgumentException(
+                "The segment shift must be between 2 and 30, but is "
+                + segmentShift);
+        }
+        this.segmentShift = segmentShift;
+        this.arrays = new ArrayList<DirectArray>();
+    }
+
+    /**
+     * Returns the number of bytes of native memory that are currently 
+     * allocated by the arrays that have been created by this factory
+     * 
+     * @return The number of bytes
+     */
+    long getAllocatedBytes()
+    {
+        return allocatedBytes;
+    }
+
+    @Override
+    public IntArray createIntArray(int initialCapacity)
+    {
+        checkNotReleased();
+        DirectIntArray array = new DirectIntArray(initialCapacity);
+        arrays.add(array);
+        return array;
+    }
+
+    @Override
+    public FloatArray createFloatArray(int initialCapacity)
+    {
+        checkNotReleased();
+        DirectFloatArray array = new DirectFloatArray(initialCapacity);
+        arrays.add(array);
+        return array;
+    }
+
+    @Override
+    public ByteArray createByteArray(int initialCapacity)
+    {
+        checkNotReleased();
+        DirectByteArray array = new DirectByteArray(initialCapacity);
+        arrays.add(array);
+        return array;
+    }
+
+    @Override
+    public void release()
+    {
+        for (DirectArray array : arrays)
+        {
+            array.release();
+        }
+        arrays.clear();
+        released = true;
+    }
+
+    /**
+     * Make sure that {@link #release()} has not been called yet
+     * 
+     * @throws IllegalStateException If the arrays have been released
+     */
+    private void checkNotReleased()
+    {
+        if (released)
+        {
+            throw new IllegalStateException(RELEASED_MESSAGE);
+        }
+    }
+
+    /**
+     * Allocate a direct buffer with the given size and native byte order
+     * 
+     * @param size The size, in bytes
+     * @return The buffer
+     */
+    private ByteBuffer allocate(int size)
+    {
+        ByteBuffer buffer = 
+            ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+        allocatedBytes += size;
+        return buffer;
+    }
+
+    /**
+     * Release the memory of the given direct buffer. If this is not 
+     * supported by the JVM, the memory will be released when the buffer 
+     * is garbage collected. The buffer may not be used after this method 
+     * has been called.
+     * 
+     * @param buffer The buffer
+     */
+    private void free(ByteBuffer buffer)
+    {
+        allocatedBytes -= buffer.capacity();
+        if (FREE_METHOD == null)
+        {
+            return;
+        }
+        try
+        {
+            if (CLEANER_METHOD == null)
+            {
+                FREE_METHOD.invoke(FREE_RECEIVER, buffer);
+            }
+            else
+            {
+                Object cleaner = CLEANER_METHOD.invoke(buffer);
+                if (cleaner != null)
+                {
+                    FREE_METHOD.invoke(cleaner);
+                }
+            }
+        }
+        catch (ReflectiveOperationException | RuntimeException e)
+        {
+            logger.log(Level.FINE, "Could not release direct buffer", e);
+        }
+    }
+
+    /**
+     * Base class for the arrays that are stored in segments of direct 
+     * buffers
+     */
+    private abstract class DirectArray
+    {
+        /**
+         * The base-2 logarithm of the size of one element, in bytes
+         */
+        final int elementShift;
+
+        /**
+         * The base-2 logarithm of the number of elements in a segment
+         */
+        final int shift;
+
+        /**
+         * The mask for computing the index of an element in a segment
+         */
+        final int mask;
+
+        /**
+         * The segments. This is <code>null</code> after the array has
+         * been released, and serves as the flag that indicates this.
+         */
+        private ByteBuffer[] segments;
+
+        /**
+         * The number of segments
+         */
+        private int numSegments;
+
+        /**
+         * The capacity, in number of elements
+         */
+        private int capacity;
+
+        /**
+         * Creates a new array
+         * 
+         * @param elementShift The base-2 logarithm of the size of one 
+         * element, in bytes
+         * @param initialCapacity The initial capacity
+         */
+        DirectArray(int elementShift, int initialCapacity)
+        {
+            this.elementShift = elementShift;
+            this.shift = segmentShift - elementShift;
+            this.mask = (1 << shift) - 1;
+            int segmentCapacity = 1 << shift;
+            int firstCapacity = 
+                Math.min(segmentCapacity, Math.max(1, initialCapacity));
+            this.segments = new ByteBuffer[] 
+            { 
+                allocate(firstCapacity << elementShift) 
+            };
+            this.numSegments = 1;
+            this.capacity = firstCapacity;
+            ensureCapacity(initialCapacity);
+        }
+
+        /**
+         * Make sure that this array has at least the given capacity
+         * 
+         * @param minCapacity The minimum capacity
+         */
+        public final void ensureCapacity(int minCapacity)
+        {
+            if (segments == null)
+            {
+                throw new IllegalStateException(RELEASED_MESSAGE);
+            }
+            if (minCapacity <= capacity)
+            {
+                return;
+            }
+            int segmentCapacity = 1 << shift;
+            if (capacity < segmentCapacity)
+            {
+                int newCapacity = Math.min(segmentCapacity, 
+                    PrimitiveArrays.computeNewCapacity(capacity, minCapacity));
+                ByteBuffer oldSegment = segments[0];
+                ByteBuffer newSegment = allocate(newCapacity << elementShift);
+                oldSegment.clear();
+                newSegment.put(oldSegment);
+                newSegment.clear();
+                segments[0] = newSegment;
+                free(oldSegment);
+                capacity = newCapacity;
+            }
+            while (capacity < minCapacity)
+            {
+                if (numSegments == segments.length)
+                {
+                    segments = Arrays.copyOf(segments, numSegments * 2);
+                }
+                segments[numSegments] = 
+                    allocate(segmentCapacity << elementShift);
+                numSegments++;
+                capacity += segmentCapacity;
+            }
+        }
+
+        /**
+         * Returns the segment that contains the element with the given
+         * index
+         * 
+         * @param index The index of the element
+         * @return The segment
+         * @throws IllegalStateException If this array has been released.
+         * The memory of the segments may already have been freed, so 
+         * they may not be accessed any more.
+         */
+        final ByteBuffer segment(int index)
+        {
+            ByteBuffer[] s = segments;
+            if (s == null)
+            {
+                throw new IllegalStateException(RELEASED_MESSAGE);
+            }
+            return s[index >>> shift];
+        }
+
+        /**
+         * Release the memory of all segments of this array
+         */
+        final void release()
+        {
+            for (int i = 0; i < numSegments; i++)
+            {
+                free(segments[i]);
+            }
+            segments = null;
+            numSegments = 0;
+            capacity = 0;
+        }
+    }
+
+    /**
+     * Implementation of an {@link IntArray} in direct buffers
+     */
+    private final class DirectIntArray extends DirectArray 
+        implements IntArray
+    {
+        /**
+         * Creates a new array
+         * 
+         * @param initialCapacity The initial capacity
+         */
+        DirectIntArray(int initialCapacity)
+        {
+            super(2, initialCapacity);
+        }
+
+        @Override
+        public int get(int index)
+        {
+            return segment(index).getInt((index & mask) << 2);
+        }
+
+        @Override
+        public void set(int index, int value)
+        {
+            segment(index).putInt((index & mask) << 2, value);
+        }
+    }
+
+    /**
+     * Implementation of a {@link FloatArray} in direct buffers
+     */
+    private final class DirectFloatArray extends DirectArray 
+        implements FloatArray
+    {
+        /**
+         * Creates a new array
+         * 
+         * @param initialCapacity The initial capacity
+         */
+        DirectFloatArray(int initialCapacity)
+        {
+            super(2, initialCapacity);
+        }
+
+        @Override
+        public float get(int index)
+        {
+            return segment(index).getFloat((index & mask) << 2);
+        }
+
+        @Override
+        public void set(int index, float value)
+        {
+            segment(index).putFloat((index & mask) << 2, value);
+        }
+    }
+
+    /**
+     * Implementation of a {@link ByteArray} in direct buffers
+     */
+    private final class DirectByteArray extends DirectArray 
+        implements ByteArray
+    {
+        /**
+         * Creates a new array
+         * 
+         * @param initialCapacity The initial capacity
+         */
+        DirectByteArray(int initialCapacity)
+        {
+            super(0, initialCapacity);
+        }
+
+        @Override
+        public byte get(int index)
+        {
+            return segment(index).get(index & mask);
+        }
+
+        @Override
+        public void set(int index, byte value)
+        {
+            segment(index).put(index & mask, value);
+        }
+    }
+}
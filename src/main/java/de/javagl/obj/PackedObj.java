@@ -0,0 +1,1225 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import de.javagl.obj.PrimitiveArrays.ByteArray;
+import de.javagl.obj.PrimitiveArrays.IntArray;
+
+/**
+ * Implementation of an {@link Obj} that stores its data in primitive 
+ * arrays.<br>
+ * <br>
+ * The vertices, texture coordinates and normals are stored in 
+ * {@link PackedTupleArray} instances. The indices of the faces are 
+ * stored in compressed-sparse-row form: One array contains the indices
+ * of all faces, and an offset array contains the start of the indices 
+ * of each face. The groups only store the indices of their faces.<br>
+ * <br>
+ * The {@link FloatTuple}, {@link ObjFace} and {@link ObjGroup} instances
+ * that are returned by this class are lightweight objects that read 
+ * their data from the arrays of this class. The faces that are passed
+ * to {@link #addFace(ObjFace)} are not stored: Their indices are copied
+ * into the arrays of this class.<br>
+ * <br>
+ * The arrays are created with a {@link PrimitiveArrays.Factory}, which
+ * may create them on the Java heap or in off-heap memory. The latter 
+ * are released when this Obj is {@link #close() closed}.
+ */
+final class PackedObj implements CloseableObj
+{
+    /**
+     * The initial capacity for faces and indices
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The flag indicating that a face has texture coordinate indices
+     */
+    private static final byte FLAG_TEX_COORDS = 1;
+
+    /**
+     * The flag indicating that a face has normal indices
+     */
+    private static final byte FLAG_NORMALS = 2;
+
+    /**
+     * The factory for the arrays that store the data of this Obj
+     */
+    private final PrimitiveArrays.Factory arrays;
+
+    /**
+     * The vertices in this Obj
+     */
+    private final PackedTupleArray vertices;
+    
+    /**
+     * The texture coordinates in this Obj.
+     */
+    private final PackedTupleArray texCoords;
+
+    /**
+     * The normals in this Obj
+     */
+    private final PackedTupleArray normals;
+
+    /**
+     * The number of faces in this Obj
+     */
+    private int numFaces = 0;
+
+    /**
+     * The offsets of the indices of the faces. The indices of face 
+     * <code>i</code> are stored from <code>faceOffsets[i]</code>
+     * (inclusive) to <code>faceOffsets[i+1]</code> (exclusive).
+     */
+    private final IntArray faceOffsets;
+
+    /**
+     * The flags of the faces, indicating whether they contain texture
+     * coordinate or normal indices
+     */
+    private final ByteArray faceFlags;
+
+    /**
+     * The number of indices of all faces
+     */
+    private int numIndices = 0;
+
+    /**
+     * The vertex indices of all faces
+     */
+    private final IntArray vertexIndices;
+
+    /**
+     * The texture coordinate indices of all faces. This is 
+     * <code>null</code> until the first face with texture coordinate
+     * indices is added.
+     */
+    private IntArray texCoordIndices = null;
+
+    /**
+     * The normal indices of all faces. This is <code>null</code> 
+     * until the first face with normal indices is added.
+     */
+    private IntArray normalIndices = null;
+
+    /**
+     * The groups in this Obj.
+     */
+    private final List<PackedObjGroup> groups;
+    
+    /**
+     * The material groups in this Obj.
+     */
+    private final List<PackedObjGroup> materialGroups;
+
+    /** 
+     * Maps a group name to a group 
+     */
+    private final Map<String, PackedObjGroup> groupMap;
+
+    /** 
+     * Maps a material name to a material group 
+     */
+    private final Map<String, PackedObjGroup> materialGroupMap;
+
+    /**
+     * The names of the MTL files for this Obj.
+     */
+    private List<String> mtlFileNames = Collections.emptyList();
+    
+    /**
+     * The (ascending) indices of the faces at which groups have been
+     * started
+     */
+    private int[] groupStartFaces = new int[INITIAL_CAPACITY];
+
+    /**
+     * The names of the groups that have been started at the faces
+     * that are given by the {@link #groupStartFaces}
+     */
+    private final List<Set<String>> groupStartNames;
+
+    /**
+     * The (ascending) indices of the faces at which material groups have 
+     * been started
+     */
+    private int[] materialGroupStartFaces = new int[INITIAL_CAPACITY];
+
+    /**
+     * The names of the material groups that have been started at the 
+     * faces that are given by the {@link #materialGroupStartFaces}
+     */
+    private final List<String> materialGroupStartNames;
+
+    /**
+     * The names for the groups that should be used for faces that are
+     * added subsequently 
+     */
+    private Set<String> nextActiveGroupNames = null;
+    
+    /**
+     * The name for the material group that should be used for faces that 
+     * are added subsequently 
+     */
+    private String nextActiveMaterialGroupName = null;
+
+    /**
+     * The groups that are currently active, and to which faces will be
+     * added 
+     */
+    private List<PackedObjGroup> activeGroups = null;
+
+    /** 
+     * The names of the groups that faces are currently added to
+     */
+    private Set<String> activeGroupNames = null;
+
+    /**
+     * The material group that is currently active, and to which faces 
+     * will be added 
+     */
+    private PackedObjGroup activeMaterialGroup = null;
+    
+    /**
+     * The name of the material group that is currently active
+     */
+    private String activeMaterialGroupName = null;
+
+    /**
+     * Creates a new, empty PackedObj that stores its data on the heap
+     */
+    PackedObj()
+    {
+        this(PrimitiveArrays.HEAP);
+    }
+
+    /**
+     * Creates a new, empty PackedObj that stores its data in arrays
+     * that are created with the given factory
+     * 
+     * @param arrays The factory for the arrays
+     */
+    PackedObj(PrimitiveArrays.Factory arrays)
+    {
+        this(arrays, null);
+    }
+
+    /**
+     * Creates a new, empty PackedObj that stores its data in arrays
+     * that are created with the given factory. If the given statistics
+     * are not <code>null</code>, then the arrays will be created with
+     * the capacity that is required for storing the elements that are 
+     * described by the statistics.
+     * 
+     * @param arrays The factory for the arrays
+     * @param statistics The optional {@link ObjStatistics}
+     */
+    PackedObj(PrimitiveArrays.Factory arrays, ObjStatistics statistics)
+    {
+        this.arrays = arrays;
+        
+        if (statistics == null)
+        {
+            vertices = new PackedTupleArray(arrays);
+            texCoords = new PackedTupleArray(arrays);
+            normals = new PackedTupleArray(arrays);
+            
+            faceOffsets = arrays.createIntArray(INITIAL_CAPACITY + 1);
+            faceFlags = arrays.createByteArray(INITIAL_CAPACITY);
+            vertexIndices = arrays.createIntArray(INITIAL_CAPACITY * 3);
+        }
+        else
+        {
+            vertices = new PackedTupleArray(arrays, 
+                toCapacity(statistics.getNumVertexValues()));
+            texCoords = new PackedTupleArray(arrays, 
+                toCapacity(statistics.getNumTexCoordValues()));
+            normals = new PackedTupleArray(arrays, 
+                toCapacity(statistics.getNumNormalValues()));
+            
+            int numFaces = statistics.getNumFaces();
+            int numIndices = toCapacity(statistics.getNumFaceVertices());
+            faceOffsets = arrays.createIntArray(numFaces + 1);
+            faceFlags = arrays.createByteArray(Math.max(1, numFaces));
+            vertexIndices = arrays.createIntArray(Math.max(1, numIndices));
+            if (statistics.getNumFacesWithTexCoords() > 0)
+            {
+                texCoordIndices = arrays.createIntArray(numIndices);
+            }
+            if (statistics.getNumFacesWithNormals() > 0)
+            {
+                normalIndices = arrays.createIntArray(numIndices);
+            }
+        }
+
+        groups = new ArrayList<>();
+        materialGroups = new ArrayList<>();
+
+        groupMap = new LinkedHashMap<>();
+        materialGroupMap = new LinkedHashMap<>();
+        
+        groupStartNames = new ArrayList<>();
+        materialGroupStartNames = new ArrayList<>();
+        
+        setActiveGroupNames(Arrays.asList("default"));
+        getGroupInternal("default");
+    }
+
+
+    @Override
+    public int getNumVertices()
+    {
+        return vertices.size();
+    }
+
+    @Override
+    public FloatTuple getVertex(int index)
+    {
+        return vertices.get(index);
+    }
+
+    @Override
+    public int getNumTexCoords()
+    {
+        return texCoords.size();
+    }
+
+    @Override
+    public FloatTuple getTexCoord(int index)
+    {
+        return texCoords.get(index);
+    }
+
+    @Override
+    public int getNumNormals()
+    {
+        return normals.size();
+    }
+
+    @Override
+    public FloatTuple getNormal(int index)
+    {
+        return normals.get(index);
+    }
+
+
+    @Override
+    public int getNumFaces()
+    {
+        return numFaces;
+    }
+
+    @Override
+    public ObjFace getFace(int index)
+    {
+        if (index < 0 || index >= numFaces)
+        {
+            throw new IndexOutOfBoundsException(
+                "Index " + index + ", size " + numFaces);
+        }
+        return new PackedObjFace(index);
+    }
+    
+    @Override
+    public void getVertices(float[] dst, int start, int count)
+    {
+        vertices.getAll(start, count, 3, dst);
+    }
+    
+    @Override
+    public void getTexCoords(
+        float[] dst, int start, int count, int dimensions)
+    {
+        texCoords.getAll(start, count, dimensions, dst);
+    }
+    
+    @Override
+    public void getNormals(float[] dst, int start, int count)
+    {
+        normals.getAll(start, count, 3, dst);
+    }
+    
+    @Override
+    public int getFaceVertexIndices(int[] dst, int[] offsets)
+    {
+        if (offsets != null)
+        {
+            for (int i = 0; i <= numFaces; i++)
+            {
+                offsets[i] = faceOffsets.get(i);
+            }
+        }
+        if (dst != null)
+        {
+            IntArray v = vertexIndices;
+            for (int i = 0; i < numIndices; i++)
+            {
+                dst[i] = v.get(i);
+            }
+        }
+        return numIndices;
+    }
+    
+    @Override
+    public Set<String> getActivatedGroupNames(ObjFace face)
+    {
+        int faceIndex = getFaceIndex(face);
+        int n = groupStartNames.size();
+        int i = Arrays.binarySearch(groupStartFaces, 0, n, faceIndex);
+        if (i < 0)
+        {
+            return null;
+        }
+        return groupStartNames.get(i);
+    }
+    
+    @Override
+    public String getActivatedMaterialGroupName(ObjFace face)
+    {
+        int faceIndex = getFaceIndex(face);
+        int n = materialGroupStartNames.size();
+        int i = Arrays.binarySearch(
+            materialGroupStartFaces, 0, n, faceIndex);
+        if (i < 0)
+        {
+            return null;
+        }
+        return materialGroupStartNames.get(i);
+    }
+    
+    /**
+     * Returns the index of the given face in this Obj, or -1 if the
+     * given face was not obtained from this Obj
+     * 
+     * @param face The face
+     * @return The index
+     */
+    private int getFaceIndex(ObjFace face)
+    {
+        if (face instanceof PackedObjFace)
+        {
+            PackedObjFace packedObjFace = (PackedObjFace)face;
+            if (packedObjFace.getObj() == this)
+            {
+                return packedObjFace.index;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int getNumGroups()
+    {
+        return groups.size();
+    }
+
+    @Override
+    public ObjGroup getGroup(int index)
+    {
+        return groups.get(index);
+    }
+
+    @Override
+    public ObjGroup getGroup(String name)
+    {
+        return groupMap.get(name);
+    }
+
+    @Override
+    public int getNumMaterialGroups()
+    {
+        return materialGroups.size();
+    }
+
+    @Override
+    public ObjGroup getMaterialGroup(int index)
+    {
+        return materialGroups.get(index);
+    }
+
+    @Override
+    public ObjGroup getMaterialGroup(String name)
+    {
+        return materialGroupMap.get(name);
+    }
+
+
+    @Override
+    public List<String> getMtlFileNames()
+    {
+        return mtlFileNames;
+    }
+
+    
+    @Override
+    public void addVertex(FloatTuple vertex)
+    {
+        Objects.requireNonNull(vertex, "The vertex is null");
+        vertices.add(vertex);
+    }
+    
+    @Override
+    public void addVertex(float x, float y, float z)
+    {
+        vertices.add(3, x, y, z, 0.0f);
+    }
+    
+    @Override
+    public void addVertex(
+        int dimensions, float x, float y, float z, float w)
+    {
+        vertices.add(dimensions, x, y, z, w);
+    }
+    
+    @Override
+    public void addTexCoord(FloatTuple texCoord)
+    {
+        Objects.requireNonNull(texCoord, "The texCoord is null");
+        texCoords.add(texCoord);
+    }
+    
+    @Override
+    public void addTexCoord(float x)
+    {
+        texCoords.add(1, x, 0.0f, 0.0f, 0.0f);
+    }
+    
+    @Override
+    public void addTexCoord(float x, float y)
+    {
+        texCoords.add(2, x, y, 0.0f, 0.0f);
+    }
+    
+    @Override
+    public void addTexCoord(float x, float y, float z)
+    {
+        texCoords.add(3, x, y, z, 0.0f);
+    }
+    
+    @Override
+    public void addTexCoord(
+        int dimensions, float x, float y, float z, float w)
+    {
+        texCoords.add(dimensions, x, y, z, w);
+    }
+
+    @Override
+    public void addNormal(FloatTuple normal)
+    {
+        Objects.requireNonNull(normal, "The normal is null");
+        normals.add(normal);
+    }
+
+    @Override
+    public void addNormal(float x, float y, float z)
+    {
+        normals.add(3, x, y, z, 0.0f);
+    }
+    
+    @Override
+    public void addNormal(
+        int dimensions, float x, float y, float z, float w)
+    {
+        normals.add(dimensions, x, y, z, w);
+    }
+    
+    @Override
+    public void setActiveGroupNames(Collection<? extends String> groupNames)
+    {
+        if (groupNames == null)
+        {
+            return;
+        }
+        if (groupNames.size() == 0)
+        {
+            groupNames = Arrays.asList("default");
+        }
+        else if (groupNames.contains(null))
+        {
+            throw new NullPointerException("The groupNames contains null");
+        }
+        nextActiveGroupNames = 
+            Collections.unmodifiableSet(new LinkedHashSet<String>(groupNames));
+    }
+    
+    
+    @Override
+    public void setActiveMaterialGroupName(String materialGroupName)
+    {
+        if (materialGroupName == null)
+        {
+            return;
+        }
+        nextActiveMaterialGroupName = materialGroupName;
+    }
+    
+    @Override
+    public void addFace(ObjFace face)
+    {
+        if (face == null)
+        {
+            throw new NullPointerException("The face is null");
+        }
+        int n = face.getNumVertices();
+        boolean hasTexCoords = face.containsTexCoordIndices();
+        boolean hasNormals = face.containsNormalIndices();
+        int offset = addFaceInternal(n, hasTexCoords, hasNormals);
+        for (int i = 0; i < n; i++)
+        {
+            vertexIndices.set(offset + i, face.getVertexIndex(i));
+        }
+        if (hasTexCoords)
+        {
+            for (int i = 0; i < n; i++)
+            {
+                texCoordIndices.set(offset + i, face.getTexCoordIndex(i));
+            }
+        }
+        if (hasNormals)
+        {
+            for (int i = 0; i < n; i++)
+            {
+                normalIndices.set(offset + i, face.getNormalIndex(i));
+            }
+        }
+    }
+
+    @Override
+    public void addFace(int ... v)
+    {
+        addFace(v, null, null);
+    }
+
+    @Override
+    public void addFaceWithTexCoords(int... v)
+    {
+        addFace(v, v, null);
+    }
+
+    @Override
+    public void addFaceWithNormals(int... v)
+    {
+        addFace(v, null, v);
+    }
+
+    @Override
+    public void addFaceWithAll(int... v)
+    {
+        addFace(v, v, v);
+    }
+    
+    @Override
+    public void addFace(int[] v, int[] vt, int[] vn)
+    {
+        Objects.requireNonNull(v, "The vertex indices are null");
+        checkIndices(v, getNumVertices(), "Vertex");
+        checkIndices(vt, getNumTexCoords(), "TexCoord");
+        checkIndices(vn, getNumNormals(), "Normal");
+        int n = v.length;
+        int offset = addFaceInternal(n, vt != null, vn != null);
+        for (int i = 0; i < n; i++)
+        {
+            vertexIndices.set(offset + i, v[i]);
+        }
+        if (vt != null)
+        {
+            for (int i = 0; i < n; i++)
+            {
+                texCoordIndices.set(offset + i, vt[i]);
+            }
+        }
+        if (vn != null)
+        {
+            for (int i = 0; i < n; i++)
+            {
+                normalIndices.set(offset + i, vn[i]);
+            }
+        }
+    }
+    
+    @Override
+    public void ensureCapacity(int numVertices, int numFaces)
+    {
+        vertices.ensureCapacity(numVertices, 3);
+        faceFlags.ensureCapacity(numFaces);
+        faceOffsets.ensureCapacity(numFaces + 1);
+        vertexIndices.ensureCapacity(
+            (int)Math.min(Integer.MAX_VALUE - 8, numFaces * 3L));
+    }
+    
+    @Override
+    public void addVertices(float[] xyz, int offset, int count)
+    {
+        FloatTuples.checkRange(xyz, offset, count, 3);
+        vertices.addAll(3, xyz, offset, count);
+    }
+    
+    @Override
+    public void addTexCoords(float[] xy, int offset, int count)
+    {
+        FloatTuples.checkRange(xy, offset, count, 2);
+        texCoords.addAll(2, xy, offset, count);
+    }
+    
+    @Override
+    public void addNormals(float[] xyz, int offset, int count)
+    {
+        FloatTuples.checkRange(xyz, offset, count, 3);
+        normals.addAll(3, xyz, offset, count);
+    }
+    
+    /**
+     * {@inheritDoc}<br>
+     * <br>
+     * All indices are validated once, before any face is added.
+     * 
+     * @throws IllegalArgumentException If one of the given indices is
+     * negative or not smaller than the number of corresponding vertices,
+     * texture coordinates or normals that have been added until now,
+     * respectively. In this case, no face is added.
+     */
+    @Override
+    public void addFaces(int[] v, int[] vt, int[] vn, int[] faceSizes)
+    {
+        ObjFaces.checkFaceSizes(v, vt, vn, faceSizes);
+        checkIndices(v, getNumVertices(), "Vertex");
+        checkIndices(vt, getNumTexCoords(), "TexCoord");
+        checkIndices(vn, getNumNormals(), "Normal");
+        faceFlags.ensureCapacity(numFaces + faceSizes.length);
+        faceOffsets.ensureCapacity(numFaces + faceSizes.length + 1);
+        vertexIndices.ensureCapacity(numIndices + v.length);
+        int start = 0;
+        for (int n : faceSizes)
+        {
+            int offset = addFaceInternal(n, vt != null, vn != null);
+            for (int i = 0; i < n; i++)
+            {
+                vertexIndices.set(offset + i, v[start + i]);
+            }
+            if (vt != null)
+            {
+                for (int i = 0; i < n; i++)
+                {
+                    texCoordIndices.set(offset + i, vt[start + i]);
+                }
+            }
+            if (vn != null)
+            {
+                for (int i = 0; i < n; i++)
+                {
+                    normalIndices.set(offset + i, vn[start + i]);
+                }
+            }
+            start += n;
+        }
+    }
+    
+    /**
+     * Add a face with the given number of vertices. This will activate
+     * the groups and material group that have been set to be active,
+     * reserve the space for the indices of the face, and add the face 
+     * to the active groups. The caller is responsible for filling the 
+     * index arrays, starting at the returned offset.
+     * 
+     * @param n The number of vertices
+     * @param hasTexCoords Whether the face has texture coordinate indices
+     * @param hasNormals Whether the face has normal indices
+     * @return The offset of the indices of the face
+     */
+    private int addFaceInternal(int n, boolean hasTexCoords, boolean hasNormals)
+    {
+        int faceIndex = numFaces;
+        if (nextActiveGroupNames != null)
+        {
+            activeGroups = getGroupsInternal(nextActiveGroupNames);
+            if (!nextActiveGroupNames.equals(activeGroupNames))
+            {
+                int i = groupStartNames.size();
+                groupStartFaces = ensureCapacity(groupStartFaces, i + 1);
+                groupStartFaces[i] = faceIndex;
+                groupStartNames.add(nextActiveGroupNames);
+            }
+            activeGroupNames = nextActiveGroupNames;
+            nextActiveGroupNames = null;
+        }
+        if (nextActiveMaterialGroupName != null)
+        {
+            activeMaterialGroup = 
+                getMaterialGroupInternal(nextActiveMaterialGroupName);
+            if (!nextActiveMaterialGroupName.equals(activeMaterialGroupName))
+            {
+                int i = materialGroupStartNames.size();
+                materialGroupStartFaces = 
+                    ensureCapacity(materialGroupStartFaces, i + 1);
+                materialGroupStartFaces[i] = faceIndex;
+                materialGroupStartNames.add(nextActiveMaterialGroupName);
+            }
+            activeMaterialGroupName = nextActiveMaterialGroupName;
+            nextActiveMaterialGroupName = null;
+        }
+
+        int offset = numIndices;
+        int newNumIndices = offset + n;
+        vertexIndices.ensureCapacity(newNumIndices);
+        byte flags = 0;
+        if (hasTexCoords)
+        {
+            flags |= FLAG_TEX_COORDS;
+            if (texCoordIndices == null)
+            {
+                texCoordIndices = arrays.createIntArray(newNumIndices);
+            }
+        }
+        if (texCoordIndices != null)
+        {
+            texCoordIndices.ensureCapacity(newNumIndices);
+        }
+        if (hasNormals)
+        {
+            flags |= FLAG_NORMALS;
+            if (normalIndices == null)
+            {
+                normalIndices = arrays.createIntArray(newNumIndices);
+            }
+        }
+        if (normalIndices != null)
+        {
+            normalIndices.ensureCapacity(newNumIndices);
+        }
+        faceFlags.ensureCapacity(faceIndex + 1);
+        faceOffsets.ensureCapacity(faceIndex + 2);
+        faceFlags.set(faceIndex, flags);
+        faceOffsets.set(faceIndex + 1, newNumIndices);
+        numIndices = newNumIndices;
+        numFaces++;
+
+        if (activeMaterialGroup != null)
+        {
+            activeMaterialGroup.addFace(faceIndex);
+        }
+        for (PackedObjGroup group : activeGroups)
+        {
+            group.addFace(faceIndex);
+        }
+        return offset;
+    }
+
+    @Override
+    public void setMtlFileNames(Collection<? extends String> mtlFileNames)
+    {
+        this.mtlFileNames = Collections.unmodifiableList(
+            new ArrayList<String>(mtlFileNames));
+    }
+
+    
+    /**
+     * {@inheritDoc}<br>
+     * <br>
+     * For an Obj that stores its data on the heap, this method has 
+     * no effect.
+     */
+    @Override
+    public void close()
+    {
+        arrays.release();
+    }
+    
+    @Override
+    public String toString()
+    {
+        return "Obj[" +
+            "#vertices="+ vertices.size() + "," +
+            "#texCoords=" + texCoords.size() + "," +
+            "#normals=" + normals.size() + "," +
+            "#faces=" + numFaces + "," +
+            "#groups=" + groups.size() + "," +
+            "#materialGroups=" + materialGroups.size() + "," +
+            "mtlFileNames=" + mtlFileNames + "]";
+    }
+
+    /**
+     * Returns a set containing all groups with the given names. If the
+     * groups with the given names do not exist, they are created and
+     * added to this Obj.
+     * 
+     * @param groupNames The group names
+     * @return The groups
+     */
+    private List<PackedObjGroup> getGroupsInternal(
+        Collection<? extends String> groupNames)
+    {
+        List<PackedObjGroup> groups = new ArrayList<>(groupNames.size());
+        for (String groupName : groupNames)
+        {
+            PackedObjGroup group = getGroupInternal(groupName);
+            groups.add(group);
+        }
+        return groups;
+    }
+    
+    /**
+     * Returns the group with the given names. If the group with the given 
+     * name does not exist, it is created and added to this Obj.
+     * 
+     * @param groupName The group name
+     * @return The group
+     */
+    private PackedObjGroup getGroupInternal(String groupName)
+    {
+        PackedObjGroup group = groupMap.get(groupName);
+        if (group == null)
+        {
+            group = new PackedObjGroup(groupName);
+            groupMap.put(groupName, group);
+            groups.add(group);
+        }
+        return group;
+    }
+
+    /**
+     * Returns the material group with the given names. If the material 
+     * group with the given name does not exist, it is created and added 
+     * to this Obj.
+     * 
+     * @param materialGroupName The material group name
+     * @return The material group
+     */
+    private PackedObjGroup getMaterialGroupInternal(String materialGroupName)
+    {
+        PackedObjGroup group = materialGroupMap.get(materialGroupName);
+        if (group == null)
+        {
+            group = new PackedObjGroup(materialGroupName);
+            materialGroupMap.put(materialGroupName, group);
+            materialGroups.add(group);
+        }
+        return group;
+    }
+    
+    /**
+     * Make sure that the given indices are valid
+     * 
+     * @param indices The indices
+     * @param max The maximum index, exclusive
+     * @param name The name of the index set
+     * @throws IllegalArgumentException If the given indices are not valid
+     */
+    private static void checkIndices(int[] indices, int max, String name)
+    {
+        if (indices == null)
+        {
+            return;
+        }
+        for (int index : indices) 
+        {
+            if (index < 0) 
+            {
+                throw new IllegalArgumentException(
+                    name + " index is negative: " + index);
+            }
+            if (index >= max) 
+            {
+                throw new IllegalArgumentException(
+                    name + " index is " + index +
+                    ", but must be smaller than " + max);
+            }
+        }
+    }
+    
+    /**
+     * Returns the given number of elements as an array capacity
+     * 
+     * @param n The number of elements
+     * @return The capacity
+     * @throws IllegalArgumentException If the number of elements is 
+     * too large to be stored in an array
+     */
+    private static int toCapacity(long n)
+    {
+        if (n > Integer.MAX_VALUE - 8)
+        {
+            throw new IllegalArgumentException(
+                "Too many elements for an array: " + n);
+        }
+        return (int)n;
+    }
+
+    /**
+     * Returns an array that contains the given array, and has at least
+     * the given size
+     * 
+     * @param array The array
+     * @param size The size
+     * @return The array
+     */
+    private static int[] ensureCapacity(int[] array, int size)
+    {
+        if (size <= array.length)
+        {
+            return array;
+        }
+        return Arrays.copyOf(array, Math.max(size, array.length * 2));
+    }
+
+    /**
+     * Implementation of an {@link ObjFace} that reads its indices from
+     * the arrays of the {@link PackedObj}
+     */
+    private final class PackedObjFace implements ObjFace
+    {
+        /**
+         * The index of the face
+         */
+        private final int index;
+
+        /**
+         * Creates a new face
+         * 
+         * @param index The index of the face
+         */
+        PackedObjFace(int index)
+        {
+            this.index = index;
+        }
+
+        /**
+         * Returns the {@link PackedObj} that this face belongs to
+         * 
+         * @return The {@link PackedObj}
+         */
+        PackedObj getObj()
+        {
+            return PackedObj.this;
+        }
+
+        @Override
+        public int getNumVertices()
+        {
+            return faceOffsets.get(index + 1) - faceOffsets.get(index);
+        }
+
+        @Override
+        public boolean containsTexCoordIndices()
+        {
+            return (faceFlags.get(index) & FLAG_TEX_COORDS) != 0;
+        }
+
+        @Override
+        public boolean containsNormalIndices()
+        {
+            return (faceFlags.get(index) & FLAG_NORMALS) != 0;
+        }
+
+        @Override
+        public int getVertexIndex(int number)
+        {
+            return vertexIndices.get(offset(number));
+        }
+
+        @Override
+        public int getTexCoordIndex(int number)
+        {
+            if (!containsTexCoordIndices())
+            {
+                throw new IllegalStateException(
+                    "The face does not contain texture coordinate indices");
+            }
+            return texCoordIndices.get(offset(number));
+        }
+
+        @Override
+        public int getNormalIndex(int number)
+        {
+            if (!containsNormalIndices())
+            {
+                throw new IllegalStateException(
+                    "The face does not contain normal indices");
+            }
+            return normalIndices.get(offset(number));
+        }
+
+        /**
+         * Returns the offset of the specified index of this face in
+         * the index arrays
+         * 
+         * @param number The number of the vertex in this face
+         * @return The offset
+         * @throws IndexOutOfBoundsException If the number is negative or
+         * not smaller than the number of vertices of this face
+         */
+        private int offset(int number)
+        {
+            int start = faceOffsets.get(index);
+            int n = faceOffsets.get(index + 1) - start;
+            if (number < 0 || number >= n)
+            {
+                throw new IndexOutOfBoundsException(
+                    "Index " + number + ", size " + n);
+            }
+            return start + number;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return index;
+        }
+
+        @Override
+        public boolean equals(Object object)
+        {
+            if (this == object)
+            {
+                return true;
+            }
+            if (!(object instanceof PackedObjFace))
+            {
+                return false;
+            }
+            PackedObjFace other = (PackedObjFace)object;
+            return other.getObj() == getObj() && other.index == index;
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder sb = new StringBuilder("ObjFace[");
+            int n = getNumVertices();
+            boolean hasTexCoords = containsTexCoordIndices();
+            boolean hasNormals = containsNormalIndices();
+            for (int i = 0; i < n; i++)
+            {
+                sb.append(getVertexIndex(i));
+                if (hasTexCoords || hasNormals)
+                {
+                    sb.append("/");
+                }
+                if (hasTexCoords)
+                {
+                    sb.append(getTexCoordIndex(i));
+                }
+                if (hasNormals)
+                {
+                    sb.append("/").append(getNormalIndex(i));
+                }
+                if (i < n - 1)
+                {
+                    sb.append(" ");
+                }
+            }
+            sb.append("]");
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Implementation of an {@link ObjGroup} that stores the indices of 
+     * its faces
+     */
+    private final class PackedObjGroup implements ObjGroup
+    {
+        /**
+         * The name of this group
+         */
+        private final String name;
+
+        /**
+         * The indices of the faces of this group
+         */
+        private final IntArray faceIndices = 
+            arrays.createIntArray(INITIAL_CAPACITY);
+
+        /**
+         * The number of faces in this group
+         */
+        private int size = 0;
+
+        /**
+         * Creates a new group with the given name
+         * 
+         * @param name The name
+         */
+        PackedObjGroup(String name)
+        {
+            this.name = name;
+        }
+
+        /**
+         * Add the specified face to this group
+         * 
+         * @param faceIndex The index of the face
+         */
+        void addFace(int faceIndex)
+        {
+            faceIndices.ensureCapacity(size + 1);
+            faceIndices.set(size, faceIndex);
+            size++;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public int getNumFaces()
+        {
+            return size;
+        }
+
+        @Override
+        public ObjFace getFace(int index)
+        {
+            if (index < 0 || index >= size)
+            {
+                throw new IndexOutOfBoundsException(
+                    "Index " + index + ", size " + size);
+            }
+            return new PackedObjFace(faceIndices.get(index));
+        }
+
+        @Override
+        public String toString()
+        {
+            return "ObjGroup[name=" + name + ",#faces=" + size + "]";
+        }
+    }
+}
@@ -0,0 +1,497 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import de.javagl.obj.PrimitiveArrays.ByteArray;
+import de.javagl.obj.PrimitiveArrays.FloatArray;
+import de.javagl.obj.PrimitiveArrays.IntArray;
+
+/**
+ * A growable array of tuples with 1 to 4 dimensions, which stores the
+ * values of all tuples in a single {@link FloatArray}.<br>
+ * <br>
+ * As long as all tuples have the same number of dimensions, the values
+ * are stored with this number of dimensions as the stride. When a tuple
+ * with a different number of dimensions is added, then additional arrays
+ * storing the number of dimensions and the offset of each tuple are 
+ * created.<br>
+ * <br>
+ * The tuples may be obtained with {@link #get(int)}, which returns a 
+ * lightweight {@link FloatTuple} that reads its values from this array.
+ */
+final class PackedTupleArray
+{
+    /**
+     * The initial capacity, in number of tuples
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The factory for the arrays
+     */
+    private final PrimitiveArrays.Factory arrays;
+
+    /**
+     * The values of all tuples
+     */
+    private final FloatArray values;
+
+    /**
+     * The number of elements in the {@link #values} that are used
+     */
+    private int valuesSize = 0;
+
+    /**
+     * The number of tuples
+     */
+    private int size = 0;
+
+    /**
+     * The number of dimensions of all tuples, or 0 if there are no 
+     * tuples yet, or -1 if the tuples have different numbers of 
+     * dimensions
+     */
+    private int uniformDimensions = 0;
+
+    /**
+     * The number of dimensions of each tuple. This is <code>null</code>
+     * as long as all tuples have the same number of dimensions.
+     */
+    private ByteArray dimensions = null;
+
+    /**
+     * The offsets of the tuples in the {@link #values}. This is 
+     * <code>null</code> as long as all tuples have the same number 
+     * of dimensions.
+     */
+    private IntArray offsets = null;
+
+    /**
+     * Creates a new, empty array
+     * 
+     * @param arrays The factory for the arrays that store the data
+     */
+    PackedTupleArray(PrimitiveArrays.Factory arrays)
+    {
+        this(arrays, INITIAL_CAPACITY * 3);
+    }
+
+    /**
+     * Creates a new, empty array that can store the given number of 
+     * values before it has to grow
+     * 
+     * @param arrays The factory for the arrays that store the data
+     * @param initialValueCapacity The initial capacity, in number of
+     * values
+     */
+    PackedTupleArray(PrimitiveArrays.Factory arrays, int initialValueCapacity)
+    {
+        this.arrays = arrays;
+        this.values = arrays.createFloatArray(Math.max(1, initialValueCapacity));
+    }
+
+    /**
+     * Returns the number of tuples in this array
+     * 
+     * @return The number of tuples
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Add the given tuple to this array
+     * 
+     * @param tuple The tuple
+     * @throws NullPointerException If the tuple is <code>null</code>
+     * @throws IllegalArgumentException If the number of dimensions of 
+     * the given tuple is not between 1 and 4
+     */
+    void add(FloatTuple tuple)
+    {
+        int d = tuple.getDimensions();
+        float x = d > 0 ? tuple.get(0) : 0.0f;
+        float y = d > 1 ? tuple.get(1) : 0.0f;
+        float z = d > 2 ? tuple.get(2) : 0.0f;
+        float w = d > 3 ? tuple.get(3) : 0.0f;
+        add(d, x, y, z, w);
+    }
+
+    /**
+     * Add a tuple with the given number of dimensions, consisting of 
+     * the first coordinates of the given ones
+     * 
+     * @param d The number of dimensions, between 1 and 4
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @param z The z-coordinate
+     * @param w The w-coordinate
+     * @throws IllegalArgumentException If the number of dimensions is
+     * not between 1 and 4
+     */
+    void add(int d, float x, float y, float z, float w)
+    {
+        if (d < 1 || d > 4)
+        {
+            throw new IllegalArgumentException(
+                "The dimensions must be between 1 and 4, but are " + d);
+        }
+        if (uniformDimensions == 0)
+        {
+            uniformDimensions = d;
+        }
+        else if (uniformDimensions != d && uniformDimensions != -1)
+        {
+            createDimensionsAndOffsets();
+        }
+        values.ensureCapacity(valuesSize + d);
+        if (uniformDimensions == -1)
+        {
+            offsets.ensureCapacity(size + 1);
+            dimensions.ensureCapacity(size + 1);
+            offsets.set(size, valuesSize);
+            dimensions.set(size, (byte)d);
+        }
+        FloatArray v = values;
+        int o = valuesSize;
+        v.set(o, x);
+        if (d > 1)
+        {
+            v.set(o + 1, y);
+        }
+        if (d > 2)
+        {
+            v.set(o + 2, z);
+        }
+        if (d > 3)
+        {
+            v.set(o + 3, w);
+        }
+        valuesSize += d;
+        size++;
+    }
+
+    /**
+     * Make sure that this array can store the given number of tuples 
+     * with the given number of dimensions without growing
+     * 
+     * @param numTuples The number of tuples
+     * @param d The number of dimensions
+     */
+    void ensureCapacity(int numTuples, int d)
+    {
+        long numValues = (long)numTuples * d;
+        values.ensureCapacity((int)Math.min(Integer.MAX_VALUE - 8, numValues));
+    }
+
+    /**
+     * Add the given number of tuples with the given number of dimensions,
+     * whose values are stored consecutively in the given array, starting
+     * at the given offset
+     * 
+     * @param d The number of dimensions, between 1 and 4
+     * @param source The values
+     * @param offset The offset of the first value
+     * @param count The number of tuples
+     * @throws IllegalArgumentException If the number of dimensions is
+     * not between 1 and 4
+     */
+    void addAll(int d, float[] source, int offset, int count)
+    {
+        if (uniformDimensions != 0 && uniformDimensions != d)
+        {
+            for (int i = 0; i < count; i++)
+            {
+                int o = offset + i * d;
+                add(d, source[o], 
+                    d > 1 ? source[o + 1] : 0.0f, 
+                    d > 2 ? source[o + 2] : 0.0f, 
+                    d > 3 ? source[o + 3] : 0.0f);
+            }
+            return;
+        }
+        if (d < 1 || d > 4)
+        {
+            throw new IllegalArgumentException(
+                "The dimensions must be between 1 and 4, but are " + d);
+        }
+        if (count == 0)
+        {
+            return;
+        }
+        uniformDimensions = d;
+        int n = count * d;
+        values.ensureCapacity(valuesSize + n);
+        FloatArray v = values;
+        int o = valuesSize;
+        for (int i = 0; i < n; i++)
+        {
+            v.set(o + i, source[offset + i]);
+        }
+        valuesSize += n;
+        size += count;
+    }
+
+    /**
+     * Create the {@link #dimensions} and {@link #offsets} arrays for 
+     * the tuples that have been added until now, when the first tuple
+     * with a different number of dimensions is added
+     */
+    private void createDimensionsAndOffsets()
+    {
+        int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+        dimensions = arrays.createByteArray(capacity);
+        offsets = arrays.createIntArray(capacity);
+        for (int i = 0; i < size; i++)
+        {
+            dimensions.set(i, (byte)uniformDimensions);
+            offsets.set(i, i * uniformDimensions);
+        }
+        uniformDimensions = -1;
+    }
+
+    /**
+     * Returns the number of dimensions of the specified tuple
+     * 
+     * @param index The index of the tuple
+     * @return The number of dimensions
+     */
+    int getDimensions(int index)
+    {
+        if (uniformDimensions == -1)
+        {
+            return dimensions.get(index);
+        }
+        return uniformDimensions;
+    }
+
+    /**
+     * Returns the specified value of the specified tuple
+     * 
+     * @param index The index of the tuple
+     * @param component The index of the value
+     * @return The value
+     * @throws IndexOutOfBoundsException If the component index is 
+     * negative or not smaller than the number of dimensions of the tuple
+     */
+    float get(int index, int component)
+    {
+        int d;
+        int offset;
+        if (uniformDimensions == -1)
+        {
+            d = dimensions.get(index);
+            offset = offsets.get(index);
+        }
+        else
+        {
+            d = uniformDimensions;
+            offset = index * d;
+        }
+        if (component < 0 || component >= d)
+        {
+            throw new IndexOutOfBoundsException(
+                "Component " + component + " of a tuple with " + 
+                d + " dimensions");
+        }
+        return values.get(offset + component);
+    }
+
+    /**
+     * Store the first <code>d</code> values of the specified range of 
+     * tuples consecutively in the given array, starting at index 0
+     * 
+     * @param start The index of the first tuple
+     * @param count The number of tuples
+     * @param d The number of values to store for each tuple
+     * @param dst The target array
+     * @throws IndexOutOfBoundsException If the range is not valid, or
+     * the array is too small, or one of the tuples has less than 
+     * <code>d</code> dimensions
+     */
+    void getAll(int start, int count, int d, float[] dst)
+    {
+        if (start < 0 || count < 0 || (long)start + count > size)
+        {
+            throw new IndexOutOfBoundsException(
+                "Range " + start + " to " + ((long)start + count) + 
+                ", size " + size);
+        }
+        if (uniformDimensions == d)
+        {
+            FloatArray v = values;
+            int offset = start * d;
+            int n = count * d;
+            for (int i = 0; i < n; i++)
+            {
+                dst[i] = v.get(offset + i);
+            }
+            return;
+        }
+        for (int i = 0; i < count; i++)
+        {
+            for (int c = 0; c < d; c++)
+            {
+                dst[i * d + c] = get(start + i, c);
+            }
+        }
+    }
+
+    /**
+     * Returns a {@link FloatTuple} that reads its values from this array
+     * 
+     * @param index The index of the tuple
+     * @return The {@link FloatTuple}
+     * @throws IndexOutOfBoundsException If the index is negative or not 
+     * smaller than the {@link #size()}
+     */
+    FloatTuple get(int index)
+    {
+        if (index < 0 || index >= size)
+        {
+            throw new IndexOutOfBoundsException(
+                "Index " + index + ", size " + size);
+        }
+        return new Element(index);
+    }
+
+    /**
+     * Implementation of a {@link FloatTuple} that reads its values from
+     * the {@link PackedTupleArray}
+     */
+    private final class Element implements FloatTuple
+    {
+        /**
+         * The index of the tuple
+         */
+        private final int index;
+
+        /**
+         * Creates a new element 
+         * 
+         * @param index The index of the tuple
+         */
+        Element(int index)
+        {
+            this.index = index;
+        }
+
+        @Override
+        public float getX()
+        {
+            return get(0);
+        }
+
+        @Override
+        public float getY()
+        {
+            return get(1);
+        }
+
+        @Override
+        public float getZ()
+        {
+            return get(2);
+        }
+
+        @Override
+        public float getW()
+        {
+            return get(3);
+        }
+
+        @Override
+        public float get(int component)
+        {
+            return PackedTupleArray.this.get(index, component);
+        }
+
+        @Override
+        public int getDimensions()
+        {
+            return PackedTupleArray.this.getDimensions(index);
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder sb = new StringBuilder();
+            sb.append("(");
+            for (int i=0; i<getDimensions(); i++)
+            {
+                sb.append(get(i));
+                if (i < getDimensions()-1)
+                {
+                    sb.append(",");
+                }
+            }
+            sb.append(")");
+            return sb.toString();
+        }
+
+        @Override
+        public int hashCode()
+        {
+            // Equal to the hash code of a DefaultFloatTuple
+            int result = 1;
+            for (int i = 0; i < getDimensions(); i++)
+            {
+                result = 31 * result + Float.floatToIntBits(get(i));
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object object)
+        {
+            if (this == object)
+            {
+                return true;
+            }
+            if (!(object instanceof FloatTuple))
+            {
+                return false;
+            }
+            FloatTuple other = (FloatTuple)object;
+            if (other.getDimensions() != getDimensions())
+            {
+                return false;
+            }
+            for (int i=0; i<getDimensions(); i++)
+            {
+                if (Float.floatToIntBits(get(i)) != 
+                    Float.floatToIntBits(other.get(i)))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
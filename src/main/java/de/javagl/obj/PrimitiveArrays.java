@@ -0,0 +1,351 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.util.Arrays;
+
+/**
+ * Interfaces for resizable arrays of primitive values, and a factory 
+ * for creating such arrays on the Java heap. These arrays are used as
+ * the storage of a {@link PackedObj}, so that the same implementation 
+ * may store its data on the heap or in off-heap memory.
+ */
+final class PrimitiveArrays
+{
+    /**
+     * A factory that creates arrays that are backed by Java arrays
+     */
+    static final Factory HEAP = new Factory()
+    {
+        @Override
+        public IntArray createIntArray(int initialCapacity)
+        {
+            return new HeapIntArray(initialCapacity);
+        }
+
+        @Override
+        public FloatArray createFloatArray(int initialCapacity)
+        {
+            return new HeapFloatArray(initialCapacity);
+        }
+
+        @Override
+        public ByteArray createByteArray(int initialCapacity)
+        {
+            return new HeapByteArray(initialCapacity);
+        }
+
+        @Override
+        public void release()
+        {
+            // The arrays are released by the garbage collector
+        }
+    };
+
+    /**
+     * Interface for a factory that creates arrays
+     */
+    interface Factory
+    {
+        /**
+         * Create a new int array with the given initial capacity
+         * 
+         * @param initialCapacity The initial capacity
+         * @return The array
+         */
+        IntArray createIntArray(int initialCapacity);
+
+        /**
+         * Create a new float array with the given initial capacity
+         * 
+         * @param initialCapacity The initial capacity
+         * @return The array
+         */
+        FloatArray createFloatArray(int initialCapacity);
+
+        /**
+         * Create a new byte array with the given initial capacity
+         * 
+         * @param initialCapacity The initial capacity
+         * @return The array
+         */
+        ByteArray createByteArray(int initialCapacity);
+
+        /**
+         * Release the memory of all arrays that have been created by 
+         * this factory. The arrays may no longer be used after this
+         * method has been called.
+         */
+        void release();
+    }
+
+    /**
+     * Interface for a resizable array of int values
+     */
+    interface IntArray
+    {
+        /**
+         * Returns the value at the given index
+         * 
+         * @param index The index
+         * @return The value
+         */
+        int get(int index);
+
+        /**
+         * Set the value at the given index
+         * 
+         * @param index The index
+         * @param value The value
+         */
+        void set(int index, int value);
+
+        /**
+         * Make sure that this array has at least the given capacity,
+         * growing it if necessary. When the array grows, its capacity
+         * is at least doubled.
+         * 
+         * @param minCapacity The minimum capacity
+         */
+        void ensureCapacity(int minCapacity);
+    }
+
+    /**
+     * Interface for a resizable array of float values
+     */
+    interface FloatArray
+    {
+        /**
+         * Returns the value at the given index
+         * 
+         * @param index The index
+         * @return The value
+         */
+        float get(int index);
+
+        /**
+         * Set the value at the given index
+         * 
+         * @param index The index
+         * @param value The value
+         */
+        void set(int index, float value);
+
+        /**
+         * Make sure that this array has at least the given capacity,
+         * growing it if necessary. When the array grows, its capacity
+         * is at least doubled.
+         * 
+         * @param minCapacity The minimum capacity
+         */
+        void ensureCapacity(int minCapacity);
+    }
+
+    /**
+     * Interface for a resizable array of byte values
+     */
+    interface ByteArray
+    {
+        /**
+         * Returns the value at the given index
+         * 
+         * @param index The index
+         * @return The value
+         */
+        byte get(int index);
+
+        /**
+         * Set the value at the given index
+         * 
+         * @param index The index
+         * @param value The value
+         */
+        void set(int index, byte value);
+
+        /**
+         * Make sure that this array has at least the given capacity,
+         * growing it if necessary. When the array grows, its capacity
+         * is at least doubled.
+         * 
+         * @param minCapacity The minimum capacity
+         */
+        void ensureCapacity(int minCapacity);
+    }
+
+    /**
+     * Returns the new capacity for an array with the given capacity 
+     * that should have at least the given minimum capacity
+     * 
+     * @param capacity The current capacity
+     * @param minCapacity The minimum capacity
+     * @return The new capacity
+     */
+    static int computeNewCapacity(int capacity, int minCapacity)
+    {
+        long doubled = Math.max(1L, (long)capacity * 2);
+        return (int)Math.min(Integer.MAX_VALUE - 8, 
+            Math.max(minCapacity, doubled));
+    }
+
+    /**
+     * Implementation of an {@link IntArray} that is backed by an int[]
+     */
+    private static final class HeapIntArray implements IntArray
+    {
+        /**
+         * The values
+         */
+        private int[] values;
+
+        /**
+         * Creates a new array
+         * 
+         * @param initialCapacity The initial capacity
+         */
+        HeapIntArray(int initialCapacity)
+        {
+            values = new int[initialCapacity];
+        }
+
+        @Override
+        public int get(int index)
+        {
+            return values[index];
+        }
+
+        @Override
+        public void set(int index, int value)
+        {
+            values[index] = value;
+        }
+
+        @Override
+        public void ensureCapacity(int minCapacity)
+        {
+            if (minCapacity > values.length)
+            {
+                values = Arrays.copyOf(values, 
+                    computeNewCapacity(values.length, minCapacity));
+            }
+        }
+    }
+
+    /**
+     * Implementation of a {@link FloatArray} that is backed by a float[]
+     */
+    private static final class HeapFloatArray implements FloatArray
+    {
+        /**
+         * The values
+         */
+        private float[] values;
+
+        /**
+         * Creates a new array
+         * 
+         * @param initialCapacity The initial capacity
+         */
+        HeapFloatArray(int initialCapacity)
+        {
+            values = new float[initialCapacity];
+        }
+
+        @Override
+        public float get(int index)
+        {
+            return values[index];
+        }
+
+        @Override
+        public void set(int index, float value)
+        {
+            values[index] = value;
+        }
+
+        @Override
+        public void ensureCapacity(int minCapacity)
+        {
+            if (minCapacity > values.length)
+            {
+                values = Arrays.copyOf(values, 
+                    computeNewCapacity(values.length, minCapacity));
+            }
+        }
+    }
+
+    /**
+     * Implementation of a {@link ByteArray} that is backed by a byte[]
+     */
+    private static final class HeapByteArray implements ByteArray
+    {
+        /**
+         * The values
+         */
+        private byte[] values;
+
+        /**
+         * Creates a new array
+         * 
+         * @param initialCapacity The initial capacity
+         */
+        HeapByteArray(int initialCapacity)
+        {
+            values = new byte[initialCapacity];
+        }
+
+        @Override
+        public byte get(int index)
+        {
+            return values[index];
+        }
+
+        @Override
+        public void set(int index, byte value)
+        {
+            values[index] = value;
+        }
+
+        @Override
+        public void ensureCapacity(int minCapacity)
+        {
+            if (minCapacity > values.length)
+            {
+                values = Arrays.copyOf(values, 
+                    computeNewCapacity(values.length, minCapacity));
+            }
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private PrimitiveArrays()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -0,0 +1,954 @@
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of a {@link ReadableObj} that reads its data from a 
+ * buffer that contains a snapshot that was written with 
+ * {@link ObjSnapshots#write(ReadableObj, java.io.OutputStream)}.<br>
+ * <br>
+ * Only the names of the groups, the group activations and the names of 
+ * the MTL files are read when the instance is created. The tuples, faces
+ * and group faces are read from the buffer when they are accessed. The
+ * {@link FloatTuple}, {@link ObjFace} and {@link ObjGroup} instances that
+ * are returned by this class are lightweight views on the buffer.
+ */
+final class SnapshotObj implements ReadableObj
+{
+    /**
+     * The vertices
+     */
+    private final TupleView vertices;
+
+    /**
+     * The texture coordinates
+     */
+    private final TupleView texCoords;
+
+    /**
+     * The normals
+     */
+    private final TupleView normals;
+
+    /**
+     * The number of faces
+     */
+    private final int numFaces;
+
+    /**
+     * The offsets of the indices of the faces. The indices of face 
+     * <code>i</code> are stored from <code>faceOffsets[i]</code>
+     * (inclusive) to <code>faceOffsets[i+1]</code> (exclusive).
+     */
+    private final IntBuffer faceOffsets;
+
+    /**
+     * The flags of the faces, indicating whether they contain texture
+     * coordinate or normal indices
+     */
+    private final ByteBuffer faceFlags;
+
+    /**
+     * The vertex indices of all faces
+     */
+    private final IntBuffer vertexIndices;
+
+    /**
+     * The texture coordinate indices of all faces, or <code>null</code>
+     * if no face contains texture coordinate indices
+     */
+    private final IntBuffer texCoordIndices;
+
+    /**
+     * The normal indices of all faces, or <code>null</code> if no face 
+     * contains normal indices
+     */
+    private final IntBuffer normalIndices;
+
+    /**
+     * The groups
+     */
+    private final List<SnapshotObjGroup> groups;
+
+    /**
+     * Maps a group name to a group 
+     */
+    private final Map<String, SnapshotObjGroup> groupMap;
+
+    /**
+     * The material groups
+     */
+    private final List<SnapshotObjGroup> materialGroups;
+
+    /**
+     * Maps a material name to a material group 
+     */
+    private final Map<String, SnapshotObjGroup> materialGroupMap;
+
+    /**
+     * The (ascending) indices of the faces at which groups are activated
+     */
+    private final int[] groupStartFaces;
+
+    /**
+     * The names of the groups that are activated at the faces that are 
+     * given by the {@link #groupStartFaces}
+     */
+    private final List<Set<String>> groupStartNames;
+
+    /**
+     * The (ascending) indices of the faces at which material groups are 
+     * activated
+     */
+    private final int[] materialGroupStartFaces;
+
+    /**
+     * The names of the material groups that are activated at the faces 
+     * that are given by the {@link #materialGroupStartFaces}
+     */
+    private final List<String> materialGroupStartNames;
+
+    /**
+     * The names of the MTL files
+     */
+    private final List<String> mtlFileNames;
+
+    /**
+     * Creates a new instance that reads the snapshot from the given 
+     * buffer, starting at position 0
+     * 
+     * @param buffer The buffer
+     * @throws IOException If the buffer does not contain a valid snapshot
+     */
+    SnapshotObj(ByteBuffer buffer) throws IOException
+    {
+        ByteBuffer b = buffer.duplicate();
+        try
+        {
+            int magic = b.getInt();
+            if (magic != ObjSnapshots.MAGIC)
+            {
+                throw new IOException("Not a snapshot: Invalid header");
+            }
+            int version = b.getInt();
+            if (version != ObjSnapshots.VERSION)
+            {
+                throw new IOException(
+                    "Unsupported snapshot version: " + version);
+            }
+            numFaces = readCount(b);
+            int numIndices = readCount(b);
+            int flags = b.getInt();
+
+            vertices = new TupleView(b);
+            texCoords = new TupleView(b);
+            normals = new TupleView(b);
+
+            faceOffsets = readInts(b, numFaces + 1);
+            faceFlags = readBytes(b, numFaces);
+            vertexIndices = readInts(b, numIndices);
+            if ((flags & ObjSnapshots.FLAG_TEX_COORD_INDICES) != 0)
+            {
+                texCoordIndices = readInts(b, numIndices);
+            }
+            else
+            {
+                texCoordIndices = null;
+            }
+            if ((flags & ObjSnapshots.FLAG_NORMAL_INDICES) != 0)
+            {
+                normalIndices = readInts(b, numIndices);
+            }
+            else
+            {
+                normalIndices = null;
+            }
+
+            groups = new ArrayList<SnapshotObjGroup>();
+            groupMap = new LinkedHashMap<String, SnapshotObjGroup>();
+            readGroups(b, groups, groupMap);
+            materialGroups = new ArrayList<SnapshotObjGroup>();
+            materialGroupMap = new LinkedHashMap<String, SnapshotObjGroup>();
+            readGroups(b, materialGroups, materialGroupMap);
+
+            int numGroupActivations = readCount(b);
+            groupStartFaces = new int[numGroupActivations];
+            groupStartNames = new ArrayList<Set<String>>();
+            for (int i = 0; i < numGroupActivations; i++)
+            {
+                groupStartFaces[i] = b.getInt();
+                groupStartNames.add(Collections.unmodifiableSet(
+                    new LinkedHashSet<String>(readStrings(b))));
+            }
+            int numMaterialGroupActivations = readCount(b);
+            materialGroupStartFaces = new int[numMaterialGroupActivations];
+            materialGroupStartNames = new ArrayList<String>();
+            for (int i = 0; i < numMaterialGroupActivations; i++)
+            {
+                materialGroupStartFaces[i] = b.getInt();
+                materialGroupStartNames.add(ObjSnapshots.readString(b));
+            }
+            mtlFileNames = Collections.unmodifiableList(readStrings(b));
+        }
+        catch (BufferUnderflowException | IllegalArgumentException e)
+        {
+            throw new IOException("Invalid snapshot data", e);
+        }
+    }
+
+    /**
+     * Read a non-negative count from the given buffer
+     * 
+     * @param b The buffer
+     * @return The count
+     * @throws IOException If the count is negative
+     */
+    private static int readCount(ByteBuffer b) throws IOException
+    {
+        int count = b.getInt();
+        if (count < 0)
+        {
+            throw new IOException("Invalid count: " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Returns a view on the given number of int values, starting at the
+     * position of the given buffer, and advance the position of the 
+     * buffer accordingly
+     * 
+     * @param b The buffer
+     * @param n The number of values
+     * @return The view
+     * @throws IOException If the buffer does not contain enough data
+     */
+    private static IntBuffer readInts(ByteBuffer b, int n) throws IOException
+    {
+        return readBytes(b, (long)n * 4).asIntBuffer();
+    }
+
+    /**
+     * Returns a view on the given number of float values, starting at 
+     * the position of the given buffer, and advance the position of the 
+     * buffer accordingly
+     * 
+     * @param b The buffer
+     * @param n The number of values
+     * @return The view
+     * @throws IOException If the buffer does not contain enough data
+     */
+    private static FloatBuffer readFloats(ByteBuffer b, int n) 
+        throws IOException
+    {
+        return readBytes(b, (long)n * 4).asFloatBuffer();
+    }
+
+    /**
+     * Returns a view on the given number of bytes, starting at the 
+     * position of the given buffer, and advance the position of the 
+     * buffer accordingly
+     * 
+     * @param b The buffer
+     * @param n The number of bytes
+     * @return The view
+     * @throws IOException If the buffer does not contain enough data
+     */
+    private static ByteBuffer readBytes(ByteBuffer b, long n) 
+        throws IOException
+    {
+        if (n < 0 || n > b.remaining())
+        {
+            throw new IOException("Invalid snapshot data: Expected " + n + 
+                " bytes, but only " + b.remaining() + " are available");
+        }
+        ByteBuffer result = b.slice();
+        result.limit((int)n);
+        b.position(b.position() + (int)n);
+        return result;
+    }
+
+    /**
+     * Read a list of strings from the given buffer
+     * 
+     * @param b The buffer
+     * @return The strings
+     * @throws IOException If the data is not valid
+     */
+    private static List<String> readStrings(ByteBuffer b) throws IOException
+    {
+        int n = readCount(b);
+        List<String> strings = new ArrayList<String>();
+        for (int i = 0; i < n; i++)
+        {
+            strings.add(ObjSnapshots.readString(b));
+        }
+        return strings;
+    }
+
+    /**
+     * Read the groups from the given buffer
+     * 
+     * @param b The buffer
+     * @param groups The list that will receive the groups
+     * @param groupMap The map that will receive the groups
+     * @throws IOException If the data is not valid
+     */
+    private void readGroups(ByteBuffer b, List<SnapshotObjGroup> groups, 
+        Map<String, SnapshotObjGroup> groupMap) throws IOException
+    {
+        int numGroups = readCount(b);
+        for (int i = 0; i < numGroups; i++)
+        {
+            String name = ObjSnapshots.readString(b);
+            int n = readCount(b);
+            IntBuffer faceIndices = readInts(b, n);
+            SnapshotObjGroup group = new SnapshotObjGroup(name, faceIndices);
+            groups.add(group);
+            groupMap.put(name, group);
+        }
+    }
+
+    @Override
+    public int getNumVertices()
+    {
+        return vertices.size;
+    }
+
+    @Override
+    public FloatTuple getVertex(int index)
+    {
+        return vertices.get(index);
+    }
+
+    @Override
+    public int getNumTexCoords()
+    {
+        return texCoords.size;
+    }
+
+    @Override
+    public FloatTuple getTexCoord(int index)
+    {
+        return texCoords.get(index);
+    }
+
+    @Override
+    public int getNumNormals()
+    {
+        return normals.size;
+    }
+
+    @Override
+    public FloatTuple getNormal(int index)
+    {
+        return normals.get(index);
+    }
+
+    @Override
+    public int getNumFaces()
+    {
+        return numFaces;
+    }
+
+    @Override
+    public ObjFace getFace(int index)
+    {
+        if (index < 0 || index >= numFaces)
+        {
+            throw new IndexOutOfBoundsException(
+                "Index " + index + ", size " + numFaces);
+        }
+        return new SnapshotObjFace(index);
+    }
+
+    @Override
+    public Set<String> getActivatedGroupNames(ObjFace face)
+    {
+        int faceIndex = getFaceIndex(face);
+        int i = Arrays.binarySearch(groupStartFaces, faceIndex);
+        if (i < 0)
+        {
+            return null;
+        }
+        return groupStartNames.get(i);
+    }
+
+    @Override
+    public String getActivatedMaterialGroupName(ObjFace face)
+    {
+        int faceIndex = getFaceIndex(face);
+        int i = Arrays.binarySearch(materialGroupStartFaces, faceIndex);
+        if (i < 0)
+        {
+            return null;
+        }
+        return materialGroupStartNames.get(i);
+    }
+
+    /**
+     * Returns the index of the given face in this Obj, or -1 if the
+     * given face was not obtained from this Obj
+     * 
+     * @param face The face
+     * @return The index
+     */
+    private int getFaceIndex(ObjFace face)
+    {
+        if (face instanceof SnapshotObjFace)
+        {
+            SnapshotObjFace snapshotObjFace = (SnapshotObjFace)face;
+            if (snapshotObjFace.getObj() == this)
+            {
+                return snapshotObjFace.index;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int getNumGroups()
+    {
+        return groups.size();
+    }
+
+    @Override
+    public ObjGroup getGroup(int index)
+    {
+        return groups.get(index);
+    }
+
+    @Override
+    public ObjGroup getGroup(String name)
+    {
+        return groupMap.get(name);
+    }
+
+    @Override
+    public int getNumMaterialGroups()
+    {
+        return materialGroups.size();
+    }
+
+    @Override
+    public ObjGroup getMaterialGroup(int index)
+    {
+        return materialGroups.get(index);
+    }
+
+    @Override
+    public ObjGroup getMaterialGroup(String name)
+    {
+        return materialGroupMap.get(name);
+    }
+
+    @Override
+    public List<String> getMtlFileNames()
+    {
+        return mtlFileNames;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Obj[" +
+            "#vertices="+ vertices.size + "," +
+            "#texCoords=" + texCoords.size + "," +
+            "#normals=" + normals.size + "," +
+            "#faces=" + numFaces + "," +
+            "#groups=" + groups.size() + "," +
+            "#materialGroups=" + materialGroups.size() + "," +
+            "mtlFileNames=" + mtlFileNames + "]";
+    }
+
+    /**
+     * A view on the tuples that are stored in a snapshot
+     */
+    private static final class TupleView
+    {
+        /**
+         * The number of tuples
+         */
+        private final int size;
+
+        /**
+         * The number of dimensions of all tuples, or -1 if the tuples 
+         * have different numbers of dimensions
+         */
+        private final int uniformDimensions;
+
+        /**
+         * The number of dimensions of each tuple, or <code>null</code>
+         * if all tuples have the same number of dimensions
+         */
+        private final ByteBuffer dimensions;
+
+        /**
+         * The offsets of the tuples in the values, or <code>null</code>
+         * if all tuples have the same number of dimensions
+         */
+        private final IntBuffer offsets;
+
+        /**
+         * The values of all tuples
+         */
+        private final FloatBuffer values;
+
+        /**
+         * Creates a new view on the tuples that start at the position
+         * of the given buffer, and advances the position of the buffer
+         * to the end of the tuples
+         * 
+         * @param b The buffer
+         * @throws IOException If the data is not valid
+         */
+        TupleView(ByteBuffer b) throws IOException
+        {
+            size = readCount(b);
+            uniformDimensions = b.getInt();
+            if (uniformDimensions == -1)
+            {
+                dimensions = readBytes(b, size);
+                offsets = readInts(b, size);
+            }
+            else if (uniformDimensions >= 0 && uniformDimensions <= 4)
+            {
+                dimensions = null;
+                offsets = null;
+            }
+            else
+            {
+                throw new IOException(
+                    "Invalid number of dimensions: " + uniformDimensions);
+            }
+            int numValues = readCount(b);
+            values = readFloats(b, numValues);
+        }
+
+        /**
+         * Returns the number of dimensions of the specified tuple
+         * 
+         * @param index The index of the tuple
+         * @return The number of dimensions
+         */
+        int getDimensions(int index)
+        {
+            if (uniformDimensions == -1)
+            {
+                return dimensions.get(index);
+            }
+            return uniformDimensions;
+        }
+
+        /**
+         * Returns the specified value of the specified tuple
+         * 
+         * @param index The index of the tuple
+         * @param component The index of the value
+         * @return The value
+         * @throws IndexOutOfBoundsException If the component index is 
+         * negative or not smaller than the number of dimensions of the 
+         * tuple
+         */
+        float get(int index, int component)
+        {
+            int d;
+            int offset;
+            if (uniformDimensions == -1)
+            {
+                d = dimensions.get(index);
+                offset = offsets.get(index);
+            }
+            else
+            {
+                d = uniformDimensions;
+                offset = index * d;
+            }
+            if (component < 0 || component >= d)
+            {
+                throw new IndexOutOfBoundsException(
+                    "Component " + component + " of a tuple with " + 
+                    d + " dimensions");
+            }
+            return values.get(offset + component);
+        }
+
+        /**
+         * Returns a {@link FloatTuple} that reads its values from this view
+         * 
+         * @param index The index of the tuple
+         * @return The {@link FloatTuple}
+         * @throws IndexOutOfBoundsException If the index is negative or 
+         * not smaller than the number of tuples
+         */
+        FloatTuple get(int index)
+        {
+            if (index < 0 || index >= size)
+            {
+                throw new IndexOutOfBoundsException(
+                    "Index " + index + ", size " + size);
+            }
+            return new Element(index);
+        }
+
+        /**
+         * Implementation of a {@link FloatTuple} that reads its values 
+         * from the {@link TupleView}
+         */
+        private final class Element implements FloatTuple
+        {
+            /**
+             * The index of the tuple
+             */
+            private final int index;
+
+            /**
+             * Creates a new element 
+             * 
+             * @param index The index of the tuple
+             */
+            Element(int index)
+            {
+                this.index = index;
+            }
+
+            @Override
+            public float getX()
+            {
+                return get(0);
+            }
+
+            @Override
+            public float getY()
+            {
+                return get(1);
+            }
+
+            @Override
+            public float getZ()
+            {
+                return get(2);
+            }
+
+            @Override
+            public float getW()
+            {
+                return get(3);
+            }
+
+            @Override
+            public float get(int component)
+            {
+                return TupleView.this.get(index, component);
+            }
+
+            @Override
+            public int getDimensions()
+            {
+                return TupleView.this.getDimensions(index);
+            }
+
+            @Override
+            public String toString()
+            {
+                StringBuilder sb = new StringBuilder();
+                sb.append("(");
+                for (int i=0; i<getDimensions(); i++)
+                {
+                    sb.append(get(i));
+                    if (i < getDimensions()-1)
+                    {
+                        sb.append(",");
+                    }
+                }
+                sb.append(")");
+                return sb.toString();
+            }
+
+            @Override
+            public int hashCode()
+            {
+                // Equal to the hash code of a DefaultFloatTuple
+                int result = 1;
+                for (int i = 0; i < getDimensions(); i++)
+                {
+                    result = 31 * result + Float.floatToIntBits(get(i));
+                }
+                return result;
+            }
+
+            @Override
+            public boolean equals(Object object)
+            {
+                if (this == object)
+                {
+                    return true;
+                }
+                if (!(object instanceof FloatTuple))
+                {
+                    return false;
+                }
+                FloatTuple other = (FloatTuple)object;
+                if (other.getDimensions() != getDimensions())
+                {
+                    return false;
+                }
+                for (int i=0; i<getDimensions(); i++)
+                {
+                    if (Float.floatToIntBits(get(i)) != 
+                        Float.floatToIntBits(other.get(i)))
+                    {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Implementation of an {@link ObjFace} that reads its indices from
+     * the buffers of the {@link SnapshotObj}
+     */
+    private final class SnapshotObjFace implements ObjFace
+    {
+        /**
+         * The index of the face
+         */
+        private final int index;
+
+        /**
+         * Creates a new face
+         * 
+         * @param index The index of the face
+         */
+        SnapshotObjFace(int index)
+        {
+            this.index = index;
+        }
+
+        /**
+         * Returns the {@link SnapshotObj} that this face belongs to
+         * 
+         * @return The {@link SnapshotObj}
+         */
+        SnapshotObj getObj()
+        {
+            return SnapshotObj.this;
+        }
+
+        @Override
+        public int getNumVertices()
+        {
+            return faceOffsets.get(index + 1) - faceOffsets.get(index);
+        }
+
+        @Override
+        public boolean containsTexCoordIndices()
+        {
+            return (faceFlags.get(index) & 
+                ObjSnapshots.FLAG_TEX_COORD_INDICES) != 0;
+        }
+
+        @Override
+        public boolean containsNormalIndices()
+        {
+            return (faceFlags.get(index) & 
+                ObjSnapshots.FLAG_NORMAL_INDICES) != 0;
+        }
+
+        @Override
+        public int getVertexIndex(int number)
+        {
+            return vertexIndices.get(offset(number));
+        }
+
+        @Override
+        public int getTexCoordIndex(int number)
+        {
+            if (!containsTexCoordIndices())
+            {
+                throw new IllegalStateException(
+                    "The face does not contain texture coordinate indices");
+            }
+            return texCoordIndices.get(offset(number));
+        }
+
+        @Override
+        public int getNormalIndex(int number)
+        {
+            if (!containsNormalIndices())
+            {
+                throw new IllegalStateException(
+                    "The face does not contain normal indices");
+            }
+            return normalIndices.get(offset(number));
+        }
+
+        /**
+         * Returns the offset of the specified index of this face in
+         * the index buffers
+         * 
+         * @param number The number of the vertex in this face
+         * @return The offset
+         * @throws IndexOutOfBoundsException If the number is negative or
+         * not smaller than the number of vertices of this face
+         */
+        private int offset(int number)
+        {
+            int start = faceOffsets.get(index);
+            int n = faceOffsets.get(index + 1) - start;
+            if (number < 0 || number >= n)
+            {
+                throw new IndexOutOfBoundsException(
+                    "Index " + number + ", size " + n);
+            }
+            return start + number;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return index;
+        }
+
+        @Override
+        public boolean equals(Object object)
+        {
+            if (this == object)
+            {
+                return true;
+            }
+            if (!(object instanceof SnapshotObjFace))
+            {
+                return false;
+            }
+            SnapshotObjFace other = (SnapshotObjFace)object;
+            return other.getObj() == getObj() && other.index == index;
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder sb = new StringBuilder("ObjFace[");
+            int n = getNumVertices();
+            boolean hasTexCoords = containsTexCoordIndices();
+            boolean hasNormals = containsNormalIndices();
+            for (int i = 0; i < n; i++)
+            {
+                sb.append(getVertexIndex(i));
+                if (hasTexCoords || hasNormals)
+                {
+                    sb.append("/");
+                }
+                if (hasTexCoords)
+                {
+                    sb.append(getTexCoordIndex(i));
+                }
+                if (hasNormals)
+                {
+                    sb.append("/").append(getNormalIndex(i));
+                }
+                if (i < n - 1)
+                {
+                    sb.append(" ");
+                }
+            }
+            sb.append("]");
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Implementation of an {@link ObjGroup} that reads the indices of
+     * its faces from the buffer of the {@link SnapshotObj}
+     */
+    private final class SnapshotObjGroup implements ObjGroup
+    {
+        /**
+         * The name of this group
+         */
+        private final String name;
+
+        /**
+         * The indices of the faces of this group
+         */
+        private final IntBuffer faceIndices;
+
+        /**
+         * Creates a new group 
+         * 
+         * @param name The name
+         * @param faceIndices The indices of the faces
+         */
+        SnapshotObjGroup(String name, IntBuffer faceIndices)
+        {
+            this.name = name;
+            this.faceIndices = faceIndices;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public int getNumFaces()
+        {
+            return faceIndices.capacity();
+        }
+
+        @Override
+        public ObjFace getFace(int index)
+        {
+            return new SnapshotObjFace(faceIndices.get(index));
+        }
+
+        @Override
+        public String toString()
+        {
+            return "ObjGroup[name=" + name + 
+                ",#faces=" + faceIndices.capacity() + "]";
+        }
+    }
+}
@@ -1,230 +1,506 @@
-/*
- * www.javagl.de - Obj
- *
- * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
- * 
- * Permission is hereby granted, free of charge, to any person
- * obtaining a copy of this software and associated documentation
- * files (the "Software"), to deal in the Software without
- * restriction, including without limitation the rights to use,
- * copy, modify, merge, publish, distribute, sublicense, and/or sell
- * copies of the Software, and to permit persons to whom the
- * Software is furnished to do so, subject to the following
- * conditions:
- * 
- * The above copyright notice and this permission notice shall be
- * included in all copies or substantial portions of the Software.
- * 
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
- * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
- * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
- * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
- * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
- * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
- * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
- * OTHER DEALINGS IN THE SOFTWARE.
- */
-
-package de.javagl.obj;
-
-import java.util.Collection;
-
-/**
- * Interface for all classes that may receive the data that is read
- * from an OBJ file by an {@link ObjReader}
- */
-public interface WritableObj
-{
-    /**
-     * Add the given vertex
-     * 
-     * @param vertex The vertex to add.
-     * @throws NullPointerException If the vertex is <code>null</code>
-     */
-    void addVertex(FloatTuple vertex);
-
-    /**
-     * Add the given vertex 
-     * 
-     * @param x The x-coordinate
-     * @param y The y-coordinate
-     * @param z The z-coordinate
-     */
-    void addVertex(float x, float y, float z);
-
-    /**
-     * Add the given texture coordinate
-     * 
-     * @param texCoord The texture coordinate to add.
-     * @throws NullPointerException If the  texture coordinate is 
-     * <code>null</code>
-     */
-    void addTexCoord(FloatTuple texCoord);
-
-    /**
-     * Add the given texture coordinate 
-     * 
-     * @param x The x-coordinate
-     */
-    void addTexCoord(float x);
-    
-    /**
-     * Add the given texture coordinate 
-     * 
-     * @param x The x-coordinate
-     * @param y The y-coordinate
-     */
-    void addTexCoord(float x, float y);
-    
-    /**
-     * Add the given texture coordinate 
-     * 
-     * @param x The x-coordinate
-     * @param y The y-coordinate
-     * @param z The z-coordinate
-     */
-    void addTexCoord(float x, float y, float z);
-    
-    /**
-     * Add the given normal
-     * 
-     * @param normal The normal to add.
-     * @throws NullPointerException If the normal is <code>null</code>
-     */
-    void addNormal(FloatTuple normal);
-
-    /**
-     * Add the given normal 
-     * 
-     * @param x The x-coordinate
-     * @param y The y-coordinate
-     * @param z The z-coordinate
-     */
-    void addNormal(float x, float y, float z);
-    
-    /**
-     * Set the groups with the given names to be active right now. Faces that 
-     * are added subsequently will be added to all active groups, creating
-     * these groups if necessary. If the given collection is <code>null</code>,
-     * then this call will have no effect. If the given collection is empty,
-     * then the default group (named "default") will be activated.
-     * 
-     * @param groupNames The group names
-     * @throws NullPointerException If the given collection contains 
-     * <code>null</code> elements
-     */
-    void setActiveGroupNames(Collection<? extends String> groupNames);
-    
-    /**
-     * Set the material group with the given names to be active right now 
-     * Faces that are added subsequently will be added to the active 
-     * material group, creating this material group if necessary. If
-     * the given name is <code>null</code>, then this call will have no
-     * effect.
-     * 
-     * @param materialGroupName The material group name
-     */
-    void setActiveMaterialGroupName(String materialGroupName);
-   
-    /**
-     * Add the given face. 
-     * The indices in the given face are absolute (non-negative) and 
-     * <b>0</b>-based. 
-     * The implementation is free to store a <b>reference</b> to the given 
-     * face.  
-     * 
-     * @param face The face to add.
-     * @throws NullPointerException If the face is <code>null</code>
-     */
-    void addFace(ObjFace face);
-    
-    /**
-     * Add the specified face with the given vertex indices, but without 
-     * texture- or normal indices.
-     * The given indices are absolute (non-negative) and <b>0</b>-based. 
-     * The implementation is free to store a <b>reference</b> to the given 
-     * array. So the array should not be modified after this method has 
-     * been called. 
-     * 
-     * @param v The vertex indices
-     * @throws IllegalArgumentException If one of the given indices is
-     * negative or not smaller than the number of vertices that have been
-     * added until now.
-     */
-    void addFace(int ... v);
-
-    /**
-     * Add the specified face with the given vertex and texture coordinate
-     * indices, but without normal indices.
-     * The given indices are absolute (non-negative) and <b>0</b>-based. 
-     * The implementation is free to store a <b>reference</b> to the given 
-     * array. So the array should not be modified after this method has 
-     * been called. 
-     * 
-     * @param v The vertex- and texture coordinate indices
-     * @throws IllegalArgumentException If one of the given indices is
-     * negative or not smaller than the number of vertices or texture 
-     * coordinates that have been added until now.
-     */
-    void addFaceWithTexCoords(int ... v);
-
-    /**
-     * Add the specified face with the given vertex and normal indices, 
-     * but without texture coordinate indices.
-     * The given indices are absolute (non-negative) and <b>0</b>-based. 
-     * The implementation is free to store a <b>reference</b> to the given 
-     * array. So the array should not be modified after this method has 
-     * been called. 
-     * 
-     * @param v The vertex- and normal indices
-     * @throws IllegalArgumentException If one of the given indices is
-     * negative or not smaller than the number of vertices or normals 
-     * that have been added until now.
-     */
-    void addFaceWithNormals(int ... v);
-
-    /**
-     * Add the specified face with the given vertex, texture coordinate
-     * and normal indices.
-     * The given indices are absolute (non-negative) and <b>0</b>-based. 
-     * The implementation is free to store a <b>reference</b> to the given 
-     * array. So the array should not be modified after this method has 
-     * been called. 
-     * 
-     * @param v The vertex- texture coordinate and normal indices
-     * @throws IllegalArgumentException If one of the given indices is
-     * negative or not smaller than the number of vertices, texture
-     * coordinates or normals that have been added until now.
-     */
-    void addFaceWithAll(int ... v);
-    
-    /**
-     * Add the specified face. 
-     * The given indices are absolute (non-negative) and <b>0</b>-based. 
-     * The implementation is free to store a <b>reference</b> to the given 
-     * arrays. So the arrays should not be modified after this method has 
-     * been called. 
-     * 
-     * @param v The vertex indices
-     * @param vt The texture coordinate indices. May be <code>null</code>.
-     * @param vn The normal indices. May be <code>null</code>
-     * @throws NullPointerException If the vertex indices array is 
-     * <code>null</code>
-     * @throws IllegalArgumentException If one of the given indices is
-     * negative or not smaller than the number of corresponding vertices,
-     * texture coordinates or normals that have been added until now,
-     * respectively.
-     * @throws IllegalArgumentException If the given (non-null) arrays 
-     * have different lengths
-     */
-    void addFace(int[] v, int[] vt, int[] vn);
-    
-    /**
-     * Set the given MTL file names. A copy of the given
-     * collection will be stored.
-     * 
-     * @param mtlFileNames The names of the MTL file
-     */
-    void setMtlFileNames(Collection<? extends String> mtlFileNames);
-    
-}
+/*
+ * www.javagl.de - Obj
+ *
+ * Copyright (c) 2008-2015 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.javagl.obj;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Interface for all classes that may receive the data that is read
+ * from an OBJ file by an {@link ObjReader}
+ */
+public interface WritableObj
+{
+    /**
+     * Add the given vertex
+     * 
+     * @param vertex The vertex to add.
+     * @throws NullPointerException If the vertex is <code>null</code>
+     */
+    void addVertex(FloatTuple vertex);
+
+    /**
+     * Add the given vertex 
+     * 
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @param z The z-coordinate
+     */
+    void addVertex(float x, float y, float z);
+
+    /**
+     * Add the given vertex, which has the given number of dimensions.
+     * Only the first <code>dimensions</code> coordinates are used.<br>
+     * <br>
+     * This is the method that is called by the {@link ObjReader} for 
+     * each vertex. The default implementation calls 
+     * {@link #addVertex(float, float, float)} for vertices with three 
+     * dimensions, and {@link #addVertex(FloatTuple)} otherwise. 
+     * Implementations may override this method in order to receive 
+     * the vertices without creating {@link FloatTuple} instances.
+     * 
+     * @param dimensions The number of dimensions, between 1 and 4
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @param z The z-coordinate
+     * @param w The w-coordinate
+     * @throws IllegalArgumentException If the number of dimensions is
+     * not between 1 and 4
+     */
+    default void addVertex(
+        int dimensions, float x, float y, float z, float w)
+    {
+        if (dimensions == 3)
+        {
+            addVertex(x, y, z);
+        }
+        else
+        {
+            addVertex(FloatTuples.create(dimensions, x, y, z, w));
+        }
+    }
+
+    /**
+     * Add the given texture coordinate
+     * 
+     * @param texCoord The texture coordinate to add.
+     * @throws NullPointerException If the  texture coordinate is 
+     * <code>null</code>
+     */
+    void addTexCoord(FloatTuple texCoord);
+
+    /**
+     * Add the given texture coordinate 
+     * 
+     * @param x The x-coordinate
+     */
+    void addTexCoord(float x);
+    
+    /**
+     * Add the given texture coordinate 
+     * 
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     */
+    void addTexCoord(float x, float y);
+    
+    /**
+     * Add the given texture coordinate 
+     * 
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @param z The z-coordinate
+     */
+    void addTexCoord(float x, float y, float z);
+    
+    /**
+     * Add the given texture coordinate, which has the given number of 
+     * dimensions. Only the first <code>dimensions</code> coordinates 
+     * are used.<br>
+     * <br>
+     * This is the method that is called by the {@link ObjReader} for 
+     * each texture coordinate. The default implementation calls 
+     * {@link #addTexCoord(float)}, {@link #addTexCoord(float, float)} or 
+     * {@link #addTexCoord(float, float, float)} for texture coordinates 
+     * with one, two or three dimensions, and 
+     * {@link #addTexCoord(FloatTuple)} otherwise. Implementations may 
+     * override this method in order to receive the texture coordinates 
+     * without creating {@link FloatTuple} instances.
+     * 
+     * @param dimensions The number of dimensions, between 1 and 4
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @param z The z-coordinate
+     * @param w The w-coordinate
+     * @throws IllegalArgumentException If the number of dimensions is
+     * not between 1 and 4
+     */
+    default void addTexCoord(
+        int dimensions, float x, float y, float z, float w)
+    {
+        if (dimensions == 1)
+        {
+            addTexCoord(x);
+        }
+        else if (dimensions == 2)
+        {
+            addTexCoord(x, y);
+        }
+        else if (dimensions == 3)
+        {
+            addTexCoord(x, y, z);
+        }
+        else
+        {
+            addTexCoord(FloatTuples.create(dimensions, x, y, z, w));
+        }
+    }
+    
+    /**
+     * Add the given normal
+     * 
+     * @param normal The normal to add.
+     * @throws NullPointerException If the normal is <code>null</code>
+     */
+    void addNormal(FloatTuple normal);
+
+    /**
+     * Add the given normal 
+     * 
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @param z The z-coordinate
+     */
+    void addNormal(float x, float y, float z);
+    
+    /**
+     * Add the given normal, which has the given number of dimensions.
+     * Only the first <code>dimensions</code> coordinates are used.<br>
+     * <br>
+     * This is the method that is called by the {@link ObjReader} for 
+     * each normal. The default implementation calls 
+     * {@link #addNormal(float, float, float)} for normals with three 
+     * dimensions, and {@link #addNormal(FloatTuple)} otherwise. 
+     * Implementations may override this method in order to receive 
+     * the normals without creating {@link FloatTuple} instances.
+     * 
+     * @param dimensions The number of dimensions, between 1 and 4
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @param z The z-coordinate
+     * @param w The w-coordinate
+     * @throws IllegalArgumentException If the number of dimensions is
+     * not between 1 and 4
+     */
+    default void addNormal(
+        int dimensions, float x, float y, float z, float w)
+    {
+        if (dimensions == 3)
+        {
+            addNormal(x, y, z);
+        }
+        else
+        {
+            addNormal(FloatTuples.create(dimensions, x, y, z, w));
+        }
+    }
+    
+    /**
+     * Set the groups with the given names to be active right now. Faces that 
+     * are added subsequently will be added to all active groups, creating
+     * these groups if necessary. If the given collection is <code>null</code>,
+     * then this call will have no effect. If the given collection is empty,
+     * then the default group (named "default") will be activated.
+     * 
+     * @param groupNames The group names
+     * @throws NullPointerException If the given collection contains 
+     * <code>null</code> elements
+     */
+    void setActiveGroupNames(Collection<? extends String> groupNames);
+    
+    /**
+     * Set the material group with the given names to be active right now 
+     * Faces that are added subsequently will be added to the active 
+     * material group, creating this material group if necessary. If
+     * the given name is <code>null</code>, then this call will have no
+     * effect.
+     * 
+     * @param materialGroupName The material group name
+     */
+    void setActiveMaterialGroupName(String materialGroupName);
+   
+    /**
+     * Add the given face. 
+     * The indices in the given face are absolute (non-negative) and 
+     * <b>0</b>-based. 
+     * The implementation is free to store a <b>reference</b> to the given 
+     * face.  
+     * 
+     * @param face The face to add.
+     * @throws NullPointerException If the face is <code>null</code>
+     */
+    void addFace(ObjFace face);
+    
+    /**
+     * Add the specified face with the given vertex indices, but without 
+     * texture- or normal indices.
+     * The given indices are absolute (non-negative) and <b>0</b>-based. 
+     * The implementation is free to store a <b>reference</b> to the given 
+     * array. So the array should not be modified after this method has 
+     * been called. 
+     * 
+     * @param v The vertex indices
+     * @throws IllegalArgumentException If one of the given indices is
+     * negative or not smaller than the number of vertices that have been
+     * added until now.
+     */
+    void addFace(int ... v);
+
+    /**
+     * Add the specified face with the given vertex and texture coordinate
+     * indices, but without normal indices.
+     * The given indices are absolute (non-negative) and <b>0</b>-based. 
+     * The implementation is free to store a <b>reference</b> to the given 
+     * array. So the array should not be modified after this method has 
+     * been called. 
+     * 
+     * @param v The vertex- and texture coordinate indices
+     * @throws IllegalArgumentException If one of the given indices is
+     * negative or not smaller than the number of vertices or texture 
+     * coordinates that have been added until now.
+     */
+    void addFaceWithTexCoords(int ... v);
+
+    /**
+     * Add the specified face with the given vertex and normal indices, 
+     * but without texture coordinate indices.
+     * The given indices are absolute (non-negative) and <b>0</b>-based. 
+     * The implementation is free to store a <b>reference</b> to the given 
+     * array. So the array should not be modified after this method has 
+     * been called. 
+     * 
+     * @param v The vertex- and normal indices
+     * @throws IllegalArgumentException If one of the given indices is
+     * negative or not smaller than the number of vertices or normals 
+     * that have been added until now.
+     */
+    void addFaceWithNormals(int ... v);
+
+    /**
+     * Add the specified face with the given vertex, texture coordinate
+     * and normal indices.
+     * The given indices are absolute (non-negative) and <b>0</b>-based. 
+     * The implementation is free to store a <b>reference</b> to the given 
+     * array. So the array should not be modified after this method has 
+     * been called. 
+     * 
+     * @param v The vertex- texture coordinate and normal indices
+     * @throws IllegalArgumentException If one of the given indices is
+     * negative or not smaller than the number of vertices, texture
+     * coordinates or normals that have been added until now.
+     */
+    void addFaceWithAll(int ... v);
+    
+    /**
+     * Add the specified face. 
+     * The given indices are absolute (non-negative) and <b>0</b>-based. 
+     * The implementation is free to store a <b>reference</b> to the given 
+     * arrays. So the arrays should not be modified after this method has 
+     * been called. 
+     * 
+     * @param v The vertex indices
+     * @param vt The texture coordinate indices. May be <code>null</code>.
+     * @param vn The normal indices. May be <code>null</code>
+     * @throws NullPointerException If the vertex indices array is 
+     * <code>null</code>
+     * @throws IllegalArgumentException If one of the given indices is
+     * negative or not smaller than the number of corresponding vertices,
+     * texture coordinates or normals that have been added until now,
+     * respectively.
+     * @throws IllegalArgumentException If the given (non-null) arrays 
+     * have different lengths
+     */
+    void addFace(int[] v, int[] vt, int[] vn);
+    
+    /**
+     * Inform this object that the given total numbers of vertices and 
+     * faces are about to be added. This is only a hint: Implementations 
+     * may use it to allocate their internal data structures with the 
+     * appropriate size, in order to avoid repeated resizing. The default
+     * implementation does nothing.
+     * 
+     * @param numVertices The total number of vertices
+     * @param numFaces The total number of faces
+     */
+    default void ensureCapacity(int numVertices, int numFaces)
+    {
+        // Empty default implementation
+    }
+    
+    /**
+     * Add the given number of vertices, whose x-, y- and z-coordinates
+     * are stored consecutively in the given array, starting at the 
+     * given offset.<br>
+     * <br>
+     * The default implementation calls {@link #addVertex(float, float, 
+     * float)} for each vertex. Implementations may override this method
+     * in order to add all vertices at once.
+     * 
+     * @param xyz The coordinates
+     * @param offset The offset of the first coordinate in the array
+     * @param count The number of vertices
+     * @throws NullPointerException If the array is <code>null</code>
+     * @throws IndexOutOfBoundsException If the offset or count are 
+     * negative, or the array does not contain <code>3 * count</code>
+     * elements starting at the given offset
+     */
+    default void addVertices(float[] xyz, int offset, int count)
+    {
+        FloatTuples.checkRange(xyz, offset, count, 3);
+        for (int i = 0; i < count; i++)
+        {
+            int o = offset + i * 3;
+            addVertex(xyz[o], xyz[o + 1], xyz[o + 2]);
+        }
+    }
+    
+    /**
+     * Add the given number of 2D texture coordinates, whose x- and 
+     * y-coordinates are stored consecutively in the given array, 
+     * starting at the given offset.<br>
+     * <br>
+     * The default implementation calls {@link #addTexCoord(float, float)} 
+     * for each texture coordinate. Implementations may override this 
+     * method in order to add all texture coordinates at once.
+     * 
+     * @param xy The coordinates
+     * @param offset The offset of the first coordinate in the array
+     * @param count The number of texture coordinates
+     * @throws NullPointerException If the array is <code>null</code>
+     * @throws IndexOutOfBoundsException If the offset or count are 
+     * negative, or the array does not contain <code>2 * count</code>
+     * elements starting at the given offset
+     */
+    default void addTexCoords(float[] xy, int offset, int count)
+    {
+        FloatTuples.checkRange(xy, offset, count, 2);
+        for (int i = 0; i < count; i++)
+        {
+            int o = offset + i * 2;
+            addTexCoord(xy[o], xy[o + 1]);
+        }
+    }
+    
+    /**
+     * Add the given number of normals, whose x-, y- and z-coordinates
+     * are stored consecutively in the given array, starting at the 
+     * given offset.<br>
+     * <br>
+     * The default implementation calls {@link #addNormal(float, float, 
+     * float)} for each normal. Implementations may override this method
+     * in order to add all normals at once.
+     * 
+     * @param xyz The coordinates
+     * @param offset The offset of the first coordinate in the array
+     * @param count The number of normals
+     * @throws NullPointerException If the array is <code>null</code>
+     * @throws IndexOutOfBoundsException If the offset or count are 
+     * negative, or the array does not contain <code>3 * count</code>
+     * elements starting at the given offset
+     */
+    default void addNormals(float[] xyz, int offset, int count)
+    {
+        FloatTuples.checkRange(xyz, offset, count, 3);
+        for (int i = 0; i < count; i++)
+        {
+            int o = offset + i * 3;
+            addNormal(xyz[o], xyz[o + 1], xyz[o + 2]);
+        }
+    }
+    
+    /**
+     * Add faces with the given vertex indices, but without texture- or 
+     * normal indices. The vertex indices of all faces are stored
+     * consecutively in the given array, and the number of vertices of 
+     * each face is given by the face sizes. The given indices are 
+     * absolute (non-negative) and <b>0</b>-based. The given arrays
+     * are not stored.<br>
+     * <br>
+     * The default implementation calls 
+     * {@link #addFaces(int[], int[], int[], int[])}. Whether the indices
+     * are validated depends on the implementation, as described there.
+     * 
+     * @param indices The vertex indices
+     * @param faceSizes The number of vertices of each face
+     * @throws NullPointerException If one of the arrays is 
+     * <code>null</code>
+     * @throws IllegalArgumentException If one of the face sizes is 
+     * negative, or the sum of the face sizes is not the number of 
+     * indices
+     */
+    default void addFaces(int[] indices, int[] faceSizes)
+    {
+        addFaces(indices, null, null, faceSizes);
+    }
+    
+    /**
+     * Add faces with the given indices. The indices of all faces are 
+     * stored consecutively in the given arrays, and the number of 
+     * vertices of each face is given by the face sizes. The given 
+     * indices are absolute (non-negative) and <b>0</b>-based. The 
+     * given arrays are not stored.<br>
+     * <br>
+     * The default implementation validates the face sizes, and calls
+     * {@link #addFace(int[], int[], int[])} for each face. 
+     * Implementations may override this method in order to add all 
+     * faces at once.<br>
+     * <br>
+     * Whether the indices themselves are validated is up to the 
+     * implementation. The default implementation does not check them, 
+     * because the number of elements is not known here. It only passes
+     * them to {@link #addFace(int[], int[], int[])}. The implementations
+     * that are created with the {@link Objs} class check all indices 
+     * once, before any face is added.
+     * 
+     * @param v The vertex indices
+     * @param vt The texture coordinate indices. May be <code>null</code>.
+     * @param vn The normal indices. May be <code>null</code>.
+     * @param faceSizes The number of vertices of each face
+     * @throws NullPointerException If the vertex indices or the face 
+     * sizes are <code>null</code>
+     * @throws IllegalArgumentException If one of the face sizes is 
+     * negative, or the sum of the face sizes is not the number of 
+     * vertex indices, or the non-<code>null</code> arrays have 
+     * different lengths
+     */
+    default void addFaces(int[] v, int[] vt, int[] vn, int[] faceSizes)
+    {
+        ObjFaces.checkFaceSizes(v, vt, vn, faceSizes);
+        int offset = 0;
+        for (int faceSize : faceSizes)
+        {
+            int end = offset + faceSize;
+            int[] fv = Arrays.copyOfRange(v, offset, end);
+            int[] fvt = vt == null ? null : 
+                vt == v ? fv : Arrays.copyOfRange(vt, offset, end);
+            int[] fvn = vn == null ? null : 
+                vn == v ? fv : Arrays.copyOfRange(vn, offset, end);
+            addFace(fv, fvt, fvn);
+            offset = end;
+        }
+    }
+    
+    /**
+     * Set the given MTL file names. A copy of the given
+     * collection will be stored.
+     * 
+     * @param mtlFileNames The names of the MTL file
+     */
+    void setMtlFileNames(Collection<? extends String> mtlFileNames);
+    
+}
@@ -1,12 +1,12 @@
-/**
- * Classes for reading and writing Wavefront OBJ and MTL files.
- * <p>
- * {@link de.javagl.obj.Obj} objects may be created with
- * {@link de.javagl.obj.Objs#create()} or by reading an OBJ file with
- * {@link de.javagl.obj.ObjReader#read(java.io.InputStream)}.
- * {@link de.javagl.obj.Obj} objects may be written as OBJ files with
- * {@link de.javagl.obj.ObjWriter#write(ReadableObj, java.io.OutputStream)}.
- * <br>
- */
-package de.javagl.obj;
-
+/**
+ * Classes for reading and writing Wavefront OBJ and MTL files.
+ * <p>
+ * {@link de.javagl.obj.Obj} objects may be created with
+ * {@link de.javagl.obj.Objs#create()} or by reading an OBJ file with
+ * {@link de.javagl.obj.ObjReader#read(java.io.InputStream)}.
+ * {@link de.javagl.obj.Obj} objects may be written as OBJ files with
+ * {@link de.javagl.obj.ObjWriter#write(ReadableObj, java.io.OutputStream)}.
+ * <br>
+ */
+package de.javagl.obj;
+
@@ -0,0 +1,228 @@
+package de.javagl.obj;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestDefaultObjGroups
+{
+    private static final int NUM_BLOCKS = 50;
+    private static final int BLOCK_SIZE = 7;
+
+    private static DefaultObj createObj(
+        Map<String, List<ObjFace>> expectedGroups,
+        Map<String, List<ObjFace>> expectedMaterialGroups)
+    {
+        DefaultObj obj = new DefaultObj();
+        obj.addVertex(0, 0, 0);
+        obj.addVertex(1, 0, 0);
+        obj.addVertex(1, 1, 0);
+        for (int b = 0; b < NUM_BLOCKS; b++)
+        {
+            List<String> groupNames = b % 3 == 0 ? 
+                Arrays.asList("a", "b") : 
+                Collections.singletonList(b % 3 == 1 ? "a" : "c");
+            String materialName = b % 2 == 0 ? "red" : "blue";
+            obj.setActiveGroupNames(groupNames);
+            obj.setActiveMaterialGroupName(materialName);
+            for (int i = 0; i < BLOCK_SIZE; i++)
+            {
+                ObjFace face = ObjFaces.create(
+                    new int[] { 0, 1, 2 }, null, null);
+                obj.addFace(face);
+                for (String groupName : groupNames)
+                {
+                    expectedGroups.computeIfAbsent(groupName, 
+                        n -> new ArrayList<ObjFace>()).add(face);
+                }
+                expectedMaterialGroups.computeIfAbsent(materialName, 
+                    n -> new ArrayList<ObjFace>()).add(face);
+            }
+        }
+        return obj;
+    }
+
+    private static void assertGroupFaces(
+        List<ObjFace> expected, ObjGroup group)
+    {
+        assertEquals(expected.size(), group.getNumFaces());
+        for (int i = 0; i < expected.size(); i++)
+        {
+            assertSame(expected.get(i), group.getFace(i));
+        }
+    }
+
+    @Test
+    public void groupFaces()
+    {
+        Map<String, List<ObjFace>> expectedGroups = new HashMap<>();
+        Map<String, List<ObjFace>> expectedMaterialGroups = new HashMap<>();
+        DefaultObj obj = createObj(expectedGroups, expectedMaterialGroups);
+        assertEquals(4, obj.getNumGroups());
+        assertEquals(0, obj.getGroup("default").getNumFaces());
+        for (String name : expectedGroups.keySet())
+        {
+            assertGroupFaces(expectedGroups.get(name), obj.getGroup(name));
+        }
+        for (String name : expectedMaterialGroups.keySet())
+        {
+            assertGroupFaces(expectedMaterialGroups.get(name), 
+                obj.getMaterialGroup(name));
+        }
+    }
+
+    @Test
+    public void rangesAreMerged()
+    {
+        DefaultObj obj = createObj(new HashMap<>(), new HashMap<>());
+        DefaultObjGroup groupA = (DefaultObjGroup)obj.getGroup("a");
+        DefaultObjGroup groupB = (DefaultObjGroup)obj.getGroup("b");
+
+        // Blocks 0,1 | 3,4 | 6,7 ... are contiguous in group "a"
+        assertEquals((NUM_BLOCKS + 2) / 3, groupA.getNumRanges());
+        assertEquals((NUM_BLOCKS + 2) / 3, groupB.getNumRanges());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void groupFaceOutOfRange()
+    {
+        DefaultObj obj = createObj(new HashMap<>(), new HashMap<>());
+        ObjGroup group = obj.getGroup("c");
+        group.getFace(group.getNumFaces());
+    }
+
+    @Test
+    public void activatedGroupNames()
+    {
+        DefaultObj obj = createObj(new HashMap<>(), new HashMap<>());
+        Set<String> ab = new LinkedHashSet<>(Arrays.asList("a", "b"));
+        Set<String> previous = null;
+        for (int i = 0; i < obj.getNumFaces(); i++)
+        {
+            ObjFace face = obj.getFace(i);
+            Set<String> groupNames = obj.getActivatedGroupNames(face);
+            String materialName = obj.getActivatedMaterialGroupName(face);
+            if (i % BLOCK_SIZE != 0)
+            {
+                assertNull(groupNames);
+                assertNull(materialName);
+                continue;
+            }
+            int b = i / BLOCK_SIZE;
+            Set<String> expected = b % 3 == 0 ? ab : 
+                Collections.singleton(b % 3 == 1 ? "a" : "c");
+            assertEquals(expected, groupNames);
+            assertEquals(b % 2 == 0 ? "red" : "blue", materialName);
+            if (b % 3 == 0 && previous != null)
+            {
+                // Equal sets of group names are stored only once
+                assertSame(previous, groupNames);
+            }
+            if (b % 3 == 0)
+            {
+                previous = groupNames;
+            }
+        }
+    }
+
+    @Test
+    public void activatedGroupNamesInReverseOrder()
+    {
+        DefaultObj obj = createObj(new HashMap<>(), new HashMap<>());
+        for (int i = obj.getNumFaces() - 1; i >= 0; i--)
+        {
+            ObjFace face = obj.getFace(i);
+            if (i % BLOCK_SIZE == 0)
+            {
+                int b = i / BLOCK_SIZE;
+                assertEquals(b % 2 == 0 ? "red" : "blue", 
+                    obj.getActivatedMaterialGroupName(face));
+            }
+            else
+            {
+                assertNull(obj.getActivatedGroupNames(face));
+            }
+        }
+        ObjFace other = ObjFaces.create(new int[] { 0, 1, 2 }, null, null);
+        assertNull(obj.getActivatedGroupNames(other));
+        assertNull(obj.getActivatedMaterialGroupName(other));
+    }
+
+    @Test
+    public void activatedGroupNamesInRandomOrder()
+    {
+        DefaultObj obj = createObj(new HashMap<>(), new HashMap<>());
+        List<Integer> indices = new ArrayList<Integer>();
+        for (int i = 0; i < obj.getNumFaces(); i++)
+        {
+            indices.add(i);
+        }
+        Collections.shuffle(indices, new Random(0));
+        for (int i : indices)
+        {
+            ObjFace face = obj.getFace(i);
+            if (i % BLOCK_SIZE == 0)
+            {
+                int b = i / BLOCK_SIZE;
+                assertEquals(b % 2 == 0 ? "red" : "blue", 
+                    obj.getActivatedMaterialGroupName(face));
+                assertEquals(b % 3 == 0 ? 2 : 1, 
+                    obj.getActivatedGroupNames(face).size());
+            }
+            else
+            {
+                assertNull(obj.getActivatedGroupNames(face));
+                assertNull(obj.getActivatedMaterialGroupName(face));
+            }
+        }
+    }
+
+    @Test
+    public void activatedGroupNamesKeepOrder() throws IOException
+    {
+        String input = 
+            "v 0 0 0\nv 1 0 0\nv 1 1 0\n" +
+            "g c a\nf 1 2 3\n" +
+            "g b\nf 1 2 3\n" +
+            "g a c\nf 1 2 3\n" +
+            "g b\nf 1 2 3\n" +
+            "g c a\nf 1 2 3\n";
+        Obj obj = ObjReader.read(new ByteArrayInputStream(
+            input.getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(Arrays.asList("c", "a"), new ArrayList<String>(
+            obj.getActivatedGroupNames(obj.getFace(0))));
+        assertEquals(Arrays.asList("a", "c"), new ArrayList<String>(
+            obj.getActivatedGroupNames(obj.getFace(2))));
+        assertEquals(Arrays.asList("c", "a"), new ArrayList<String>(
+            obj.getActivatedGroupNames(obj.getFace(4))));
+        assertSame(obj.getActivatedGroupNames(obj.getFace(0)),
+            obj.getActivatedGroupNames(obj.getFace(4)));
+
+        StringWriter writer = new StringWriter();
+        ObjWriter.write(obj, writer);
+        assertEquals(
+            "v 0.0 0.0 0.0\nv 1.0 0.0 0.0\nv 1.0 1.0 0.0\n" +
+            "g c a \nf 1 2 3\n" +
+            "g b \nf 1 2 3\n" +
+            "g a c \nf 1 2 3\n" +
+            "g b \nf 1 2 3\n" +
+            "g c a \nf 1 2 3\n", writer.toString());
+    }
+}
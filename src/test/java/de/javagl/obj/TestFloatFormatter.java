@@ -0,0 +1,90 @@
+package de.javagl.obj;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestFloatFormatter
+{
+    private static String format(float value)
+    {
+        byte[] bytes = new byte[FloatFormatter.MAX_LENGTH];
+        int n = FloatFormatter.format(value, bytes, 0);
+        return new String(bytes, 0, n, StandardCharsets.US_ASCII);
+    }
+
+    private static void assertRoundTrip(float value)
+    {
+        String s = format(value);
+        assertEquals(s, Float.floatToIntBits(value), 
+            Float.floatToIntBits(Float.parseFloat(s)));
+        assertTrue(s, s.length() <= Float.toString(value).length());
+    }
+
+    @Test
+    public void specialValues()
+    {
+        assertEquals("0.0", format(0.0f));
+        assertEquals("-0.0", format(-0.0f));
+        assertEquals("NaN", format(Float.NaN));
+        assertEquals("Infinity", format(Float.POSITIVE_INFINITY));
+        assertEquals("-Infinity", format(Float.NEGATIVE_INFINITY));
+        assertEquals("3.4028235E38", format(Float.MAX_VALUE));
+        assertEquals("1.4E-45", format(Float.MIN_VALUE));
+        assertEquals("1.1754944E-38", format(Float.MIN_NORMAL));
+    }
+
+    @Test
+    public void layoutLikeFloatToString()
+    {
+        float[] values = { 
+            1.0f, -1.0f, 0.5f, 0.1f, 0.001f, 0.00099f, 1.25e-4f, 
+            123.456f, 1234567.0f, 9999999.0f, 1.0e7f, 1.5e7f, 
+            -2.75e-10f, 1.0e-5f, 3.0e20f, 100.0f, 0.3f, 2.0f / 3.0f
+        };
+        for (float value : values)
+        {
+            assertEquals(Float.toString(value), format(value));
+        }
+    }
+
+    @Test
+    public void shortestRepresentation()
+    {
+        // Java versions before 19 write more digits for these values
+        assertEquals("2.0E-44", format(2.0E-44f));
+        assertEquals("3.356587E7", format(3.3565872E7f));
+    }
+
+    @Test
+    public void randomValuesRoundTrip()
+    {
+        Random random = new Random(0);
+        for (int i = 0; i < 200000; i++)
+        {
+            float value = Float.intBitsToFloat(random.nextInt());
+            if (!Float.isNaN(value))
+            {
+                assertRoundTrip(value);
+            }
+        }
+        for (int i = 0; i < 100000; i++)
+        {
+            assertRoundTrip((random.nextFloat() - 0.5f) * 1000.0f);
+        }
+    }
+
+    @Test
+    public void subnormalValuesRoundTrip()
+    {
+        for (int bits = 1; bits < 100000; bits++)
+        {
+            assertRoundTrip(Float.intBitsToFloat(bits));
+        }
+    }
+}
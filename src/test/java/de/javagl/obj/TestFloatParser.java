@@ -0,0 +1,141 @@
+package de.javagl.obj;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestFloatParser
+{
+    @Test
+    public void parseSpecialValues()
+    {
+        String[] inputs =
+        {
+            "0", "-0", "+0", "0.0", "-0.0", ".5", "5.", "-.5e-3", "1e0",
+            "1E+2", "007.500", "3.4028235E38", "3.4028236E38", "3.5e38",
+            "1.4E-45", "7.0E-46", "7.1E-46", "1.17549435E-38", "1e-50",
+            "1e39", "123456789012345678901234567890", "16777217",
+            "0.000000000000000000000000000000000000000000001",
+            "NaN", "-Infinity", "0x1.8p1", "1f", "2d", " 1.0", "1.0 ",
+            "1e100000000000", "1e-100000000000",
+        };
+        for (String input : inputs)
+        {
+            assertParsedEquals(input);
+        }
+    }
+
+    @Test
+    public void parseRandomFloats()
+    {
+        Random random = new Random(0);
+        for (int i = 0; i < 100000; i++)
+        {
+            float f = Float.intBitsToFloat(random.nextInt());
+            if (Float.isNaN(f))
+            {
+                continue;
+            }
+            assertParsedEquals(Float.toString(f));
+            assertParsedEquals(Double.toString(f));
+            assertParsedEquals(new BigDecimal(f).toString());
+        }
+    }
+
+    @Test
+    public void parseRandomDigits()
+    {
+        Random random = new Random(1);
+        for (int i = 0; i < 100000; i++)
+        {
+            StringBuilder sb = new StringBuilder();
+            if (random.nextBoolean())
+            {
+                sb.append('-');
+            }
+            int numDigits = 1 + random.nextInt(25);
+            int pointPosition = random.nextInt(numDigits + 1);
+            for (int j = 0; j < numDigits; j++)
+            {
+                if (j == pointPosition)
+                {
+                    sb.append('.');
+                }
+                sb.append((char)('0' + random.nextInt(10)));
+            }
+            if (random.nextBoolean())
+            {
+                sb.append('e').append(random.nextInt(100) - 60);
+            }
+            assertParsedEquals(sb.toString());
+        }
+    }
+
+    @Test
+    public void parseHalfwayValues()
+    {
+        Random random = new Random(2);
+        for (int i = 0; i < 50000; i++)
+        {
+            float f = Float.intBitsToFloat(random.nextInt() & 0x7F7FFFFF);
+            float next = Math.nextUp(f);
+            BigDecimal halfway = new BigDecimal(f).add(
+                new BigDecimal(next)).divide(BigDecimal.valueOf(2));
+            assertParsedEquals(halfway.toString());
+            assertParsedEquals(halfway.toPlainString());
+            BigDecimal ulp = new BigDecimal(next).subtract(new BigDecimal(f));
+            BigDecimal tiny = ulp.movePointLeft(30);
+            assertParsedEquals(halfway.add(tiny).toString());
+            assertParsedEquals(halfway.subtract(tiny).toString());
+        }
+    }
+
+    @Test
+    public void parseInvalidValues()
+    {
+        String[] inputs = { "", "-", ".", "e5", "1e", "1e+", "1.2.3", "x" };
+        for (String input : inputs)
+        {
+            try
+            {
+                FloatParser.parseFloat(input, 0, input.length());
+                fail("Expected NumberFormatException for " + input);
+            }
+            catch (NumberFormatException e)
+            {
+                // Expected
+            }
+        }
+    }
+
+    @Test
+    public void parseFromRanges()
+    {
+        String input = "v 1.5 -2.25e1 3";
+        assertEquals(-22.5f, FloatParser.parseFloat(input, 6, 13), 0.0f);
+        ByteBuffer buffer = 
+            ByteBuffer.wrap(input.getBytes(StandardCharsets.US_ASCII));
+        assertEquals(-22.5f, FloatParser.parseFloat(buffer, 6, 13), 0.0f);
+        assertEquals(3.0f, FloatParser.parseFloat(buffer, 14, 15), 0.0f);
+    }
+
+    private static void assertParsedEquals(String input)
+    {
+        int expected = Float.floatToRawIntBits(Float.parseFloat(input));
+        int actual = Float.floatToRawIntBits(
+            FloatParser.parseFloat(input, 0, input.length()));
+        assertEquals(input, expected, actual);
+        ByteBuffer buffer = 
+            ByteBuffer.wrap(input.getBytes(StandardCharsets.US_ASCII));
+        int actualFromBuffer = Float.floatToRawIntBits(
+            FloatParser.parseFloat(buffer, 0, input.length()));
+        assertEquals(input, expected, actualFromBuffer);
+    }
+}
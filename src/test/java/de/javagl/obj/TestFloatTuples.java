@@ -0,0 +1,121 @@
+package de.javagl.obj;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestFloatTuples
+{
+    private static void assertCompatible(FloatTuple expected, FloatTuple actual)
+    {
+        assertEquals(expected, actual);
+        assertEquals(actual, expected);
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(expected.getDimensions(), actual.getDimensions());
+        for (int i = 0; i < expected.getDimensions(); i++)
+        {
+            assertEquals(expected.get(i), actual.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void signedZeroAndNaN()
+    {
+        FloatTuple zero = FloatTuples.create(0, 0, 0);
+        FloatTuple negativeZero = FloatTuples.create(-0.0f, 0, 0);
+        assertNotEquals(zero, negativeZero);
+        assertNotEquals(negativeZero, zero);
+        assertNotEquals(zero, new DefaultFloatTuple(-0.0f, 0, 0));
+        assertNotEquals(new DefaultFloatTuple(-0.0f, 0, 0), zero);
+        assertCompatible(new DefaultFloatTuple(-0.0f, 0, 0), negativeZero);
+
+        FloatTuple nan = FloatTuples.create(Float.NaN, 1);
+        assertEquals(nan, nan);
+        assertEquals(nan, FloatTuples.create(Float.NaN, 1));
+        assertCompatible(new DefaultFloatTuple(Float.NaN, 1), nan);
+        assertCompatible(new DefaultFloatTuple(Float.NaN, 1, 2, 3),
+            FloatTuples.create(Float.NaN, 1, 2, 3));
+        assertCompatible(new DefaultFloatTuple(-0.0f),
+            FloatTuples.create(-0.0f));
+    }
+
+    @Test
+    public void compatibleWithDefaultFloatTuple()
+    {
+        assertCompatible(new DefaultFloatTuple(1),
+            FloatTuples.create(1));
+        assertCompatible(new DefaultFloatTuple(1, 2),
+            FloatTuples.create(1, 2));
+        assertCompatible(new DefaultFloatTuple(1, 2, 3),
+            FloatTuples.create(1, 2, 3));
+        assertCompatible(new DefaultFloatTuple(1, 2, 3, 4),
+            FloatTuples.create(1, 2, 3, 4));
+        assertCompatible(new DefaultFloatTuple(-0.5f, 1e-7f, 1e7f),
+            FloatTuples.create(-0.5f, 1e-7f, 1e7f));
+    }
+
+    @Test
+    public void compatibleWithPackedTuples()
+    {
+        Obj obj = Objs.createPacked();
+        obj.addVertex(1, 2, 3);
+        obj.addTexCoord(4, 5);
+        assertCompatible(obj.getVertex(0), FloatTuples.create(1, 2, 3));
+        assertCompatible(obj.getTexCoord(0), FloatTuples.create(4, 5));
+    }
+
+    @Test
+    public void copy()
+    {
+        FloatTuple tuple = new DefaultFloatTuple(1, 2, 3, 4);
+        assertCompatible(tuple, FloatTuples.copy(tuple));
+        FloatTuple twoD = FloatTuples.create(1, 2);
+        assertCompatible(twoD, FloatTuples.copy(twoD));
+    }
+
+    @Test
+    public void notEqual()
+    {
+        assertNotEquals(FloatTuples.create(1, 2), FloatTuples.create(1, 2, 0));
+        assertNotEquals(FloatTuples.create(1, 2, 3),
+            FloatTuples.create(1, 2, 4));
+        assertFalse(FloatTuples.create(1).equals(null));
+    }
+
+    @Test
+    public void accessBeyondDimensions()
+    {
+        FloatTuple[] tuples = {
+            FloatTuples.create(1),
+            FloatTuples.create(1, 2),
+            FloatTuples.create(1, 2, 3),
+            FloatTuples.create(1, 2, 3, 4)
+        };
+        for (FloatTuple tuple : tuples)
+        {
+            try
+            {
+                tuple.get(tuple.getDimensions());
+                fail("Expected an IndexOutOfBoundsException");
+            }
+            catch (IndexOutOfBoundsException e)
+            {
+                // Expected
+            }
+        }
+        try
+        {
+            FloatTuples.create(1, 2).getZ();
+            fail("Expected an IndexOutOfBoundsException");
+        }
+        catch (IndexOutOfBoundsException e)
+        {
+            // Expected
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package de.javagl.obj;
+
+import static de.javagl.obj.TestResources.readResource;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestGzipInput
+{
+    private static byte[] gzip(byte[] data) throws IOException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(baos))
+        {
+            gzip.write(data);
+        }
+        return baos.toByteArray();
+    }
+
+    private static byte[] createLargeInput(int numVertices)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < numVertices; i++)
+        {
+            sb.append("v ").append(i).append(" 0.5 -1\n");
+        }
+        for (int i = 0; i + 2 < numVertices; i += 3)
+        {
+            sb.append("f ").append(i + 1).append(" ").append(i + 2);
+            sb.append(" ").append(i + 3).append("\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void readGzipObj() throws IOException
+    {
+        byte[] data = createLargeInput(100000);
+        Obj expected = ObjReader.read(new ByteArrayInputStream(data));
+        Obj actual = ObjReader.read(new ByteArrayInputStream(gzip(data)));
+        TestObjReaderByteBuffer.assertObjEquals(expected, actual);
+        assertEquals(100000, actual.getNumVertices());
+    }
+
+    @Test
+    public void readGzipResources() throws IOException
+    {
+        String[] names = { "/square.obj", "/squareAndTriangleInTwoGroups.obj",
+            "/fourTrianglesPartiallyInMaterialGroups.obj" };
+        for (String name : names)
+        {
+            byte[] data = readResource(name);
+            Obj expected = ObjReader.read(new ByteArrayInputStream(data));
+            Obj actual = ObjReader.read(new ByteArrayInputStream(gzip(data)));
+            TestObjReaderByteBuffer.assertObjEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void readGzipMtl() throws IOException
+    {
+        byte[] data = readResource("/twoMaterialsA.mtl");
+        List<Mtl> expected = MtlReader.read(new ByteArrayInputStream(data));
+        List<Mtl> actual =
+            MtlReader.read(new ByteArrayInputStream(gzip(data)));
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++)
+        {
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            assertEquals(expected.get(i).getKd(), actual.get(i).getKd());
+        }
+    }
+
+    @Test
+    public void readShortUncompressedInput() throws IOException
+    {
+        Obj obj = ObjReader.read(new ByteArrayInputStream(new byte[] { '#' }));
+        assertEquals(0, obj.getNumVertices());
+        Obj empty = ObjReader.read(new ByteArrayInputStream(new byte[0]));
+        assertEquals(0, empty.getNumVertices());
+    }
+
+    @Test(expected = IOException.class)
+    public void readCorruptGzip() throws IOException
+    {
+        byte[] compressed = gzip(createLargeInput(10000));
+        byte[] corrupt = Arrays.copyOf(compressed, compressed.length / 2);
+        ObjReader.read(new ByteArrayInputStream(corrupt));
+    }
+
+    @Test
+    public void readGzipWithListener() throws IOException
+    {
+        byte[] data = createLargeInput(10000);
+        long[] bytes = new long[1];
+        ObjReaderOptions options = new ObjReaderOptions();
+        options.setListener(progress -> bytes[0] = progress.getBytes());
+        ObjReader.read(new ByteArrayInputStream(gzip(data)),
+            Objs.create(), options);
+        assertEquals(data.length, bytes[0]);
+    }
+
+    @Test
+    public void readGzipWithCache() throws IOException
+    {
+        byte[] data = readResource("/squareAndTriangleInTwoGroups.obj");
+        Obj expected = ObjReader.read(new ByteArrayInputStream(data));
+        Path directory = Files.createTempDirectory("TestGzipInput");
+        try
+        {
+            Path path = directory.resolve("input.obj.gz");
+            Files.write(path, gzip(data));
+            ObjCache cache = new ObjCache(directory.resolve("cache"));
+            TestObjReaderByteBuffer.assertObjEquals(expected, cache.read(path));
+            TestObjReaderByteBuffer.assertObjEquals(expected, cache.read(path));
+        }
+        finally
+        {
+            try (Stream<Path> paths = Files.walk(directory))
+            {
+                paths.sorted(Comparator.reverseOrder()).forEach(p -> 
+                    p.toFile().delete());
+            }
+        }
+    }
+}
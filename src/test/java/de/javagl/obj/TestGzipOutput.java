@@ -0,0 +1,182 @@
+package de.javagl.obj;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestGzipOutput
+{
+    private static byte[] gunzip(byte[] data) throws IOException
+    {
+        try (InputStream inputStream =
+            new GZIPInputStream(new ByteArrayInputStream(data)))
+        {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            while (true)
+            {
+                int read = inputStream.read(buffer);
+                if (read < 0)
+                {
+                    break;
+                }
+                baos.write(buffer, 0, read);
+            }
+            return baos.toByteArray();
+        }
+    }
+
+    private static byte[] deflate(byte[] data, int chunkSize)
+        throws IOException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DeflatingOutputStream deflatingOutputStream =
+            new DeflatingOutputStream(baos, Deflater.DEFAULT_COMPRESSION);
+        for (int i = 0; i < data.length; i += chunkSize)
+        {
+            int n = Math.min(chunkSize, data.length - i);
+            if (n == 1)
+            {
+                deflatingOutputStream.write(data[i]);
+            }
+            else
+            {
+                deflatingOutputStream.write(data, i, n);
+            }
+        }
+        deflatingOutputStream.close();
+        return baos.toByteArray();
+    }
+
+    private static Obj createLargeObj(int numVertices)
+    {
+        Obj obj = Objs.create();
+        Random random = new Random(0);
+        for (int i = 0; i < numVertices; i++)
+        {
+            obj.addVertex(random.nextFloat(), i, -0.5f);
+            obj.addNormal(0, random.nextFloat(), 1);
+        }
+        obj.setActiveGroupNames(Arrays.asList("a"));
+        for (int i = 0; i + 2 < numVertices; i += 3)
+        {
+            obj.addFace(ObjFaces.create(
+                new int[] { i, i + 1, i + 2 }, null,
+                new int[] { i, i + 1, i + 2 }));
+        }
+        return obj;
+    }
+
+    @Test
+    public void deflateRoundTrip() throws IOException
+    {
+        Random random = new Random(0);
+        byte[] data = new byte[1000000];
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = (byte)('a' + random.nextInt(4));
+        }
+        assertArrayEquals(data, gunzip(deflate(data, 100000)));
+        assertArrayEquals(data, gunzip(deflate(data, 7777)));
+        byte[] small = new byte[1000];
+        System.arraycopy(data, 0, small, 0, small.length);
+        assertArrayEquals(small, gunzip(deflate(small, 1)));
+    }
+
+    @Test
+    public void deflateEmpty() throws IOException
+    {
+        assertEquals(0, gunzip(deflate(new byte[0], 1)).length);
+    }
+
+    @Test
+    public void deflateBlockBoundaries() throws IOException
+    {
+        for (int length : new int[] { (1 << 17) - 1, 1 << 17, 
+            (1 << 17) + 1, 2 << 17 })
+        {
+            byte[] data = new byte[length];
+            for (int i = 0; i < length; i++)
+            {
+                data[i] = (byte)(i * 31 >> 4);
+            }
+            assertArrayEquals(data, gunzip(deflate(data, 65536)));
+        }
+    }
+
+    @Test
+    public void deflateCompresses() throws IOException
+    {
+        byte[] data = new byte[1 << 20];
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = (byte)('0' + (i % 10));
+        }
+        assertTrue(deflate(data, 8192).length < data.length / 100);
+    }
+
+    @Test
+    public void writeGzipObj() throws IOException
+    {
+        Obj obj = createLargeObj(60000);
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        ObjWriter.write(obj, plain);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        ObjWriter.writeGzip(obj, compressed);
+        byte[] data = compressed.toByteArray();
+        assertTrue(data.length < plain.size());
+        assertArrayEquals(plain.toByteArray(), gunzip(data));
+        Obj actual = ObjReader.read(new ByteArrayInputStream(data));
+        Obj expected = ObjReader.read(
+            new ByteArrayInputStream(plain.toByteArray()));
+        TestObjReaderByteBuffer.assertObjEquals(expected, actual);
+    }
+
+    @Test
+    public void writeGzipMtl() throws IOException
+    {
+        List<Mtl> expected;
+        try (InputStream inputStream =
+            TestGzipOutput.class.getResourceAsStream("/twoMaterialsA.mtl"))
+        {
+            expected = MtlReader.read(inputStream);
+        }
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        MtlWriter.write(expected, plain);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        MtlWriter.writeGzip(expected, compressed);
+        assertArrayEquals(plain.toByteArray(),
+            gunzip(compressed.toByteArray()));
+        List<Mtl> actual = MtlReader.read(
+            new ByteArrayInputStream(compressed.toByteArray()));
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++)
+        {
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            assertEquals(expected.get(i).getKd(), actual.get(i).getKd());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void writeAfterClose() throws IOException
+    {
+        DeflatingOutputStream deflatingOutputStream =
+            new DeflatingOutputStream(new ByteArrayOutputStream(),
+                Deflater.DEFAULT_COMPRESSION);
+        deflatingOutputStream.close();
+        deflatingOutputStream.write(0);
+    }
+}
@@ -0,0 +1,162 @@
+package de.javagl.obj;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestObjFaces
+{
+    private static final String INPUT =
+        "v 0 0 0\n" +
+        "v 1 0 0\n" +
+        "v 1 1 0\n" +
+        "v 0 1 0\n" +
+        "v 2 2 0\n" +
+        "vt 0 0\n" +
+        "vt 1 0\n" +
+        "vt 1 1\n" +
+        "vt 0 1\n" +
+        "vn 0 0 1\n" +
+        "f 1 2 3\n" +
+        "f 1/1 2/2 3/3 4/4\n" +
+        "f 1//1 2//1 3//1\n" +
+        "f -5/-4/-1 -4/-3/-1 -3/-2/-1 -2/-1/-1\n" +
+        "f 1 2 3 5 4\n";
+
+    private static void assertFace(ObjFace face, 
+        int[] v, int[] vt, int[] vn)
+    {
+        assertEquals(v.length, face.getNumVertices());
+        assertEquals(vt != null, face.containsTexCoordIndices());
+        assertEquals(vn != null, face.containsNormalIndices());
+        for (int i = 0; i < v.length; i++)
+        {
+            assertEquals(v[i], face.getVertexIndex(i));
+            if (vt != null)
+            {
+                assertEquals(vt[i], face.getTexCoordIndex(i));
+            }
+            if (vn != null)
+            {
+                assertEquals(vn[i], face.getNormalIndex(i));
+            }
+        }
+    }
+
+    private static void assertInputFaces(Obj obj)
+    {
+        assertEquals(5, obj.getNumFaces());
+        assertFace(obj.getFace(0), 
+            new int[] { 0, 1, 2 }, null, null);
+        assertFace(obj.getFace(1), 
+            new int[] { 0, 1, 2, 3 }, new int[] { 0, 1, 2, 3 }, null);
+        assertFace(obj.getFace(2), 
+            new int[] { 0, 1, 2 }, null, new int[] { 0, 0, 0 });
+        assertFace(obj.getFace(3), new int[] { 0, 1, 2, 3 }, 
+            new int[] { 0, 1, 2, 3 }, new int[] { 0, 0, 0, 0 });
+        assertFace(obj.getFace(4), 
+            new int[] { 0, 1, 2, 4, 3 }, null, null);
+    }
+
+    @Test
+    public void readFaces() throws IOException
+    {
+        byte[] data = INPUT.getBytes(StandardCharsets.US_ASCII);
+        List<Obj> objs = Arrays.asList(
+            ObjReader.read(new ByteArrayInputStream(data)),
+            ObjReader.read(new StringReader(INPUT)),
+            ObjReader.read(ByteBuffer.wrap(data), Objs.create(), 
+                new ObjReaderOptions()),
+            ObjReader.readParallel(ByteBuffer.wrap(data)));
+        for (Obj obj : objs)
+        {
+            assertInputFaces(obj);
+        }
+    }
+
+    @Test
+    public void createCompactFaces()
+    {
+        int[] v = { 4, 5, 6, 7 };
+        int[] vt = { 1, 2, 3, 4 };
+        int[] vn = { 7, 8, 9, 10 };
+        ObjFace face = ObjFaces.create(v, vt, vn);
+        v[0] = 100;
+        assertFace(face, new int[] { 4, 5, 6, 7 }, vt, vn);
+        assertEquals("ObjFace[4/1/7 5/2/8 6/3/9 7/4/10]", face.toString());
+
+        ObjFace triangle = ObjFaces.create(new int[] { 1, 2, 3 }, null, null);
+        assertEquals("ObjFace[1 2 3]", triangle.toString());
+        assertFalse(triangle.containsTexCoordIndices());
+        assertFalse(triangle.containsNormalIndices());
+    }
+
+    @Test
+    public void createFromRange()
+    {
+        int[] v = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+        assertFace(ObjFaces.create(v, v, null, 1, 3), 
+            new int[] { 1, 2, 3 }, new int[] { 1, 2, 3 }, null);
+        assertFace(ObjFaces.create(v, null, v, 4, 4), 
+            new int[] { 4, 5, 6, 7 }, null, new int[] { 4, 5, 6, 7 });
+        assertFace(ObjFaces.create(v, null, null, 3, 5), 
+            new int[] { 3, 4, 5, 6, 7 }, null, null);
+    }
+
+    @Test
+    public void accessBeyondNumVertices()
+    {
+        ObjFace face = ObjFaces.create(new int[] { 1, 2, 3 }, null, null);
+        try
+        {
+            face.getVertexIndex(3);
+            fail("Expected an IndexOutOfBoundsException");
+        }
+        catch (IndexOutOfBoundsException e)
+        {
+            // Expected
+        }
+    }
+
+    @Test
+    public void triangulateCreatesTriangles() throws IOException
+    {
+        Obj obj = ObjReader.read(new StringReader(INPUT));
+        Obj triangulated = ObjUtils.triangulate(obj);
+        assertEquals(1 + 2 + 1 + 2 + 3, triangulated.getNumFaces());
+        for (int i = 0; i < triangulated.getNumFaces(); i++)
+        {
+            assertEquals(3, triangulated.getFace(i).getNumVertices());
+        }
+        assertFace(triangulated.getFace(5), new int[] { 0, 2, 3 }, 
+            new int[] { 0, 2, 3 }, new int[] { 0, 0, 0 });
+    }
+
+    @Test
+    public void createFromIndexedTriangleData()
+    {
+        Obj obj = Objs.createFromIndexedTriangleData(
+            IntBuffer.wrap(new int[] { 0, 1, 2, 2, 1, 0 }),
+            FloatBuffer.wrap(new float[9]),
+            FloatBuffer.wrap(new float[6]),
+            FloatBuffer.wrap(new float[9]));
+        assertEquals(2, obj.getNumFaces());
+        assertTrue(obj.getFace(1).containsNormalIndices());
+        assertFace(obj.getFace(1), new int[] { 2, 1, 0 }, 
+            new int[] { 2, 1, 0 }, new int[] { 2, 1, 0 });
+    }
+}
@@ -0,0 +1,187 @@
+package de.javagl.obj;
+
+import static de.javagl.obj.TestResources.RESOURCE_NAMES;
+import static de.javagl.obj.TestResources.readResource;
+import static de.javagl.obj.TestResources.withCarriageReturns;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestObjReaderByteBuffer
+{
+    @Test
+    public void readResourcesFromByteBuffer()
+        throws IOException
+    {
+        for (String name : RESOURCE_NAMES)
+        {
+            byte[] data = readResource(name);
+            Obj expected = ObjReader.read(new ByteArrayInputStream(data));
+
+            Obj heapObj = ObjReader.read(ByteBuffer.wrap(data));
+            assertObjEquals(expected, heapObj);
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+            direct.put(data);
+            direct.flip();
+            Obj directObj = ObjReader.read(direct);
+            assertObjEquals(expected, directObj);
+            assertEquals(0, direct.position());
+        }
+    }
+
+    @Test
+    public void readInArbitraryParts()
+        throws IOException
+    {
+        byte[] data = readResource("/fourTrianglesInMixedGroups.obj");
+        Obj expected = ObjReader.read(new ByteArrayInputStream(data));
+        for (int split = 0; split <= data.length; split++)
+        {
+            Obj actual = Objs.create();
+            ObjByteParser parser = new ObjByteParser(actual);
+            parser.parse(ByteBuffer.wrap(data, 0, split));
+            parser.parse(ByteBuffer.wrap(data, split, data.length - split));
+            parser.finish();
+            assertObjEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void readContinuationLines()
+        throws IOException
+    {
+        String input =
+            "v 0.0 0.0 \\\n0.0\n" +
+            "v 1.0 \\\r\n 0.0 \\\n 0.0\n" +
+            "v 1.0 1.0 0.0\n" +
+            "f 1 \\\n2 3\n";
+        Obj obj = ObjReader.read(
+            ByteBuffer.wrap(input.getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(3, obj.getNumVertices());
+        assertEquals(1, obj.getNumFaces());
+        assertEquals(FloatTuples.create(1.0f, 0.0f, 0.0f), obj.getVertex(1));
+        assertEquals(3, obj.getFace(0).getNumVertices());
+        assertEquals(2, obj.getFace(0).getVertexIndex(2));
+    }
+
+    @Test
+    public void readNumberFormats()
+        throws IOException
+    {
+        String input =
+            "v -1.5 +2.25e1 3.4028235E38\n" +
+            "v 0.000001 123456.789 -0.0\n" +
+            "vt .5 1.\n";
+        Obj obj = ObjReader.read(
+            ByteBuffer.wrap(input.getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(FloatTuples.create(-1.5f, 22.5f, Float.MAX_VALUE),
+            obj.getVertex(0));
+        assertEquals(FloatTuples.create(0.000001f, 123456.789f, -0.0f),
+            obj.getVertex(1));
+        assertEquals(FloatTuples.create(0.5f, 1.0f), obj.getTexCoord(0));
+    }
+
+    @Test
+    public void readFromFileChannel()
+        throws IOException
+    {
+        byte[] data = readResource("/squareAndTriangleInTwoGroups.obj");
+        Obj expected = ObjReader.read(new ByteArrayInputStream(data));
+        Path path = Files.createTempFile("TestObjReaderByteBuffer", ".obj");
+        try
+        {
+            Files.write(path, data);
+            try (FileChannel channel =
+                FileChannel.open(path, StandardOpenOption.READ))
+            {
+                Obj actual = ObjReader.read(channel);
+                assertObjEquals(expected, actual);
+            }
+        }
+        finally
+        {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void readCarriageReturnLineEnds()
+        throws IOException
+    {
+        for (String name : RESOURCE_NAMES)
+        {
+            byte[] data = readResource(name);
+            Obj expected = ObjReader.read(new ByteArrayInputStream(data));
+            byte[] crData = withCarriageReturns(data);
+            assertObjEquals(expected, 
+                ObjReader.read(new ByteArrayInputStream(crData)));
+            assertObjEquals(expected, ObjReader.read(ByteBuffer.wrap(crData)));
+        }
+
+        String input =
+            "v 0.0 0.0 \\\r0.0\r" +
+            "v 1.0 \\\r\n 0.0 \\\r 0.0\r\n" +
+            "\r\r\n\n" +
+            "v 1.0 1.0 0.0\r" +
+            "f 1 \\\r2 3";
+        byte[] data = input.getBytes(StandardCharsets.US_ASCII);
+        Obj expected = ObjReader.read(new ByteArrayInputStream(data));
+        assertEquals(3, expected.getNumVertices());
+        assertEquals(1, expected.getNumFaces());
+        for (int split = 0; split <= data.length; split++)
+        {
+            Obj actual = Objs.create();
+            ObjByteParser parser = new ObjByteParser(actual);
+            parser.parse(ByteBuffer.wrap(data, 0, split));
+            parser.parse(ByteBuffer.wrap(data, split, data.length - split));
+            parser.finish();
+            assertObjEquals(expected, actual);
+        }
+
+        Path path = Files.createTempFile("TestObjReaderByteBuffer", ".obj");
+        try
+        {
+            Files.write(path, withCarriageReturns(
+                readResource("/squareAndTriangleInTwoGroups.obj")));
+            try (FileChannel channel =
+                FileChannel.open(path, StandardOpenOption.READ))
+            {
+                assertObjEquals(ObjReader.read(new ByteArrayInputStream(
+                    readResource("/squareAndTriangleInTwoGroups.obj"))), 
+                    ObjReader.read(channel));
+            }
+        }
+        finally
+        {
+            Files.delete(path);
+        }
+    }
+
+    static void assertObjEquals(ReadableObj expected, ReadableObj actual)
+        throws IOException
+    {
+        assertEquals(expected.getNumGroups(), actual.getNumGroups());
+        assertEquals(
+            expected.getNumMaterialGroups(), actual.getNumMaterialGroups());
+        assertEquals(createString(expected), createString(actual));
+    }
+
+    private static String createString(ReadableObj obj) throws IOException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjWriter.write(obj, baos);
+        return new String(baos.toByteArray());
+    }
+}
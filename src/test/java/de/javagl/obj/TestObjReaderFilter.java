@@ -0,0 +1,243 @@
+package de.javagl.obj;
+
+import static de.javagl.obj.TestResources.readResource;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestObjReaderFilter
+{
+    private static final String INPUT =
+        "v 0 0 0\n" +
+        "v 1 0 0\n" +
+        "v 1 1 0\n" +
+        "v 0 1 0\n" +
+        "v 2 0 0\n" +
+        "v 2 1 0\n" +
+        "vt 0 0\n" +
+        "vt 1 0\n" +
+        "vt 1 1\n" +
+        "vn 0 0 1\n" +
+        "vn 0 0 -1\n" +
+        "f 1 2 3\n" +
+        "g a\n" +
+        "usemtl red\n" +
+        "f 2/1/2 5/2/2 6/3/2\n" +
+        "g b c\n" +
+        "usemtl blue\n" +
+        "f -4 -2 -1\n" +
+        "g a\n" +
+        "f 3/3/1 6/2/1 4/1/1\n";
+
+    private static ObjReaderOptions groups(String... names)
+    {
+        List<String> list = Arrays.asList(names);
+        ObjReaderOptions options = new ObjReaderOptions();
+        options.setGroupFilter(list::contains);
+        return options;
+    }
+
+    private static List<Obj> readAll(String input, ObjReaderOptions options)
+        throws IOException
+    {
+        byte[] data = input.getBytes(StandardCharsets.US_ASCII);
+        return Arrays.asList(
+            ObjReader.read(new ByteArrayInputStream(data),
+                Objs.create(), options),
+            ObjReader.read(new StringReader(input), Objs.create(), options),
+            ObjReader.read(ByteBuffer.wrap(data), Objs.create(), options),
+            ObjReader.readParallel(ByteBuffer.wrap(data),
+                Objs.create(), options));
+    }
+
+    @Test
+    public void filterByGroup() throws IOException
+    {
+        for (Obj obj : readAll(INPUT, groups("a")))
+        {
+            assertEquals(2, obj.getNumFaces());
+            assertEquals(5, obj.getNumVertices());
+            assertEquals(3, obj.getNumTexCoords());
+            assertEquals(2, obj.getNumNormals());
+            assertNotNull(obj.getGroup("a"));
+            assertNull(obj.getGroup("b"));
+            assertEquals(0, obj.getGroup("default").getNumFaces());
+            assertEquals(2, obj.getGroup("a").getNumFaces());
+
+            // The first vertex of the input is not used
+            assertEquals(FloatTuples.create(1, 0, 0), obj.getVertex(0));
+            assertEquals(FloatTuples.create(1, 1, 0), obj.getVertex(1));
+            assertEquals(FloatTuples.create(0, 1, 0), obj.getVertex(2));
+            assertEquals(FloatTuples.create(2, 0, 0), obj.getVertex(3));
+
+            ObjFace face0 = obj.getFace(0);
+            assertEquals(0, face0.getVertexIndex(0));
+            assertEquals(3, face0.getVertexIndex(1));
+            assertEquals(4, face0.getVertexIndex(2));
+            assertEquals(1, face0.getNormalIndex(0));
+
+            assertEquals(2, obj.getNumMaterialGroups());
+            assertEquals("red", obj.getMaterialGroup(0).getName());
+            assertEquals("blue", obj.getMaterialGroup(1).getName());
+        }
+    }
+
+    @Test
+    public void filterByGroupKeepsFacesInMultipleGroups() throws IOException
+    {
+        for (Obj obj : readAll(INPUT, groups("c")))
+        {
+            assertEquals(1, obj.getNumFaces());
+            assertEquals(3, obj.getNumVertices());
+            assertEquals(0, obj.getNumTexCoords());
+            assertNotNull(obj.getGroup("b"));
+            assertNotNull(obj.getGroup("c"));
+            assertEquals(FloatTuples.create(1, 1, 0), obj.getVertex(0));
+            assertEquals(FloatTuples.create(2, 0, 0), obj.getVertex(1));
+            assertEquals(FloatTuples.create(2, 1, 0), obj.getVertex(2));
+        }
+    }
+
+    @Test
+    public void filterDefaultGroup() throws IOException
+    {
+        for (Obj obj : readAll(INPUT, groups("default")))
+        {
+            assertEquals(1, obj.getNumFaces());
+            assertEquals(3, obj.getNumVertices());
+            assertEquals(0, obj.getNumMaterialGroups());
+        }
+    }
+
+    @Test
+    public void filterByMaterialGroup() throws IOException
+    {
+        ObjReaderOptions options = new ObjReaderOptions();
+        options.setMaterialGroupFilter("blue"::equals);
+        for (Obj obj : readAll(INPUT, options))
+        {
+            // The last two faces are in the material group "blue"
+            assertEquals(2, obj.getNumFaces());
+            assertEquals(1, obj.getNumMaterialGroups());
+            assertEquals(2, obj.getMaterialGroup(0).getNumFaces());
+            assertEquals(2, obj.getGroup("a").getNumFaces() +
+                obj.getGroup("b").getNumFaces());
+        }
+    }
+
+    @Test
+    public void filterByGroupAndMaterialGroup() throws IOException
+    {
+        ObjReaderOptions options = groups("a");
+        options.setMaterialGroupFilter("blue"::equals);
+        for (Obj obj : readAll(INPUT, options))
+        {
+            assertEquals(1, obj.getNumFaces());
+            assertEquals(3, obj.getNumVertices());
+            assertEquals(3, obj.getNumTexCoords());
+            assertEquals(1, obj.getNumNormals());
+        }
+    }
+
+    @Test
+    public void filterMatchesGroupToObj() throws IOException
+    {
+        byte[] data = readResource("/fourTrianglesInMixedGroups.obj");
+        Obj full = ObjReader.read(new ByteArrayInputStream(data));
+        Obj expected = ObjUtils.groupToObj(full, full.getGroup("group1"),
+            null);
+        Obj actual = ObjReader.read(ByteBuffer.wrap(data),
+            Objs.create(), groups("group1"));
+        assertEquals(expected.getNumFaces(), actual.getNumFaces());
+        assertEquals(expected.getNumVertices(), actual.getNumVertices());
+        for (int f = 0; f < expected.getNumFaces(); f++)
+        {
+            ObjFace e = expected.getFace(f);
+            ObjFace a = actual.getFace(f);
+            for (int i = 0; i < e.getNumVertices(); i++)
+            {
+                assertEquals(expected.getVertex(e.getVertexIndex(i)),
+                    actual.getVertex(a.getVertexIndex(i)));
+            }
+        }
+        assertEquals(full.getMtlFileNames(), actual.getMtlFileNames());
+    }
+
+    @Test
+    public void filterNonAsciiNamesFromReader() throws IOException
+    {
+        String name = "Tr\u00e4ger";
+        String material = "\u6728\uD83D\uDE00";
+        String input = 
+            "mtllib " + name + ".mtl\n" +
+            "v 0 0 0\n" +
+            "v 1 0 0\n" +
+            "v 1 1 0\n" +
+            "g " + name + "\n" +
+            "usemtl " + material + "\n" +
+            "f 1 2 3\n" +
+            "g other\n" +
+            "f 3 2 1\n";
+        Obj expected = ObjReader.read(new StringReader(input));
+        assertEquals(name, expected.getGroup(1).getName());
+
+        ObjReaderOptions options = new ObjReaderOptions();
+        options.setGroupFilter(n -> n.equals(name));
+        Obj actual = ObjReader.read(
+            new StringReader(input), Objs.create(), options);
+        assertEquals(1, actual.getNumFaces());
+        assertNotNull(actual.getGroup(name));
+        assertEquals(1, actual.getGroup(name).getNumFaces());
+        assertEquals(material, actual.getMaterialGroup(0).getName());
+        assertEquals(expected.getMtlFileNames(), actual.getMtlFileNames());
+
+        options.setGroupFilter(n -> true);
+        options.setMaterialGroupFilter(material::equals);
+        actual = ObjReader.read(
+            new StringReader(input), Objs.create(), options);
+        assertEquals(2, actual.getNumFaces());
+        assertNotNull(actual.getGroup(name));
+        assertNotNull(actual.getMaterialGroup(material));
+    }
+
+    @Test
+    public void emptySelection() throws IOException
+    {
+        for (Obj obj : readAll(INPUT, groups("missing")))
+        {
+            assertEquals(0, obj.getNumFaces());
+            assertEquals(0, obj.getNumVertices());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void invalidIndexInSelection() throws IOException
+    {
+        String input = "v 0 0 0\ng a\nf 1 2 3\n";
+        ObjReader.read(ByteBuffer.wrap(
+            input.getBytes(StandardCharsets.US_ASCII)),
+            Objs.create(), groups("a"));
+    }
+
+    @Test
+    public void invalidIndexOutsideOfSelectionIsIgnored() throws IOException
+    {
+        String input = "v 0 0 0\nv 1 0 0\nv 1 1 0\n" +
+            "g a\nf 1 2 3\ng b\nf 1 2 9\n";
+        Obj obj = ObjReader.read(ByteBuffer.wrap(
+            input.getBytes(StandardCharsets.US_ASCII)),
+            Objs.create(), groups("a"));
+        assertEquals(1, obj.getNumFaces());
+    }
+}
@@ -0,0 +1,236 @@
+package de.javagl.obj;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestObjReaderOptions
+{
+    private static final String INPUT =
+        "v 0 0 0\n" +
+        "v 1 0 0\n" +
+        "v 1 1 0\n" +
+        "vt 0 0\n" +
+        "vn 0 0 1\n" +
+        "g a\n" +
+        "usemtl m\n" +
+        "f 1/1/1 2/1/1 3/1/1\n" +
+        "g b\n" +
+        "f 3 2 1\n";
+
+    private static byte[] createLargeInput(int numVertices)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < numVertices; i++)
+        {
+            sb.append("v ").append(i).append(" 0 0\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static class RecordingListener implements ObjReadListener
+    {
+        long bytes;
+        long lines;
+        long numVertices;
+        long numTexCoords;
+        long numNormals;
+        long numFaces;
+        long numGroupStatements;
+        long numMaterialGroupStatements;
+        long numMaterials;
+        int numCalls;
+        final List<String> phases = new ArrayList<String>();
+
+        @Override
+        public void progress(ObjReadProgress progress)
+        {
+            assertTrue(progress.getBytes() >= bytes);
+            bytes = progress.getBytes();
+            lines = progress.getLines();
+            numVertices = progress.getNumVertices();
+            numTexCoords = progress.getNumTexCoords();
+            numNormals = progress.getNumNormals();
+            numFaces = progress.getNumFaces();
+            numGroupStatements = progress.getNumGroupStatements();
+            numMaterialGroupStatements =
+                progress.getNumMaterialGroupStatements();
+            numMaterials = progress.getNumMaterials();
+            numCalls++;
+        }
+
+        @Override
+        public void phaseCompleted(String phase, long elapsedNanos)
+        {
+            assertTrue(elapsedNanos >= 0);
+            phases.add(phase);
+        }
+
+        void assertCounts()
+        {
+            assertEquals(INPUT.length(), bytes);
+            assertEquals(10, lines);
+            assertEquals(3, numVertices);
+            assertEquals(1, numTexCoords);
+            assertEquals(1, numNormals);
+            assertEquals(2, numFaces);
+            assertEquals(2, numGroupStatements);
+            assertEquals(1, numMaterialGroupStatements);
+        }
+    }
+
+    private static ObjReaderOptions createOptions(ObjReadListener listener)
+    {
+        ObjReaderOptions options = new ObjReaderOptions();
+        options.setListener(listener);
+        options.setProgressInterval(16);
+        return options;
+    }
+
+    @Test
+    public void readStreamWithListener() throws IOException
+    {
+        RecordingListener listener = new RecordingListener();
+        Obj obj = ObjReader.read(
+            new ByteArrayInputStream(INPUT.getBytes(StandardCharsets.US_ASCII)),
+            Objs.create(), createOptions(listener));
+        assertEquals(3, obj.getNumVertices());
+        listener.assertCounts();
+        assertTrue(listener.numCalls > 1);
+        assertEquals(1, listener.phases.size());
+        assertEquals("parse", listener.phases.get(0));
+    }
+
+    @Test
+    public void readReaderWithListener() throws IOException
+    {
+        RecordingListener listener = new RecordingListener();
+        ObjReader.read(new StringReader(INPUT), Objs.create(),
+            createOptions(listener));
+        listener.assertCounts();
+    }
+
+    @Test
+    public void readByteBufferWithListener() throws IOException
+    {
+        byte[] data = INPUT.getBytes(StandardCharsets.US_ASCII);
+        Obj expected = ObjReader.read(new ByteArrayInputStream(data));
+        RecordingListener listener = new RecordingListener();
+        Obj actual = ObjReader.read(ByteBuffer.wrap(data), Objs.create(),
+            createOptions(listener));
+        TestObjReaderByteBuffer.assertObjEquals(expected, actual);
+        listener.assertCounts();
+        assertTrue(listener.numCalls > 1);
+    }
+
+    @Test
+    public void readParallelWithListener() throws IOException
+    {
+        byte[] data = INPUT.getBytes(StandardCharsets.US_ASCII);
+        Obj expected = ObjReader.read(new ByteArrayInputStream(data));
+        RecordingListener listener = new RecordingListener();
+        Obj actual = ObjReader.readParallel(ByteBuffer.wrap(data),
+            Objs.create(), createOptions(listener));
+        TestObjReaderByteBuffer.assertObjEquals(expected, actual);
+        listener.assertCounts();
+        assertEquals(3, listener.phases.size());
+        assertEquals("parse", listener.phases.get(0));
+        assertEquals("resolve", listener.phases.get(1));
+        assertEquals("emit", listener.phases.get(2));
+    }
+
+    @Test
+    public void cancelStream() throws IOException
+    {
+        byte[] data = createLargeInput(10000);
+        RecordingListener listener = new RecordingListener();
+        ObjReaderOptions options = createOptions(listener);
+        options.setProgressInterval(1024);
+        options.setCancellationToken(() -> listener.numCalls >= 2);
+        try
+        {
+            ObjReader.read(new ByteArrayInputStream(data),
+                Objs.create(), options);
+            fail("Expected an InterruptedIOException");
+        }
+        catch (InterruptedIOException e)
+        {
+            // Expected
+        }
+        assertTrue(listener.bytes < data.length);
+    }
+
+    @Test
+    public void cancelByteBuffer() throws IOException
+    {
+        byte[] data = createLargeInput(10000);
+        RecordingListener listener = new RecordingListener();
+        ObjReaderOptions options = createOptions(listener);
+        options.setProgressInterval(1024);
+        options.setCancellationToken(() -> listener.numCalls >= 2);
+        Obj obj = Objs.create();
+        try
+        {
+            ObjReader.read(ByteBuffer.wrap(data), obj, options);
+            fail("Expected an InterruptedIOException");
+        }
+        catch (InterruptedIOException e)
+        {
+            // Expected
+        }
+        assertTrue(obj.getNumVertices() < 10000);
+    }
+
+    @Test
+    public void cancelParallel() throws IOException
+    {
+        byte[] data = createLargeInput(10000);
+        ObjReaderOptions options = new ObjReaderOptions();
+        options.setCancellationToken(() -> true);
+        Obj obj = Objs.create();
+        try
+        {
+            ObjReader.readParallel(ByteBuffer.wrap(data), obj, options);
+            fail("Expected an InterruptedIOException");
+        }
+        catch (InterruptedIOException e)
+        {
+            // Expected
+        }
+        assertEquals(0, obj.getNumVertices());
+    }
+
+    @Test
+    public void readMtlWithListener() throws IOException
+    {
+        RecordingListener listener = new RecordingListener();
+        try (InputStream inputStream =
+            TestObjReaderOptions.class.getResourceAsStream(
+                "/twoMaterialsA.mtl"))
+        {
+            List<Mtl> mtls = MtlReader.read(inputStream,
+                createOptions(listener));
+            assertEquals(mtls.size(), listener.numMaterials);
+            assertTrue(listener.bytes > 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidProgressInterval()
+    {
+        new ObjReaderOptions().setProgressInterval(0);
+    }
+}
@@ -0,0 +1,253 @@
+package de.javagl.obj;
+
+import static de.javagl.obj.TestObjReaderByteBuffer.assertObjEquals;
+import static de.javagl.obj.TestResources.withCarriageReturns;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestObjReaderParallel
+{
+    @Test
+    public void readParallelWithSmallChunks()
+        throws IOException
+    {
+        byte[] data = createObjData(new Random(0), 2000);
+        Obj expected = ObjReader.read(new ByteArrayInputStream(data));
+        for (int minChunkSize : new int[] { 1, 7, 100, 5000, 1 << 20 })
+        {
+            Obj actual = Objs.create();
+            ObjParallelReader reader = 
+                new ObjParallelReader(actual, minChunkSize);
+            reader.read(ByteBuffer.wrap(data), 0, data.length);
+            assertObjEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void readParallelInRangesWithSmallChunks()
+        throws IOException
+    {
+        byte[] data = createObjData(new Random(1), 2000);
+        Obj expected = ObjReader.read(new ByteArrayInputStream(data));
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        Obj actual = Objs.create();
+        ObjParallelReader reader = new ObjParallelReader(actual, 50);
+        int position = 0;
+        while (position < data.length)
+        {
+            int end = Math.min(data.length, position + 3000);
+            if (end < data.length)
+            {
+                end = ObjParallelReader.findLastBoundary(
+                    buffer, position, end);
+            }
+            reader.read(buffer, position, end);
+            position = end;
+        }
+        assertObjEquals(expected, actual);
+    }
+
+    @Test
+    public void readParallelInCustomPool()
+        throws Exception
+    {
+        byte[] data = createObjData(new Random(2), 500);
+        Obj expected = ObjReader.read(new ByteArrayInputStream(data));
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try
+        {
+            Obj actual = pool.submit(() -> 
+            {
+                Obj obj = Objs.create();
+                new ObjParallelReader(obj, 10).read(
+                    ByteBuffer.wrap(data), 0, data.length);
+                return obj;
+            }).get();
+            assertObjEquals(expected, actual);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void readParallelFromFileChannel()
+        throws IOException
+    {
+        byte[] data = createObjData(new Random(3), 1000);
+        Obj expected = ObjReader.read(new ByteArrayInputStream(data));
+        Path path = Files.createTempFile("TestObjReaderParallel", ".obj");
+        try
+        {
+            Files.write(path, data);
+            try (FileChannel channel =
+                FileChannel.open(path, StandardOpenOption.READ))
+            {
+                Obj actual = ObjReader.readParallel(channel);
+                assertObjEquals(expected, actual);
+            }
+        }
+        finally
+        {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void readParallelWithCarriageReturnLineEnds()
+        throws IOException
+    {
+        byte[] data = createObjData(new Random(4), 1000);
+        Obj expected = ObjReader.read(new ByteArrayInputStream(data));
+        byte[] crData = withCarriageReturns(data);
+        for (int minChunkSize : new int[] { 1, 7, 100, 5000 })
+        {
+            Obj actual = Objs.create();
+            new ObjParallelReader(actual, minChunkSize).read(
+                ByteBuffer.wrap(crData), 0, crData.length);
+            assertObjEquals(expected, actual);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(crData);
+        Obj actual = Objs.create();
+        ObjParallelReader reader = new ObjParallelReader(actual, 50);
+        int position = 0;
+        while (position < crData.length)
+        {
+            int end = Math.min(crData.length, position + 3000);
+            if (end < crData.length)
+            {
+                end = ObjParallelReader.findLastBoundary(
+                    buffer, position, end);
+            }
+            reader.read(buffer, position, end);
+            position = end;
+        }
+        assertObjEquals(expected, actual);
+        assertObjEquals(expected, 
+            ObjReader.readParallel(ByteBuffer.wrap(crData)));
+    }
+
+    @Test
+    public void readParallelInvalidFace()
+    {
+        String input = 
+            "v 0 0 0\nv 1 0 0\nv 1 1 0\nf 1 2 3\nf 1//0 2//0 3//0\n";
+        byte[] data = input.getBytes(StandardCharsets.US_ASCII);
+        try
+        {
+            new ObjParallelReader(Objs.create(), 1).read(
+                ByteBuffer.wrap(data), 0, data.length);
+            fail("Expected IOException");
+        }
+        catch (IOException e)
+        {
+            // Expected
+        }
+    }
+
+    @Test
+    public void readParallelEmpty()
+        throws IOException
+    {
+        Obj obj = ObjReader.readParallel(ByteBuffer.allocate(0));
+        assertEquals(0, obj.getNumVertices());
+        assertEquals(1, obj.getNumGroups());
+    }
+
+    /**
+     * Create OBJ data with the given number of faces, containing 
+     * relative and absolute indices, groups, material groups, 
+     * comments, empty lines and continuation lines 
+     */
+    private static byte[] createObjData(Random random, int numFaces)
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("mtllib example.mtl\n");
+        int numVertices = 0;
+        int numTexCoords = 0;
+        int numNormals = 0;
+        for (int i = 0; i < numFaces; i++)
+        {
+            int choice = random.nextInt(20);
+            if (choice == 0)
+            {
+                sb.append("g group").append(random.nextInt(5));
+                if (random.nextBoolean())
+                {
+                    sb.append(" \\\n  group").append(random.nextInt(5));
+                }
+                sb.append("\n");
+            }
+            else if (choice == 1)
+            {
+                sb.append("usemtl material")
+                    .append(random.nextInt(5)).append("\r\n");
+            }
+            else if (choice == 2)
+            {
+                sb.append("# Comment\n\n");
+            }
+            for (int j = 0; j < 3; j++)
+            {
+                sb.append("v ").append(random.nextFloat())
+                    .append(" ").append(random.nextFloat())
+                    .append(j == 1 ? " \\\n" : " ")
+                    .append(random.nextFloat()).append("\n");
+                sb.append("vt ").append(random.nextFloat())
+                    .append(" ").append(random.nextFloat()).append("\n");
+                sb.append("vn 0 0 1\n");
+                numVertices++;
+                numTexCoords++;
+                numNormals++;
+            }
+            boolean relative = random.nextBoolean();
+            int mode = random.nextInt(4);
+            sb.append("f");
+            int n = 3 + random.nextInt(3);
+            for (int j = 0; j < n; j++)
+            {
+                int v = relative ? -1 - random.nextInt(numVertices) 
+                    : 1 + random.nextInt(numVertices);
+                int vt = relative ? -1 - random.nextInt(numTexCoords) 
+                    : 1 + random.nextInt(numTexCoords);
+                int vn = relative ? -1 - random.nextInt(numNormals) 
+                    : 1 + random.nextInt(numNormals);
+                sb.append(" ").append(v);
+                if (mode == 1)
+                {
+                    sb.append("/").append(vt);
+                }
+                else if (mode == 2)
+                {
+                    sb.append("//").append(vn);
+                }
+                else if (mode == 3)
+                {
+                    sb.append("/").append(vt).append("/").append(vn);
+                }
+                if (j == 1)
+                {
+                    sb.append(" \\\n");
+                }
+            }
+            sb.append("\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,149 @@
+package de.javagl.obj;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestObjReaderPrimitive
+{
+    private static final String INPUT =
+        "v 1 2 3\n" +
+        "v 1 2 3 4\n" +
+        "v 5\n" +
+        "vt 0.5\n" +
+        "vt 0.5 0.25\n" +
+        "vt 0.5 0.25 0.125\n" +
+        "vt 0.5 0.25 0.125 2\n" +
+        "vn 0 0 1\n" +
+        "vn 0 1\n" +
+        "f 1/1/1 2/2/2 3/3/2\n";
+
+    private static class RecordingObj extends AbstractWritableObj
+    {
+        private final List<float[]> vertices = new ArrayList<float[]>();
+        private final List<float[]> texCoords = new ArrayList<float[]>();
+        private final List<float[]> normals = new ArrayList<float[]>();
+        private int numTupleCalls = 0;
+
+        @Override
+        public void addVertex(
+            int dimensions, float x, float y, float z, float w)
+        {
+            vertices.add(create(dimensions, x, y, z, w));
+        }
+
+        @Override
+        public void addTexCoord(
+            int dimensions, float x, float y, float z, float w)
+        {
+            texCoords.add(create(dimensions, x, y, z, w));
+        }
+
+        @Override
+        public void addNormal(
+            int dimensions, float x, float y, float z, float w)
+        {
+            normals.add(create(dimensions, x, y, z, w));
+        }
+
+        @Override
+        public void addVertex(FloatTuple vertex)
+        {
+            numTupleCalls++;
+        }
+
+        @Override
+        public void addTexCoord(FloatTuple texCoord)
+        {
+            numTupleCalls++;
+        }
+
+        @Override
+        public void addNormal(FloatTuple normal)
+        {
+            numTupleCalls++;
+        }
+
+        private static float[] create(
+            int dimensions, float x, float y, float z, float w)
+        {
+            float[] all = { x, y, z, w };
+            float[] result = new float[dimensions];
+            System.arraycopy(all, 0, result, 0, dimensions);
+            return result;
+        }
+    }
+
+    @Test
+    public void readPrimitiveFromStream()
+        throws IOException
+    {
+        RecordingObj obj = ObjReader.read(new ByteArrayInputStream(
+            INPUT.getBytes(StandardCharsets.US_ASCII)), new RecordingObj());
+        assertRecorded(obj);
+    }
+
+    @Test
+    public void readPrimitiveFromByteBuffer()
+        throws IOException
+    {
+        RecordingObj obj = ObjReader.read(ByteBuffer.wrap(
+            INPUT.getBytes(StandardCharsets.US_ASCII)), new RecordingObj());
+        assertRecorded(obj);
+    }
+
+    @Test
+    public void readPrimitiveParallel()
+        throws IOException
+    {
+        byte[] data = INPUT.getBytes(StandardCharsets.US_ASCII);
+        RecordingObj obj = new RecordingObj();
+        new ObjParallelReader(obj, 1).read(
+            ByteBuffer.wrap(data), 0, data.length);
+        assertRecorded(obj);
+    }
+
+    @Test
+    public void readDimensionsIntoDefaultObj()
+        throws IOException
+    {
+        Obj obj = ObjReader.read(new ByteArrayInputStream(
+            INPUT.getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(FloatTuples.create(1, 2, 3), obj.getVertex(0));
+        assertEquals(FloatTuples.create(1, 2, 3, 4), obj.getVertex(1));
+        assertEquals(FloatTuples.create(5), obj.getVertex(2));
+        assertEquals(FloatTuples.create(0.5f), obj.getTexCoord(0));
+        assertEquals(FloatTuples.create(0.5f, 0.25f, 0.125f, 2),
+            obj.getTexCoord(3));
+        assertEquals(FloatTuples.create(0, 1), obj.getNormal(1));
+    }
+
+    private static void assertRecorded(RecordingObj obj)
+    {
+        assertEquals(0, obj.numTupleCalls);
+        assertEquals(3, obj.vertices.size());
+        assertArrayEquals(new float[] { 1, 2, 3 }, 
+            obj.vertices.get(0), 0.0f);
+        assertArrayEquals(new float[] { 1, 2, 3, 4 }, 
+            obj.vertices.get(1), 0.0f);
+        assertArrayEquals(new float[] { 5 }, 
+            obj.vertices.get(2), 0.0f);
+        assertEquals(4, obj.texCoords.size());
+        for (int i = 0; i < 4; i++)
+        {
+            assertEquals(i + 1, obj.texCoords.get(i).length);
+        }
+        assertEquals(2, obj.normals.size());
+        assertArrayEquals(new float[] { 0, 1 }, 
+            obj.normals.get(1), 0.0f);
+    }
+}
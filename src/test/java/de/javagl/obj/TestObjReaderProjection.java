@@ -0,0 +1,130 @@
+package de.javagl.obj;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestObjReaderProjection
+{
+    private static final String INPUT =
+        "v 0 0 0\n" +
+        "v 1 0 0\n" +
+        "v 1 1 0\n" +
+        "vt 0 0\n" +
+        "vt 1 0\n" +
+        "vt 1 1\n" +
+        "vn 0 0 1\n" +
+        "g a\n" +
+        "usemtl red\n" +
+        "f 1/1/1 2/2/1 3/3/1\n" +
+        "g b\n" +
+        "usemtl blue\n" +
+        "f 3//1 2//1 1//1\n";
+
+    private static List<Obj> readAll(String input, ObjReaderOptions options)
+        throws IOException
+    {
+        byte[] data = input.getBytes(StandardCharsets.US_ASCII);
+        return Arrays.asList(
+            ObjReader.read(new ByteArrayInputStream(data),
+                Objs.create(), options),
+            ObjReader.read(new StringReader(input), Objs.create(), options),
+            ObjReader.read(ByteBuffer.wrap(data), Objs.create(), options),
+            ObjReader.readParallel(ByteBuffer.wrap(data),
+                Objs.create(), options));
+    }
+
+    @Test
+    public void skipTexCoordsAndNormals() throws IOException
+    {
+        ObjReaderOptions options = new ObjReaderOptions();
+        options.setReadTexCoords(false);
+        options.setReadNormals(false);
+        for (Obj obj : readAll(INPUT, options))
+        {
+            assertEquals(3, obj.getNumVertices());
+            assertEquals(0, obj.getNumTexCoords());
+            assertEquals(0, obj.getNumNormals());
+            assertEquals(2, obj.getNumFaces());
+            for (int i = 0; i < obj.getNumFaces(); i++)
+            {
+                assertFalse(obj.getFace(i).containsTexCoordIndices());
+                assertFalse(obj.getFace(i).containsNormalIndices());
+            }
+            assertEquals(2, obj.getNumMaterialGroups());
+            assertEquals(1, obj.getGroup("a").getNumFaces());
+        }
+    }
+
+    @Test
+    public void skipOnlyNormals() throws IOException
+    {
+        ObjReaderOptions options = new ObjReaderOptions();
+        options.setReadNormals(false);
+        for (Obj obj : readAll(INPUT, options))
+        {
+            assertEquals(3, obj.getNumTexCoords());
+            assertEquals(0, obj.getNumNormals());
+            assertTrue(obj.getFace(0).containsTexCoordIndices());
+            assertEquals(2, obj.getFace(0).getTexCoordIndex(2));
+            assertFalse(obj.getFace(0).containsNormalIndices());
+        }
+    }
+
+    @Test
+    public void skipGroupsAndMaterialGroups() throws IOException
+    {
+        ObjReaderOptions options = new ObjReaderOptions();
+        options.setReadGroups(false);
+        options.setReadMaterialGroups(false);
+        for (Obj obj : readAll(INPUT, options))
+        {
+            assertEquals(2, obj.getNumFaces());
+            assertEquals(1, obj.getNumGroups());
+            assertEquals(2, obj.getGroup("default").getNumFaces());
+            assertEquals(0, obj.getNumMaterialGroups());
+            assertEquals(1, obj.getNumNormals());
+        }
+    }
+
+    @Test
+    public void skipGroupsWithGroupFilter() throws IOException
+    {
+        ObjReaderOptions options = new ObjReaderOptions();
+        options.setReadGroups(false);
+        options.setReadTexCoords(false);
+        options.setGroupFilter("b"::equals);
+        for (Obj obj : readAll(INPUT, options))
+        {
+            assertEquals(1, obj.getNumFaces());
+            assertEquals(1, obj.getNumGroups());
+            assertEquals(1, obj.getGroup("default").getNumFaces());
+            assertEquals(0, obj.getNumTexCoords());
+            assertEquals(1, obj.getNumNormals());
+            assertEquals(1, obj.getNumMaterialGroups());
+            assertEquals("blue", obj.getMaterialGroup(0).getName());
+        }
+    }
+
+    @Test
+    public void defaultOptionsReadEverything() throws IOException
+    {
+        Obj expected = ObjReader.read(new ByteArrayInputStream(
+            INPUT.getBytes(StandardCharsets.US_ASCII)));
+        for (Obj obj : readAll(INPUT, new ObjReaderOptions()))
+        {
+            TestObjReaderByteBuffer.assertObjEquals(expected, obj);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package de.javagl.obj;
+
+import static de.javagl.obj.TestResources.RESOURCE_NAMES;
+import static de.javagl.obj.TestResources.readResource;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestObjRenderData
+{
+    @Test
+    public void readResourcesAsRenderData()
+        throws IOException
+    {
+        for (String name : RESOURCE_NAMES)
+        {
+            byte[] data = readResource(name);
+            Obj obj = ObjReader.read(new ByteArrayInputStream(data));
+            ObjRenderData expected = createExpected(obj);
+
+            ObjRenderData fromStream = 
+                ObjReader.readRenderData(new ByteArrayInputStream(data));
+            assertTrianglesEqual(expected, fromStream);
+            
+            ObjRenderData fromBuffer = 
+                ObjReader.readRenderData(ByteBuffer.wrap(data));
+            assertTrianglesEqual(expected, fromBuffer);
+        }
+    }
+
+    @Test
+    public void verticesAreShared()
+        throws IOException
+    {
+        ObjRenderData renderData = ObjReader.readRenderData(
+            TestObjRenderData.class.getResourceAsStream("/square.obj"));
+        assertEquals(4, renderData.getNumVertices());
+        assertEquals(12, renderData.getVertices().capacity());
+        assertEquals(0, renderData.getTexCoords().capacity());
+        assertEquals(0, renderData.getNormals().capacity());
+        assertEquals(6, renderData.getIndices().capacity());
+        assertEquals(0, renderData.getIndices().position());
+    }
+
+    @Test
+    public void materialGroupRanges()
+        throws IOException
+    {
+        ObjRenderData renderData = ObjReader.readRenderData(
+            TestObjRenderData.class.getResourceAsStream(
+                "/fourTrianglesPartiallyInMaterialGroups.obj"));
+        List<ObjRenderData.MaterialGroupRange> ranges = 
+            renderData.getMaterialGroupRanges();
+        assertEquals(3, ranges.size());
+        assertNull(ranges.get(0).getName());
+        assertEquals(0, ranges.get(0).getOffset());
+        assertEquals(6, ranges.get(0).getCount());
+        assertEquals("material0", ranges.get(1).getName());
+        assertEquals(6, ranges.get(1).getOffset());
+        assertEquals(3, ranges.get(1).getCount());
+        assertEquals("material1", ranges.get(2).getName());
+        assertEquals(9, ranges.get(2).getOffset());
+        assertEquals(3, ranges.get(2).getCount());
+    }
+
+    @Test
+    public void mixedTexCoordsAndNormals()
+        throws IOException
+    {
+        String input = 
+            "v 0 0 0\n" +
+            "v 1 0 0\n" +
+            "v 1 1 0\n" +
+            "vt 0.5 0.25\n" +
+            "vn 0 0 1\n" +
+            "f 1/1/1 2/1/1 3/1/1\n" +
+            "f 1 2 3\n";
+        ObjRenderData renderData = ObjReader.readRenderData(
+            new ByteArrayInputStream(
+                input.getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(6, renderData.getNumVertices());
+        assertEquals(12, renderData.getTexCoords().capacity());
+        assertEquals(0.25f, renderData.getTexCoords().get(1), 0.0f);
+        assertEquals(0.0f, renderData.getTexCoords().get(7), 0.0f);
+        assertEquals(18, renderData.getNormals().capacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void forwardReferencesAreRejected()
+        throws IOException
+    {
+        String input = "v 0 0 0\nf 1 2 3\nv 1 0 0\nv 1 1 0\n";
+        ObjReader.readRenderData(new ByteArrayInputStream(
+            input.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static ObjRenderData createExpected(ReadableObj obj)
+    {
+        Obj renderable = ObjUtils.convertToRenderable(obj);
+        List<ObjRenderData.MaterialGroupRange> ranges = 
+            Collections.emptyList();
+        return new ObjRenderData(renderable.getNumVertices(), 
+            ObjData.getVertices(renderable), 
+            ObjData.getTexCoords(renderable, 2),
+            ObjData.getNormals(renderable),
+            ObjData.getFaceVertexIndices(renderable, 3), ranges);
+    }
+
+    private static void assertTrianglesEqual(
+        ObjRenderData expected, ObjRenderData actual)
+    {
+        assertEquals(
+            expected.getIndices().capacity(), 
+            actual.getIndices().capacity());
+        assertEquals(createTriangles(expected), createTriangles(actual));
+    }
+
+    private static List<String> createTriangles(ObjRenderData renderData)
+    {
+        FloatBuffer vertices = renderData.getVertices();
+        FloatBuffer texCoords = renderData.getTexCoords();
+        FloatBuffer normals = renderData.getNormals();
+        IntBuffer indices = renderData.getIndices();
+        List<String> triangles = new ArrayList<String>();
+        for (int i = 0; i < indices.capacity(); i += 3)
+        {
+            StringBuilder sb = new StringBuilder();
+            for (int j = 0; j < 3; j++)
+            {
+                int index = indices.get(i + j);
+                sb.append(vertices.get(index * 3 + 0)).append(",");
+                sb.append(vertices.get(index * 3 + 1)).append(",");
+                sb.append(vertices.get(index * 3 + 2)).append(",");
+                if (texCoords.capacity() > 0)
+                {
+                    sb.append(texCoords.get(index * 2 + 0)).append(",");
+                    sb.append(texCoords.get(index * 2 + 1)).append(",");
+                }
+                if (normals.capacity() > 0)
+                {
+                    sb.append(normals.get(index * 3 + 0)).append(",");
+                    sb.append(normals.get(index * 3 + 1)).append(",");
+                    sb.append(normals.get(index * 3 + 2)).append(",");
+                }
+                sb.append(" ");
+            }
+            triangles.add(sb.toString());
+        }
+        Collections.sort(triangles);
+        return triangles;
+    }
+}
@@ -0,0 +1,216 @@
+package de.javagl.obj;
+
+import static de.javagl.obj.TestResources.readResource;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestObjScanner
+{
+    private static final String INPUT =
+        "mtllib a.mtl\n" +
+        "v 0 0 0\n" +
+        "v 1 -2 0\n" +
+        "v 1 1 3\n" +
+        "v 0 1 0\n" +
+        "vt 0 0\n" +
+        "vn 0 0 1\n" +
+        "f 1 2 3\n" +
+        "g a b\n" +
+        "usemtl red\n" +
+        "f 1/1/1 2/1/1 3/1/1 4/1/1\n" +
+        "g unused\n" +
+        "usemtl unused\n" +
+        "g c\n" +
+        "usemtl blue\n" +
+        "mtllib b.mtl\n" +
+        "f 1//1 2//1 3//1 4//1 1//1\n";
+
+    @Test
+    public void scanSmallInput() throws IOException
+    {
+        ObjStatistics statistics = ObjScanner.scan(new ByteArrayInputStream(
+            INPUT.getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(4, statistics.getNumVertices());
+        assertEquals(1, statistics.getNumTexCoords());
+        assertEquals(1, statistics.getNumNormals());
+        assertEquals(3, statistics.getNumFaces());
+        assertEquals(1 + 2 + 3, statistics.getNumTriangles());
+        assertEquals(3 + 4 + 5, statistics.getNumFaceVertices());
+        assertEquals(5, statistics.getMaxFaceVertices());
+        assertEquals(Arrays.asList("default", "a", "b", "c"), 
+            statistics.getGroupNames());
+        assertEquals(Arrays.asList("red", "blue"), 
+            statistics.getMaterialGroupNames());
+        assertEquals(Arrays.asList("a.mtl", "b.mtl"), 
+            statistics.getMtlFileNames());
+        assertEquals(FloatTuples.create(0, -2, 0), statistics.getMinimum());
+        assertEquals(FloatTuples.create(1, 1, 3), statistics.getMaximum());
+    }
+
+    @Test
+    public void scanEmptyInput() throws IOException
+    {
+        ObjStatistics statistics = ObjScanner.scan(ByteBuffer.allocate(0));
+        assertEquals(0, statistics.getNumVertices());
+        assertEquals(0, statistics.getMaxFaceVertices());
+        assertEquals(0, statistics.getGroupNames().size());
+        assertNull(statistics.getMinimum());
+        assertNull(statistics.getMaximum());
+    }
+
+    @Test
+    public void scanMatchesReadObj() throws IOException
+    {
+        String[] names = { "/square.obj", "/squareAndTriangleInTwoGroups.obj",
+            "/fourTrianglesPartiallyInMaterialGroups.obj",
+            "/fourTrianglesInMixedGroups.obj" };
+        for (String name : names)
+        {
+            byte[] data = readResource(name);
+            Obj obj = ObjReader.read(new ByteArrayInputStream(data));
+            ObjStatistics statistics = ObjScanner.scan(ByteBuffer.wrap(data));
+            assertEquals(obj.getNumVertices(), statistics.getNumVertices());
+            assertEquals(obj.getNumTexCoords(), statistics.getNumTexCoords());
+            assertEquals(obj.getNumNormals(), statistics.getNumNormals());
+            assertEquals(obj.getNumFaces(), statistics.getNumFaces());
+            assertEquals(obj.getMtlFileNames(), statistics.getMtlFileNames());
+            List<String> materialGroupNames = new ArrayList<String>();
+            for (int i = 0; i < obj.getNumMaterialGroups(); i++)
+            {
+                ObjGroup group = obj.getMaterialGroup(i);
+                if (group.getNumFaces() > 0)
+                {
+                    materialGroupNames.add(group.getName());
+                }
+            }
+            assertEquals(materialGroupNames, 
+                statistics.getMaterialGroupNames());
+        }
+    }
+
+    @Test
+    public void scanParallelMatchesScan() throws IOException
+    {
+        byte[] data = createLargeInput(200000);
+        ObjStatistics expected = ObjScanner.scan(ByteBuffer.wrap(data));
+        ObjStatistics actual = ObjScanner.scanParallel(ByteBuffer.wrap(data));
+        assertStatisticsEqual(expected, actual);
+        assertEquals(200000, actual.getNumVertices());
+
+        Obj obj = ObjReader.read(new ByteArrayInputStream(data));
+        assertEquals(obj.getNumFaces(), actual.getNumFaces());
+        assertEquals(obj.getNumGroups(), actual.getGroupNames().size());
+    }
+
+    @Test
+    public void scanParallelFileChannel() throws IOException
+    {
+        byte[] data = createLargeInput(50000);
+        Path path = Files.createTempFile("TestObjScanner", ".obj");
+        try
+        {
+            Files.write(path, data);
+            try (FileChannel channel = FileChannel.open(path, 
+                StandardOpenOption.READ))
+            {
+                ObjStatistics actual = ObjScanner.scanParallel(channel);
+                assertEquals(0, channel.position());
+                assertStatisticsEqual(
+                    ObjScanner.scan(ByteBuffer.wrap(data)), actual);
+            }
+        }
+        finally
+        {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void scanGzipStream() throws IOException
+    {
+        byte[] data = createLargeInput(10000);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(baos))
+        {
+            gzip.write(data);
+        }
+        assertStatisticsEqual(ObjScanner.scan(ByteBuffer.wrap(data)),
+            ObjScanner.scan(new ByteArrayInputStream(baos.toByteArray())));
+    }
+
+    @Test
+    public void createPackedWithStatistics() throws IOException
+    {
+        byte[] data = createLargeInput(10000);
+        ObjStatistics statistics = ObjScanner.scan(ByteBuffer.wrap(data));
+        Obj expected = ObjReader.read(new ByteArrayInputStream(data));
+        Obj actual = ObjReader.read(ByteBuffer.wrap(data), 
+            Objs.createPacked(statistics));
+        TestObjReaderByteBuffer.assertObjEquals(expected, actual);
+
+        byte[] resource = readResource("/fourTrianglesInMixedGroups.obj");
+        Obj expectedResource = 
+            ObjReader.read(new ByteArrayInputStream(resource));
+        Obj actualResource = ObjReader.read(ByteBuffer.wrap(resource), 
+            Objs.createPacked(ObjScanner.scan(ByteBuffer.wrap(resource))));
+        TestObjReaderByteBuffer.assertObjEquals(
+            expectedResource, actualResource);
+    }
+
+    private static void assertStatisticsEqual(
+        ObjStatistics expected, ObjStatistics actual)
+    {
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(expected.getNumFaceVertices(), 
+            actual.getNumFaceVertices());
+    }
+
+    private static byte[] createLargeInput(int numVertices)
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("f 1 2 3\n");
+        sb.append("usemtl m0\n");
+        for (int i = 0; i < numVertices; i++)
+        {
+            sb.append("v ").append(i).append(" 0.5 -").append(i % 7);
+            sb.append("\n");
+            if (i % 1000 == 0)
+            {
+                sb.append("vt 0.5 0.5\n");
+                sb.append("g group").append(i / 30000).append("\n");
+            }
+            if (i % 4321 == 0)
+            {
+                sb.append("usemtl m").append(i / 50000).append("\n");
+            }
+            if (i > 3 && i % 3 == 0)
+            {
+                sb.append("f ").append(i - 2).append("/1 ").append(i - 1);
+                sb.append("/1 ").append(i).append("/1");
+                if (i % 2 == 0)
+                {
+                    sb.append(" ").append(i - 3).append("/1");
+                }
+                sb.append("\n");
+            }
+        }
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,187 @@
+package de.javagl.obj;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestObjSceneLoader
+{
+    private static final String OBJ =
+        "mtllib twoMaterialsA.mtl\n" +
+        "v 0 0 0\n" +
+        "v 1 0 0\n" +
+        "v 1 1 0\n" +
+        "usemtl material0\n" +
+        "f 1 2 3\n" +
+        "mtllib twoMaterialsB.mtl\n" +
+        "usemtl material3\n" +
+        "f 3 2 1\n" +
+        "mtllib twoMaterialsA.mtl\n";
+
+    private Path directory;
+
+    @Before
+    public void createDirectory() throws IOException
+    {
+        directory = Files.createTempDirectory("TestObjSceneLoader");
+        Files.write(directory.resolve("scene.obj"),
+            OBJ.getBytes(StandardCharsets.US_ASCII));
+        copyResource("twoMaterialsA.mtl");
+        copyResource("twoMaterialsB.mtl");
+    }
+
+    private void copyResource(String name) throws IOException
+    {
+        try (InputStream inputStream =
+            TestObjSceneLoader.class.getResourceAsStream("/" + name))
+        {
+            Files.copy(inputStream, directory.resolve(name),
+                StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @After
+    public void deleteDirectory() throws IOException
+    {
+        try (Stream<Path> paths = Files.walk(directory))
+        {
+            paths.sorted(Comparator.reverseOrder()).forEach(p ->
+                p.toFile().delete());
+        }
+    }
+
+    @Test
+    public void loadFromDirectory() throws Exception
+    {
+        ObjScene scene = ObjSceneLoader.loadAsync("scene.obj",
+            ObjResourceResolver.forDirectory(directory)).get();
+        assertEquals(3, scene.getObj().getNumVertices());
+        assertEquals(2, scene.getObj().getNumFaces());
+        assertEquals(Arrays.asList("twoMaterialsA.mtl", "twoMaterialsB.mtl"),
+            scene.getMtlFileNames());
+        assertEquals(4, scene.getMtls().size());
+        assertEquals("material0", scene.getMtls().get(0).getName());
+        assertEquals("material3", scene.getMtls().get(3).getName());
+        assertNotNull(scene.getMtl("material2"));
+        assertEquals(null, scene.getMtl("missing"));
+    }
+
+    @Test
+    public void loadWithSingleThreadExecutor() throws Exception
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            ObjScene scene = ObjSceneLoader.loadAsync("scene.obj",
+                ObjResourceResolver.forDirectory(directory, executor)).get();
+            assertEquals(4, scene.getMtls().size());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void mtlReadingStartsWhileObjIsRead() throws Exception
+    {
+        List<String> events = Collections.synchronizedList(
+            new ArrayList<String>());
+        ObjResourceResolver delegate =
+            ObjResourceResolver.forDirectory(directory);
+        ObjResourceResolver resolver = new ObjResourceResolver()
+        {
+            @Override
+            public InputStream open(String name) throws IOException
+            {
+                events.add("open " + name);
+                return new FilterInputStream(delegate.open(name))
+                {
+                    @Override
+                    public void close() throws IOException
+                    {
+                        events.add("close " + name);
+                        super.close();
+                    }
+                };
+            }
+
+            @Override
+            public Executor getExecutor()
+            {
+                return Runnable::run;
+            }
+        };
+        ObjSceneLoader.loadAsync("scene.obj", resolver).get();
+        int objClosed = events.indexOf("close scene.obj");
+        assertTrue(events.indexOf("open twoMaterialsA.mtl") < objClosed);
+        assertTrue(events.indexOf("open twoMaterialsB.mtl") < objClosed);
+        assertEquals(1, Collections.frequency(events,
+            "open twoMaterialsA.mtl"));
+    }
+
+    @Test
+    public void missingMtlFails() throws Exception
+    {
+        String obj = "mtllib missing.mtl\nv 0 0 0\n";
+        ObjResourceResolver resolver = name ->
+        {
+            if (name.equals("scene.obj"))
+            {
+                return new ByteArrayInputStream(
+                    obj.getBytes(StandardCharsets.US_ASCII));
+            }
+            throw new IOException("Not found: " + name);
+        };
+        try
+        {
+            ObjSceneLoader.loadAsync("scene.obj", resolver).get();
+            fail("Expected an ExecutionException");
+        }
+        catch (ExecutionException e)
+        {
+            assertTrue(e.getCause() instanceof IOException);
+            assertTrue(e.getCause().getMessage().contains("missing.mtl"));
+        }
+    }
+
+    @Test
+    public void missingObjFails() throws Exception
+    {
+        try
+        {
+            ObjSceneLoader.loadAsync("missing.obj",
+                ObjResourceResolver.forDirectory(directory)).get();
+            fail("Expected an ExecutionException");
+        }
+        catch (ExecutionException e)
+        {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+}
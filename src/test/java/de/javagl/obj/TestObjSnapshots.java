@@ -0,0 +1,210 @@
+package de.javagl.obj;
+
+import static de.javagl.obj.TestObjReaderByteBuffer.assertObjEquals;
+import static de.javagl.obj.TestResources.RESOURCE_NAMES;
+import static de.javagl.obj.TestResources.readResource;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestObjSnapshots
+{
+    private Path directory;
+
+    @Before
+    public void createDirectory() throws IOException
+    {
+        directory = Files.createTempDirectory("TestObjSnapshots");
+    }
+
+    @After
+    public void deleteDirectory() throws IOException
+    {
+        try (Stream<Path> paths = Files.walk(directory))
+        {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> 
+                p.toFile().delete());
+        }
+    }
+
+    @Test
+    public void writeAndReadResources()
+        throws IOException
+    {
+        for (String name : RESOURCE_NAMES)
+        {
+            Obj expected = readResource(name, Objs.create());
+            ReadableObj actual = roundTrip(expected);
+            assertObjEquals(expected, actual);
+            for (int i = 0; i < expected.getNumGroups(); i++)
+            {
+                ObjGroup e = expected.getGroup(i);
+                ObjGroup a = actual.getGroup(e.getName());
+                assertEquals(e.getNumFaces(), a.getNumFaces());
+            }
+            for (int i = 0; i < expected.getNumMaterialGroups(); i++)
+            {
+                ObjGroup e = expected.getMaterialGroup(i);
+                ObjGroup a = actual.getMaterialGroup(e.getName());
+                assertEquals(e.getNumFaces(), a.getNumFaces());
+            }
+            assertEquals(expected.getMtlFileNames(), 
+                actual.getMtlFileNames());
+        }
+    }
+
+    @Test
+    public void tuplesWithSignedZeroAndNaN()
+        throws IOException
+    {
+        Obj expected = Objs.create();
+        expected.addVertex(0.0f, 0.0f, 0.0f);
+        expected.addVertex(-0.0f, 0.0f, 0.0f);
+        expected.addVertex(Float.NaN, 1.0f, 2.0f);
+        ReadableObj actual = roundTrip(expected);
+        assertNotEquals(actual.getVertex(0), actual.getVertex(1));
+        assertNotEquals(actual.getVertex(1), expected.getVertex(0));
+        assertEquals(expected.getVertex(1), actual.getVertex(1));
+        assertEquals(actual.getVertex(1), expected.getVertex(1));
+        assertEquals(expected.getVertex(1).hashCode(), 
+            actual.getVertex(1).hashCode());
+        assertEquals(actual.getVertex(2), actual.getVertex(2));
+        assertEquals(actual.getVertex(2), 
+            new DefaultFloatTuple(Float.NaN, 1.0f, 2.0f));
+        assertEquals(new DefaultFloatTuple(Float.NaN, 1.0f, 2.0f), 
+            actual.getVertex(2));
+    }
+
+    @Test
+    public void writeAndReadMixedElements()
+        throws IOException
+    {
+        Obj expected = Objs.create();
+        expected.addVertex(1.0f, 2.0f, 3.0f);
+        expected.addVertex(FloatTuples.create(4.0f, 5.0f, 6.0f, 7.0f));
+        expected.addVertex(8.0f, 9.0f, 10.0f);
+        expected.addTexCoord(0.5f);
+        expected.addTexCoord(0.25f, 0.75f);
+        expected.addTexCoord(1.0f, 0.5f, 0.0f);
+        expected.addNormal(0.0f, 0.0f, 1.0f);
+        expected.addNormal(0.0f, 1.0f, 0.0f);
+        expected.addNormal(1.0f, 0.0f, 0.0f);
+        expected.addFaceWithTexCoords(0, 1, 2);
+        expected.addFaceWithNormals(2, 1, 0);
+        expected.addFace(new int[] { 0, 1, 2 }, new int[] { 1, 0, 1 }, 
+            new int[] { 0, 0, 0 });
+
+        ReadableObj actual = roundTrip(expected);
+        assertObjEquals(expected, actual);
+        assertEquals(expected.getVertex(1), actual.getVertex(1));
+        assertEquals(expected.getTexCoord(0), actual.getTexCoord(0));
+        assertEquals(
+            expected.getVertex(1).hashCode(), actual.getVertex(1).hashCode());
+        assertFalse(actual.getFace(0).containsNormalIndices());
+        assertFalse(actual.getFace(1).containsTexCoordIndices());
+        assertEquals(1, actual.getFace(2).getTexCoordIndex(0));
+    }
+
+    @Test(expected = IOException.class)
+    public void readInvalidData()
+        throws IOException
+    {
+        ObjSnapshots.read(ByteBuffer.wrap(
+            "v 0 0 0\n".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test(expected = IOException.class)
+    public void readTruncatedData()
+        throws IOException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjSnapshots.write(
+            readResource("/squareTextured.obj", Objs.create()), baos);
+        byte[] data = baos.toByteArray();
+        ObjSnapshots.read(ByteBuffer.wrap(data, 0, data.length - 20));
+    }
+
+    @Test
+    public void cacheStoresAndInvalidatesEntries()
+        throws IOException
+    {
+        Path objPath = directory.resolve("model.obj");
+        Files.write(objPath, readResource("/squareAndTriangleInTwoGroups.obj"));
+        Path cacheDirectory = directory.resolve("cache");
+        ObjCache cache = new ObjCache(cacheDirectory);
+
+        ReadableObj first = cache.read(objPath);
+        assertFalse(first instanceof SnapshotObj);
+        assertEquals(1, countEntries(cacheDirectory));
+
+        ReadableObj second = cache.read(objPath);
+        assertTrue(second instanceof SnapshotObj);
+        assertObjEquals(first, second);
+
+        Files.write(objPath, readResource("/squareTextured.obj"));
+        ReadableObj third = cache.read(objPath);
+        assertFalse(third instanceof SnapshotObj);
+        assertEquals(4, third.getNumTexCoords());
+        assertEquals(1, countEntries(cacheDirectory));
+
+        ReadableObj fourth = cache.read(objPath);
+        assertTrue(fourth instanceof SnapshotObj);
+        assertEquals(4, fourth.getNumTexCoords());
+
+        cache.invalidate(objPath);
+        assertEquals(0, countEntries(cacheDirectory));
+    }
+
+    @Test
+    public void cacheWithContentHash()
+        throws IOException
+    {
+        Path objPath = directory.resolve("model.obj");
+        Files.write(objPath, readResource("/square.obj"));
+        ObjCache cache = new ObjCache(directory.resolve("cache"), true);
+        cache.read(objPath);
+
+        Files.setLastModifiedTime(objPath, FileTime.fromMillis(12345L));
+        assertTrue(cache.read(objPath) instanceof SnapshotObj);
+
+        byte[] data = readResource("/square.obj");
+        data[2] = (byte)'1';
+        Files.write(objPath, data);
+        assertFalse(cache.read(objPath) instanceof SnapshotObj);
+    }
+
+    private static long countEntries(Path cacheDirectory) throws IOException
+    {
+        try (Stream<Path> paths = Files.list(cacheDirectory))
+        {
+            return paths.count();
+        }
+    }
+
+    private static ReadableObj roundTrip(ReadableObj obj) throws IOException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjSnapshots.write(obj, baos);
+        byte[] data = baos.toByteArray();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+        buffer.put(data);
+        buffer.flip();
+        return ObjSnapshots.read(buffer);
+    }
+}
@@ -0,0 +1,137 @@
+package de.javagl.obj;
+
+import static de.javagl.obj.TestResources.RESOURCE_NAMES;
+import static de.javagl.obj.TestResources.readResource;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestObjStreamWriter
+{
+    @Test
+    public void rewriteMatchesObjWriter() throws IOException
+    {
+        for (String name : RESOURCE_NAMES)
+        {
+            byte[] data = readResource(name);
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            ObjWriter.write(
+                ObjReader.read(new ByteArrayInputStream(data)), expected);
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            try (ObjStreamWriter writer = new ObjStreamWriter(actual))
+            {
+                ObjReader.read(new ByteArrayInputStream(data), writer);
+            }
+            assertEquals(name, expected.toString("US-ASCII"), 
+                actual.toString("US-ASCII"));
+        }
+    }
+
+    @Test
+    public void writeGeneratedData() throws IOException
+    {
+        Obj expected = Objs.create();
+        StringWriter stringWriter = new StringWriter();
+        try (ObjStreamWriter writer = new ObjStreamWriter(stringWriter))
+        {
+            for (WritableObj output : Arrays.asList(expected, writer))
+            {
+                output.setMtlFileNames(Collections.singletonList("a.mtl"));
+                output.addVertex(0, 0, 0);
+                output.addVertex(1, 0, 0);
+                output.addVertex(FloatTuples.create(1, 1, 0));
+                output.addVertex(0, 1, 0);
+                output.addTexCoord(0.5f);
+                output.addTexCoord(0.25f, 0.75f);
+                output.addTexCoord(1, 2, 3);
+                output.addTexCoord(FloatTuples.create(4, 5, 6, 7));
+                output.addNormal(0, 0, 1);
+                output.addNormal(FloatTuples.create(0, 1, 0));
+                output.setActiveGroupNames(Arrays.asList("default"));
+                output.addFace(0, 1, 2);
+                output.setActiveGroupNames(Arrays.asList("a", "b"));
+                output.setActiveMaterialGroupName("red");
+                output.addFaceWithTexCoords(0, 1, 2, 3);
+                output.setActiveGroupNames(Arrays.asList("a", "b"));
+                output.setActiveMaterialGroupName("red");
+                output.addFaceWithNormals(0, 1, 1);
+                output.setActiveGroupNames(Collections.<String>emptyList());
+                output.addFaceWithAll(1, 1, 0);
+                output.addFace(new int[] { 0, 1, 2 }, null, 
+                    new int[] { 1, 1, 0 });
+                output.addFace(ObjFaces.create(
+                    new int[] { 3, 2, 1, 0, 1 }, null, null));
+                output.setActiveMaterialGroupName("blue");
+                output.addFaces(new int[] { 0, 1, 2, 0, 2, 3, 1 }, 
+                    new int[] { 3, 4 });
+            }
+        }
+        StringWriter expectedWriter = new StringWriter();
+        ObjWriter.write(expected, expectedWriter);
+        assertEquals(expectedWriter.toString(), stringWriter.toString());
+        
+        Obj actual = ObjReader.read(new ByteArrayInputStream(
+            stringWriter.toString().getBytes("US-ASCII")));
+        TestObjReaderByteBuffer.assertObjEquals(expected, actual);
+    }
+
+    @Test
+    public void writeLargeData() throws IOException
+    {
+        int n = 100000;
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        Obj obj = Objs.create();
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        try (ObjStreamWriter writer = new ObjStreamWriter(actual))
+        {
+            for (WritableObj output : Arrays.asList(obj, writer))
+            {
+                for (int i = 0; i < n; i++)
+                {
+                    output.addVertex(i * 0.1f, -i, 1.0f / (i + 1));
+                }
+                for (int i = 0; i + 2 < n; i += 3)
+                {
+                    output.addFace(i, i + 1, i + 2);
+                }
+            }
+        }
+        ObjWriter.write(obj, expected);
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void errorIsReported() throws IOException
+    {
+        OutputStream failing = new OutputStream()
+        {
+            @Override
+            public void write(int b) throws IOException
+            {
+                throw new IOException("Failed");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException
+            {
+                throw new IOException("Failed");
+            }
+        };
+        ObjStreamWriter writer = new ObjStreamWriter(failing);
+        for (int i = 0; i < 100000; i++)
+        {
+            writer.addVertex(i, i, i);
+        }
+    }
+}
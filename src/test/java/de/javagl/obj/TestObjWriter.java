@@ -1,139 +1,201 @@
-package de.javagl.obj;
-
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.Scanner;
-
-import static org.junit.Assert.*;
-import org.junit.Test;
-
-
-@SuppressWarnings("javadoc")
-public class TestObjWriter
-{
-    @Test
-    public void readWriteSquare() 
-        throws IOException
-    {
-        String inputString = readResourceAsString(
-            "/square.obj");
-        Obj obj = ObjReader.read(
-            new ByteArrayInputStream(inputString.getBytes()));
-
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ObjWriter.write(obj, baos);
-        String outputString = new String(baos.toByteArray());
-        
-        //System.out.println(outputString);
-        assertEquals(inputString, outputString);
-    }
-    
-    @Test
-    public void readWriteSquareAndTriangle() 
-        throws IOException
-    {
-        String inputString = readResourceAsString(
-            "/squareAndTriangle.obj");
-        Obj obj = ObjReader.read(
-            new ByteArrayInputStream(inputString.getBytes()));
-        
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ObjWriter.write(obj, baos);
-        String outputString = new String(baos.toByteArray());
-        
-        //System.out.println(outputString);
-        assertEquals(inputString, outputString);
-    }
-
-    @Test
-    public void readWriteSquareAndTriangleInTwoGroups() 
-        throws IOException
-    {
-        String inputString = readResourceAsString(
-            "/squareAndTriangleInTwoGroups.obj");
-        Obj obj = ObjReader.read(
-            new ByteArrayInputStream(inputString.getBytes()));
-        
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ObjWriter.write(obj, baos);
-        String outputString = new String(baos.toByteArray());
-        
-        //System.out.println(outputString);
-        assertEquals(inputString, outputString);
-    }
-    
-    @Test
-    public void readWriteFourTrianglesInMixedGroups() 
-        throws IOException
-    {
-        String inputString = readResourceAsString(
-            "/fourTrianglesInMixedGroups.obj");
-        Obj obj = ObjReader.read(
-            new ByteArrayInputStream(inputString.getBytes()));
-        
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ObjWriter.write(obj, baos);
-        String outputString = new String(baos.toByteArray());
-        
-        //System.out.println(outputString);
-        assertEquals(inputString, outputString);
-    }
-    
-    @Test
-    public void readWriteTwoTrianglesOneInDefaultGroup() 
-        throws IOException
-    {
-        String inputString = readResourceAsString(
-            "/twoTrianglesOneInDefaultGroup.obj");
-        Obj obj = ObjReader.read(
-            new ByteArrayInputStream(inputString.getBytes()));
-        
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ObjWriter.write(obj, baos);
-        String outputString = new String(baos.toByteArray());
-        
-        //System.out.println(outputString);
-        assertEquals(inputString, outputString);
-    }
-    
-    
-    @Test
-    public void readTwoTrianglesSharedInThreeGroups() 
-        throws IOException
-    {
-        String inputString = readResourceAsString(
-            "/twoTrianglesSharedInThreeGroups.obj");
-        Obj obj = ObjReader.read(
-            new ByteArrayInputStream(inputString.getBytes()));
-        
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ObjWriter.write(obj, baos);
-        String outputString = new String(baos.toByteArray());
-        
-        //System.out.println(outputString);
-        assertEquals(inputString, outputString);
-    }
-    
-    private static String readResourceAsString(String name)
-    {
-        InputStream inputStream = 
-            TestObjWriter.class.getResourceAsStream(name);
-        String string = readAsString(inputStream);
-        string = string.replaceAll("\r\n", "\n");
-        return string;
-    }
-    
-    private static String readAsString(InputStream inputStream) 
-    {
-        try (Scanner scanner = new Scanner(inputStream))
-        {
-            scanner.useDelimiter("\\A");
-            String string = scanner.next();
-            return string;
-        }
-    }    
-    
-    
+package de.javagl.obj;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Scanner;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+
+@SuppressWarnings("javadoc")
+public class TestObjWriter
+{
+    @Test
+    public void readWriteSquare() 
+        throws IOException
+    {
+        String inputString = readResourceAsString(
+            "/square.obj");
+        Obj obj = ObjReader.read(
+            new ByteArrayInputStream(inputString.getBytes()));
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjWriter.write(obj, baos);
+        String outputString = new String(baos.toByteArray());
+        
+        //System.out.println(outputString);
+        assertEquals(inputString, outputString);
+    }
+    
+    @Test
+    public void readWriteSquareAndTriangle() 
+        throws IOException
+    {
+        String inputString = readResourceAsString(
+            "/squareAndTriangle.obj");
+        Obj obj = ObjReader.read(
+            new ByteArrayInputStream(inputString.getBytes()));
+        
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjWriter.write(obj, baos);
+        String outputString = new String(baos.toByteArray());
+        
+        //System.out.println(outputString);
+        assertEquals(inputString, outputString);
+    }
+
+    @Test
+    public void readWriteSquareAndTriangleInTwoGroups() 
+        throws IOException
+    {
+        String inputString = readResourceAsString(
+            "/squareAndTriangleInTwoGroups.obj");
+        Obj obj = ObjReader.read(
+            new ByteArrayInputStream(inputString.getBytes()));
+        
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjWriter.write(obj, baos);
+        String outputString = new String(baos.toByteArray());
+        
+        //System.out.println(outputString);
+        assertEquals(inputString, outputString);
+    }
+    
+    @Test
+    public void readWriteFourTrianglesInMixedGroups() 
+        throws IOException
+    {
+        String inputString = readResourceAsString(
+            "/fourTrianglesInMixedGroups.obj");
+        Obj obj = ObjReader.read(
+            new ByteArrayInputStream(inputString.getBytes()));
+        
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjWriter.write(obj, baos);
+        String outputString = new String(baos.toByteArray());
+        
+        //System.out.println(outputString);
+        assertEquals(inputString, outputString);
+    }
+    
+    @Test
+    public void readWriteTwoTrianglesOneInDefaultGroup() 
+        throws IOException
+    {
+        String inputString = readResourceAsString(
+            "/twoTrianglesOneInDefaultGroup.obj");
+        Obj obj = ObjReader.read(
+            new ByteArrayInputStream(inputString.getBytes()));
+        
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjWriter.write(obj, baos);
+        String outputString = new String(baos.toByteArray());
+        
+        //System.out.println(outputString);
+        assertEquals(inputString, outputString);
+    }
+    
+    
+    @Test
+    public void readTwoTrianglesSharedInThreeGroups() 
+        throws IOException
+    {
+        String inputString = readResourceAsString(
+            "/twoTrianglesSharedInThreeGroups.obj");
+        Obj obj = ObjReader.read(
+            new ByteArrayInputStream(inputString.getBytes()));
+        
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjWriter.write(obj, baos);
+        String outputString = new String(baos.toByteArray());
+        
+        //System.out.println(outputString);
+        assertEquals(inputString, outputString);
+    }
+    
+    @Test
+    public void writeLargeObj() 
+        throws IOException
+    {
+        Random random = new Random(0);
+        Obj obj = Objs.create();
+        for (int i = 0; i < 20000; i++)
+        {
+            obj.addVertex(random.nextFloat(), -random.nextFloat() * 1e-4f, 
+                random.nextFloat() * 1e8f);
+            obj.addTexCoord(random.nextFloat(), random.nextFloat());
+            obj.addNormal(0, 0, 1);
+        }
+        obj.setMtlFileNames(Arrays.asList("a.mtl", "b.mtl"));
+        for (int i = 0; i + 4 < 20000; i += 5)
+        {
+            obj.setActiveGroupNames(Arrays.asList(
+                "group" + (i % 3), "shared"));
+            obj.setActiveMaterialGroupName("material" + (i % 7));
+            obj.addFace(new int[] { i, i + 1, i + 2 }, 
+                new int[] { i, i + 1, i + 2 }, null);
+            obj.addFace(new int[] { i, i + 2, i + 3, i + 4 }, 
+                null, new int[] { i, i, i, i });
+        }
+        
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjWriter.write(obj, baos);
+        String streamString = 
+            new String(baos.toByteArray(), Charset.defaultCharset());
+        StringWriter stringWriter = new StringWriter();
+        ObjWriter.write(obj, stringWriter);
+        String writerString = stringWriter.toString();
+        assertEquals(writerString, streamString);
+        
+        Obj actual = ObjReader.read(new StringReader(writerString));
+        TestObjReaderByteBuffer.assertObjEquals(obj, actual);
+        assertEquals(obj.getGroup("shared").getNumFaces(), 
+            actual.getGroup("shared").getNumFaces());
+    }
+    
+    @Test
+    public void writeNonAsciiNames() 
+        throws IOException
+    {
+        Obj obj = Objs.create();
+        obj.addVertex(0, 0, 0);
+        obj.setActiveGroupNames(Arrays.asList("gr\u00fcn"));
+        obj.setActiveMaterialGroupName("\u00e9t\u00e9");
+        obj.addFace(0, 0, 0);
+        StringWriter stringWriter = new StringWriter();
+        ObjWriter.write(obj, stringWriter);
+        assertEquals("v 0.0 0.0 0.0\n" + 
+            "g gr\u00fcn \n" + 
+            "usemtl \u00e9t\u00e9\n" + 
+            "f 1 1 1\n", stringWriter.toString());
+    }
+    
+    private static String readResourceAsString(String name)
+    {
+        InputStream inputStream = 
+            TestObjWriter.class.getResourceAsStream(name);
+        String string = readAsString(inputStream);
+        string = string.replaceAll("\r\n", "\n");
+        return string;
+    }
+    
+    private static String readAsString(InputStream inputStream) 
+    {
+        try (Scanner scanner = new Scanner(inputStream))
+        {
+            scanner.useDelimiter("\\A");
+            String string = scanner.next();
+            return string;
+        }
+    }    
+    
+    
 }
\ No newline at end of file
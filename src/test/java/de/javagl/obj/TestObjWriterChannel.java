@@ -0,0 +1,122 @@
+package de.javagl.obj;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestObjWriterChannel
+{
+    private Path file;
+
+    @Before
+    public void createFile() throws IOException
+    {
+        file = Files.createTempFile("TestObjWriterChannel", ".obj");
+    }
+
+    @After
+    public void deleteFile() throws IOException
+    {
+        Files.deleteIfExists(file);
+    }
+
+    private static Obj createObj(int numVertices)
+    {
+        Obj obj = Objs.create();
+        Random random = new Random(0);
+        obj.setMtlFileNames(Arrays.asList("a.mtl"));
+        for (int i = 0; i < numVertices; i++)
+        {
+            obj.addVertex(random.nextFloat(), i, -random.nextFloat());
+            obj.addTexCoord(random.nextFloat(), 0.5f);
+        }
+        for (int i = 0; i + 2 < numVertices; i += 3)
+        {
+            if (i % 3000 == 0)
+            {
+                obj.setActiveGroupNames(Arrays.asList("g" + i));
+                obj.setActiveMaterialGroupName("m" + (i % 7));
+            }
+            obj.addFaceWithTexCoords(i, i + 1, i + 2);
+        }
+        return obj;
+    }
+
+    private static byte[] writeToStream(Obj obj) throws IOException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjWriter.write(obj, baos);
+        return baos.toByteArray();
+    }
+
+    @Test
+    public void writeToFileChannel() throws IOException
+    {
+        Obj obj = createObj(200000);
+        try (FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.WRITE))
+        {
+            ObjWriter.write(obj, channel);
+        }
+        assertArrayEquals(writeToStream(obj), Files.readAllBytes(file));
+    }
+
+    @Test
+    public void writeParallelToFileChannel() throws IOException
+    {
+        Obj obj = createObj(200000);
+        try (FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.WRITE))
+        {
+            ObjWriter.writeParallel(obj, channel);
+        }
+        assertArrayEquals(writeToStream(obj), Files.readAllBytes(file));
+    }
+
+    @Test
+    public void writeToNonGatheringChannel() throws IOException
+    {
+        Obj obj = createObj(100000);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        WritableByteChannel channel = Channels.newChannel(baos);
+        ObjWriter.write(obj, channel);
+        assertArrayEquals(writeToStream(obj), baos.toByteArray());
+        baos.reset();
+        ObjWriter.writeParallel(obj, channel);
+        assertArrayEquals(writeToStream(obj), baos.toByteArray());
+    }
+
+    @Test
+    public void writeMapped() throws IOException
+    {
+        Obj obj = createObj(200000);
+        Files.write(file, new byte[10000000]);
+        ObjWriter.writeMapped(obj, file);
+        byte[] expected = writeToStream(obj);
+        assertArrayEquals(expected, Files.readAllBytes(file));
+        TestObjReaderByteBuffer.assertObjEquals(obj, ObjReader.read(
+            Files.newInputStream(file)));
+    }
+
+    @Test
+    public void writeMappedEmpty() throws IOException
+    {
+        ObjWriter.writeMapped(Objs.create(), file);
+        assertEquals(0, Files.size(file));
+    }
+}
@@ -0,0 +1,245 @@
+package de.javagl.obj;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestObjWriterOptions
+{
+    private static String format(FloatPrecision precision, float value)
+    {
+        byte[] bytes = new byte[FloatFormatter.MAX_LENGTH];
+        int length = precision.format(value, bytes, 0);
+        return new String(bytes, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void formatDecimals()
+    {
+        FloatPrecision p = FloatPrecision.decimals(3);
+        assertEquals("1.235", format(p, 1.23456f));
+        assertEquals("2.5", format(p, 2.5f));
+        assertEquals("1", format(p, 1.0f));
+        assertEquals("100", format(p, 100.0f));
+        assertEquals("-1.5", format(p, -1.5f));
+        assertEquals("0.001", format(p, 0.001f));
+        assertEquals("0.001", format(p, 0.0005f));
+        assertEquals("0", format(p, 0.0f));
+        assertEquals("0", format(p, -0.0f));
+        assertEquals("0", format(p, -0.0001f));
+        assertEquals("NaN", format(p, Float.NaN));
+        assertEquals("-Infinity", format(p, Float.NEGATIVE_INFINITY));
+        assertEquals("3E9", format(p, 3.0e9f));
+        assertEquals("1.2345678E7", 
+            format(FloatPrecision.decimals(2), 12345678.0f));
+        assertEquals("3", format(FloatPrecision.decimals(0), 2.5f));
+        assertEquals("0", format(FloatPrecision.decimals(0), 0.4f));
+        assertEquals("1E-9", format(FloatPrecision.decimals(9), 1.0e-9f));
+    }
+
+    @Test
+    public void formatSignificantDigits()
+    {
+        FloatPrecision p = FloatPrecision.significantDigits(3);
+        assertEquals("1230", format(p, 1234.56f));
+        assertEquals("0.0123", format(p, 0.0123456f));
+        assertEquals("9.99", format(p, 9.99499f));
+        assertEquals("10", format(p, 9.9951f));
+        assertEquals("-0.5", format(p, -0.5f));
+        assertEquals("1E-10", format(p, 1.0e-10f));
+        assertEquals("1.4E-45", format(p, Float.MIN_VALUE));
+        assertEquals("3.4E38", format(p, Float.MAX_VALUE));
+        assertEquals("0", format(p, -0.0f));
+        assertEquals("1.23456792E8", 
+            format(FloatPrecision.significantDigits(9), 123456789.0f));
+        assertEquals("2", format(FloatPrecision.significantDigits(1), 1.5f));
+    }
+
+    @Test
+    public void formatShortest()
+    {
+        FloatPrecision p = FloatPrecision.shortest();
+        assertEquals("1.0", format(p, 1.0f));
+        assertEquals("-0.0", format(p, -0.0f));
+        assertEquals("0.1", format(p, 0.1f));
+    }
+
+    @Test
+    public void roundTrip()
+    {
+        Random random = new Random(0);
+        FloatPrecision nine = FloatPrecision.significantDigits(9);
+        FloatPrecision decimals = FloatPrecision.decimals(4);
+        for (int i = 0; i < 100000; i++)
+        {
+            float value = Float.intBitsToFloat(random.nextInt());
+            if (Float.isNaN(value))
+            {
+                continue;
+            }
+            assertEquals(value, Float.parseFloat(format(nine, value)), 0.0f);
+            
+            float small = (random.nextFloat() - 0.5f) * 2000.0f;
+            float parsed = Float.parseFloat(format(decimals, small));
+            assertEquals(small, parsed, 0.00005f + Math.ulp(small));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidDecimals()
+    {
+        FloatPrecision.decimals(10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidSignificantDigits()
+    {
+        FloatPrecision.significantDigits(0);
+    }
+
+    private static Obj createObj(int n)
+    {
+        Obj obj = Objs.create();
+        Random random = new Random(1);
+        for (int i = 0; i < n; i++)
+        {
+            obj.addVertex(random.nextFloat() * 100, random.nextFloat(), 
+                -random.nextFloat());
+            obj.addTexCoord(random.nextFloat(), random.nextFloat());
+            obj.addNormal(random.nextFloat(), random.nextFloat(), 
+                random.nextFloat());
+        }
+        for (int i = 0; i + 2 < n; i += 3)
+        {
+            obj.addFaceWithAll(i, i + 1, i + 2);
+        }
+        return obj;
+    }
+
+    private static ObjWriterOptions createOptions()
+    {
+        ObjWriterOptions options = new ObjWriterOptions();
+        options.setVertexPrecision(FloatPrecision.decimals(4));
+        options.setTexCoordPrecision(FloatPrecision.decimals(3));
+        options.setNormalPrecision(FloatPrecision.significantDigits(3));
+        return options;
+    }
+
+    @Test
+    public void writeWithPrecision() throws IOException
+    {
+        Obj obj = createObj(30000);
+        ByteArrayOutputStream full = new ByteArrayOutputStream();
+        ObjWriter.write(obj, full);
+        ByteArrayOutputStream reduced = new ByteArrayOutputStream();
+        ObjWriter.write(obj, reduced, createOptions());
+        assertTrue(reduced.size() < full.size() * 3 / 4);
+
+        Obj actual = ObjReader.read(
+            new ByteArrayInputStream(reduced.toByteArray()));
+        assertEquals(obj.getNumVertices(), actual.getNumVertices());
+        assertEquals(obj.getNumFaces(), actual.getNumFaces());
+        for (int i = 0; i < obj.getNumVertices(); i++)
+        {
+            for (int c = 0; c < 3; c++)
+            {
+                assertEquals(obj.getVertex(i).get(c), 
+                    actual.getVertex(i).get(c), 0.00005f + 0.00001f);
+                assertEquals(obj.getNormal(i).get(c), 
+                    actual.getNormal(i).get(c), 0.005f);
+            }
+            assertEquals(obj.getTexCoord(i).get(0), 
+                actual.getTexCoord(i).get(0), 0.0005f);
+        }
+    }
+
+    @Test
+    public void allWritersProduceSameOutput() throws IOException
+    {
+        Obj obj = createObj(10000);
+        ObjWriterOptions options = createOptions();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ObjWriter.write(obj, expected, options);
+
+        ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+        ObjWriter.writeParallel(obj, parallel, options);
+        assertArrayEquals(expected.toByteArray(), parallel.toByteArray());
+
+        StringWriter writer = new StringWriter();
+        ObjWriter.write(obj, writer, options);
+        assertEquals(expected.toString("US-ASCII"), writer.toString());
+
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        try (ObjStreamWriter streamWriter = 
+            new ObjStreamWriter(streamed, options))
+        {
+            ObjReader.read(new ByteArrayInputStream(
+                expected.toByteArray()), streamWriter);
+        }
+        assertArrayEquals(expected.toByteArray(), streamed.toByteArray());
+
+        ByteArrayOutputStream channel = new ByteArrayOutputStream();
+        ObjWriter.write(obj, Channels.newChannel(channel), options);
+        assertArrayEquals(expected.toByteArray(), channel.toByteArray());
+
+        ByteArrayOutputStream parallelChannel = new ByteArrayOutputStream();
+        ObjWriter.writeParallel(
+            obj, Channels.newChannel(parallelChannel), options);
+        assertArrayEquals(expected.toByteArray(), 
+            parallelChannel.toByteArray());
+
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        ObjWriter.writeGzip(obj, gzip, options);
+        try (InputStream inputStream = new GZIPInputStream(
+            new ByteArrayInputStream(gzip.toByteArray())))
+        {
+            ByteArrayOutputStream gunzipped = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = inputStream.read(buffer)) >= 0)
+            {
+                gunzipped.write(buffer, 0, read);
+            }
+            assertArrayEquals(expected.toByteArray(), 
+                gunzipped.toByteArray());
+        }
+
+        Path path = Files.createTempFile("TestObjWriterOptions", ".obj");
+        try
+        {
+            ObjWriter.writeMapped(obj, path, options);
+            assertArrayEquals(expected.toByteArray(), 
+                Files.readAllBytes(path));
+        }
+        finally
+        {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void defaultOptionsWriteShortest() throws IOException
+    {
+        Obj obj = createObj(1000);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ObjWriter.write(obj, expected);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        ObjWriter.write(obj, actual, new ObjWriterOptions());
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+    }
+}
@@ -0,0 +1,112 @@
+package de.javagl.obj;
+
+import static de.javagl.obj.TestResources.readResource;
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestObjWriterParallel
+{
+    private static Obj createObj(Obj obj, int n)
+    {
+        Random random = new Random(0);
+        obj.setMtlFileNames(Arrays.asList("example.mtl"));
+        for (int i = 0; i < n; i++)
+        {
+            obj.addVertex(random.nextFloat(), random.nextFloat() * 1e9f, 
+                -random.nextFloat());
+            obj.addTexCoord(random.nextFloat(), random.nextFloat());
+            obj.addNormal(random.nextFloat(), 0, 1);
+        }
+        for (int i = 0; i + 3 < n; i += 2)
+        {
+            if (i % 10 == 0)
+            {
+                obj.setActiveGroupNames(Arrays.asList("group" + (i % 3)));
+            }
+            if (i % 14 == 0)
+            {
+                obj.setActiveGroupNames(Arrays.asList("default"));
+                obj.setActiveMaterialGroupName("material" + (i % 5));
+            }
+            obj.addFace(new int[] { i, i + 1, i + 2, i + 3 }, 
+                new int[] { i, i + 1, i + 2, i + 3 }, 
+                i % 4 == 0 ? null : new int[] { i, i, i, i });
+        }
+        return obj;
+    }
+
+    private static byte[] writeSequential(ReadableObj obj) throws IOException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjWriter.write(obj, baos);
+        return baos.toByteArray();
+    }
+
+    private static byte[] writeParallel(ReadableObj obj, int chunkSize) 
+        throws IOException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjOutputBuffer buffer = 
+            new ObjOutputBuffer(baos, Charset.defaultCharset());
+        ObjParallelWriter writer = 
+            new ObjParallelWriter(chunkSize, new ObjWriterOptions());
+        writer.write(obj, buffer);
+        buffer.flush();
+        return baos.toByteArray();
+    }
+
+    @Test
+    public void parallelEqualsSequential() throws IOException
+    {
+        Obj obj = createObj(Objs.create(), 5000);
+        byte[] expected = writeSequential(obj);
+        for (int chunkSize : new int[] { 1, 7, 100, 4096, 1 << 20 })
+        {
+            assertArrayEquals(expected, writeParallel(obj, chunkSize));
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjWriter.writeParallel(obj, baos);
+        assertArrayEquals(expected, baos.toByteArray());
+    }
+
+    @Test
+    public void parallelEqualsSequentialForPackedObj() throws IOException
+    {
+        Obj obj = createObj(Objs.createPacked(), 3000);
+        assertArrayEquals(writeSequential(obj), writeParallel(obj, 13));
+    }
+
+    @Test
+    public void parallelEqualsSequentialForResources() throws IOException
+    {
+        String[] names = { "/square.obj", "/squareAndTriangleInTwoGroups.obj",
+            "/fourTrianglesInMixedGroups.obj", 
+            "/twoTrianglesOneInDefaultGroup.obj",
+            "/twoTrianglesSharedInThreeGroups.obj" };
+        for (String name : names)
+        {
+            Obj obj = readResource(name, Objs.create());
+            byte[] expected = writeSequential(obj);
+            assertArrayEquals(expected, writeParallel(obj, 1));
+            assertArrayEquals(expected, writeParallel(obj, 2));
+        }
+    }
+
+    @Test
+    public void parallelOutputCanBeRead() throws IOException
+    {
+        Obj obj = createObj(Objs.create(), 1000);
+        Obj actual = ObjReader.read(
+            new ByteArrayInputStream(writeParallel(obj, 64)));
+        TestObjReaderByteBuffer.assertObjEquals(obj, actual);
+    }
+}
@@ -0,0 +1,119 @@
+package de.javagl.obj;
+
+import static de.javagl.obj.TestObjReaderByteBuffer.assertObjEquals;
+import static de.javagl.obj.TestResources.RESOURCE_NAMES;
+import static de.javagl.obj.TestResources.readResource;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestOffHeapObj
+{
+    @Test
+    public void readResourcesIntoOffHeapObj()
+        throws IOException
+    {
+        for (String name : RESOURCE_NAMES)
+        {
+            Obj expected = readResource(name, Objs.create());
+            try (CloseableObj actual = 
+                readResource(name, Objs.createOffHeap()))
+            {
+                assertObjEquals(expected, actual);
+                assertArrayEquals(
+                    ObjData.getFaceVertexIndicesArray(expected),
+                    ObjData.getFaceVertexIndicesArray(actual));
+                assertArrayEquals(
+                    ObjData.getVerticesArray(expected),
+                    ObjData.getVerticesArray(actual), 0.0f);
+            }
+        }
+    }
+
+    @Test
+    public void growBeyondSegments()
+    {
+        // Segments of 64 bytes, i.e. 16 int or float values
+        OffHeapArrays arrays = new OffHeapArrays(6);
+        PackedObj actual = new PackedObj(arrays);
+        Obj expected = Objs.create();
+        int n = 1000;
+        for (int i = 0; i < n; i++)
+        {
+            float f = i;
+            expected.addVertex(f, f + 0.5f, -f);
+            actual.addVertex(f, f + 0.5f, -f);
+            expected.addTexCoord(FloatTuples.create(f, f * 2, f * 3, f * 4));
+            actual.addTexCoord(FloatTuples.create(f, f * 2, f * 3, f * 4));
+            if (i % 7 == 0)
+            {
+                expected.addTexCoord(f);
+                actual.addTexCoord(f);
+            }
+            if (i > 1)
+            {
+                expected.setActiveGroupNames(
+                    Arrays.asList("g" + (i % 5), "all"));
+                actual.setActiveGroupNames(
+                    Arrays.asList("g" + (i % 5), "all"));
+                expected.addFaceWithTexCoords(i - 2, i - 1, i);
+                actual.addFaceWithTexCoords(i - 2, i - 1, i);
+            }
+        }
+        assertEquals(n, actual.getNumVertices());
+        for (int i = 0; i < n; i++)
+        {
+            assertEquals(expected.getVertex(i), actual.getVertex(i));
+        }
+        for (int i = 0; i < expected.getNumTexCoords(); i++)
+        {
+            assertEquals(expected.getTexCoord(i), actual.getTexCoord(i));
+        }
+        for (int i = 0; i < expected.getNumFaces(); i++)
+        {
+            ObjFace e = expected.getFace(i);
+            ObjFace a = actual.getFace(i);
+            for (int j = 0; j < 3; j++)
+            {
+                assertEquals(e.getVertexIndex(j), a.getVertexIndex(j));
+                assertEquals(e.getTexCoordIndex(j), a.getTexCoordIndex(j));
+            }
+        }
+        assertEquals(
+            expected.getGroup("all").getNumFaces(), 
+            actual.getGroup("all").getNumFaces());
+        assertEquals(
+            expected.getGroup("g3").getNumFaces(), 
+            actual.getGroup("g3").getNumFaces());
+
+        assertTrue(arrays.getAllocatedBytes() > 0);
+        actual.close();
+        assertEquals(0, arrays.getAllocatedBytes());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void accessAfterCloseFails()
+    {
+        CloseableObj obj = Objs.createOffHeap();
+        obj.addVertex(1.0f, 2.0f, 3.0f);
+        FloatTuple vertex = obj.getVertex(0);
+        obj.close();
+        vertex.getX();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void modificationAfterCloseFails()
+    {
+        CloseableObj obj = Objs.createOffHeap();
+        obj.addVertex(1.0f, 2.0f, 3.0f);
+        obj.close();
+        obj.close();
+        obj.addVertex(4.0f, 5.0f, 6.0f);
+    }
+}
@@ -0,0 +1,146 @@
+package de.javagl.obj;
+
+import static de.javagl.obj.TestObjReaderByteBuffer.assertObjEquals;
+import static de.javagl.obj.TestResources.RESOURCE_NAMES;
+import static de.javagl.obj.TestResources.readResource;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestPackedObj
+{
+    @Test
+    public void readResourcesIntoPackedObj()
+        throws IOException
+    {
+        for (String name : RESOURCE_NAMES)
+        {
+            Obj expected = readResource(name, Objs.create());
+            Obj actual = readResource(name, Objs.createPacked());
+            assertObjEquals(expected, actual);
+            for (int i = 0; i < expected.getNumGroups(); i++)
+            {
+                ObjGroup e = expected.getGroup(i);
+                ObjGroup a = actual.getGroup(e.getName());
+                assertEquals(e.getNumFaces(), a.getNumFaces());
+            }
+            assertArrayEquals(
+                ObjData.getFaceVertexIndicesArray(expected),
+                ObjData.getFaceVertexIndicesArray(actual));
+            assertArrayEquals(
+                ObjData.getVerticesArray(expected),
+                ObjData.getVerticesArray(actual), 0.0f);
+            assertArrayEquals(
+                ObjData.getTexCoordsArray(expected, 2),
+                ObjData.getTexCoordsArray(actual, 2), 0.0f);
+        }
+    }
+
+    @Test
+    public void tuplesWithMixedDimensions()
+    {
+        Obj obj = Objs.createPacked();
+        obj.addTexCoord(1.0f, 2.0f);
+        obj.addTexCoord(3.0f, 4.0f);
+        obj.addTexCoord(FloatTuples.create(5.0f, 6.0f, 7.0f));
+        obj.addTexCoord(8.0f);
+        assertEquals(4, obj.getNumTexCoords());
+        assertEquals(FloatTuples.create(1.0f, 2.0f), obj.getTexCoord(0));
+        assertEquals(FloatTuples.create(3.0f, 4.0f), obj.getTexCoord(1));
+        assertEquals(FloatTuples.create(5.0f, 6.0f, 7.0f), 
+            obj.getTexCoord(2));
+        assertEquals(FloatTuples.create(8.0f), obj.getTexCoord(3));
+        assertEquals(1, obj.getTexCoord(3).getDimensions());
+    }
+
+    @Test
+    public void tuplesAreCompatibleWithDefaultTuples()
+    {
+        Obj obj = Objs.createPacked();
+        obj.addVertex(1.0f, 2.0f, 3.0f);
+        FloatTuple expected = FloatTuples.create(1.0f, 2.0f, 3.0f);
+        FloatTuple actual = obj.getVertex(0);
+        assertEquals(expected, actual);
+        assertEquals(actual, expected);
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(3.0f, actual.getZ(), 0.0f);
+    }
+
+    @Test
+    public void tuplesWithSignedZeroAndNaN()
+    {
+        Obj obj = Objs.createPacked();
+        obj.addVertex(0.0f, 0.0f, 0.0f);
+        obj.addVertex(-0.0f, 0.0f, 0.0f);
+        obj.addVertex(Float.NaN, 1.0f, 2.0f);
+        assertNotEquals(obj.getVertex(0), obj.getVertex(1));
+        assertNotEquals(obj.getVertex(1), 
+            new DefaultFloatTuple(0.0f, 0.0f, 0.0f));
+        assertEquals(obj.getVertex(1), 
+            new DefaultFloatTuple(-0.0f, 0.0f, 0.0f));
+        assertEquals(new DefaultFloatTuple(-0.0f, 0.0f, 0.0f).hashCode(),
+            obj.getVertex(1).hashCode());
+        assertEquals(obj.getVertex(2), obj.getVertex(2));
+        assertEquals(obj.getVertex(2), 
+            new DefaultFloatTuple(Float.NaN, 1.0f, 2.0f));
+        assertEquals(new DefaultFloatTuple(Float.NaN, 1.0f, 2.0f), 
+            obj.getVertex(2));
+    }
+
+    @Test
+    public void facesAndActivation()
+    {
+        Obj obj = Objs.createPacked();
+        obj.addVertex(0.0f, 0.0f, 0.0f);
+        obj.addVertex(1.0f, 0.0f, 0.0f);
+        obj.addVertex(1.0f, 1.0f, 0.0f);
+        obj.addNormal(0.0f, 0.0f, 1.0f);
+        obj.addFace(0, 1, 2);
+        obj.setActiveGroupNames(Arrays.asList("a", "b"));
+        obj.setActiveMaterialGroupName("m");
+        obj.addFace(new int[] { 2, 1, 0 }, null, new int[] { 0, 0, 0 });
+        obj.addFace(ObjFaces.create(new int[] { 0, 2, 1 }, null, null));
+
+        assertEquals(3, obj.getNumFaces());
+        ObjFace face1 = obj.getFace(1);
+        assertEquals(3, face1.getNumVertices());
+        assertFalse(face1.containsTexCoordIndices());
+        assertTrue(face1.containsNormalIndices());
+        assertEquals(2, face1.getVertexIndex(0));
+        assertEquals(0, face1.getNormalIndex(2));
+        assertEquals(face1, obj.getFace(1));
+        assertEquals("ObjFace[2//0 1//0 0//0]", face1.toString());
+
+        assertEquals(Collections.singleton("default"),
+            obj.getActivatedGroupNames(obj.getFace(0)));
+        assertEquals(new LinkedHashSet<String>(Arrays.asList("a", "b")),
+            obj.getActivatedGroupNames(face1));
+        assertEquals("m", obj.getActivatedMaterialGroupName(face1));
+        assertNull(obj.getActivatedGroupNames(obj.getFace(2)));
+
+        assertEquals(1, obj.getGroup("default").getNumFaces());
+        assertEquals(2, obj.getGroup("a").getNumFaces());
+        assertEquals(obj.getFace(2), obj.getGroup("b").getFace(1));
+        assertEquals(2, obj.getMaterialGroup("m").getNumFaces());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addFaceWithInvalidIndices()
+    {
+        Obj obj = Objs.createPacked();
+        obj.addVertex(0.0f, 0.0f, 0.0f);
+        obj.addFace(0, 1, 2);
+    }
+}
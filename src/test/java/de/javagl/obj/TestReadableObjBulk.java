@@ -0,0 +1,203 @@
+package de.javagl.obj;
+
+import static de.javagl.obj.TestResources.readResource;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestReadableObjBulk
+{
+    private static List<Obj> readAll(String name) throws IOException
+    {
+        Obj defaultObj = readResource(name, Objs.create());
+        Obj packedObj = readResource(name, Objs.createPacked());
+        return Arrays.asList(defaultObj, packedObj);
+    }
+
+    private static Obj createLarge()
+    {
+        Obj obj = Objs.createPacked();
+        for (int i = 0; i < 3000; i++)
+        {
+            obj.addVertex(i, i + 0.5f, -i);
+            obj.addTexCoord(i * 0.001f, 1.0f - i * 0.0002f);
+            obj.addNormal(0, i, 1);
+        }
+        for (int i = 0; i + 3 < 3000; i += 2)
+        {
+            if (i % 4 == 0)
+            {
+                obj.addFaceWithAll(i, i + 1, i + 2);
+            }
+            else
+            {
+                obj.addFace(i, i + 1, i + 2, i + 3);
+            }
+        }
+        return obj;
+    }
+
+    @Test
+    public void bulkAccessorsMatchSingleAccessors() throws IOException
+    {
+        for (Obj obj : readAll("/fourTrianglesInMixedGroups.obj"))
+        {
+            assertBulkAccessorsMatch(obj);
+        }
+        for (Obj obj : readAll("/square.obj"))
+        {
+            assertBulkAccessorsMatch(obj);
+        }
+        assertBulkAccessorsMatch(createLarge());
+    }
+
+    private static void assertBulkAccessorsMatch(Obj obj)
+    {
+        int n = obj.getNumVertices();
+        float[] vertices = new float[n * 3];
+        obj.getVertices(vertices, 0, n);
+        for (int i = 0; i < n; i++)
+        {
+            FloatTuple v = obj.getVertex(i);
+            assertEquals(v.getX(), vertices[i * 3], 0.0f);
+            assertEquals(v.getY(), vertices[i * 3 + 1], 0.0f);
+            assertEquals(v.getZ(), vertices[i * 3 + 2], 0.0f);
+        }
+        if (n > 1)
+        {
+            float[] part = new float[3];
+            obj.getVertices(part, 1, 1);
+            assertArrayEquals(Arrays.copyOfRange(vertices, 3, 6), part, 0.0f);
+        }
+
+        int t = obj.getNumTexCoords();
+        float[] texCoords = new float[t * 2];
+        obj.getTexCoords(texCoords, 0, t, 2);
+        for (int i = 0; i < t; i++)
+        {
+            FloatTuple vt = obj.getTexCoord(i);
+            assertEquals(vt.get(0), texCoords[i * 2], 0.0f);
+            assertEquals(vt.get(1), texCoords[i * 2 + 1], 0.0f);
+        }
+
+        int[] offsets = new int[obj.getNumFaces() + 1];
+        int total = obj.getFaceVertexIndices(null, offsets);
+        int[] indices = new int[total];
+        assertEquals(total, obj.getFaceVertexIndices(indices, null));
+        for (int f = 0; f < obj.getNumFaces(); f++)
+        {
+            ObjFace face = obj.getFace(f);
+            assertEquals(face.getNumVertices(), offsets[f + 1] - offsets[f]);
+            for (int j = 0; j < face.getNumVertices(); j++)
+            {
+                assertEquals(face.getVertexIndex(j), indices[offsets[f] + j]);
+            }
+        }
+        assertEquals(total, offsets[obj.getNumFaces()]);
+    }
+
+    @Test
+    public void objDataMatchesForDefaultAndPacked() throws IOException
+    {
+        Obj packed = createLarge();
+        Obj expected = Objs.create();
+        ObjUtils.add(packed, expected);
+        assertArrayEquals(ObjData.getVerticesArray(expected), 
+            ObjData.getVerticesArray(packed), 0.0f);
+        assertArrayEquals(ObjData.getNormalsArray(expected), 
+            ObjData.getNormalsArray(packed), 0.0f);
+        assertArrayEquals(ObjData.getTexCoordsArray(expected, 2, true), 
+            ObjData.getTexCoordsArray(packed, 2, true), 0.0f);
+        assertArrayEquals(ObjData.getFaceVertexIndicesArray(expected),
+            ObjData.getFaceVertexIndicesArray(packed));
+        assertEquals(ObjData.getTotalNumFaceVertices(expected),
+            ObjData.getTotalNumFaceVertices(packed));
+
+        // Direct buffers, which are filled in blocks
+        FloatBuffer vertices = ObjData.getVertices(packed);
+        float[] array = new float[vertices.capacity()];
+        vertices.get(array);
+        assertArrayEquals(ObjData.getVerticesArray(expected), array, 0.0f);
+        FloatBuffer texCoords = ObjData.getTexCoords(packed, 2, true);
+        assertEquals(1.0f - packed.getTexCoord(2500).get(1), 
+            texCoords.get(2500 * 2 + 1), 0.0f);
+        IntBuffer indices = ObjData.getFaceVertexIndices(packed);
+        assertEquals(ObjData.getTotalNumFaceVertices(packed), 
+            indices.capacity());
+        assertEquals(packed.getFace(1).getVertexIndex(3), indices.get(6));
+        int[] indicesArray = new int[indices.capacity()];
+        indices.get(indicesArray);
+        assertArrayEquals(ObjData.getFaceVertexIndicesArray(expected), 
+            indicesArray);
+    }
+
+    @Test
+    public void objDataWithFaceLargerThanBlock()
+    {
+        Obj obj = Objs.create();
+        int[] large = new int[2500];
+        for (int i = 0; i < large.length; i++)
+        {
+            obj.addVertex(i, 0, 0);
+            large[i] = large.length - 1 - i;
+        }
+        for (int i = 0; i < 400; i++)
+        {
+            obj.addFace(i, i + 1, i + 2);
+        }
+        obj.addFace(large);
+        obj.addFace(3, 2, 1, 0);
+        IntBuffer indices = ObjData.getFaceVertexIndices(obj);
+        int[] actual = new int[indices.capacity()];
+        indices.get(actual);
+        assertArrayEquals(ObjData.getFaceVertexIndicesArray(obj), actual);
+        assertEquals(400 * 3 + large.length + 4, actual.length);
+    }
+
+    @Test
+    public void objDataWithBufferOffset()
+    {
+        Obj obj = createLarge();
+        FloatBuffer target = FloatBuffer.allocate(obj.getNumVertices() * 3 + 1);
+        target.put(42.0f);
+        ObjData.getVertices(obj, target);
+        assertEquals(target.capacity(), target.position());
+        assertEquals(42.0f, target.get(0), 0.0f);
+        assertEquals(obj.getVertex(0).getY(), target.get(2), 0.0f);
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void objDataWithTooSmallBuffer()
+    {
+        Obj obj = createLarge();
+        ObjData.getVertices(obj, FloatBuffer.allocate(10));
+    }
+
+    @Test
+    public void invalidRange()
+    {
+        for (Obj obj : Arrays.asList(Objs.create(), Objs.createPacked()))
+        {
+            obj.addVertex(0, 0, 0);
+            try
+            {
+                obj.getVertices(new float[6], 0, 2);
+                fail("Expected an IndexOutOfBoundsException");
+            }
+            catch (IndexOutOfBoundsException e)
+            {
+                // Expected
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package de.javagl.obj;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Utility methods for reading the OBJ test resources
+ */
+class TestResources
+{
+    /**
+     * The names of the OBJ resources that are read by the tests
+     */
+    static final String[] RESOURCE_NAMES =
+    {
+        "/square.obj",
+        "/squareAndTriangle.obj",
+        "/squareAndTriangleInTwoGroups.obj",
+        "/squareAndTriangleWithRelativeIndices.obj",
+        "/squareTextured.obj",
+        "/fourTrianglesInMixedGroups.obj",
+        "/fourTrianglesPartiallyInMaterialGroups.obj",
+        "/twoTrianglesOneInDefaultGroup.obj",
+        "/twoTrianglesSharedInThreeGroups.obj",
+        "/twoTrianglesWithAmbiguousTexCoords.obj",
+    };
+
+    /**
+     * Read all bytes of the resource with the given name
+     * 
+     * @param name The resource name
+     * @return The bytes
+     * @throws IOException If an IO error occurs
+     */
+    static byte[] readResource(String name) throws IOException
+    {
+        try (InputStream inputStream =
+            TestResources.class.getResourceAsStream(name))
+        {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            while (true)
+            {
+                int read = inputStream.read(buffer);
+                if (read < 0)
+                {
+                    break;
+                }
+                baos.write(buffer, 0, read);
+            }
+            return baos.toByteArray();
+        }
+    }
+
+    /**
+     * Read the OBJ resource with the given name into the given output
+     * 
+     * @param <T> The type of the output
+     * @param name The resource name
+     * @param output The output
+     * @return The output
+     * @throws IOException If an IO error occurs
+     */
+    static <T extends WritableObj> T readResource(String name, T output)
+        throws IOException
+    {
+        try (InputStream inputStream =
+            TestResources.class.getResourceAsStream(name))
+        {
+            return ObjReader.read(inputStream, output);
+        }
+    }
+
+    /**
+     * Returns a copy of the given data where all line ends are replaced
+     * with a single <code>'\r'</code>, as in files with classic Mac 
+     * line ends
+     * 
+     * @param data The data
+     * @return The data with <code>'\r'</code> line ends
+     */
+    static byte[] withCarriageReturns(byte[] data)
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        for (int i = 0; i < data.length; i++)
+        {
+            if (data[i] == '\r' && i + 1 < data.length && data[i + 1] == '\n')
+            {
+                continue;
+            }
+            baos.write(data[i] == '\n' ? '\r' : data[i]);
+        }
+        return baos.toByteArray();
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private TestResources()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
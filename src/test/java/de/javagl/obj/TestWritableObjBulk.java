@@ -0,0 +1,267 @@
+package de.javagl.obj;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TestWritableObjBulk
+{
+    private static final float[] VERTICES = {
+        9, 9, 9,
+        0, 0, 0,
+        1, 0, 0,
+        1, 1, 0,
+        0, 1, 0
+    };
+
+    private static final float[] TEX_COORDS = {
+        0, 0,
+        1, 0,
+        1, 1,
+        0, 1
+    };
+
+    private static final int[] INDICES = { 0, 1, 2, 0, 2, 3, 1 };
+
+    private static final int[] FACE_SIZES = { 3, 4 };
+
+    private static List<Obj> createObjs()
+    {
+        return Arrays.asList(Objs.create(), Objs.createPacked());
+    }
+
+    private static Obj createExpected()
+    {
+        Obj obj = Objs.create();
+        for (int i = 1; i < 5; i++)
+        {
+            obj.addVertex(VERTICES[i * 3], VERTICES[i * 3 + 1], 
+                VERTICES[i * 3 + 2]);
+            obj.addTexCoord(TEX_COORDS[(i - 1) * 2], 
+                TEX_COORDS[(i - 1) * 2 + 1]);
+            obj.addNormal(0, 0, 1);
+        }
+        obj.addFace(new int[] { 0, 1, 2 }, new int[] { 0, 1, 2 }, null);
+        obj.setActiveGroupNames(Arrays.asList("second"));
+        obj.addFace(new int[] { 0, 2, 3, 1 }, new int[] { 0, 2, 3, 1 }, 
+            null);
+        return obj;
+    }
+
+    @Test
+    public void addInBulk() throws IOException
+    {
+        Obj expected = createExpected();
+        for (Obj obj : createObjs())
+        {
+            obj.ensureCapacity(4, 2);
+            obj.addVertices(VERTICES, 3, 4);
+            obj.addTexCoords(TEX_COORDS, 0, 4);
+            obj.addNormals(new float[] { 
+                0, 0, 1, 0, 0, 1, 0, 0, 1, 0, 0, 1 }, 0, 4);
+            obj.addFaces(new int[] { 0, 1, 2 }, new int[] { 0, 1, 2 }, 
+                null, new int[] { 3 });
+            obj.setActiveGroupNames(Arrays.asList("second"));
+            int[] v = { 0, 2, 3, 1 };
+            obj.addFaces(v, v, null, new int[] { 4 });
+            TestObjReaderByteBuffer.assertObjEquals(expected, obj);
+            assertEquals(1, obj.getGroup("second").getNumFaces());
+        }
+    }
+
+    @Test
+    public void addInBulkWithDefaultImplementations() throws IOException
+    {
+        RecordingWritableObj recording = new RecordingWritableObj();
+        recording.addVertices(VERTICES, 3, 4);
+        recording.addTexCoords(TEX_COORDS, 0, 4);
+        recording.addNormals(new float[] { 
+            0, 0, 1, 0, 0, 1, 0, 0, 1, 0, 0, 1 }, 0, 4);
+        recording.addFaces(new int[] { 0, 1, 2 }, new int[] { 0, 1, 2 }, 
+            null, new int[] { 3 });
+        recording.setActiveGroupNames(Arrays.asList("second"));
+        int[] v = { 0, 2, 3, 1 };
+        recording.addFaces(v, v, null, new int[] { 4 });
+        TestObjReaderByteBuffer.assertObjEquals(
+            createExpected(), recording.obj);
+        
+        int[] indices = INDICES.clone();
+        recording.addFaces(indices, FACE_SIZES);
+        Arrays.fill(indices, 0);
+        assertEquals(3, recording.obj.getFace(3).getVertexIndex(2));
+    }
+
+    @Test
+    public void addFacesDoesNotStoreArrays()
+    {
+        for (Obj obj : createObjs())
+        {
+            obj.addVertices(VERTICES, 0, 5);
+            int[] indices = INDICES.clone();
+            obj.addFaces(indices, FACE_SIZES);
+            Arrays.fill(indices, 4);
+            assertEquals(2, obj.getNumFaces());
+            assertEquals(1, obj.getFace(0).getVertexIndex(1));
+            assertEquals(1, obj.getFace(1).getVertexIndex(3));
+            assertFalse(obj.getFace(1).containsTexCoordIndices());
+        }
+    }
+
+    @Test
+    public void invalidIndexAddsNoFaces()
+    {
+        for (Obj obj : createObjs())
+        {
+            obj.addVertices(VERTICES, 0, 3);
+            try
+            {
+                obj.addFaces(INDICES, FACE_SIZES);
+                fail("Expected an IllegalArgumentException");
+            }
+            catch (IllegalArgumentException e)
+            {
+                // Expected
+            }
+            assertEquals(0, obj.getNumFaces());
+        }
+    }
+
+    @Test
+    public void invalidFaceSizes()
+    {
+        int[][] invalidFaceSizes = { { 3, 3 }, { 3, 5 }, { 8, -1 } };
+        for (Obj obj : createObjs())
+        {
+            obj.addVertices(VERTICES, 0, 5);
+            for (int[] faceSizes : invalidFaceSizes)
+            {
+                try
+                {
+                    obj.addFaces(INDICES, faceSizes);
+                    fail("Expected an IllegalArgumentException");
+                }
+                catch (IllegalArgumentException e)
+                {
+                    // Expected
+                }
+            }
+            try
+            {
+                obj.addFaces(INDICES, new int[2], null, FACE_SIZES);
+                fail("Expected an IllegalArgumentException");
+            }
+            catch (IllegalArgumentException e)
+            {
+                // Expected
+            }
+            assertEquals(0, obj.getNumFaces());
+        }
+    }
+
+    @Test
+    public void invalidVertexRange()
+    {
+        for (Obj obj : createObjs())
+        {
+            try
+            {
+                obj.addVertices(VERTICES, 6, 4);
+                fail("Expected an IndexOutOfBoundsException");
+            }
+            catch (IndexOutOfBoundsException e)
+            {
+                // Expected
+            }
+            assertEquals(0, obj.getNumVertices());
+        }
+    }
+
+    @Test
+    public void packedObjWithMixedDimensions()
+    {
+        Obj obj = Objs.createPacked();
+        obj.addVertex(FloatTuples.create(1, 2, 3, 4));
+        obj.addVertices(VERTICES, 3, 2);
+        assertEquals(3, obj.getNumVertices());
+        assertEquals(4, obj.getVertex(0).getDimensions());
+        assertEquals(FloatTuples.create(1, 0, 0), obj.getVertex(2));
+    }
+
+    @Test
+    public void createFromIndexedTriangleData()
+    {
+        IntBuffer indices = IntBuffer.wrap(new int[] { 0, 1, 2, 0, 2, 3 });
+        FloatBuffer vertices = FloatBuffer.wrap(VERTICES, 3, 12).slice();
+        FloatBuffer texCoords = FloatBuffer.wrap(TEX_COORDS);
+        FloatBuffer normals = FloatBuffer.wrap(new float[12]);
+        indices.position(3);
+        Obj obj = Objs.createFromIndexedTriangleData(
+            indices, vertices, texCoords, normals);
+        assertEquals(3, indices.position());
+        assertEquals(4, obj.getNumVertices());
+        assertEquals(4, obj.getNumTexCoords());
+        assertEquals(4, obj.getNumNormals());
+        assertEquals(2, obj.getNumFaces());
+        assertEquals(FloatTuples.create(1, 0, 0), obj.getVertex(1));
+        ObjFace face = obj.getFace(1);
+        assertEquals(3, face.getVertexIndex(2));
+        assertEquals(3, face.getTexCoordIndex(2));
+        assertEquals(3, face.getNormalIndex(2));
+        
+        Obj withoutNormals = Objs.createFromIndexedTriangleData(
+            indices, vertices, texCoords, null);
+        assertTrue(withoutNormals.getFace(0).containsTexCoordIndices());
+        assertFalse(withoutNormals.getFace(0).containsNormalIndices());
+    }
+
+    /**
+     * A WritableObj that only uses the default implementations of the 
+     * bulk methods, and passes the elements to an Obj
+     */
+    private static class RecordingWritableObj extends AbstractWritableObj
+    {
+        final Obj obj = Objs.create();
+
+        @Override
+        public void addVertex(FloatTuple vertex)
+        {
+            obj.addVertex(vertex);
+        }
+
+        @Override
+        public void addTexCoord(FloatTuple texCoord)
+        {
+            obj.addTexCoord(texCoord);
+        }
+
+        @Override
+        public void addNormal(FloatTuple normal)
+        {
+            obj.addNormal(normal);
+        }
+
+        @Override
+        public void setActiveGroupNames(
+            Collection<? extends String> groupNames)
+        {
+            obj.setActiveGroupNames(groupNames);
+        }
+
+        @Override
+        public void addFace(ObjFace face)
+        {
+            obj.addFace(face);
+        }
+    }
+}